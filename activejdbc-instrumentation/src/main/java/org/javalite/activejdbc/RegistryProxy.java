@@ -20,6 +20,7 @@ import org.javalite.instrumentation.InstrumentationException;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.util.Map;
 
 import static java.lang.invoke.MethodType.methodType;
 
@@ -30,6 +31,7 @@ public class RegistryProxy {
 
     private MethodHandle init;
     private MethodHandle toJSON;
+    private MethodHandle columnTypes;
     private Object registry;
 
     RegistryProxy() {
@@ -39,6 +41,7 @@ public class RegistryProxy {
             registry = lookup.findStatic(registryClass, "instance", methodType(registryClass)).invoke();
             init = lookup.findVirtual(registryClass, "init", methodType(void.class, String.class));
             toJSON = lookup.findVirtual(registryClass, "metadataToJSON", methodType(String.class));
+            columnTypes = lookup.findVirtual(registryClass, "metadataColumnTypes", methodType(Map.class));
         } catch(Throwable t) {
             throw new InstrumentationException(t);
         }
@@ -60,4 +63,12 @@ public class RegistryProxy {
         }
     }
 
+    protected Map<String, Map<String, String>> columnTypes() {
+        try {
+            return (Map<String, Map<String, String>>) columnTypes.invoke(registry);
+        } catch(Throwable t) {
+            throw new InstrumentationException(t);
+        }
+    }
+
 }
@@ -24,6 +24,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Andrey Yanchevsky
@@ -31,6 +32,7 @@ import java.util.List;
 public class StaticMetadataGenerator {
 
     private List<DBParameters> dbParameters;
+    private Map<String, Map<String, String>> columnTypes;
 
     public StaticMetadataGenerator() {
 
@@ -40,6 +42,14 @@ public class StaticMetadataGenerator {
         this.dbParameters = dbParameters;
     }
 
+    /**
+     * @return names of types of columns, keyed by names of columns, keyed by names of model classes, as of the last
+     * generated metadata, or null if metadata was not generated
+     */
+    public Map<String, Map<String, String>> getColumnTypes() {
+        return columnTypes;
+    }
+
     public void generate(String outputDirectory) {
 
         Path metadataPath = Paths.get(outputDirectory, "activejdbc_metadata.json");
@@ -85,6 +95,7 @@ public class StaticMetadataGenerator {
             }
 
             Files.write(metadataPath, registry.toJSON().getBytes());
+            columnTypes = registry.columnTypes();
 
         } catch(Throwable e) {
             throw new InstrumentationException(e);
@@ -82,6 +82,12 @@ public class ActiveJdbcInstrumentationPlugin extends AbstractMojo {
      */
     private boolean generateStaticMetadata = false;
 
+    /**
+     * Generate column constants and typed getters of models from static metadata, requires generateStaticMetadata
+     * @parameter
+     */
+    private boolean generateAccessors = false;
+
 
     public void execute() throws MojoExecutionException{
         Logger.setLog(new Log() {
@@ -157,5 +163,10 @@ public class ActiveJdbcInstrumentationPlugin extends AbstractMojo {
         StaticMetadataGenerator generator = new StaticMetadataGenerator();
         generator.setDBParameters(databases);
         generator.generate(outputDirectory);
+        if (generateAccessors) {
+            Instrumentation instrumentation = new Instrumentation();
+            instrumentation.setOutputDirectory(outputDirectory);
+            instrumentation.instrumentAccessors(generator.getColumnTypes());
+        }
     }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ import java.io.FileOutputStream;
 import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class is for static instrumentation
@@ -69,6 +70,42 @@ public class Instrumentation {
         }
     }
 
+    /**
+     * Adds column constants and typed getters to models already instrumented in the output directory.
+     *
+     * @param columnTypes names of SQL types of columns, keyed by names of columns, keyed by names of model classes,
+     *                    see {@link org.javalite.activejdbc.StaticMetadataGenerator#getColumnTypes()}
+     */
+    public void instrumentAccessors(Map<String, Map<String, String>> columnTypes) {
+        if(outputDirectory == null){
+            throw new RuntimeException("Property 'outputDirectory' must be provided");
+        }
+
+        try {
+            Logger.info("**************************** START ACCESSORS INSTRUMENTATION ****************************");
+            InstrumentationModelFinder mf = new InstrumentationModelFinder();
+            mf.processDirectoryPath(new File(outputDirectory));
+            ModelInstrumentation mi = new ModelInstrumentation();
+
+            for (CtClass clazz : mf.getModels()) {
+                Map<String, String> columns = columnTypes.get(clazz.getName());
+                if (columns == null) {
+                    continue;
+                }
+                byte[] bytecode = mi.instrumentAccessors(clazz, columns);
+                String fileName = getFullFilePath(clazz);
+                try (FileOutputStream fout = new FileOutputStream(fileName)) {
+                    fout.write(bytecode);
+                }
+                Logger.info("Added accessors to class: " + fileName);
+            }
+            Logger.info("**************************** END ACCESSORS INSTRUMENTATION ****************************");
+        }
+        catch (Throwable e) {
+            throw new InstrumentationException(e);
+        }
+    }
+
     private String getFullFilePath(CtClass modelClass) throws NotFoundException, URISyntaxException {
         return modelClass.getURL().toURI().getPath();
 
@@ -26,6 +26,10 @@ import javassist.bytecode.annotation.StringMemberValue;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  *
@@ -36,6 +40,41 @@ public class ModelInstrumentation {
 
     private static final String GENERATED_DATE_PATTERN = "yyyy-MM-dd'T'hh:mm:ss.SSSZZZ";
 
+    // Java type and getter by name, keyed by SQL type names of columns
+    private static final Map<String, String[]> ACCESSOR_TYPES = new HashMap<>();
+    static {
+        accessorType("java.lang.Long", "getLong", "BIGINT", "INT8", "BIGSERIAL", "SERIAL8");
+        accessorType("java.lang.Integer", "getInteger", "INTEGER", "INT", "INT4", "SERIAL", "MEDIUMINT");
+        accessorType("java.lang.Short", "getShort", "SMALLINT", "INT2");
+        accessorType("java.math.BigDecimal", "getBigDecimal", "DECIMAL", "NUMERIC", "NUMBER");
+        accessorType("java.lang.Double", "getDouble", "DOUBLE", "DOUBLE PRECISION", "FLOAT8", "FLOAT");
+        accessorType("java.lang.Float", "getFloat", "REAL", "FLOAT4");
+        accessorType("java.lang.Boolean", "getBoolean", "BOOLEAN", "BOOL", "BIT");
+        accessorType("java.lang.String", "getString", "VARCHAR", "CHAR", "CHARACTER", "CHARACTER VARYING", "NVARCHAR",
+                "NCHAR", "VARCHAR2", "NVARCHAR2", "TEXT", "TINYTEXT", "MEDIUMTEXT", "LONGTEXT", "VARCHAR_IGNORECASE");
+        accessorType("java.sql.Date", "getDate", "DATE");
+        accessorType("java.sql.Timestamp", "getTimestamp", "TIMESTAMP", "DATETIME", "TIMESTAMP WITHOUT TIME ZONE");
+    }
+
+    /**
+     * Unsigned integers do not fit into the Java type of signed ones, so they are accessed as the next larger type.
+     * There is no typed accessor for BIGINT UNSIGNED, its getter returns Object.
+     */
+    private static final Map<String, String> UNSIGNED_TYPES = new HashMap<>();
+    static {
+        UNSIGNED_TYPES.put("SMALLINT", "INTEGER");
+        UNSIGNED_TYPES.put("MEDIUMINT", "INTEGER");
+        UNSIGNED_TYPES.put("INT", "BIGINT");
+        UNSIGNED_TYPES.put("INTEGER", "BIGINT");
+        UNSIGNED_TYPES.put("BIGINT", "BIGINT UNSIGNED");
+    }
+
+    private static void accessorType(String javaType, String getter, String... sqlTypes) {
+        for (String sqlType : sqlTypes) {
+            ACCESSOR_TYPES.put(sqlType, new String[]{javaType, getter});
+        }
+    }
+
     private final CtClass modelClass;
 
     public ModelInstrumentation() throws NotFoundException {
@@ -100,6 +139,111 @@ public class ModelInstrumentation {
         }
     }
 
+    /**
+     * Adds a constant with the name of every column and a typed getter of every column to a model, for example
+     * <code>public static final String FIRST_NAME = "first_name"</code> and <code>public String getFirstName()</code>.
+     * Getters read values straight from slots of attributes (see <code>Model.valueInSlot(int, String)</code>) when
+     * the value already has the type of the getter, and fall back to getters that take names otherwise.
+     * Slots are indexes of columns in case insensitive order of their names, same as at run time. Constants and
+     * getters are skipped where the model or its superclasses already have a field or method with the same name.
+     *
+     * @param target model class
+     * @param columnTypes names of SQL types of columns, keyed by names of columns, from static metadata
+     * @return bytecode of model class
+     */
+    public byte[] instrumentAccessors(CtClass target, Map<String, String> columnTypes) throws InstrumentationException {
+        try {
+            String[] columns = columnTypes.keySet().toArray(new String[0]);
+            Arrays.sort(columns, String.CASE_INSENSITIVE_ORDER);
+            for (int slot = 0; slot < columns.length; slot++) {
+                String column = columns[slot];
+                if (!isIdentifier(column)) {
+                    Logger.debug("Column " + column + " of " + target.getName() + " is not an identifier, skipping accessors.");
+                    continue;
+                }
+                String constant = column.toUpperCase(Locale.ROOT);
+                if (!hasField(target, constant)) {
+                    CtField field = CtField.make("public static final String " + constant + ";", target);
+                    target.addField(field, CtField.Initializer.constant(column));
+                }
+                String getter = "get" + camelize(column);
+                if (!hasMethod(target, getter)) {
+                    String[] type = ACCESSOR_TYPES.get(normalize(columnTypes.get(column)));
+                    String quoted = '"' + column + '"';
+                    String body;
+                    if (type == null) {
+                        body = "public Object " + getter + "() { return get(" + quoted + "); }";
+                    } else {
+                        body = "public " + type[0] + " " + getter + "() { Object value = valueInSlot(" + slot + ", "
+                                + quoted + "); return value instanceof " + type[0] + " ? (" + type[0] + ") value : "
+                                + type[1] + "(" + quoted + "); }";
+                    }
+                    CtMethod method = CtNewMethod.make(body, target);
+                    addGeneratedAnnotation(method, target);
+                    target.addMethod(method);
+                }
+            }
+            target.detach();
+            return target.toBytecode();
+        } catch (Exception e) {
+            throw new InstrumentationException(e);
+        }
+    }
+
+    private static boolean isIdentifier(String column) {
+        if (column.isEmpty() || !Character.isJavaIdentifierStart(column.charAt(0)) || column.charAt(0) == '$') {
+            return false;
+        }
+        for (int i = 1; i < column.length(); i++) {
+            if (!Character.isJavaIdentifierPart(column.charAt(i)) || column.charAt(i) == '$') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String camelize(String column) {
+        StringBuilder result = new StringBuilder();
+        for (String token : column.toLowerCase(Locale.ROOT).split("_")) {
+            if (!token.isEmpty()) {
+                result.append(Character.toUpperCase(token.charAt(0))).append(token, 1, token.length());
+            }
+        }
+        return result.toString();
+    }
+
+    private static String normalize(String typeName) {
+        if (typeName == null) {
+            return null;
+        }
+        String type = typeName.replaceAll("\\(.*?\\)", "").toUpperCase(Locale.ROOT).trim();
+        if (type.contains("UNSIGNED")) {
+            type = type.replace("UNSIGNED", "").replace("ZEROFILL", "").trim();
+            return UNSIGNED_TYPES.getOrDefault(type, type);
+        }
+        return type.startsWith("TIMESTAMP") && !type.contains("ZONE") ? "TIMESTAMP" : type;
+    }
+
+    private static boolean hasField(CtClass target, String name) {
+        try {
+            target.getField(name);
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasMethod(CtClass target, String name) throws NotFoundException {
+        for (CtClass c = target; c != null; c = c.getSuperclass()) {
+            for (CtMethod method : c.getDeclaredMethods()) {
+                if (method.getName().equals(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private boolean targetHasMethod(CtMethod[] targetMethods, CtMethod delegate) {
         for (CtMethod targetMethod : targetMethods) {
             if (targetMethod.equals(delegate)) {
@@ -3,8 +3,10 @@ package org.javalite.activejdbc;
 import org.javalite.activejdbc.connection_config.DBConfiguration;
 import org.javalite.activejdbc.models.Book;
 import org.javalite.activejdbc.models.Library;
+import org.javalite.activejdbc.models.Reader;
 import org.junit.Test;
 
+import java.lang.reflect.Method;
 import java.util.List;
 
 import static org.javalite.test.jspec.JSpec.a;
@@ -47,4 +49,22 @@ public class StaticMetadataSpec {
 
         db.close();
     }
+
+    @Test
+    public void shouldGenerateTypedAccessors() throws ReflectiveOperationException {
+        Reader reader = new Reader();
+        reader.set("first_name", "John", "book_id", 1);
+
+        Method getFirstName = Reader.class.getMethod("getFirstName");
+        the(getFirstName.getReturnType()).shouldBeEqual(String.class);
+        the(getFirstName.invoke(reader)).shouldBeEqual("John");
+
+        Method getBookId = Reader.class.getMethod("getBookId");
+        the(getBookId.getReturnType()).shouldBeEqual(Integer.class);
+        the(getBookId.invoke(reader)).shouldBeEqual(1);
+
+        String firstName = (String) Reader.class.getField("FIRST_NAME").get(null);
+        the(firstName.equalsIgnoreCase("first_name")).shouldBeTrue();
+        the(reader.getString(firstName)).shouldBeEqual("John");
+    }
 }
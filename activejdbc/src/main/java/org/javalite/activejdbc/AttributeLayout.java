@@ -0,0 +1,88 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Slots of attributes of a model, one per column of its table, in case insensitive alphabetical order of names,
+ * the same order {@link org.javalite.common.CaseInsensitiveMap} iterates in. Shared by all instances of a model,
+ * see {@link Attributes}.
+ *
+ * @author agent
+ */
+final class AttributeLayout {
+
+    private final String[] names;
+    // exact, lower and upper case spellings of names, so that most lookups do not need case insensitive search
+    private final Map<String, Integer> slots;
+    private final Map<String, ?> columns;
+
+    /**
+     * @param columns metadata of columns, keyed by names
+     */
+    AttributeLayout(Map<String, ?> columns) {
+        this.columns = columns;
+        this.names = columns.keySet().toArray(new String[0]);
+        Arrays.sort(this.names, String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < this.names.length; i++) {
+            // same instances as string constants of classes, see Model#valueInSlot(int, String)
+            this.names[i] = this.names[i].intern();
+        }
+        slots = new HashMap<>(this.names.length * 6);
+        for (int i = 0; i < this.names.length; i++) {
+            String name = this.names[i];
+            slots.put(name, i);
+            slots.putIfAbsent(name.toLowerCase(Locale.ROOT), i);
+            slots.putIfAbsent(name.toUpperCase(Locale.ROOT), i);
+        }
+    }
+
+    /**
+     * @return true if this layout was created for this metadata
+     */
+    boolean isFor(Map<String, ?> columns) {
+        return this.columns == columns;
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String name(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * @param name name of attribute, case insensitive
+     * @return slot of attribute, or -1 if there is no column with this name
+     */
+    int slot(Object name) {
+        if (!(name instanceof String)) {
+            return -1;
+        }
+        Integer slot = slots.get(name);
+        if (slot != null) {
+            return slot;
+        }
+        int found = Arrays.binarySearch(names, (String) name, String.CASE_INSENSITIVE_ORDER);
+        return found < 0 ? -1 : found;
+    }
+}
@@ -0,0 +1,457 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc;
+
+import org.javalite.common.CaseInsensitiveMap;
+import org.javalite.common.CaseInsensitiveSet;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Values of attributes of a model, kept in an array indexed by slots of {@link AttributeLayout} instead of a tree
+ * map, with bit sets of present and changed (dirty) attributes. Behaves as a case insensitive map iterating in the
+ * order of {@link CaseInsensitiveMap}. Names that are not columns of the table (rare) are kept in a map created
+ * when first needed. Names keep the spelling they were first put with, as in {@link CaseInsensitiveMap}; spellings
+ * different from the table metadata are kept in an array created when first needed.
+ *
+ * @author agent
+ */
+final class Attributes extends AbstractMap<String, Object> {
+
+    private final AttributeLayout layout;
+    private final Object[] values;
+    private final long[] present;
+    private final long[] dirty;
+    private int presentCount;
+    private int dirtyCount;
+    private String[] keys;
+    private Map<String, Object> overflow;
+    private Set<String> overflowDirty;
+    private Set<Entry<String, Object>> entrySet;
+    private Set<String> dirtyNames;
+
+    Attributes(AttributeLayout layout) {
+        this.layout = layout;
+        int words = (layout.size() + 63) >>> 6;
+        values = new Object[layout.size()];
+        present = new long[words];
+        dirty = new long[words];
+    }
+
+    private static boolean bit(long[] bits, int slot) {
+        return (bits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private static boolean setBit(long[] bits, int slot) {
+        long word = bits[slot >>> 6];
+        bits[slot >>> 6] = word | (1L << slot);
+        return (word & (1L << slot)) == 0;
+    }
+
+    private static boolean clearBit(long[] bits, int slot) {
+        long word = bits[slot >>> 6];
+        bits[slot >>> 6] = word & ~(1L << slot);
+        return (word & (1L << slot)) != 0;
+    }
+
+    /**
+     * @return slot of attribute or -1
+     */
+    int slot(String name) {
+        return layout.slot(name);
+    }
+
+    Object valueAt(int slot) {
+        return values[slot];
+    }
+
+    AttributeLayout layout() {
+        return layout;
+    }
+
+    /**
+     * @param name interned name of attribute
+     * @return true if the layout has an attribute with this name in this slot
+     */
+    boolean isSlotOf(int slot, String name) {
+        return slot < values.length && layout.name(slot) == name;
+    }
+
+    /**
+     * @return slots of changed attributes, a new bit set
+     */
+    BitSet dirtyBits() {
+        return BitSet.valueOf(dirty);
+    }
+
+    /**
+     * @return slots of present attributes with values other than null, a new bit set
+     */
+    BitSet nonNullBits() {
+        BitSet bits = BitSet.valueOf(present);
+        for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+            if (values[slot] == null) {
+                bits.clear(slot);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * @return true if some attributes are not columns of the table
+     */
+    boolean hasOverflow() {
+        return overflow != null && !overflow.isEmpty();
+    }
+
+    /**
+     * Sets value of an attribute in a slot.
+     *
+     * @param key spelling of name of attribute, used if the attribute is not yet present
+     * @return previous value
+     */
+    Object putAt(int slot, String key, Object value) {
+        Object previous = values[slot];
+        values[slot] = value;
+        if (setBit(present, slot)) {
+            presentCount++;
+            if (!key.equals(layout.name(slot))) {
+                if (keys == null) {
+                    keys = new String[values.length];
+                }
+                keys[slot] = key;
+            } else if (keys != null) {
+                keys[slot] = null;
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * @return name of attribute in a slot, spelled as it was put
+     */
+    String keyAt(int slot) {
+        return keys == null || keys[slot] == null ? layout.name(slot) : keys[slot];
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = layout.slot(key);
+        if (slot >= 0) {
+            return values[slot];
+        }
+        return overflow == null ? null : overflow.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = layout.slot(key);
+        if (slot >= 0) {
+            return bit(present, slot);
+        }
+        return overflow != null && overflow.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int slot = layout.slot(key);
+        if (slot >= 0) {
+            return putAt(slot, key, value);
+        }
+        if (overflow == null) {
+            overflow = new CaseInsensitiveMap<>();
+        }
+        return overflow.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int slot = layout.slot(key);
+        if (slot >= 0) {
+            return removeAt(slot);
+        }
+        return overflow == null ? null : overflow.remove(key);
+    }
+
+    private Object removeAt(int slot) {
+        Object previous = values[slot];
+        values[slot] = null;
+        if (clearBit(present, slot)) {
+            presentCount--;
+        }
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return presentCount + (overflow == null ? 0 : overflow.size());
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(present, 0);
+        presentCount = 0;
+        keys = null;
+        overflow = null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return Attributes.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Iterates over present slots merged with overflow names, in case insensitive order.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final Iterator<Entry<String, Object>> overflowIterator = overflow == null
+                ? Collections.<Entry<String, Object>>emptyIterator() : overflow.entrySet().iterator();
+        private Entry<String, Object> nextOverflow = overflowIterator.hasNext() ? overflowIterator.next() : null;
+        private int nextSlot = nextPresent(0);
+        private int lastSlot = -1;
+        private boolean lastOverflow;
+
+        private int nextPresent(int from) {
+            for (int slot = from; slot < values.length; slot++) {
+                if (bit(present, slot)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot >= 0 || nextOverflow != null;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextSlot >= 0 && (nextOverflow == null
+                    || String.CASE_INSENSITIVE_ORDER.compare(keyAt(nextSlot), nextOverflow.getKey()) <= 0)) {
+                lastSlot = nextSlot;
+                lastOverflow = false;
+                nextSlot = nextPresent(nextSlot + 1);
+                return new SlotEntry(lastSlot);
+            }
+            Entry<String, Object> entry = nextOverflow;
+            lastOverflow = true;
+            nextOverflow = overflowIterator.hasNext() ? overflowIterator.next() : null;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastOverflow) {
+                overflowIterator.remove();
+            } else if (lastSlot >= 0) {
+                removeAt(lastSlot);
+                lastSlot = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private final class SlotEntry implements Entry<String, Object> {
+        private final int slot;
+
+        private SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return keyAt(slot);
+        }
+
+        @Override
+        public Object getValue() {
+            return values[slot];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ (values[slot] == null ? 0 : values[slot].hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + values[slot];
+        }
+    }
+
+    /**
+     * @return names of changed attributes, a case insensitive set backed by a bit set
+     */
+    Set<String> dirtyNames() {
+        if (dirtyNames == null) {
+            dirtyNames = new DirtyNames();
+        }
+        return dirtyNames;
+    }
+
+    private final class DirtyNames extends AbstractSet<String> {
+
+        @Override
+        public boolean contains(Object name) {
+            int slot = layout.slot(name);
+            if (slot >= 0) {
+                return bit(dirty, slot);
+            }
+            return overflowDirty != null && overflowDirty.contains(name);
+        }
+
+        @Override
+        public boolean add(String name) {
+            int slot = layout.slot(name);
+            if (slot >= 0) {
+                if (setBit(dirty, slot)) {
+                    dirtyCount++;
+                    return true;
+                }
+                return false;
+            }
+            if (overflowDirty == null) {
+                overflowDirty = new CaseInsensitiveSet();
+            }
+            return overflowDirty.add(name);
+        }
+
+        @Override
+        public boolean remove(Object name) {
+            int slot = layout.slot(name);
+            if (slot >= 0) {
+                return clearDirty(slot);
+            }
+            return overflowDirty != null && overflowDirty.remove(name);
+        }
+
+        private boolean clearDirty(int slot) {
+            if (clearBit(dirty, slot)) {
+                dirtyCount--;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(dirty, 0);
+            dirtyCount = 0;
+            overflowDirty = null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return dirtyCount == 0 && (overflowDirty == null || overflowDirty.isEmpty());
+        }
+
+        @Override
+        public int size() {
+            return dirtyCount + (overflowDirty == null ? 0 : overflowDirty.size());
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private final Iterator<String> overflowIterator = overflowDirty == null
+                        ? Collections.<String>emptyIterator() : overflowDirty.iterator();
+                private int nextSlot = nextDirty(0);
+                private int lastSlot = -1;
+                private boolean lastOverflow;
+
+                private int nextDirty(int from) {
+                    for (int slot = from; slot < values.length; slot++) {
+                        if (bit(dirty, slot)) {
+                            return slot;
+                        }
+                    }
+                    return -1;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return nextSlot >= 0 || overflowIterator.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    if (nextSlot >= 0) {
+                        lastSlot = nextSlot;
+                        nextSlot = nextDirty(nextSlot + 1);
+                        return keyAt(lastSlot);
+                    }
+                    lastOverflow = true;
+                    return overflowIterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    if (lastOverflow) {
+                        overflowIterator.remove();
+                    } else if (lastSlot >= 0) {
+                        clearDirty(lastSlot);
+                        lastSlot = -1;
+                    } else {
+                        throw new IllegalStateException();
+                    }
+                }
+            };
+        }
+    }
+}
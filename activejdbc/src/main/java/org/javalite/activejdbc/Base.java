@@ -26,6 +26,7 @@ import java.util.Properties;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 
 /**
@@ -318,6 +319,69 @@ public class Base {
     public static int exec(String query, Object ... params){
         return new DB(DB.DEFAULT_NAME).exec(query, params);
     }
+
+    /**
+     * Returns a stream of rows read lazily from a forward only cursor. The stream must be closed.
+     *
+     * @see DB#stream(String, Object...)
+     * @param query raw SQL, parametrized if needed.
+     * @param params list of parameters if query is parametrized.
+     * @return stream of rows.
+     */
+    public static Stream<Map<String, Object>> stream(String query, Object... params) {
+        return new DB(DB.DEFAULT_NAME).stream(query, params);
+    }
+
+    /**
+     * Returns a stream of rows read lazily from a forward only cursor. The stream must be closed.
+     *
+     * @see DB#stream(int, String, Object...)
+     * @param fetchSize number of rows fetched from the database at a time.
+     * @param query raw SQL, parametrized if needed.
+     * @param params list of parameters if query is parametrized.
+     * @return stream of rows.
+     */
+    public static Stream<Map<String, Object>> stream(int fetchSize, String query, Object... params) {
+        return new DB(DB.DEFAULT_NAME).stream(fetchSize, query, params);
+    }
+
+    /**
+     * Inserts many rows with multi-row <code>INSERT</code> statements.
+     *
+     * @see DB#insertMany(String, String[], List)
+     * @param table name of table.
+     * @param columns names of columns.
+     * @param rows values of rows, in order of columns.
+     * @return number of inserted rows.
+     */
+    public static int insertMany(String table, String[] columns, List<Object[]> rows) {
+        return new DB(DB.DEFAULT_NAME).insertMany(table, columns, rows);
+    }
+
+    /**
+     * Inserts rows, or updates them if they already exist, with a statement native to the database.
+     *
+     * @see DB#upsert(String, String[], String[], List)
+     * @param table name of table.
+     * @param columns names of columns.
+     * @param keyColumns columns identifying existing rows.
+     * @param rows values of rows, in order of columns.
+     * @return number of affected rows, as reported by the driver.
+     */
+    public static int upsert(String table, String[] columns, String[] keyColumns, List<Object[]> rows) {
+        return new DB(DB.DEFAULT_NAME).upsert(table, columns, keyColumns, rows);
+    }
+
+    /**
+     * Runs work with all reads on the primary connection, even if reads are routed to replicas.
+     *
+     * @see DB#onPrimary(Supplier)
+     * @param work work to run
+     * @return result of work
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        return new DB(DB.DEFAULT_NAME).onPrimary(work);
+    }
     
 
     /**
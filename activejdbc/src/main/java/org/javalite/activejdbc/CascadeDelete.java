@@ -0,0 +1,170 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.associations.Association;
+import org.javalite.activejdbc.associations.Many2ManyAssociation;
+import org.javalite.activejdbc.associations.OneToManyAssociation;
+import org.javalite.activejdbc.associations.OneToManyPolymorphicAssociation;
+import org.javalite.activejdbc.cache.CacheEventSquasher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.javalite.activejdbc.ModelDelegate.metaModelOf;
+
+/**
+ * Set based cascade delete, see {@link Model#deleteCascadeBulk(Association...)}. Rows to delete from every table are
+ * selected by a condition on their parents, such as <code>patient_id IN (SELECT id FROM patients WHERE ...)</code>,
+ * so that there is one DELETE statement per table, executed deepest first. Targets of many to many associations are
+ * selected into a list of ids instead, because links in join tables must be deleted before the targets.
+ *
+ * @author agent
+ */
+final class CascadeDelete {
+
+    // largest number of ids of targets of a many to many association in one statement
+    private static final int MAX_IDS = 1000;
+
+    private final Association[] excludedAssociations;
+    private final Set<MetaModel> deleted = new HashSet<>();
+    private final CacheEventSquasher squasher;
+
+    private CascadeDelete(Association[] excludedAssociations, CacheEventSquasher squasher) {
+        this.excludedAssociations = excludedAssociations;
+        this.squasher = squasher;
+    }
+
+    /**
+     * Deletes a model and everything associated with it.
+     */
+    static void delete(Model model, Association... excludedAssociations) {
+        try (CacheEventSquasher squasher = new CacheEventSquasher()) {
+            MetaModel metaModel = model.getMetaModelLocal();
+            List<MetaModel> path = new ArrayList<>();
+            path.add(metaModel);
+            new CascadeDelete(excludedAssociations, squasher)
+                    .deleteDependencies(metaModel, "?", Collections.singletonList(model.getId()), path);
+            model.delete();
+        }
+    }
+
+    /**
+     * Deletes rows of tables associated with rows of a table.
+     *
+     * @param metaModel model of the table
+     * @param ids SQL returning ids of rows of the table, a subquery or a list of parameters
+     * @param params parameters of <code>ids</code>
+     * @param path models of tables from the root of the cascade, the last one being this table
+     */
+    @SuppressWarnings("unchecked")
+    private void deleteDependencies(MetaModel metaModel, String ids, List<Object> params, List<MetaModel> path) {
+        DB db = new DB(metaModel.getDbName());
+        List<Many2ManyAssociation> followed = metaModel.getManyToManyAssociations(excludedAssociations);
+        // links are deleted for excluded associations too, same as in Model#deleteCascadeExcept(Association...)
+        Set<String> deletedLinks = new HashSet<>();
+        for (Many2ManyAssociation association : metaModel.getManyToManyAssociations()) {
+            MetaModel target = metaModelOf(association.getTargetClass());
+            List<Object> targetIds = Collections.emptyList();
+            if (followed.contains(association) && !path.contains(target)) {
+                targetIds = (List<Object>) db.firstColumn("SELECT DISTINCT " + association.getTargetFkName() + " FROM "
+                        + association.getJoin() + " WHERE " + association.getSourceFkName() + " IN (" + ids + ")",
+                        params.toArray());
+            }
+            if (deletedLinks.add((association.getJoin() + '.' + association.getSourceFkName()).toLowerCase(Locale.ROOT))) {
+                db.exec("DELETE FROM " + association.getJoin() + " WHERE " + association.getSourceFkName() + " IN ("
+                        + ids + ")", params.toArray());
+            }
+            for (int from = 0; from < targetIds.size(); from += MAX_IDS) {
+                List<Object> chunk = targetIds.subList(from, Math.min(from + MAX_IDS, targetIds.size()));
+                StringBuilder placeholders = new StringBuilder();
+                for (int i = 0; i < chunk.size(); i++) {
+                    placeholders.append(i == 0 ? "?" : ", ?");
+                }
+                delete(target, association.getTargetPk() + " IN (" + placeholders + ")", placeholders.toString(), chunk,
+                        path);
+            }
+        }
+        for (OneToManyAssociation association : metaModel.getOneToManyAssociations(excludedAssociations)) {
+            MetaModel child = metaModelOf(association.getTargetClass());
+            if (!path.contains(child)) {
+                delete(child, association.getFkName() + " IN (" + ids + ")", null, params, path);
+            }
+        }
+        for (OneToManyPolymorphicAssociation association : metaModel.getPolymorphicAssociations(excludedAssociations)) {
+            MetaModel child = metaModelOf(association.getTargetClass());
+            if (!path.contains(child)) {
+                List<Object> childParams = new ArrayList<>(params.size() + 1);
+                childParams.add(association.getTypeLabel());
+                childParams.addAll(params);
+                delete(child, "parent_type = ? AND parent_id IN (" + ids + ")", null, childParams, path);
+            }
+        }
+    }
+
+    /**
+     * Deletes rows of a table matching a condition, after rows of tables associated with them.
+     *
+     * @param ids list of parameters if the condition selects rows by ids, null to select ids with a subquery
+     */
+    private void delete(MetaModel metaModel, String condition, String ids, List<Object> params, List<MetaModel> path) {
+        path.add(metaModel);
+        deleteDependencies(metaModel, ids != null ? ids : "SELECT " + metaModel.getIdName() + " FROM "
+                + metaModel.getTableName() + " WHERE " + condition, params, path);
+        path.remove(path.size() - 1);
+
+        List<Model> models = Collections.emptyList();
+        if (hasDeleteCallbacks(metaModel)) {
+            models = new ArrayList<>(ModelDelegate.where(metaModel.getModelClass(), condition, params.toArray()));
+            for (Model model : models) {
+                model.fireBeforeDelete();
+            }
+        }
+        new DB(metaModel.getDbName()).exec("DELETE FROM " + metaModel.getTableName() + " WHERE " + condition,
+                params.toArray());
+        if (deleted.add(metaModel)) {
+            squasher.add(metaModel);
+            ModelDelegate.purgeEdges(metaModel);
+        }
+        for (Model model : models) {
+            model.fireAfterDelete();
+        }
+    }
+
+    /**
+     * @return true if the model overrides delete callbacks, or has callback listeners
+     */
+    private static boolean hasDeleteCallbacks(MetaModel metaModel) {
+        if (!Registry.instance().modelRegistryOf(metaModel.getModelClass()).callbacks().isEmpty()) {
+            return true;
+        }
+        for (Class<?> c = metaModel.getModelClass(); c != Model.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("beforeDelete");
+                return true;
+            } catch (NoSuchMethodException ignore) {}
+            try {
+                c.getDeclaredMethod("afterDelete");
+                return true;
+            } catch (NoSuchMethodException ignore) {}
+        }
+        return false;
+    }
+}
@@ -40,7 +40,28 @@ public class Configuration {
         CacheManager("cache.manager"),
         ActiveJdbcLogger("activejdbc.logger"),
         CollectStatistics("collectStatistics"),
-        CollectStatisticsOnHold("collectStatisticsOnHold");
+        CollectStatisticsOnHold("collectStatisticsOnHold"),
+        StatementCacheSize("statementCache.size"),
+        BatchSize("batch.size"),
+        SqlTemplatesSize("sqlTemplates.size"),
+        StreamFetchSize("stream.fetchSize"),
+        IncludesParallel("includes.parallel"),
+        IncludesThreads("includes.threads"),
+        IncludesChunkSize("includes.chunkSize"),
+        LazyBatchLoading("lazy.batchLoading"),
+        CacheCapacity("cache.capacity"),
+        CacheTtl("cache.ttl"),
+        CacheCodec("cache.codec"),
+        CacheCompress("cache.compress"),
+        CacheStaleWhileRevalidate("cache.staleWhileRevalidate"),
+        CacheLoadTimeout("cache.loadTimeout"),
+        SlowQueryThresholdMillis("slowQuery.thresholdMillis"),
+        SlowQueryCapacity("slowQuery.capacity"),
+        SlowQueryExplainIntervalSeconds("slowQuery.explainIntervalSeconds"),
+        QueryBudgetMaxQueries("queryBudget.maxQueries"),
+        QueryBudgetMaxRepeats("queryBudget.maxRepeats"),
+        MetadataBulk("metadata.bulk"),
+        ModelCompactAttributes("model.compactAttributes");
 
         private String name;
 
@@ -130,6 +151,183 @@ public class Configuration {
         return Convert.toBoolean(properties.getProperty(PropertyName.CollectStatisticsOnHold.name, "false"));
     }
 
+    /**
+     * @return maximum number of prepared statements cached per connection, 0 to disable caching. Defaults to 64.
+     */
+    public int getStatementCacheSize() {
+        return Convert.toInteger(properties.getProperty(PropertyName.StatementCacheSize.name, "64"));
+    }
+
+    /**
+     * @return number of rows sent to the database in one JDBC batch by <code>Model.insertAll(List)</code> and
+     * <code>Model.saveAll(List)</code>. Defaults to 1000.
+     */
+    public int getBatchSize() {
+        return Convert.toInteger(properties.getProperty(PropertyName.BatchSize.name, "1000"));
+    }
+
+    /**
+     * @return number of UPDATE, INSERT and SELECT statements generated for a model which are kept for reuse, 0 to
+     * generate them every time. Defaults to 256.
+     */
+    public int getSqlTemplatesSize() {
+        return Convert.toInteger(properties.getProperty(PropertyName.SqlTemplatesSize.name, "256"));
+    }
+
+    /**
+     * @return fetch size used by streams of rows and models when not provided explicitly. Defaults to 1000.
+     */
+    public int getStreamFetchSize() {
+        return Convert.toInteger(properties.getProperty(PropertyName.StreamFetchSize.name, "1000"));
+    }
+
+    /**
+     * @return true if includes of all lazy lists should be loaded in parallel. Defaults to false.
+     * @see LazyList#parallelIncludes()
+     */
+    public boolean isIncludesParallel() {
+        return Convert.toBoolean(properties.getProperty(PropertyName.IncludesParallel.name, "false"));
+    }
+
+    /**
+     * @return maximum number of include queries executed at the same time when includes are loaded in parallel.
+     * Defaults to 8.
+     */
+    public int getIncludesThreads() {
+        return Convert.toInteger(properties.getProperty(PropertyName.IncludesThreads.name, "8"));
+    }
+
+    /**
+     * @return maximum number of values in a single <code>IN (...)</code> list of an include query, or 0 if not
+     * provided, in which case a limit of a dialect is used.
+     */
+    public int getIncludesChunkSize() {
+        return Convert.toInteger(properties.getProperty(PropertyName.IncludesChunkSize.name, "0"));
+    }
+
+    /**
+     * @return true if parents and children of models of all lazy lists should be loaded for all models of a list
+     * at once, when first requested from any of them. Defaults to false.
+     * @see LazyList#batchLoading()
+     */
+    public boolean isLazyBatchLoading() {
+        return Convert.toBoolean(properties.getProperty(PropertyName.LazyBatchLoading.name, "false"));
+    }
+
+    /**
+     * Capacity of a group of caches kept in memory by {@link org.javalite.activejdbc.cache.HeapCacheManager}.
+     * Provided by <code>cache.capacity.&lt;group&gt;</code>, such as <code>cache.capacity.countries</code>, or
+     * by <code>cache.capacity</code> for all groups.
+     *
+     * @param group name of group, usually a name of table
+     * @return maximum total weight of cached items of a group, where weight of a list of models is its size, and weight
+     * of any other item is 1. Defaults to 10000.
+     */
+    public long getCacheCapacity(String group) {
+        return Convert.toLong(properties.getProperty(PropertyName.CacheCapacity.name + '.' + group,
+                properties.getProperty(PropertyName.CacheCapacity.name, "10000")));
+    }
+
+    /**
+     * Time to live of caches kept in memory by {@link org.javalite.activejdbc.cache.HeapCacheManager}.
+     * Provided by <code>cache.ttl.&lt;group&gt;</code>, or by <code>cache.ttl</code> for all groups.
+     *
+     * @param group name of group, usually a name of table
+     * @return time to live of cached items of a group in seconds, 0 if they do not expire. Defaults to 0.
+     */
+    public long getCacheTtl(String group) {
+        return Convert.toLong(properties.getProperty(PropertyName.CacheTtl.name + '.' + group,
+                properties.getProperty(PropertyName.CacheTtl.name, "0")));
+    }
+
+    /**
+     * @return class name of {@link org.javalite.activejdbc.cache.CacheCodec} used by cache managers storing caches
+     * outside of JVM. Defaults to {@link org.javalite.activejdbc.cache.JavaSerializationCodec}.
+     */
+    public String getCacheCodec() {
+        return properties.getProperty(PropertyName.CacheCodec.name, "org.javalite.activejdbc.cache.JavaSerializationCodec");
+    }
+
+    /**
+     * @return true if {@link org.javalite.activejdbc.cache.ModelCacheCodec} should deflate encoded caches. Defaults
+     * to false.
+     */
+    public boolean isCacheCompress() {
+        return Convert.toBoolean(properties.getProperty(PropertyName.CacheCompress.name, "false"));
+    }
+
+    /**
+     * @return true if {@link org.javalite.activejdbc.cache.QueryCache} should return a previous result of a query
+     * while another thread reloads it after its cache expired. Defaults to false.
+     */
+    public boolean isCacheStaleWhileRevalidate() {
+        return Convert.toBoolean(properties.getProperty(PropertyName.CacheStaleWhileRevalidate.name, "false"));
+    }
+
+    /**
+     * @return time in milliseconds a thread waits for another thread loading the same query into
+     * {@link org.javalite.activejdbc.cache.QueryCache} before it runs the query itself. Defaults to 10000.
+     */
+    public long getCacheLoadTimeout() {
+        return Convert.toLong(properties.getProperty(PropertyName.CacheLoadTimeout.name, "10000"));
+    }
+
+    /**
+     * @return time in milliseconds after which a query is recorded as slow, 0 (default) if slow queries are not
+     * detected.
+     * @see org.javalite.activejdbc.statistics.SlowQueryLog
+     */
+    public long getSlowQueryThresholdMillis() {
+        return Convert.toLong(properties.getProperty(PropertyName.SlowQueryThresholdMillis.name, "0"));
+    }
+
+    /**
+     * @return number of most recent slow queries kept. Defaults to 100.
+     */
+    public int getSlowQueryCapacity() {
+        return Convert.toInteger(properties.getProperty(PropertyName.SlowQueryCapacity.name, "100"));
+    }
+
+    /**
+     * @return minimum interval in seconds between execution plans collected for the same slow query, 0 to not
+     * collect plans. Defaults to 60.
+     */
+    public long getSlowQueryExplainIntervalSeconds() {
+        return Convert.toLong(properties.getProperty(PropertyName.SlowQueryExplainIntervalSeconds.name, "60"));
+    }
+
+    /**
+     * @return default number of queries allowed in a scope of a query budget, 0 for no limit. Defaults to 50.
+     * @see org.javalite.activejdbc.statistics.QueryBudget
+     */
+    public int getQueryBudgetMaxQueries() {
+        return Convert.toInteger(properties.getProperty(PropertyName.QueryBudgetMaxQueries.name, "50"));
+    }
+
+    /**
+     * @return default number of executions of the same statement in a scope of a query budget after which it is
+     * reported as repeated, 0 to not detect repeats. Defaults to 10.
+     */
+    public int getQueryBudgetMaxRepeats() {
+        return Convert.toInteger(properties.getProperty(PropertyName.QueryBudgetMaxRepeats.name, "10"));
+    }
+
+    /**
+     * @return true if columns of all tables of a schema should be read from database metadata with a single call,
+     * instead of a call per table. Defaults to true.
+     */
+    public boolean isMetadataBulk() {
+        return Convert.toBoolean(properties.getProperty(PropertyName.MetadataBulk.name, "true"));
+    }
+
+    /**
+     * @return true if models keep values of attributes in arrays indexed by slots of columns, instead of maps.
+     * Defaults to true.
+     */
+    public boolean isModelCompactAttributes() {
+        return Convert.toBoolean(properties.getProperty(PropertyName.ModelCompactAttributes.name, "true"));
+    }
+
     public String getCacheManager(){
         return properties.getProperty(Configuration.PropertyName.CacheManager.name);
     }
@@ -22,6 +22,7 @@ import org.javalite.activejdbc.logging.LogLevel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.util.*;
 
@@ -32,6 +33,7 @@ public class ConnectionsAccess {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionsAccess.class);
     private static final ThreadLocal<HashMap<String, Connection>> connectionsTL = new ThreadLocal<>();
+    private static final ThreadLocal<HashMap<String, DataSource>> dataSourcesTL = ThreadLocal.withInitial(HashMap::new);
 
     private ConnectionsAccess() {
         
@@ -54,6 +56,29 @@ public class ConnectionsAccess {
     }
 
 
+    /**
+     * Returns a data source the named connection attached to current thread was opened from.
+     * @param dbName name of connection.
+     * @return data source the connection was opened from, or null if it was opened by other means.
+     */
+    static DataSource getDataSource(String dbName){
+        return dataSourcesTL.get().get(dbName);
+    }
+
+
+    /**
+     * Attaches a connection opened from a data source to a ThreadLocal and binds both to a name.
+     *
+     * @param dbName
+     * @param connection
+     * @param dataSource data source the connection was opened from.
+     */
+    static void attach(String dbName, Connection connection, DataSource dataSource, String extraInfo) {
+        attach(dbName, connection, extraInfo);
+        dataSourcesTL.get().put(dbName, dataSource);
+    }
+
+
     /**
      * Attaches a connection to a ThreadLocal and binds it to a name.
      *
@@ -71,6 +96,7 @@ public class ConnectionsAccess {
     static void detach(String dbName){
         LogFilter.log(LOGGER, LogLevel.DEBUG, "Detached connection named: {} from current thread: {}", dbName, getConnectionMap().get(dbName));
         getConnectionMap().remove(dbName);
+        dataSourcesTL.get().remove(dbName);
     }
 
 
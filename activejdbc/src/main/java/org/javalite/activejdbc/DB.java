@@ -16,8 +16,14 @@ limitations under the License.
 package org.javalite.activejdbc;
 
 import org.javalite.activejdbc.connection_config.*;
+import org.javalite.activejdbc.dialects.Dialect;
+import org.javalite.activejdbc.dialects.Dialects;
+import org.javalite.activejdbc.dialects.MySQLDialect;
+import org.javalite.activejdbc.dialects.PostgreSQLDialect;
 import org.javalite.activejdbc.logging.LogFilter;
 import org.javalite.activejdbc.logging.LogLevel;
+import org.javalite.activejdbc.statistics.SlowQuery;
+import org.javalite.activejdbc.statistics.SlowQueryLog;
 import org.javalite.app_config.AppConfig;
 import org.javalite.common.Convert;
 import org.slf4j.Logger;
@@ -29,13 +35,22 @@ import javax.sql.DataSource;
 import java.io.Closeable;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import static org.javalite.common.Util.closeQuietly;
 import static org.javalite.common.Util.empty;
@@ -55,9 +70,18 @@ public class DB implements Closeable{
             Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
     static final Pattern INSERT_PATTERN = Pattern.compile("^\\s*INSERT",
             Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    //statements whose plans are safe to cache, unlike DDL which can change tables of cached plans
+    private static final Pattern CACHEABLE_PATTERN = Pattern.compile("\\s*(SELECT|INSERT|UPDATE|DELETE|MERGE|WITH)\\b",
+            Pattern.CASE_INSENSITIVE);
 
     public static final String DEFAULT_NAME = "default";
 
+    //names of databases whose reads are not routed to replicas on this thread: already on a replica or kept on primary
+    private static final ThreadLocal<Set<String>> readingReplica = ThreadLocal.withInitial(HashSet::new);
+    // replica connections kept by this thread until the primary connection is closed, by name of database
+    private static final ThreadLocal<Map<String, PinnedReplica>> pinnedReplicas = ThreadLocal.withInitial(HashMap::new);
+    private static final Map<Connection, Dialect> dialects = Collections.synchronizedMap(new WeakHashMap<>());
+
     private final String name;
 
     /**
@@ -139,7 +163,7 @@ public class DB implements Closeable{
             DataSource ds = (DataSource) ctx.lookup(jndiName);
             Connection connection = ds.getConnection();
             LogFilter.log(LOGGER, LogLevel.DEBUG, "Opened connection: {}, JNDI: {}", connection, jndiName);
-            ConnectionsAccess.attach(name, connection, jndiName);
+            ConnectionsAccess.attach(name, connection, ds, jndiName);
             return this;
         } catch (Exception e) {
             throw new InitException("Failed to connect to JNDI name: " + jndiName, e);
@@ -207,7 +231,7 @@ public class DB implements Closeable{
         try {
             Connection connection = datasource.getConnection();
             LogFilter.log(LOGGER, LogLevel.DEBUG, "Opened connection: " + connection);
-            ConnectionsAccess.attach(name, connection, datasource.toString());
+            ConnectionsAccess.attach(name, connection, datasource, datasource.toString());
             return this;
         } catch (SQLException e) {
             throw new InitException(e);
@@ -229,7 +253,7 @@ public class DB implements Closeable{
             DataSource ds = (DataSource) ctx.lookup(jndiName);
             Connection connection = ds.getConnection();
             LogFilter.log(LOGGER, LogLevel.DEBUG, "Opened connection: {}, JNDI: {}", connection, jndiName);
-            ConnectionsAccess.attach(name, connection,
+            ConnectionsAccess.attach(name, connection, ds,
                     jndiProperties.contains("url") ? jndiProperties.getProperty("url") : jndiName);
             return this;
         } catch (Exception e) {
@@ -245,15 +269,127 @@ public class DB implements Closeable{
      */
     public DB open(ConnectionConfig config) {
         checkExistingConnection(name);
+        DB db;
         if (config instanceof ConnectionJdbcConfig) {
-            return openJdbc((ConnectionJdbcConfig) config);
+            db = openJdbc((ConnectionJdbcConfig) config);
         } else if (config instanceof ConnectionJndiConfig) {
-            return openJndi((ConnectionJndiConfig) config);
+            db = openJndi((ConnectionJndiConfig) config);
         } else if (config instanceof ConnectionDataSourceConfig) {
-            return openDataSource((ConnectionDataSourceConfig) config);
+            db = openDataSource((ConnectionDataSourceConfig) config);
         } else {
             throw new IllegalArgumentException("this spec not supported: " + config.getClass());
         }
+        ReplicaRouter.configure(name, config);
+        return db;
+    }
+
+    /**
+     * @param dbName name of a database.
+     * @return data source the connection of this thread to a database was opened from, or null if it was opened
+     * by other means.
+     */
+    static DataSource dataSource(String dbName) {
+        return ConnectionsAccess.getDataSource(dbName);
+    }
+
+    /**
+     * Runs work with all reads of this database on the primary connection of this thread, even if reads are routed
+     * to replicas (see {@link ReplicaRouter}). Use it for reads which must not go to a replica, such as
+     * <code>SELECT nextval('seq')</code> or <code>INSERT ... RETURNING</code> executed with
+     * {@link #firstCell(String, Object...)} or {@link #findAll(String, Object...)}.
+     *
+     * @param work work to run
+     * @return result of work
+     */
+    public <T> T onPrimary(Supplier<T> work) {
+        boolean added = readingReplica.get().add(name);
+        try {
+            return work.get();
+        } finally {
+            if (added) {
+                readingReplica.get().remove(name);
+            }
+        }
+    }
+
+    /**
+     * Runs a read on a replica if reads of this database are routed to replicas (see {@link ReplicaRouter}),
+     * the connection of this thread is not in a transaction and this thread did not write recently.
+     * For the time of the read, a connection to a replica replaces the primary connection on this thread.
+     * The replica connection is kept until {@link #close()}, so that all reads of this thread, such as a query
+     * and its includes, see the same replica and reuse its cached statements.
+     *
+     * @param read read to run
+     * @return result of read
+     */
+    <T> T read(Supplier<T> read) {
+        ReplicaRouter router = ReplicaRouter.of(name);
+        if (router == null || readingReplica.get().contains(name) || router.recentlyWrote()) {
+            return read.get();
+        }
+        Map<String, Connection> connections = ConnectionsAccess.getConnectionMap();
+        Connection primary = connections.get(name);
+        try {
+            if (primary == null || !primary.getAutoCommit()) {
+                return read.get();
+            }
+        } catch (SQLException e) {
+            throw new DBException(e);
+        }
+        PinnedReplica pinned = pinnedReplicas.get().get(name);
+        if (pinned != null && pinned.router != router) {
+            releaseReplica();
+            pinned = null;
+        }
+        if (pinned == null) {
+            int replica = router.choose();
+            Connection connection = router.borrow(replica);
+            if (connection == null) {
+                return read.get();
+            }
+            pinned = new PinnedReplica(router, replica, connection);
+            pinnedReplicas.get().put(name, pinned);
+        }
+        long start = System.nanoTime();
+        connections.put(name, pinned.connection);
+        readingReplica.get().add(name);
+        boolean failed = true;
+        try {
+            T result = read.get();
+            failed = false;
+            return result;
+        } finally {
+            readingReplica.get().remove(name);
+            connections.put(name, primary);
+            if (failed) {
+                // the replica connection may be broken, the next read chooses a replica again
+                releaseReplica();
+            }
+            pinned.router.read(pinned.replica, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Closes the replica connection kept by this thread, if any.
+     */
+    private void releaseReplica() {
+        PinnedReplica pinned = pinnedReplicas.get().remove(name);
+        if (pinned != null) {
+            StatementCache.instance().cleanStatementCache(pinned.connection);
+            pinned.router.release(pinned.replica, pinned.connection);
+        }
+    }
+
+    private static final class PinnedReplica {
+        private final ReplicaRouter router;
+        private final int replica;
+        private final Connection connection;
+
+        private PinnedReplica(ReplicaRouter router, int replica, Connection connection) {
+            this.router = router;
+            this.replica = replica;
+            this.connection = connection;
+        }
     }
 
     private void checkExistingConnection(String name) {
@@ -270,6 +406,9 @@ public class DB implements Closeable{
      */
     private DB openJdbc(ConnectionJdbcConfig config) {
 
+        if (config.getPoolConfig() != null) {
+            return open(ConnectionPool.of(config));
+        }
         if(config.getProps()!= null){
             return open(config.getDriver(), config.getUrl(), config.getProps());
         }else{
@@ -305,7 +444,7 @@ public class DB implements Closeable{
             DataSource ds = (DataSource) context.lookup(jndiName);
             Connection connection = ds.getConnection();
             LogFilter.log(LOGGER, LogLevel.DEBUG, "Opened connection: {}, JNDI: ", connection, jndiName);
-            ConnectionsAccess.attach(name, connection, jndiName);
+            ConnectionsAccess.attach(name, connection, ds, jndiName);
             return this;
         } catch (Exception e) {
             throw new InitException("Failed to connect to JNDI name: " + jndiName, e);
@@ -338,6 +477,7 @@ public class DB implements Closeable{
                 LOGGER.warn("Could not close connection! MUST INVESTIGATE POTENTIAL CONNECTION LEAK!", e);
             }
         } finally {
+            releaseReplica();
             ConnectionsAccess.detach(name); // let's free the thread from connection
         }
     }
@@ -386,24 +526,29 @@ public class DB implements Closeable{
      * @return fetched value, or null if query did not fetch anything.
      */
     public Object firstCell(final String query, Object... params) {
+        return read(() -> readFirstCell(query, params));
+    }
+
+    private Object readFirstCell(String query, Object... params) {
+        Connection connection = connection();
         PreparedStatement ps = null;
         ResultSet rs = null;
         try {
             Object result = null;
-            long start = System.currentTimeMillis();
-            ps = connection().prepareStatement(query);
+            long start = System.nanoTime();
+            ps = prepareCached(connection, query);
             setParameters(ps, params);
             rs = ps.executeQuery();
             if (rs.next()) {
                 result = rs.getObject(1);
             }
-            LogFilter.logQuery(LOGGER, query, params, start);
+            logQuery(query, params, start, result == null ? 0 : 1);
             return result;
         } catch (SQLException e) {
             throw new DBException(query, params, e);
         } finally {
             closeQuietly(rs);
-            closeQuietly(ps);
+            releaseCached(connection, ps);
         }
     }
 
@@ -429,15 +574,19 @@ public class DB implements Closeable{
      * @return entire result set corresponding to the query.
      */
     public List<Map<String, Object>> findAll(String query, Object ... params) {
+        return read(() -> readAll(query, params));
+    }
+
+    private List<Map<String, Object>> readAll(String query, Object... params) {
 
         final List<Map<String, Object>> results = new ArrayList<>();
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         find(query, params).with(new RowListenerAdapter() {
             @Override public void onNext(Map<String, Object> row) {
                 results.add(row);
             }
         });
-        LogFilter.logQuery(LOGGER, query, params, start);
+        logQuery(query, params, start, results.size());
         return results;
     }
 
@@ -458,24 +607,29 @@ public class DB implements Closeable{
      * @return entire result set corresponding to the query.
      */
     public List firstColumn(String query, Object... params) {
+        return read(() -> readFirstColumn(query, params));
+    }
+
+    private List readFirstColumn(String query, Object... params) {
+        Connection connection = connection();
         PreparedStatement ps = null;
         ResultSet rs = null;
         try {
             List<Object> results = new ArrayList<>();
-            long start = System.currentTimeMillis();
-            ps = connection().prepareStatement(query);
+            long start = System.nanoTime();
+            ps = prepareCached(connection, query);
             setParameters(ps, params);
             rs = ps.executeQuery();
             while (rs.next()) {
                 results.add(rs.getObject(1));
             }
-            LogFilter.logQuery(LOGGER, query, params, start);
+            logQuery(query, params, start, results.size());
             return results;
         } catch (SQLException e) {
             throw new DBException(query, params, e);
         } finally {
             closeQuietly(rs);
-            closeQuietly(ps);
+            releaseCached(connection, ps);
         }
     }
 
@@ -493,16 +647,20 @@ public class DB implements Closeable{
      * @return entire result set corresponding to the query.
      */
     public List<Map<String, Object>> findAll(String query) {
+        return read(() -> readAll(query));
+    }
+
+    private List<Map<String, Object>> readAll(String query) {
 
         final ArrayList<Map<String, Object>> results = new ArrayList<>();
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         find(query).with(new RowListenerAdapter() {
             @Override public void onNext(Map<String, Object> row) {
                 results.add(row);
             }
         });
 
-        LogFilter.logQuery(LOGGER, query, null, start);
+        logQuery(query, null, start, results.size());
         return results;
     }
 
@@ -566,24 +724,124 @@ public class DB implements Closeable{
             throw new IllegalArgumentException("you passed arguments, but the query does not have placeholders: (?)");
         }
 
-        PreparedStatement ps;
+        Connection connection = connection();
+        PreparedStatement ps = null;
         ResultSet rs;
         try {
-            ps = createStreamingPreparedStatement(query, type, concur, fetchSize);
+            ps = createStreamingPreparedStatement(connection, query, type, concur, fetchSize);
             setParameters(ps, params);
             rs = ps.executeQuery();
-            return new RowProcessor(rs, ps);
+            return new RowProcessor(rs, ps, connection);
 
-        } catch (SQLException e) { throw new DBException(query, params, e); }
+        } catch (SQLException e) {
+            StatementCache.instance().release(connection, ps);
+            throw new DBException(query, params, e);
+        }
     }
 
-    private PreparedStatement createStreamingPreparedStatement(String query, RowProcessor.ResultSetType type, RowProcessor.ResultSetConcur concur, int fetchSize) throws SQLException {
-        Connection conn = connection();
-        PreparedStatement res = conn.prepareStatement(query, type.getValue(), concur.getValue());
+    private PreparedStatement createStreamingPreparedStatement(Connection connection, String query, RowProcessor.ResultSetType type, RowProcessor.ResultSetConcur concur, int fetchSize) throws SQLException {
+        PreparedStatement res = StatementCache.instance().borrow(connection, query, type.getValue(), concur.getValue(), null);
         res.setFetchSize(fetchSize);
         return res;
     }
 
+    /**
+     * Borrows a forward only, read only statement from {@link StatementCache} for a connection.
+     * Needs to be returned with {@link #releaseCached(Connection, PreparedStatement)}.
+     */
+    private PreparedStatement prepareCached(Connection connection, String query) throws SQLException {
+        return StatementCache.instance().borrow(connection, query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, null);
+    }
+
+    /**
+     * Returns a statement to {@link StatementCache} of the connection it was borrowed for, or closes it if it was
+     * not cached.
+     */
+    private void releaseCached(Connection connection, PreparedStatement ps) {
+        if (ps != null) {
+            StatementCache.instance().release(connection, ps);
+        }
+    }
+
+    /**
+     * Same as {@link #stream(int, String, Object...)}, with fetch size configured by <code>stream.fetchSize</code> in
+     * <code>activejdbc.properties</code>, 1000 by default.
+     */
+    public Stream<Map<String, Object>> stream(String query, Object... params) {
+        return stream(Registry.instance().getConfiguration().getStreamFetchSize(), query, params);
+    }
+
+    /**
+     * Executes a raw query and returns a stream of rows read lazily from a forward only cursor, so that only
+     * about <code>fetchSize</code> rows are held in memory at a time. On MySQL and MariaDB the driver is switched to
+     * row by row streaming (fetch size of <code>Integer.MIN_VALUE</code>). On PostgreSQL, cursors require a
+     * transaction, so if the connection is in auto-commit mode, auto-commit is turned off until the stream is closed.
+     * <p>
+     * The stream must be closed, preferably with try-with-resources:
+     * <pre>
+     * try (Stream&lt;Map&lt;String, Object&gt;&gt; rows = Base.stream(500, "select * from events where year = ?", 2019)) {
+     *     rows.forEach(row -&gt; export(row));
+     * }
+     * </pre>
+     * While the stream is open, the connection must not be used for other queries on MySQL.
+     *
+     * @param fetchSize number of rows fetched from the database at a time.
+     * @param query raw SQL, parametrized if needed.
+     * @param params list of parameters if query is parametrized.
+     * @return stream of rows, needs to be closed.
+     */
+    public Stream<Map<String, Object>> stream(int fetchSize, String query, Object... params) {
+        if(query.indexOf('?') == -1 && params.length != 0) {
+            throw new IllegalArgumentException("you passed arguments, but the query does not have placeholders: (?)");
+        }
+        Connection connection = connection();
+        Dialect dialect = dialect();
+        boolean resetAutoCommit = false;
+        boolean streaming = false;
+        PreparedStatement ps = null;
+        try {
+            if (dialect instanceof MySQLDialect) {
+                fetchSize = Integer.MIN_VALUE;
+            } else if (dialect instanceof PostgreSQLDialect && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                resetAutoCommit = true;
+            }
+            ps = createStreamingPreparedStatement(connection, query, RowProcessor.ResultSetType.FORWARD_ONLY,
+                    RowProcessor.ResultSetConcur.READ_ONLY, fetchSize);
+            setParameters(ps, params);
+            long start = System.nanoTime();
+            ResultSet rs = ps.executeQuery();
+            logQuery(query, params, start, -1);
+            RowProcessor processor = new RowProcessor(rs, ps, connection);
+            if (resetAutoCommit) {
+                processor.afterClose(() -> resetAutoCommit(connection));
+            }
+            Stream<Map<String, Object>> stream = processor.stream();
+            streaming = true;
+            return stream;
+        } catch (SQLException e) {
+            throw new DBException(query, params, e);
+        } finally {
+            // from here on, the stream releases the statement and restores auto-commit when closed
+            if (!streaming) {
+                StatementCache.instance().release(connection, ps);
+                if (resetAutoCommit) {
+                    resetAutoCommit(connection);
+                }
+            }
+        }
+    }
+
+    private static void resetAutoCommit(Connection connection) {
+        try {
+            if (!connection.isClosed()) {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DBException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Executes a raw query and calls instance of <code>RowListener</code> with every row found.
      * Use this method for very large result sets.
@@ -627,12 +885,13 @@ public class DB implements Closeable{
      * @return number of rows afected by query.
      */
     public int exec(String query){
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         Statement s = null;
         try {
             s = connection().createStatement();
+            ReplicaRouter.wrote(name);
             int count = s.executeUpdate(query);
-            LogFilter.logQuery(LOGGER, query, null, start);
+            logQuery(query, null, start, count);
             return count;
         } catch (SQLException e) {
             logException("Query failed: " + query, e);
@@ -644,7 +903,9 @@ public class DB implements Closeable{
 
 
     /**
-     * Executes parametrized DML - will contain question marks as placeholders.
+     * Executes parametrized DML - will contain question marks as placeholders. Statements of
+     * <code>SELECT</code>, <code>INSERT</code>, <code>UPDATE</code>, <code>DELETE</code>, <code>MERGE</code> and
+     * <code>WITH</code> are cached, other statements, such as DDL, are prepared on every call.
      *
      * @param query query to execute - will contain question marks as placeholders.
      * @param params  query parameters.
@@ -654,23 +915,194 @@ public class DB implements Closeable{
 
         if(query.indexOf('?') == -1) throw new IllegalArgumentException("query must be parametrized");
 
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Connection connection = connection();
         PreparedStatement ps = null;
         try {
-            ps = connection().prepareStatement(query);
+            ps = CACHEABLE_PATTERN.matcher(query).lookingAt()
+                    ? prepareCached(connection, query) : connection.prepareStatement(query);
             setParameters(ps, params);
+            ReplicaRouter.wrote(name);
             int count = ps.executeUpdate();
-            LogFilter.logQuery(LOGGER, query, params, start);
+            logQuery(query, params, start, count);
             return count;
         } catch (SQLException e) {
             logException("Failed query: " + query, e);
             throw new DBException(query, params, e);
         } finally {
-            closeQuietly(ps);
+            releaseCached(connection, ps);
+        }
+
+    }
+
+
+    /**
+     * Inserts many rows with multi-row <code>INSERT</code> statements generated by the dialect of this connection,
+     * for instance: <code>INSERT INTO people (name, last_name) VALUES (?, ?), (?, ?)</code>. Rows are split into
+     * several statements if needed to stay within the dialect limit of parameters per statement.
+     *
+     * @param table name of table.
+     * @param columns names of columns.
+     * @param rows values of rows, in order of columns.
+     * @return number of inserted rows.
+     */
+    public int insertMany(String table, String[] columns, List<Object[]> rows) {
+        Dialect dialect = dialect();
+        List<String> columnList = Arrays.asList(columns);
+        return execMany(dialect, columns.length, rows, count -> dialect.insertMany(table, columnList, count));
+    }
+
+    /**
+     * Inserts rows, or updates them if they already exist, with a statement native to the database of this connection:
+     * <code>INSERT ... ON CONFLICT</code> on PostgreSQL and SQLite, <code>INSERT ... ON DUPLICATE KEY UPDATE</code> on
+     * MySQL and <code>MERGE</code> on other databases. Columns other than key columns are updated for existing rows.
+     * If all columns are key columns, existing rows are left as they are, and may not be counted in the result.
+     *
+     * @param table name of table.
+     * @param columns names of columns.
+     * @param keyColumns columns identifying existing rows, usually a primary key or a unique constraint.
+     * @param rows values of rows, in order of columns.
+     * @return number of affected rows, as reported by the driver.
+     */
+    public int upsert(String table, String[] columns, String[] keyColumns, List<Object[]> rows) {
+        List<String> updateColumns = new ArrayList<>();
+        for (String column : columns) {
+            boolean key = false;
+            for (String keyColumn : keyColumns) {
+                if (keyColumn.equalsIgnoreCase(column)) {
+                    key = true;
+                    break;
+                }
+            }
+            if (!key) {
+                updateColumns.add(column);
+            }
+        }
+        return upsert(table, columns, keyColumns, updateColumns, rows);
+    }
+
+    int upsert(String table, String[] columns, String[] keyColumns, List<String> updateColumns, List<Object[]> rows) {
+        if (keyColumns.length == 0) {
+            throw new IllegalArgumentException("key columns must not be empty");
         }
+        Dialect dialect = dialect();
+        List<String> columnList = Arrays.asList(columns);
+        List<String> keyColumnList = Arrays.asList(keyColumns);
+        return execMany(dialect, columns.length, rows,
+                count -> dialect.upsert(table, columnList, keyColumnList, updateColumns, count));
+    }
 
+    private int execMany(Dialect dialect, int columns, List<Object[]> rows, IntFunction<String> queryForRows) {
+        if (columns == 0) {
+            throw new IllegalArgumentException("columns must not be empty");
+        }
+        int rowsPerStatement = Math.max(1, Math.min(1000, dialect.getMaxParameters() / columns));
+        int count = 0;
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            int to = Math.min(rows.size(), from + rowsPerStatement);
+            Object[] params = new Object[(to - from) * columns];
+            int index = 0;
+            for (int i = from; i < to; i++) {
+                Object[] row = rows.get(i);
+                if (row.length != columns) {
+                    throw new IllegalArgumentException("row " + i + " has " + row.length + " values, expected " + columns);
+                }
+                System.arraycopy(row, 0, params, index, columns);
+                index += columns;
+            }
+            count += exec(queryForRows.apply(to - from), params);
+        }
+        return count;
+    }
+
+    private void logQuery(String query, Object[] params, long start, long rows) {
+        LogFilter.logQueryNanos(LOGGER, query, params, start);
+        checkSlowQuery(query, params, start, rows);
+    }
+
+    /**
+     * Records a query in {@link Registry#getSlowQueryLog()} if it took longer than configured, together with
+     * a sampled execution plan of a select.
+     *
+     * @param query query text
+     * @param params query parameters
+     * @param start value of {@link System#nanoTime()} at query start
+     * @param rows number of rows selected or affected, -1 if not known
+     */
+    void checkSlowQuery(String query, Object[] params, long start, long rows) {
+        SlowQueryLog slowQueries = Registry.instance().getSlowQueryLog();
+        long nanos = System.nanoTime() - start;
+        if (slowQueries.isSlow(nanos)) {
+            String plan = SELECT_PATTERN.matcher(query).lookingAt() && slowQueries.sampleExplain(query)
+                    ? explain(query, params) : null;
+            slowQueries.add(new SlowQuery(name, query, params, rows, nanos, plan));
+        }
+    }
+
+    private String explain(String query, Object[] params) {
+        String explain = dialect().explain(query);
+        if (explain == null) {
+            return null;
+        }
+        Connection connection = connection();
+        Savepoint savepoint = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            if (!connection.getAutoCommit()) {
+                savepoint = connection.setSavepoint(); // a failure would abort a transaction on some databases
+            }
+            ps = connection.prepareStatement(explain);
+            if (params != null) {
+                setParameters(ps, params);
+            }
+            rs = ps.executeQuery();
+            int columns = rs.getMetaData().getColumnCount();
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                if (plan.length() > 0) {
+                    plan.append('\n');
+                }
+                for (int i = 1; i <= columns; i++) {
+                    if (i > 1) {
+                        plan.append(" | ");
+                    }
+                    plan.append(rs.getObject(i));
+                }
+            }
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            if (savepoint != null) {
+                try {
+                    connection.rollback(savepoint);
+                } catch (SQLException ignore) {}
+            }
+            LOGGER.debug("Failed to explain query: {}", query, e);
+            return null;
+        } finally {
+            closeQuietly(rs, ps);
+        }
     }
 
+    /**
+     * @return dialect of the connection of this thread, resolved once per connection.
+     */
+    private Dialect dialect() {
+        Connection connection = connection();
+        Dialect dialect = dialects.get(connection);
+        if (dialect == null) {
+            try {
+                dialect = Dialects.getDialect(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                throw new DBException(e);
+            }
+            dialects.put(connection, dialect);
+        }
+        return dialect;
+    }
 
     /**
      * This method is specific for inserts.
@@ -685,35 +1117,15 @@ public class DB implements Closeable{
         if (!INSERT_PATTERN.matcher(query).find())
             throw new IllegalArgumentException("this method is only for inserts");
 
-        long start = System.currentTimeMillis();
-        PreparedStatement ps;
+        long start = System.nanoTime();
+        PreparedStatement ps = null;
+        Connection connection = connection();
         try {
-            Connection connection = connection();
-            ps = StatementCache.instance().getPreparedStatement(connection, query);
-            if(ps == null){
-                ps = connection.prepareStatement(query, new String[]{autoIncrementColumnName});
-                StatementCache.instance().cache(connection, query, ps);
-            }
-            for (int index = 0; index < params.length;) {
-                Object param = params[index++];
-                if (param instanceof byte[]) {
-                    byte[] bytes = (byte[]) param;
-                    try {
-                        Blob blob = connection.createBlob();
-                        if (blob == null) { // SQLite
-                            ps.setBytes(index, bytes);
-                        } else {
-                            blob.setBytes(1, bytes);
-                            ps.setBlob(index, blob);
-                        }
-                    } catch (AbstractMethodError | SQLException e) {// net.sourceforge.jtds.jdbc.ConnectionJDBC2.createBlob is abstract :)
-                        ps.setObject(index, param);
-                    }
-                } else {
-                    ps.setObject(index, param);
-                }
-            }
+            ps = StatementCache.instance().borrow(connection, query, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY, autoIncrementColumnName);
+            setInsertParameters(connection, ps, params);
 
+            ReplicaRouter.wrote(name);
             if (ps.executeUpdate() != 1) {
                 return null;
             }
@@ -723,7 +1135,7 @@ public class DB implements Closeable{
                 rs = ps.getGeneratedKeys();
                 if (rs.next()) {
                     Object id = rs.getObject(1);
-                    LogFilter.logQuery(LOGGER, query, params, start);
+                    logQuery(query, params, start, 1);
                     return id;
                 } else {
                     return -1;
@@ -737,10 +1149,109 @@ public class DB implements Closeable{
         } catch (SQLException e) {
             throw new DBException(query, params, e);
         } finally {
-            // don't close ps as it could have come from the cache!
+            StatementCache.instance().release(connection, ps);
         }
     }
 
+    private void setInsertParameters(Connection connection, PreparedStatement ps, Object... params) throws SQLException {
+        for (int index = 0; index < params.length;) {
+            Object param = params[index++];
+            if (param instanceof byte[]) {
+                byte[] bytes = (byte[]) param;
+                try {
+                    Blob blob = connection.createBlob();
+                    if (blob == null) { // SQLite
+                        ps.setBytes(index, bytes);
+                    } else {
+                        blob.setBytes(1, bytes);
+                        ps.setBlob(index, blob);
+                    }
+                } catch (AbstractMethodError | SQLException e) {// net.sourceforge.jtds.jdbc.ConnectionJDBC2.createBlob is abstract :)
+                    ps.setObject(index, param);
+                }
+            } else {
+                ps.setObject(index, param);
+            }
+        }
+    }
+
+    /**
+     * Executes one parametrized statement for a batch of parameter sets in a single JDBC batch.
+     *
+     * @param query parametrized DML.
+     * @param generatedKeyColumn name of a column that is auto-incremented, or null if generated keys are not needed.
+     * @param batch parameter sets, one per row.
+     * @param generatedKeys if <code>generatedKeyColumn</code> is not null, collects generated keys in order of
+     *                      parameter sets.
+     * @return update counts, as returned by {@link Statement#executeBatch()}.
+     * @throws DBException if the driver did not return a generated key for every parameter set. Rows are inserted
+     * by then, unless the batch runs in a transaction which is rolled back.
+     */
+    int[] execBatch(String query, String generatedKeyColumn, List<Object[]> batch, Object[] generatedKeys) {
+        long start = System.nanoTime();
+        Connection connection = connection();
+        PreparedStatement ps = null;
+        try {
+            ps = StatementCache.instance().borrow(connection, query, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY, generatedKeyColumn);
+            for (Object[] params : batch) {
+                setInsertParameters(connection, ps, params);
+                ps.addBatch();
+            }
+            ReplicaRouter.wrote(name);
+            int[] counts = ps.executeBatch();
+            if (generatedKeyColumn != null) {
+                int keys = 0;
+                ResultSet rs = null;
+                try {
+                    rs = ps.getGeneratedKeys();
+                    while (keys < generatedKeys.length && rs.next()) {
+                        generatedKeys[keys++] = rs.getObject(1);
+                    }
+                } finally {
+                    closeQuietly(rs);
+                }
+                if (keys < generatedKeys.length) {
+                    throw new DBException("Driver returned " + keys + " generated keys for a batch of "
+                            + generatedKeys.length + " rows, query: " + query);
+                }
+            }
+            logQuery(query, null, start, batch.size());
+            return counts;
+        } catch (SQLException e) {
+            logException("Failed batch: " + query, e);
+            throw new DBException(query, null, e);
+        } finally {
+            if (ps != null) {
+                try {
+                    // rows left by a failed batch must not be executed with the next batch of a cached statement
+                    ps.clearBatch();
+                } catch (SQLException e) {
+                    LogFilter.log(LOGGER, LogLevel.WARNING, "Failed to clear batch: {}", query, e);
+                }
+            }
+            StatementCache.instance().release(connection, ps);
+        }
+    }
+
+    /**
+     * Returns statistics of the prepared statement cache shared by all connections. Keys of the map:
+     * <code>hits</code>, <code>misses</code>, <code>evictions</code> and <code>size</code> (number of statements
+     * currently cached). Size of the cache per connection is configured with <code>statementCache.size</code> in
+     * <code>activejdbc.properties</code>.
+     *
+     * @return statement cache statistics
+     */
+    public static Map<String, Long> getStatementCacheStatistics() {
+        StatementCache cache = StatementCache.instance();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", cache.hits());
+        stats.put("misses", cache.misses());
+        stats.put("evictions", cache.evictions());
+        stats.put("size", (long) cache.size());
+        return stats;
+    }
+
     private void logException(String message, Exception e) {
         if (LOGGER.isErrorEnabled() && Convert.toBoolean(System.getProperty("activejdbc.log_exception")))
             LOGGER.error(message, e);
@@ -924,6 +1435,7 @@ public class DB implements Closeable{
      */
     public int[] executeBatch(PreparedStatement ps){
         try {
+            ReplicaRouter.wrote(name);
             int[] counters = ps.executeBatch();
             ps.clearParameters();
             return counters;
@@ -0,0 +1,141 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes values of ordering columns of a row into an opaque URL safe token for keyset pagination, see
+ * {@link Paginator#keyset()}. Values keep their types, so that they are bound to queries the same way as they were
+ * read. Only simple types are supported, other values are encoded as strings. Tokens come from clients, so
+ * decoding never creates objects of other types.
+ *
+ * @author agent
+ */
+final class KeysetCursor {
+
+    private static final byte VERSION = 1;
+    private static final byte NULL = 0, STRING = 1, LONG = 2, DECIMAL = 3, DOUBLE = 4, TIMESTAMP = 5,
+            DATE = 6, TIME = 7, BOOLEAN = 8, UUID_VALUE = 9;
+
+    private KeysetCursor() {}
+
+    static String encode(Object[] values) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(VERSION);
+            out.writeByte(values.length);
+            for (Object value : values) {
+                write(out, value);
+            }
+            out.flush();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            out.writeByte(DECIMAL);
+            out.writeUTF(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof java.sql.Date) {
+            out.writeByte(DATE);
+            out.writeLong(((java.sql.Date) value).getTime());
+        } else if (value instanceof java.sql.Time) {
+            out.writeByte(TIME);
+            out.writeLong(((java.sql.Time) value).getTime());
+        } else if (value instanceof java.util.Date) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(((java.util.Date) value).getTime());
+            out.writeInt(value instanceof Timestamp ? ((Timestamp) value).getNanos() : -1);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof UUID) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(((UUID) value).getMostSignificantBits());
+            out.writeLong(((UUID) value).getLeastSignificantBits());
+        } else {
+            out.writeByte(STRING);
+            out.writeUTF(value.toString());
+        }
+    }
+
+    /**
+     * @param token token produced by {@link #encode(Object[])}
+     * @param count expected number of values
+     * @return values
+     * @throws IllegalArgumentException if token is malformed
+     */
+    static Object[] decode(String token, int count) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)));
+            if (in.readByte() != VERSION || in.readByte() != count) {
+                throw new IllegalArgumentException("cursor does not match ordering of this paginator: " + token);
+            }
+            Object[] values = new Object[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = read(in);
+            }
+            return values;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor: " + token, e);
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL: return null;
+            case STRING: return in.readUTF();
+            case LONG: return in.readLong();
+            case DECIMAL: return new BigDecimal(in.readUTF());
+            case DOUBLE: return in.readDouble();
+            case DATE: return new java.sql.Date(in.readLong());
+            case TIME: return new java.sql.Time(in.readLong());
+            case TIMESTAMP:
+                Timestamp timestamp = new Timestamp(in.readLong());
+                int nanos = in.readInt();
+                if (nanos >= 0) {
+                    timestamp.setNanos(nanos);
+                }
+                return timestamp;
+            case BOOLEAN: return in.readBoolean();
+            case UUID_VALUE: return new UUID(in.readLong(), in.readLong());
+            default: throw new IOException("unknown type: " + type);
+        }
+    }
+}
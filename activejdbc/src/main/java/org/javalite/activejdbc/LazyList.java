@@ -19,13 +19,18 @@ package org.javalite.activejdbc;
 
 import org.javalite.activejdbc.associations.*;
 import org.javalite.activejdbc.cache.QueryCache;
+import org.javalite.activejdbc.dialects.Dialect;
 import org.javalite.activejdbc.logging.LogFilter;
 import org.javalite.common.Inflector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.sql.Array;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.javalite.activejdbc.ModelDelegate.metaModelOf;
 import static org.javalite.common.Util.*;
@@ -48,7 +53,11 @@ public class LazyList<T extends Model> extends AbstractLazyList<T> implements Ex
     private final Object[] params;
     private long limit = -1, offset = -1;
     private final List<Association> includes = new ArrayList<>();
+    private final Map<Class<? extends Model>, List<Class<? extends Model>[]>> nestedIncludes = new HashMap<>();
     private final boolean forPaginator;
+    private boolean parallelIncludes;
+    private boolean batchLoading;
+    private Set<Association> batchLoaded; // associations loaded for all models by batch loading, created when needed
 
     protected LazyList(String subQuery, MetaModel metaModel, Object... params) {
         this.fullQuery = null;
@@ -73,6 +82,18 @@ public class LazyList<T extends Model> extends AbstractLazyList<T> implements Ex
         this.forPaginator = forPaginator;
     }
 
+    /**
+     * Used for models already loaded by an include, to load their own (nested) includes.
+     */
+    private LazyList(MetaModel metaModel, List<T> models) {
+        delegate = models;
+        this.fullQuery = null;
+        this.subQuery = null;
+        this.params = null;
+        this.metaModel = metaModel;
+        this.forPaginator = false;
+    }
+
     /**
      * This is only used by SuperLazyList
      */
@@ -185,6 +206,105 @@ public class LazyList<T extends Model> extends AbstractLazyList<T> implements Ex
         return (LazyList<E>)this;
     }
 
+    /**
+     * Includes models along a path of associations, so that a graph of models is loaded with one query per
+     * association, rather than a query per model. For instance, if a <code>Post</code> belongs to an
+     * <code>Author</code>, and an <code>Author</code> has many <code>Address</code>es, then:
+     * <pre>
+     * List&lt;Post&gt; posts = Post.where("post_date = ?", today).includeNested(Author.class, Address.class);
+     * </pre>
+     *
+     * will load posts, their authors, and addresses of these authors in three queries. Every class of a path must be
+     * associated with the previous one, and the first class with the model of this list. This can be called more than
+     * once, including with paths starting with the same class, and combined with {@link #include(Class[])}.
+     *
+     * @param path classes of models to include, each one associated with the previous one.
+     * @return instance of this <code>LazyList</code>
+     */
+    public <E extends Model> LazyList<E> includeNested(Class<? extends Model>... path) {
+        if (path.length == 0) throw new IllegalArgumentException("path of includes cannot be empty");
+
+        MetaModel current = metaModel;
+        for (Class<? extends Model> clazz : path) {
+            if(!current.isAssociatedTo(clazz)) throw new IllegalArgumentException("Model: " + clazz.getName() + " is not associated with: " + current.getModelClass().getName());
+            current = metaModelOf(clazz);
+        }
+
+        if (!isIncluded(path[0])) {
+            includes.addAll(metaModel.getAssociationsForTarget(path[0]));
+        }
+        if (path.length > 1) {
+            nestedIncludes.computeIfAbsent(path[0], clazz -> new ArrayList<>()).add(Arrays.copyOfRange(path, 1, path.length));
+        }
+        return (LazyList<E>) this;
+    }
+
+    private boolean isIncluded(Class<? extends Model> clazz) {
+        for (Association association : includes) {
+            if (association.getTargetClass().equals(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads includes of this list at the same time instead of one after another, so that loading them takes
+     * about as long as the slowest include query, rather than a sum of all of them. Every include query is executed
+     * on its own connection from the data source the current connection was opened from. Includes are still loaded
+     * one after another if the current connection was not opened from a data source (see {@link DB#open(javax.sql.DataSource)}
+     * and {@link DB#open(String)}), or is in a transaction.
+     * <p></p>
+     * This can be enabled for all lists with <code>includes.parallel=true</code> in <code>activejdbc.properties</code>.
+     * Number of include queries executed at the same time is limited by <code>includes.threads</code>.
+     *
+     * @return instance of this <code>LazyList</code>
+     */
+    public <E extends Model> LazyList<E> parallelIncludes() {
+        this.parallelIncludes = true;
+        return (LazyList<E>) this;
+    }
+
+    /**
+     * Loads parents and children of all models of this list at once, the first time any model of this list is asked
+     * for them with {@link Model#parent(Class)} or {@link Model#getAll(Class)}, as if they were included with
+     * {@link #include(Class[])}. This replaces a query per model (N + 1 queries) with one query per association,
+     * without the need to know in advance which associations will be used:
+     * <pre>
+     * for (Book book : Book.findAll().batchLoading()) {
+     *     book.parent(Author.class); // authors of all books are selected by the first call
+     * }
+     * </pre>
+     * As with includes, loaded parents and children are cached in models and are not updated when the database
+     * changes. Every model keeps a reference to this list. Lists of models annotated with
+     * {@link org.javalite.activejdbc.annotations.Cached} are not loaded in batches, because their models are shared
+     * through the query cache.
+     * <p></p>
+     * This can be enabled for all lists with <code>lazy.batchLoading=true</code> in <code>activejdbc.properties</code>.
+     *
+     * @return instance of this <code>LazyList</code>
+     */
+    public <E extends Model> LazyList<E> batchLoading() {
+        this.batchLoading = true;
+        return (LazyList<E>) this;
+    }
+
+    /**
+     * Loads models of an association for all models of this list, unless they were loaded by this method before.
+     *
+     * @return true if models were loaded
+     */
+    boolean batchLoad(Association association) {
+        if (batchLoaded == null) {
+            batchLoaded = new HashSet<>();
+        }
+        if (!batchLoaded.add(association)) {
+            return false;
+        }
+        new DB(metaModelOf(association.getTargetClass()).getDbName()).read(() -> loadInclude(association)).run();
+        return true;
+    }
+
     /**
      * Converts the resultset to list of maps, where each map represents a row in the resultset keyed off column names.
      *
@@ -289,10 +409,14 @@ public class LazyList<T extends Model> extends AbstractLazyList<T> implements Ex
     public String toSql(boolean showParameters) {
         String sql;
         if(forPaginator){
-            sql = metaModel.getDialect().formSelect(null, null, fullQuery, orderBys, limit, offset);
+            sql = metaModel.getSqlTemplates().select(Arrays.asList(null, fullQuery, new ArrayList<>(orderBys), limit, offset),
+                    () -> metaModel.getDialect().formSelect(null, null, fullQuery, orderBys, limit, offset));
+        }else if(fullQuery != null){
+            sql = fullQuery;
         }else{
-            sql = fullQuery != null ? fullQuery
-                    : metaModel.getDialect().formSelect(metaModel.getTableName(), null, subQuery, orderBys, limit, offset);
+            String tableName = metaModel.getTableName();
+            sql = metaModel.getSqlTemplates().select(Arrays.asList(tableName, subQuery, new ArrayList<>(orderBys), limit, offset),
+                    () -> metaModel.getDialect().formSelect(tableName, null, subQuery, orderBys, limit, offset));
         }
         if (showParameters) {
             StringBuilder sb = new StringBuilder(sql).append(", with parameters: ");
@@ -311,104 +435,180 @@ public class LazyList<T extends Model> extends AbstractLazyList<T> implements Ex
         String sql= toSql(false);
 
         if(metaModel.cached()){
-            List<T> cached = (List<T>) QueryCache.instance().getItem(metaModel.getTableName(), sql, params);
-            if(cached != null){
-                delegate = cached;
+            boolean[] loaded = {false};
+            delegate = QueryCache.instance().getItem(metaModel.getTableName(), sql, params, () -> {
+                loaded[0] = true;
+                return Collections.unmodifiableList(load(sql));
+            });
+            if (!loaded[0]) {
                 LogFilter.logQuery(LOGGER, sql, params, System.currentTimeMillis(), true);
                 return;
             }
+        } else {
+            delegate = load(sql);
         }
-        delegate = new ArrayList<>();
-        long start = System.currentTimeMillis();
-        new DB(metaModel.getDbName()).find(sql, params).with(new RowListenerAdapter() {
-            @Override public void onNext(Map<String, Object> map) {
-                delegate.add(ModelDelegate.<T>instance(map, metaModel));
+        processIncludes(parallelIncludes || Registry.instance().getConfiguration().isIncludesParallel());
+        // models of cached lists are shared by all lists of the same query
+        if (delegate.size() > 1 && !metaModel.cached()
+                && (batchLoading || Registry.instance().getConfiguration().isLazyBatchLoading())) {
+            for (T model : delegate) {
+                model.setSiblings(this);
             }
+        }
+    }
+
+    private List<T> load(String sql) {
+        List<T> models = new ArrayList<>();
+        long start = System.nanoTime();
+        DB db = new DB(metaModel.getDbName());
+        db.read(() -> {
+            db.find(sql, params).with(new RowListenerAdapter() {
+                @Override public void onNext(Map<String, Object> map) {
+                    models.add(ModelDelegate.<T>instance(map, metaModel));
+                }
+            });
+            return models;
         });
-        LogFilter.logQuery(LOGGER, sql, params, start, false);
-        if(metaModel.cached()){
-            delegate = Collections.unmodifiableList(delegate);
-            QueryCache.instance().addItem(metaModel.getTableName(), sql, params, delegate);
+        LogFilter.logQueryNanos(LOGGER, sql, params, start, false);
+        db.checkSlowQuery(sql, params, start, models.size());
+        return models;
+    }
+
+    /**
+     * Returns models of this list as a stream read lazily from a forward only cursor, instead of loading all of them
+     * into memory. Uses fetch size configured by <code>stream.fetchSize</code> in <code>activejdbc.properties</code>.
+     * Unlike {@link #stream()}, this list is not loaded.
+     *
+     * @see #streamCursor(int)
+     * @return stream of models, needs to be closed.
+     */
+    public Stream<T> streamCursor() {
+        return streamCursor(Registry.instance().getConfiguration().getStreamFetchSize());
+    }
+
+    /**
+     * Returns models of this list as a stream read lazily from a forward only cursor, so that only about
+     * <code>fetchSize</code> models are held in memory at a time. See {@link DB#stream(int, String, Object...)} for
+     * database specifics. If this list is already loaded, its model is cached, or it has includes, the list is loaded
+     * as usual and its elements are streamed.
+     * <p>
+     * The cursor stays open until the stream is read to the end or closed. Operations which do not read all elements,
+     * such as <code>findFirst()</code>, <code>anyMatch()</code> or <code>limit()</code>, leave it open, so the stream
+     * must be closed, preferably with try-with-resources:
+     * <pre>
+     * try (Stream&lt;Event&gt; events = Event.where("year = ?", 2019).orderBy("id").streamCursor(500)) {
+     *     events.forEach(event -&gt; export(event));
+     * }
+     * </pre>
+     *
+     * @param fetchSize number of rows fetched from the database at a time.
+     * @return stream of models.
+     */
+    public Stream<T> streamCursor(int fetchSize) {
+        if (hydrated() || metaModel.cached() || !includes.isEmpty()) {
+            hydrate();
+            return delegate.stream();
         }
-        processIncludes();
+        return new DB(metaModel.getDbName()).stream(fetchSize, toSql(false), params)
+                .map(row -> ModelDelegate.<T>instance(row, metaModel));
     }
 
     private boolean hydrated() {
         return delegate != null;
     }
 
-    private void processIncludes() {
-        for (Association association : includes) {
-            if (association instanceof BelongsToAssociation) {
-                processParent((BelongsToAssociation) association);
-            } else if (association instanceof OneToManyAssociation) {
-                processChildren((OneToManyAssociation) association);
-            } else if (association instanceof Many2ManyAssociation) {
-                processManyToMany((Many2ManyAssociation) association);
-            } else if (association instanceof OneToManyPolymorphicAssociation) {
-                processPolymorphicChildren((OneToManyPolymorphicAssociation) association);
-            } else if (association instanceof BelongsToPolymorphicAssociation) {
-                processPolymorphicParent((BelongsToPolymorphicAssociation) association);
+    private void processIncludes(boolean parallel) {
+        if (delegate.isEmpty()) { // no need to process includes if no models selected.
+            return;
+        }
+        if (parallel && includes.size() > 1) {
+            List<String> dbNames = new ArrayList<>(includes.size());
+            List<Callable<Runnable>> loads = new ArrayList<>(includes.size());
+            for (final Association association : includes) {
+                dbNames.add(metaModelOf(association.getTargetClass()).getDbName());
+                loads.add(() -> loadInclude(association));
+            }
+            if (ParallelIncludes.supported(dbNames)) {
+                //models are merged on this thread after all includes are loaded
+                for (Runnable merge : ParallelIncludes.invokeAll(dbNames, loads)) {
+                    merge.run();
+                }
+                return;
             }
         }
+        for (Association association : includes) {
+            new DB(metaModelOf(association.getTargetClass()).getDbName()).read(() -> loadInclude(association)).run();
+        }
     }
 
     /**
-     * @author Evan Leonard
+     * Queries models of an include.
+     *
+     * @return action that merges included models into models of this list.
      */
-    private void processPolymorphicParent(BelongsToPolymorphicAssociation association) {
-        if (delegate.isEmpty()) { // no need to process children if no models selected.
-            return;
+    private Runnable loadInclude(Association association) {
+        if (association instanceof BelongsToAssociation) {
+            return processParent((BelongsToAssociation) association);
+        } else if (association instanceof OneToManyAssociation) {
+            return processChildren((OneToManyAssociation) association);
+        } else if (association instanceof Many2ManyAssociation) {
+            return processManyToMany((Many2ManyAssociation) association);
+        } else if (association instanceof OneToManyPolymorphicAssociation) {
+            return processPolymorphicChildren((OneToManyPolymorphicAssociation) association);
+        } else if (association instanceof BelongsToPolymorphicAssociation) {
+            return processPolymorphicParent((BelongsToPolymorphicAssociation) association);
         }
+        return () -> {};
+    }
+
+    /**
+     * @author Evan Leonard
+     */
+    private Runnable processPolymorphicParent(BelongsToPolymorphicAssociation association) {
         //need to remove duplicates because more than one child can belong to the same parent.
         Set<Object> distinctParentIds = collectDistinct("parent_id", "parent_type", association.getParentClassName());
         distinctParentIds.remove(null); // remove null parent id
         if (distinctParentIds.isEmpty()) {
-            return;
+            return () -> {};
         }
         final MetaModel parentMetaModel = metaModelOf(association.getTargetClass());
         final Map<Object, Model> parentById = new HashMap<>();
 
-        StringBuilder query = new StringBuilder().append(parentMetaModel.getIdName()).append(" IN (");
-        appendQuestions(query, distinctParentIds.size());
-        query.append(')');
-        for (Model parent : new LazyList<>(query.toString(), parentMetaModel, distinctParentIds.toArray())) {
-            parentById.put(association.getParentClassName() + ":" + parent.getId(), parent);
-        }
+        findIn(parentMetaModel, parentMetaModel.getIdName(), "", distinctParentIds, null,
+                parent -> parentById.put(association.getParentClassName() + ":" + parent.getId(), parent));
+        processNestedIncludes(parentMetaModel, new ArrayList<>(parentById.values()));
 
         //now that we have the parents in the has, we need to distribute them into list of children that are
         //stored in the delegate.
-        for (Model child : delegate) {
-            // parent could be null, which is fine
-            child.setCachedParent(parentById.get(association.getParentClassName() + ":" + child.get("parent_id")));
-        }
+        return () -> {
+            for (Model child : delegate) {
+                // parent could be null, which is fine
+                child.setCachedParent(parentById.get(association.getParentClassName() + ":" + child.get("parent_id")));
+            }
+        };
     }
 
-    private void processParent(BelongsToAssociation association) {
-        if (delegate.isEmpty()) { // no need to process parents if no models selected.
-            return;
-        }
+    private Runnable processParent(BelongsToAssociation association) {
         //need to remove duplicates because more than one child can belong to the same parent.
         Set<Object> distinctParentIds = collectDistinct(association.getFkName());
         distinctParentIds.remove(null); // remove null parent id
         if (distinctParentIds.isEmpty()) {
-            return;
+            return () -> {};
         }
         final MetaModel parentMetaModel = metaModelOf(association.getTargetClass());
         final Map<Object, Model> parentById = new HashMap<>();
 
-        StringBuilder query = new StringBuilder().append(parentMetaModel.getIdName()).append(" IN (");
-        appendQuestions(query, distinctParentIds.size());
-        query.append(')');
-        for (Model parent : new LazyList<>(query.toString(), parentMetaModel, distinctParentIds.toArray())) {
-            parentById.put(parent.getId(), parent);
-        }
+        findIn(parentMetaModel, parentMetaModel.getIdName(), "", distinctParentIds, null,
+                parent -> parentById.put(parent.getId(), parent));
+        processNestedIncludes(parentMetaModel, new ArrayList<>(parentById.values()));
         //now that we have the parents in the has, we need to distribute them into list of children that are
         //stored in the delegate.
-        for (Model child : delegate) {
-            // parent could be null, which is fine
-            child.setCachedParent(parentById.get(child.get(association.getFkName())));
-        }
+        return () -> {
+            for (Model child : delegate) {
+                // parent could be null, which is fine
+                child.setCachedParent(parentById.get(child.get(association.getFkName())));
+            }
+        };
     }
 
     /**
@@ -472,81 +672,137 @@ public class LazyList<T extends Model> extends AbstractLazyList<T> implements Ex
         joinAndRepeat(sb, "?", ", ", count);
     }
 
-    private void processPolymorphicChildren(OneToManyPolymorphicAssociation association) {
-        if (delegate.isEmpty()) {//no need to process children if no models selected.
+    /**
+     * Finds models with values of a column in a collection. Values are bound to a single array parameter if the
+     * dialect supports it, otherwise they are split into <code>IN (...)</code> lists of at most
+     * {@link #maxInListSize(Dialect)} values, one query per list.
+     *
+     * @param targetMetaModel meta model of models to find
+     * @param column column to match values to
+     * @param condition additional condition, such as <code>" AND type = 'x'"</code>
+     * @param values values to match, not empty
+     * @param orderBy order by clause, or null if order does not matter
+     * @param consumer called for every found model
+     */
+    private void findIn(MetaModel targetMetaModel, String column, String condition, Collection<Object> values,
+                        String orderBy, Consumer<Model> consumer) {
+        Dialect dialect = targetMetaModel.getDialect();
+        String arrayCondition = dialect.inArray(column);
+        ColumnMetadata columnMetadata = targetMetaModel.getColumnMetadata().get(column);
+        if (arrayCondition != null && columnMetadata != null) {
+            Array array = dialect.toArray("_" + columnMetadata.getTypeName(), values.toArray(),
+                    new DB(targetMetaModel.getDbName()).connection());
+            find(targetMetaModel, arrayCondition + condition, new Object[]{array}, orderBy, consumer);
+            return;
+        }
+        List<Object> list = new ArrayList<>(values);
+        int chunkSize = maxInListSize(dialect);
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            List<Object> chunk = list.subList(from, Math.min(list.size(), from + chunkSize));
+            StringBuilder query = new StringBuilder().append(column).append(" IN (");
+            appendQuestions(query, chunk.size());
+            query.append(')').append(condition);
+            find(targetMetaModel, query.toString(), chunk.toArray(), orderBy, consumer);
+        }
+    }
+
+    private void find(MetaModel targetMetaModel, String query, Object[] params, String orderBy, Consumer<Model> consumer) {
+        LazyList<Model> models = new LazyList<>(query, targetMetaModel, params);
+        if (orderBy != null) {
+            models.orderBy(orderBy);
+        }
+        for (Model model : models) {
+            consumer.accept(model);
+        }
+    }
+
+    /**
+     * @return size of <code>IN (...)</code> lists: <code>includes.chunkSize</code> from
+     * <code>activejdbc.properties</code> if provided, else maximum list size of a dialect.
+     */
+    private static int maxInListSize(Dialect dialect) {
+        int chunkSize = Registry.instance().getConfiguration().getIncludesChunkSize();
+        return chunkSize > 0 ? chunkSize : dialect.getMaxInListSize();
+    }
+
+    /**
+     * Loads includes requested by {@link #includeNested(Class[])} for models loaded by an include.
+     */
+    private void processNestedIncludes(MetaModel targetMetaModel, List<Model> models) {
+        List<Class<? extends Model>[]> paths = nestedIncludes.get(targetMetaModel.getModelClass());
+        if (paths == null || models.isEmpty()) {
             return;
         }
+        LazyList<Model> nested = new LazyList<>(targetMetaModel, models);
+        for (Class<? extends Model>[] path : paths) {
+            nested.includeNested(path);
+        }
+        //nested includes are loaded on this thread, which may already be one of threads loading includes in parallel
+        nested.processIncludes(false);
+    }
+
+    private Runnable processPolymorphicChildren(OneToManyPolymorphicAssociation association) {
         MetaModel childMetaModel = metaModelOf(association.getTargetClass());
         Map<Object, List<Model>> childrenByParentId = new HashMap<>();
-        List<Object> ids = collect(metaModel.getIdName());
-        StringBuilder query = new StringBuilder().append("parent_id IN (");
-        appendQuestions(query, ids.size());
-        query.append(") AND parent_type = '").append(association.getTypeLabel()).append('\'');
-        for (Model child : new LazyList<>(query.toString(), childMetaModel, ids.toArray()).orderBy(childMetaModel.getIdName())) {
+        List<Model> allChildren = new ArrayList<>();
+        Set<Object> ids = collectDistinct(metaModel.getIdName());
+        String condition = " AND parent_type = '" + association.getTypeLabel() + '\'';
+        findIn(childMetaModel, "parent_id", condition, ids, childMetaModel.getIdName(), child -> {
             if (childrenByParentId.get(child.get("parent_id")) == null) {
                 childrenByParentId.put(child.get("parent_id"), new SuperLazyList<>());
             }
             childrenByParentId.get(child.get("parent_id")).add(child);
-        }
-
-        for (T parent : delegate) {
-            List<Model> children = childrenByParentId.get(parent.getId());
-            if (children != null) {
-                parent.setChildren(childMetaModel.getModelClass(), children);
-            }
-            else {
-                parent.setChildren(childMetaModel.getModelClass(), new SuperLazyList<>());
-            }
-        }
+            allChildren.add(child);
+        });
+        processNestedIncludes(childMetaModel, allChildren);
+        return () -> setChildren(childMetaModel, childrenByParentId);
     }
 
 
-    private void processChildren(OneToManyAssociation association) {
-        if(delegate.isEmpty()){//no need to process children if no models selected.
-            return;
-        }
+    private Runnable processChildren(OneToManyAssociation association) {
         final MetaModel childMetaModel = metaModelOf(association.getTargetClass());
         final String fkName = association.getFkName();
         final Map<Object, List<Model>> childrenByParentId = new HashMap<>();
-        List<Object> ids = collect(metaModel.getIdName());
-        StringBuilder query = new StringBuilder().append(fkName).append(" IN (");
-        appendQuestions(query, ids.size());
-        query.append(')');
-        for (Model child : new LazyList<>(query.toString(), childMetaModel, ids.toArray()).orderBy(childMetaModel.getIdName())) {
+        final List<Model> allChildren = new ArrayList<>();
+        Set<Object> ids = collectDistinct(metaModel.getIdName());
+        findIn(childMetaModel, fkName, "", ids, childMetaModel.getIdName(), child -> {
             if(childrenByParentId.get(child.get(fkName)) == null){
                 childrenByParentId.put(child.get(fkName), new SuperLazyList<>());
             }
             childrenByParentId.get(child.get(fkName)).add(child);
-        }
-        for(T parent : delegate){
-            List<Model> children = childrenByParentId.get(parent.getId());
-            if(children != null){
-                parent.setChildren(childMetaModel.getModelClass(), children);
-            }
-            else {
-                parent.setChildren(childMetaModel.getModelClass(), new SuperLazyList<>());
-            }
-        }
+            allChildren.add(child);
+        });
+        processNestedIncludes(childMetaModel, allChildren);
+        return () -> setChildren(childMetaModel, childrenByParentId);
     }
 
-    private void processManyToMany(Many2ManyAssociation association) {
-        if(delegate.isEmpty()){//no need to process other if no models selected.
-            return;
-        }
+    private Runnable processManyToMany(Many2ManyAssociation association) {
         final MetaModel childMetaModel = metaModelOf(association.getTargetClass());
         final Map<Object, List<Model>> childrenByParentId = new HashMap<>();
-        List<Object> ids = collect(metaModel.getIdName());
-        List<Map<String, Object>> childResults = new DB(childMetaModel.getDbName()).findAll(childMetaModel.getDialect().selectManyToManyAssociation(
-                association, "the_parent_record_id", ids.size()), ids.toArray());
-        for(Map<String, Object> res: childResults){
-            Model child = ModelDelegate.instance(res, childMetaModel);
-            Object parentId = res.get("the_parent_record_id");
-            if(childrenByParentId.get(parentId) == null){
-                childrenByParentId.put(parentId, new SuperLazyList<>());
+        final List<Model> allChildren = new ArrayList<>();
+        List<Object> ids = new ArrayList<>(collectDistinct(metaModel.getIdName()));
+        DB db = new DB(childMetaModel.getDbName());
+        int chunkSize = maxInListSize(childMetaModel.getDialect());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Object> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+            List<Map<String, Object>> childResults = db.findAll(childMetaModel.getDialect().selectManyToManyAssociation(
+                    association, "the_parent_record_id", chunk.size()), chunk.toArray());
+            for(Map<String, Object> res: childResults){
+                Model child = ModelDelegate.instance(res, childMetaModel);
+                Object parentId = res.get("the_parent_record_id");
+                if(childrenByParentId.get(parentId) == null){
+                    childrenByParentId.put(parentId, new SuperLazyList<>());
+                }
+                childrenByParentId.get(parentId).add(child);
+                allChildren.add(child);
             }
-            childrenByParentId.get(parentId).add(child);
         }
-        for(T parent : delegate){
+        processNestedIncludes(childMetaModel, allChildren);
+        return () -> setChildren(childMetaModel, childrenByParentId);
+    }
+
+    private void setChildren(MetaModel childMetaModel, Map<Object, List<Model>> childrenByParentId) {
+        for (T parent : delegate) {
             List<Model> children = childrenByParentId.get(parent.getId());
             if (children != null) {
                 parent.setChildren(childMetaModel.getModelClass(), children);
@@ -21,13 +21,17 @@ import org.javalite.activejdbc.dialects.Dialect;
 import org.javalite.activejdbc.dialects.Dialects;
 import org.javalite.activejdbc.logging.LogFilter;
 import org.javalite.activejdbc.logging.LogLevel;
+import org.javalite.common.CaseInsensitiveMap;
 import org.javalite.common.CaseInsensitiveSet;
+import org.javalite.common.Convert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.sql.Clob;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.UnaryOperator;
 
 import static org.javalite.common.Inflector.*;
 
@@ -45,6 +49,10 @@ public class MetaModel implements Serializable {
     private final boolean cached;
     private final String idGeneratorCode;
     private Set<String> attributeNamesNoId;
+    private transient volatile AttributeLayout attributeLayout;
+    private transient volatile Boolean compactAttributes;
+    private transient volatile DriverTypeConverters driverTypeConverters;
+    private transient volatile SqlTemplates sqlTemplates;
     private final String versionColumn;
     private String[] partitionIDs = null;
     private String fkName;
@@ -187,6 +195,86 @@ public class MetaModel implements Serializable {
         this.columnMetadata = columnMetadata;
     }
 
+    /**
+     * @return slots of attributes for compact storage of values in models, or null if metadata of the table is not
+     * loaded or compact storage is turned off with <code>model.compactAttributes</code>.
+     */
+    AttributeLayout getAttributeLayout() {
+        Map<String, ColumnMetadata> metadata = columnMetadata;
+        if (compactAttributes == null) {
+            compactAttributes = Registry.instance().getConfiguration().isModelCompactAttributes();
+        }
+        if (metadata == null || metadata.isEmpty() || !compactAttributes) {
+            return null;
+        }
+        AttributeLayout layout = attributeLayout;
+        if (layout == null || !layout.isFor(metadata)) {
+            layout = new AttributeLayout(metadata);
+            attributeLayout = layout;
+        }
+        return layout;
+    }
+
+    /**
+     * @return cache of SQL generated for this model, see {@link SqlTemplates}
+     */
+    SqlTemplates getSqlTemplates() {
+        AttributeLayout layout = getAttributeLayout();
+        SqlTemplates templates = sqlTemplates;
+        if (templates == null || (layout != null && !templates.isFor(layout))) {
+            templates = new SqlTemplates(this, layout, Registry.instance().getConfiguration().getSqlTemplatesSize());
+            sqlTemplates = templates;
+        }
+        return templates;
+    }
+
+    /**
+     * Conversion of values of a column read from a result set before they are set to a model: conversion of the
+     * dialect, see {@link Dialect#driverTypeConverter(MetaModel, String)}, and reading of <code>Clob</code> values
+     * to strings if this model is cached. Resolved once for all columns.
+     *
+     * @param attributeName name of column
+     * @return function converting values of the column, or null if values are set as read
+     */
+    UnaryOperator<Object> driverTypeConverter(String attributeName) {
+        Map<String, ColumnMetadata> metadata = columnMetadata;
+        DriverTypeConverters converters = driverTypeConverters;
+        if (converters == null || converters.metadata != metadata) {
+            converters = new DriverTypeConverters(metadata);
+            driverTypeConverters = converters;
+        }
+        return converters.converters.get(attributeName);
+    }
+
+    private final class DriverTypeConverters {
+        private final Map<String, ColumnMetadata> metadata;
+        private final Map<String, UnaryOperator<Object>> converters = new CaseInsensitiveMap<>();
+
+        private DriverTypeConverters(Map<String, ColumnMetadata> metadata) {
+            this.metadata = metadata;
+            if (metadata == null) {
+                return;
+            }
+            Dialect dialect = getDialect();
+            for (String name : metadata.keySet()) {
+                UnaryOperator<Object> converter = dialect.driverTypeConverter(MetaModel.this, name);
+                if (cached) {
+                    converter = clobToString(converter);
+                }
+                if (converter != null) {
+                    converters.put(name, converter);
+                }
+            }
+        }
+
+        private UnaryOperator<Object> clobToString(UnaryOperator<Object> converter) {
+            if (converter == null) {
+                return value -> value instanceof Clob ? Convert.toString(value) : value;
+            }
+            return value -> value instanceof Clob ? Convert.toString(value) : converter.apply(value);
+        }
+    }
+
     protected boolean tableExists(){
         return columnMetadata != null &&  columnMetadata.isEmpty();
     }
@@ -30,6 +30,8 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.util.Collections.emptyList;
 import static org.javalite.common.Collections.map;
@@ -50,10 +52,11 @@ class MetaModels {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetaModels.class);
 
-    private final Map<String, MetaModel> metaModelsByTableName = new CaseInsensitiveMap<>();
-    private final Map<String, MetaModel> metaModelsByClassName = new HashMap<>();
+    // models of one database are registered while models of other databases are read, see Registry.init()
+    private final Map<String, MetaModel> metaModelsByTableName = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, MetaModel> metaModelsByClassName = new ConcurrentHashMap<>();
     //these are all many to many associations across all models.
-    private final List<Many2ManyAssociation> many2ManyAssociations = new ArrayList<>();
+    private final List<Many2ManyAssociation> many2ManyAssociations = new CopyOnWriteArrayList<>();
     private final Map<Class, ModelRegistry> modelRegistries = new ConcurrentHashMap<>();
 
     void addMetaModel(MetaModel mm, Class<? extends Model> modelClass) {
@@ -96,8 +99,8 @@ class MetaModels {
     }
 
     String getTableName(Class<? extends Model> modelClass) {
-        return metaModelsByClassName.containsKey(modelClass.getName())?
-            metaModelsByClassName.get(modelClass.getName()).getTableName():null;
+        MetaModel mm = metaModelsByClassName.get(modelClass.getName());
+        return mm == null ? null : mm.getTableName();
     }
 
     public void setColumnMetadata(String table, Map<String, ColumnMetadata> metaParams) {
@@ -138,6 +141,19 @@ class MetaModels {
         return JSONHelper.toJSON(models);
     }
 
+    /**
+     * @return names of types of columns, keyed by names of columns, keyed by names of model classes
+     */
+    protected Map<String, Map<String, String>> columnTypes() {
+        Map<String, Map<String, String>> columnTypes = new HashMap<>();
+        metaModelsByTableName.values().forEach(metaModel -> {
+            Map<String, String> types = new HashMap<>();
+            metaModel.getColumnMetadata().forEach((column, metadata) -> types.put(column, metadata.getTypeName()));
+            columnTypes.put(metaModel.getModelClass().getName(), types);
+        });
+        return columnTypes;
+    }
+
     protected void fromJSON(String json) {
         try {
             MethodHandles.Lookup lookup = MethodHandles.lookup();
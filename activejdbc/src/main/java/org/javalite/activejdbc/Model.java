@@ -52,6 +52,8 @@ import java.text.DateFormat;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import static org.javalite.activejdbc.ModelDelegate.metaModelFor;
 import static org.javalite.activejdbc.ModelDelegate.metaModelOf;
@@ -71,9 +73,9 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Model.class);
 
-    private Map<String, Object> attributes = new CaseInsensitiveMap<>();
+    private Map<String, Object> attributes;
 
-    private Set<String> dirtyAttributeNames = new CaseInsensitiveSet();
+    private Set<String> dirtyAttributeNames;
 
     private boolean frozen;
 
@@ -81,24 +83,51 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
 
     private ModelRegistry modelRegistryLocal;
 
-    private final Map<Class, Model> cachedParents = new HashMap<>();
+    private Map<Class, Model> cachedParents; // created when needed
 
-    private final Map<Class, List<Model>> cachedChildren = new HashMap<>();
+    private Map<Class, List<Model>> cachedChildren; // created when needed
+
+    private LazyList<?> siblings; // list this model was loaded with, if it loads associations in batches
 
     private boolean manageTime = true;
 
     private boolean compositeKeyPersisted;
 
-    private Errors errors = new Errors();
+    private Errors errors; // created when needed
 
     protected Model() {
         metaModelLocal = metaModelOf(getClass());
         modelRegistryLocal = Registry.instance().modelRegistryOf(this.getClass());
+        initAttributes();
     }
 
     protected Model(MetaModel metaModel, ModelRegistry modelRegistry) {
         this.metaModelLocal = Objects.requireNonNull(metaModel, "metaModel is null");
         this.modelRegistryLocal = Objects.requireNonNull(modelRegistry, "modelRegistry is null");
+        initAttributes();
+    }
+
+    /**
+     * Values are kept in slots of columns if metadata of the table is known, see {@link Attributes}.
+     */
+    private void initAttributes() {
+        AttributeLayout layout = metaModelLocal.getAttributeLayout();
+        if (layout != null) {
+            Attributes compact = new Attributes(layout);
+            attributes = compact;
+            dirtyAttributeNames = compact.dirtyNames();
+        } else {
+            attributes = new CaseInsensitiveMap<>();
+            dirtyAttributeNames = new CaseInsensitiveSet();
+        }
+    }
+
+    private Map<Class, Model> cachedParents() {
+        return cachedParents == null ? Collections.<Class, Model>emptyMap() : cachedParents;
+    }
+
+    private Map<Class, List<Model>> cachedChildren() {
+        return cachedChildren == null ? Collections.<Class, List<Model>>emptyMap() : cachedChildren;
     }
 
     private void fireAfterLoad() {
@@ -150,14 +179,14 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         }
     }
 
-    private void fireBeforeDelete() {
+    void fireBeforeDelete() {
         beforeDelete();
         for (CallbackListener callback : modelRegistryLocal.callbacks()) {
             callback.beforeDelete(this);
         }
     }
 
-    private void fireAfterDelete() {
+    void fireAfterDelete() {
         afterDelete();
         for (CallbackListener callback : modelRegistryLocal.callbacks()) {
             callback.afterDelete(this);
@@ -198,6 +227,10 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         return metaModelOf(modelClass());
     }
 
+    MetaModel getMetaModelLocal() {
+        return metaModelLocal;
+    }
+
     protected Map<String, Object> getAttributes() {
         return Collections.unmodifiableMap(attributes);
     }
@@ -254,26 +287,61 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
      * @return the set of changed (i.e. dirty) attribute names
      */
     protected Set<String> hydrate(Map<String, Object> attributesMap, boolean fireAfterLoad) {
-
         Set<String> changedAttributeNames = new HashSet<>();
-        Set<String> attributeNames = metaModelLocal.getAttributeNames();
-        for (Map.Entry<String, Object> entry : attributesMap.entrySet()) {
-            if (attributeNames.contains(entry.getKey()) ) {
-
-                if (entry.getValue() instanceof Clob && metaModelLocal.cached()) {
-                    String convertedString = Convert.toString(entry.getValue());
-                    if (willAttributeModifyModel(entry.getKey(), convertedString)) {
-                        this.attributes.put(entry.getKey(), convertedString);
-                        changedAttributeNames.add(entry.getKey());
+        hydrate(attributesMap, fireAfterLoad, changedAttributeNames);
+        return changedAttributeNames;
+    }
+
+    /**
+     * Same as {@link #hydrate(Map, boolean)}, used to load models from rows of result sets.
+     *
+     * @param changedAttributeNames collects names of changed attributes, or null if they are not needed
+     */
+    void hydrate(Map<String, Object> attributesMap, boolean fireAfterLoad, Set<String> changedAttributeNames) {
+        if (attributesMap instanceof Row && ((Row) attributesMap).compact()) {
+            Row row = (Row) attributesMap;
+            RowLayout layout = row.layout();
+            RowLayout.AttributeSlots plan = layout.attributeSlots(metaModelLocal);
+            int[] slots = plan.slots;
+            UnaryOperator<Object>[] converters = plan.converters;
+            if (attributes instanceof Attributes && ((Attributes) attributes).layout() == plan.attributeLayout
+                    && attributes.isEmpty()) {
+                // freshly created model, nothing to compare values with
+                Attributes compact = (Attributes) attributes;
+                int[] targets = plan.targets;
+                for (int i = 0; i < slots.length; i++) {
+                    Object value = row.valueAt(slots[i]);
+                    if (converters[i] != null) {
+                        value = converters[i].apply(value);
                     }
-                } else {
-                    Object convertedObject = metaModelLocal.getDialect().overrideDriverTypeConversion(
-                            metaModelLocal, entry.getKey(), entry.getValue());
-                    if (willAttributeModifyModel(entry.getKey(), convertedObject)) {
-                        this.attributes.put(entry.getKey(), convertedObject);
-                        changedAttributeNames.add(entry.getKey());
+                    if (value != null) {
+                        String attributeName = layout.key(slots[i]);
+                        if (targets[i] >= 0) {
+                            compact.putAt(targets[i], attributeName, value);
+                        } else {
+                            compact.put(attributeName, value);
+                        }
+                        if (changedAttributeNames != null) {
+                            changedAttributeNames.add(attributeName);
+                        }
                     }
                 }
+            } else {
+                for (int i = 0; i < slots.length; i++) {
+                    Object value = row.valueAt(slots[i]);
+                    hydrateAttribute(layout.key(slots[i]), converters[i] == null ? value : converters[i].apply(value),
+                            changedAttributeNames);
+                }
+            }
+        } else {
+            Set<String> attributeNames = metaModelLocal.getAttributeNames();
+            for (Map.Entry<String, Object> entry : attributesMap.entrySet()) {
+                if (attributeNames.contains(entry.getKey())) {
+                    UnaryOperator<Object> converter = metaModelLocal.driverTypeConverter(entry.getKey());
+                    hydrateAttribute(entry.getKey(),
+                            converter == null ? entry.getValue() : converter.apply(entry.getValue()),
+                            changedAttributeNames);
+                }
             }
         }
         if (getCompositeKeys() != null){
@@ -282,8 +350,15 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         if(fireAfterLoad){
             fireAfterLoad();
         }
+    }
 
-        return changedAttributeNames;
+    private void hydrateAttribute(String attributeName, Object convertedObject, Set<String> changedAttributeNames) {
+        if (willAttributeModifyModel(attributeName, convertedObject)) {
+            this.attributes.put(attributeName, convertedObject);
+            if (changedAttributeNames != null) {
+                changedAttributeNames.add(attributeName);
+            }
+        }
     }
 
     /**
@@ -633,6 +708,34 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         }
     }
 
+    /**
+     * Deletes this record and records associated with it like {@link #deleteCascadeExcept(Association...)} does,
+     * but without loading them. This is a high performance method: it walks associations of models and issues one
+     * DELETE statement per associated table, selecting rows by ids of their parents, deepest tables first:
+     * <pre>
+     *     DELETE FROM prescriptions WHERE patient_id IN (SELECT id FROM patients WHERE doctor_id IN (?))
+     *     DELETE FROM patients WHERE doctor_id IN (?)
+     * </pre>
+     * Ids of targets of many to many associations are selected with one query per join table before links are
+     * deleted. Models are loaded only from tables whose models have delete callbacks ({@link #beforeDelete()},
+     * {@link #afterDelete()} or a {@link CallbackListener}), in order to call them. Caches of all affected tables are
+     * purged once, at the end.
+     *
+     * <p></p>
+     * Unlike {@link #deleteCascade()}, this method does not come back to a table it is already deleting from: in the
+     * example of {@link #deleteCascade()}, deleting doctor Kentor deletes his patients, their prescriptions and all
+     * their links to doctors, but not doctor Hellen Hunt. This also means that records of a model associated with
+     * the same model (a tree of records in one table) are not deleted.
+     *
+     * <p></p>
+     * After deletion, this instance becomes {@link #frozen()} and cannot be used anymore until {@link #thaw()} is called.
+     *
+     * @param excludedAssociations associations not to follow
+     */
+    public void deleteCascadeBulk(Association... excludedAssociations) {
+        CascadeDelete.delete(this, excludedAssociations);
+    }
+
 
 
     private void deleteMany2ManyDeep(List<Many2ManyAssociation> many2ManyAssociations, Association... excludedAssociations){
@@ -887,11 +990,11 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
             }
 
         }
-        for(Entry<Class, Model> parent: cachedParents.entrySet()){
+        for(Entry<Class, Model> parent: cachedParents().entrySet()){
             retVal.put(underscore(parent.getKey().getSimpleName()), parent.getValue().toMap());
         }
 
-        for(Entry<Class, List<Model>> cachedChild: cachedChildren.entrySet()){
+        for(Entry<Class, List<Model>> cachedChild: cachedChildren().entrySet()){
             List<Model> children = cachedChild.getValue();
 
             List<Map> childMaps = new ArrayList<>(children.size());
@@ -911,11 +1014,11 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
                 .append(", table: '").append(metaModelLocal.getTableName())
                 .append("', attributes: ").append(attributes);
 
-        if (cachedParents.size() > 0) {
+        if (!cachedParents().isEmpty()) {
             sb.append(", parent: ").append(cachedParents);
         }
 
-        if (cachedChildren.size() > 0) {
+        if (!cachedChildren().isEmpty()) {
             sb.append(", children: ").append(cachedChildren);
         }
         return sb.toString();
@@ -996,7 +1099,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
             sb.append("</").append(name).append('>');
             if (pretty) { sb.append('\n'); }
         }
-        for (Entry<Class, List<Model>> cachedChild : cachedChildren.entrySet()) {
+        for (Entry<Class, List<Model>> cachedChild : cachedChildren().entrySet()) {
             if (pretty) { sb.append("  ").append(indent); }
             String tag = pluralize(underscore(cachedChild.getKey().getSimpleName()));
             sb.append('<').append(tag).append('>');
@@ -1083,7 +1186,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
             }
         }
 
-        if (cachedParents.size() > 0) {
+        if (!cachedParents().isEmpty()) {
 
             sb.append(',');
             if (pretty) { sb.append("\n  ").append(indent); }
@@ -1112,7 +1215,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
             sb.append('}');
         }
 
-        if (cachedChildren.size() > 0) {
+        if (!cachedChildren().isEmpty()) {
 
             sb.append(',');
             if (pretty) { sb.append("\n  ").append(indent); }
@@ -1192,7 +1295,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
      * @return instance of a parent of this instance in the "belongs to"  relationship if found, ot null if not found.
      */
     public <P extends Model> P parent(Class<P> parentClass, boolean cache) {
-        P cachedParent = parentClass.cast(cachedParents.get(parentClass));
+        P cachedParent = parentClass.cast(cachedParents().get(parentClass));
         if (cachedParent != null) {
             return cachedParent;
         }
@@ -1221,6 +1324,13 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
             return null;
         }
 
+        if (siblings != null && siblings.batchLoad(ass != null ? ass : assP)) {
+            cachedParent = parentClass.cast(cachedParents().get(parentClass));
+            if (cachedParent != null) {
+                return cachedParent;
+            }
+        }
+
         MetaModel parentMM = metaModelOf(parentClass);
         String parentTable = parentMM.getTableName();
         String parentIdName = parentMM.getIdName();
@@ -1241,7 +1351,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         } else {
             try {
                 P parent = parentClass.getDeclaredConstructor().newInstance();
-                parent.hydrate(results.get(0), true);
+                parent.hydrate(results.get(0), true, null);
                 if (parentMM.cached()) {
                     QueryCache.instance().addItem(parentTable, query, new Object[]{fkValue}, parent);
                 }
@@ -1257,6 +1367,9 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
 
     protected void setCachedParent(Model parent) {
         if (parent != null) {
+            if (cachedParents == null) {
+                cachedParents = new HashMap<>();
+            }
             cachedParents.put(parent.getClass(), parent);
         }
     }
@@ -1444,6 +1557,25 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         return attributes.get(attributeName);
     }
 
+    /**
+     * Used by typed accessors generated by instrumentation from static metadata. Reads value of attribute straight
+     * from its slot, without looking up the name, if the slot holds this attribute and no converters are registered
+     * for it. Otherwise returns null, and the accessor falls back to a getter that takes a name, such as
+     * {@link #getLong(String)}.
+     *
+     * @param slot slot of attribute: index of the column in case insensitive order of names of columns
+     * @param attributeName name of attribute, spelled as in metadata
+     * @return value of attribute, or null
+     */
+    protected final Object valueInSlot(int slot, String attributeName) {
+        if (frozen || !(attributes instanceof Attributes)) {
+            return null;
+        }
+        Attributes slots = (Attributes) attributes;
+        return slots.isSlotOf(slot, attributeName) && !modelRegistryLocal.converts(slots.layout(), slot)
+                ? slots.valueAt(slot) : null;
+    }
+
 
     private Object tryPolymorphicParent(String parentTable){
         MetaModel parentMM = inferTargetMetaModel(parentTable);
@@ -1887,10 +2019,19 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
      */
 
     public <C extends Model> LazyList<C> getAll(Class<C> clazz) {
-        List<Model> children = cachedChildren.get(clazz);
+        List<Model> children = cachedChildren().get(clazz);
         if(children != null){
             return (LazyList<C>) children;
         }
+        if (siblings != null) {
+            Association association = childAssociation(clazz);
+            if (association != null && siblings.batchLoad(association)) {
+                children = cachedChildren().get(clazz);
+                if (children != null) {
+                    return (LazyList<C>) children;
+                }
+            }
+        }
 
 //        String tableName = Registry.instance().getTableName(clazz);
 //        if(tableName == null) throw new IllegalArgumentException("table: " + tableName + " does not exist for model: " + clazz);
@@ -1899,6 +2040,21 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
     }
 
 
+    /**
+     * @return association with children or other models of a class, in order of precedence of
+     * {@link #get(Class, String, Object...)}, or null
+     */
+    private Association childAssociation(Class<? extends Model> targetModelClass) {
+        Association association = metaModelLocal.getAssociationForTarget(targetModelClass, OneToManyAssociation.class);
+        if (association == null) {
+            association = metaModelLocal.getAssociationForTarget(targetModelClass, Many2ManyAssociation.class);
+        }
+        if (association == null) {
+            association = metaModelLocal.getAssociationForTarget(targetModelClass, OneToManyPolymorphicAssociation.class);
+        }
+        return association;
+    }
+
     /**
      * Provides a list of child models in one to many, many to many and polymorphic associations, but in addition also allows to filter this list
      * by criteria.
@@ -1996,7 +2152,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
      * @see Messages
      */
     public void addError(String key, String value){
-        errors.put(key, value);
+        errors().put(key, value);
     }
 
     /**
@@ -2224,7 +2380,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
     public void validate(boolean reset) {
 
         if(reset){
-            errors = new Errors();
+            errors = null;
         }
 
         fireBeforeValidation();
@@ -2253,7 +2409,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
      * @param validator -validator that failed validation.
      */
     public void addFailedValidator(Validator validator, String errorKey) {
-        errors.addValidator(errorKey, validator);
+        errors().addValidator(errorKey, validator);
     }
 
     /**
@@ -2262,6 +2418,9 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
      * @return an instance of <code>Errors</code> object, filled with error messages after validation.
      */
     public Errors errors() {
+        if (errors == null) {
+            errors = new Errors();
+        }
         return errors;
     }
 
@@ -2272,7 +2431,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
      * @return an instance of localized <code>Errors</code> object, filled with error messages after validation.
      */
     public Errors errors(Locale locale) {
-        errors.setLocale(locale);
+        errors().setLocale(locale);
         return errors;
     }
 
@@ -2480,6 +2639,25 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         return ModelDelegate.findFirst(Model.<T>modelClass(), subQuery, params);
     }
 
+    /**
+     * Returns models matching a query as a stream read lazily from a forward only cursor, so that large tables can be
+     * processed without loading all records into memory. Fetch size is configured by <code>stream.fetchSize</code>
+     * in <code>activejdbc.properties</code>. The stream must be closed, preferably with try-with-resources:
+     * <pre>
+     * try (Stream&lt;Person&gt; people = Person.stream("last_name = ?", "Smith")) {
+     *     people.forEach(person -&gt; export(person));
+     * }
+     * </pre>
+     *
+     * @see DB#stream(int, String, Object...)
+     * @param query sub-query (where clause), or null to stream all records.
+     * @param params parameters of the query.
+     * @return stream of models.
+     */
+    public static <T extends Model> Stream<T> stream(String query, Object... params) {
+        return ModelDelegate.stream(Model.<T>modelClass(), query, params);
+    }
+
     /**
      * This method is for processing really large result sets. Results found by this method are never cached.
      *
@@ -2666,7 +2844,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
     public boolean saveIt() {
         boolean result = save();
         ModelDelegate.purgeEdges(metaModelLocal);
-        if (!errors.isEmpty()) {
+        if (hasErrors()) {
             throw new ValidationException(this);
         }
         return result;
@@ -2679,7 +2857,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
      * After this method, this instance is equivalent to an empty, just created instance.
      */
     public void reset() {
-        attributes = new CaseInsensitiveMap<>();
+        attributes.clear();
     }
 
     /**
@@ -2749,6 +2927,122 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         return result;
     }
 
+    /**
+     * Saves this model with a single "insert or update" statement native to the database (see
+     * {@link DB#upsert(String, String[], String[], List)}), instead of selecting a record first.
+     * Validations and save callbacks are executed as in {@link #save()}. Values of all non-null attributes
+     * are inserted, and all of them except key columns and <code>created_at</code> are updated if a record exists.
+     * Value of a generated ID is not read back.
+     *
+     * @param keyColumns columns identifying an existing record, such as a unique constraint. If not provided,
+     * composite keys or ID of this model are used. If ID is used and not set, this model is simply inserted.
+     * @return true if a record was inserted or updated, or already existed with nothing to update (when only key
+     * columns are set), false if this model did not pass validations.
+     */
+    public boolean upsert(String... keyColumns) {
+        if (frozen) throw new FrozenException(this);
+        MetaModel metaModel = metaModelLocal;
+        if (metaModel.isVersioned()) {
+            throw new DBException("upsert() is not supported for versioned models, use save() instead");
+        }
+        String[] keys = keyColumns.length > 0 ? keyColumns : getCompositeKeys();
+        if (keys == null) {
+            if (getId() == null) {
+                return save();
+            }
+            keys = new String[]{getIdName()};
+        }
+
+        fireBeforeSave();
+        validate();
+        if (hasErrors()) {
+            return false;
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        if (attributes.get("created_at") == null) {
+            doCreatedAt(now);
+        }
+        doUpdatedAt(now);
+        List<String> columns = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        collectInsertValues(columns, values);
+        Set<String> notUpdated = new CaseInsensitiveSet(Arrays.asList(keys));
+        notUpdated.add("created_at");
+        List<String> updateColumns = new ArrayList<>();
+        for (String column : columns) {
+            if (!notUpdated.contains(column)) {
+                updateColumns.add(column);
+            }
+        }
+
+        try (CacheEventSquasher ces = new CacheEventSquasher()) {
+            new DB(metaModel.getDbName()).upsert(metaModel.getTableName(), columns.toArray(new String[columns.size()]),
+                    keys, updateColumns, Collections.singletonList(values.toArray()));
+            CacheEventSquasher.purge(metaModel);
+        }
+        if (getCompositeKeys() != null) {
+            compositeKeyPersisted = true;
+        }
+        dirtyAttributeNames.clear();
+        fireAfterSave();
+        return true;
+    }
+
+    /**
+     * Inserts models as new records, same as calling {@link #insert()} on each of them, but in JDBC batches of
+     * <code>batch.size</code> rows configured in <code>activejdbc.properties</code>, 1000 by default.
+     * See {@link #insertAll(List, int)}.
+     *
+     * @param models models to insert, may be of different classes.
+     * @return number of inserted models.
+     */
+    public static int insertAll(List<? extends Model> models) {
+        return ModelDelegate.insertAll(models, Registry.instance().getConfiguration().getBatchSize());
+    }
+
+    /**
+     * Inserts models as new records, same as calling {@link #insert()} on each of them. Models are grouped by
+     * table and set of non-null attributes, and each group is executed as one parametrized statement in
+     * JDBC batches of <code>batchSize</code> rows. Values of generated IDs are read back and set on models.
+     * All models of a batch get the same <code>created_at</code> and <code>updated_at</code> values, and cache
+     * of a table is purged once per batch. Callbacks are called for every model: "before" callbacks when the model
+     * is added to a batch, "after" callbacks once its batch is executed. A {@link DBException} is thrown if the
+     * driver does not return a generated ID for every inserted row.
+     *
+     * @param models models to insert, may be of different classes.
+     * @param batchSize maximum number of rows sent to DB in one batch.
+     * @return number of inserted models.
+     */
+    public static int insertAll(List<? extends Model> models, int batchSize) {
+        return ModelDelegate.insertAll(models, batchSize);
+    }
+
+    /**
+     * Saves models, same as calling {@link #save()} on each of them, but in JDBC batches of <code>batch.size</code>
+     * rows configured in <code>activejdbc.properties</code>, 1000 by default. See {@link #saveAll(List, int)}.
+     *
+     * @param models models to save, may be of different classes.
+     * @return number of saved models.
+     */
+    public static int saveAll(List<? extends Model> models) {
+        return ModelDelegate.saveAll(models, Registry.instance().getConfiguration().getBatchSize());
+    }
+
+    /**
+     * Saves models, same as calling {@link #save()} on each of them. Models that do not pass validation are skipped,
+     * and their errors are available by {@link #errors()}. New models are inserted as in {@link #insertAll(List, int)},
+     * existing models are grouped by generated UPDATE statement and updated in JDBC batches of
+     * <code>batchSize</code> rows.
+     *
+     * @param models models to save, may be of different classes.
+     * @param batchSize maximum number of rows sent to DB in one batch.
+     * @return number of saved models.
+     */
+    public static int saveAll(List<? extends Model> models, int batchSize) {
+        return ModelDelegate.saveAll(models, batchSize);
+    }
+
     /**
      * Returns total count of records in table.
      *
@@ -2784,27 +3078,36 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
 
         fireBeforeCreate();
 
-        doCreatedAt();
-        doUpdatedAt();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        doCreatedAt(now);
+        doUpdatedAt(now);
 
         MetaModel metaModel = metaModelLocal;
-        List<String> columns = new ArrayList<>();
-        List<Object> values = new ArrayList<>();
-        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
-            if (entry.getValue() != null && !metaModel.getVersionColumn().equals(entry.getKey())) {
-                columns.add(entry.getKey());
-                values.add(entry.getValue());
-            }
-        }
-        if (metaModel.isVersioned()) {
-            columns.add(metaModel.getVersionColumn());
-            values.add(1);
-        }
-
         try {
             boolean containsId = (attributes.get(metaModel.getIdName()) != null); // do not use containsKey
+            List<Object> values = new ArrayList<>();
+            String query;
+            SqlTemplates templates = metaModel.getSqlTemplates();
+            if (attributes instanceof Attributes && templates.isFor(((Attributes) attributes).layout())
+                    && !((Attributes) attributes).hasOverflow()) {
+                Attributes compact = (Attributes) attributes;
+                SqlTemplates.Template template = templates.insert(metaModel.getTableName(), compact.nonNullBits(),
+                        containsId, columns -> metaModel.getDialect().insertParametrized(metaModel,
+                                withVersionColumn(columns), containsId));
+                for (int slot : template.slots) {
+                    values.add(compact.valueAt(slot));
+                }
+                if (metaModel.isVersioned()) {
+                    values.add(1);
+                }
+                query = template.query;
+            } else {
+                List<String> columns = new ArrayList<>();
+                collectInsertValues(columns, values);
+                query = metaModel.getDialect().insertParametrized(metaModel, columns, containsId);
+            }
+
             boolean done;
-            String query = metaModel.getDialect().insertParametrized(metaModel, columns, containsId);
             if (containsId || getCompositeKeys() != null) {
                 compositeKeyPersisted  = done = (1 == new DB(metaModel.getDbName()).exec(query, values.toArray()));
             } else {
@@ -2815,12 +3118,7 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
 
             CacheEventSquasher.purge(metaModel);
 
-            if (metaModel.isVersioned()) {
-                attributes.put(metaModel.getVersionColumn(), 1);
-            }
-
-            dirtyAttributeNames.clear(); // Clear all dirty attribute names as all were inserted. What about versionColumn ?
-            fireAfterCreate();
+            completeInsert();
 
             return done;
         } catch (DBException e) {
@@ -2830,15 +3128,109 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         }
     }
 
+    /**
+     * Collects names and values of attributes to insert: all non-null attributes, and version column if
+     * this model is versioned.
+     */
+    private void collectInsertValues(List<String> columns, List<Object> values) {
+        MetaModel metaModel = metaModelLocal;
+        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+            if (entry.getValue() != null && !metaModel.getVersionColumn().equals(entry.getKey())) {
+                columns.add(entry.getKey());
+                values.add(entry.getValue());
+            }
+        }
+        if (metaModel.isVersioned()) {
+            columns.add(metaModel.getVersionColumn());
+            values.add(1);
+        }
+    }
+
+    /**
+     * @return columns to insert followed by version column if this model is versioned
+     */
+    private List<String> withVersionColumn(List<String> columns) {
+        if (!metaModelLocal.isVersioned()) {
+            return columns;
+        }
+        List<String> versioned = new ArrayList<>(columns);
+        versioned.add(metaModelLocal.getVersionColumn());
+        return versioned;
+    }
+
+    private void completeInsert() {
+        if (metaModelLocal.isVersioned()) {
+            attributes.put(metaModelLocal.getVersionColumn(), 1);
+        }
+        dirtyAttributeNames.clear(); // Clear all dirty attribute names as all were inserted. What about versionColumn ?
+        fireAfterCreate();
+    }
+
+    /**
+     * Prepares this model to be inserted as a part of a batch: fires "before" callbacks, sets time stamps and
+     * collects values to insert.
+     *
+     * @param now time stamp shared by all models of a batch
+     * @param values collects values to insert, in order of the returned columns
+     * @return names of columns to insert
+     */
+    List<String> prepareBatchInsert(Timestamp now, List<Object> values) {
+        if (frozen) throw new FrozenException(this);
+        fireBeforeCreate();
+        doCreatedAt(now);
+        doUpdatedAt(now);
+        List<String> columns = new ArrayList<>();
+        collectInsertValues(columns, values);
+        return columns;
+    }
+
+    /**
+     * Completes insert of this model after a batch it belongs to was executed.
+     *
+     * @param id generated value of ID, or null if ID was provided by this model
+     */
+    void completeBatchInsert(Object id) {
+        if (id != null) {
+            attributes.put(metaModelLocal.getIdName(), id);
+        } else {
+            compositeKeyPersisted = true;
+        }
+        completeInsert();
+    }
+
+    /**
+     * Validates this model as a part of {@link #saveAll(List)}.
+     *
+     * @return true if this model is valid and should be saved
+     */
+    boolean prepareBatchSave() {
+        if (frozen) throw new FrozenException(this);
+        fireBeforeSave();
+        validate();
+        return !hasErrors();
+    }
+
+    void completeBatchSave() {
+        fireAfterSave();
+    }
+
     private void doCreatedAt() {
+        doCreatedAt(new Timestamp(System.currentTimeMillis()));
+    }
+
+    private void doCreatedAt(Timestamp now) {
         if (manageTime && metaModelLocal.hasAttribute("created_at")) {
-            attributes.put("created_at", new Timestamp(System.currentTimeMillis()));
+            attributes.put("created_at", now);
         }
     }
 
     private void doUpdatedAt() {
+        doUpdatedAt(new Timestamp(System.currentTimeMillis()));
+    }
+
+    private void doUpdatedAt(Timestamp now) {
         if (manageTime && metaModelLocal.hasAttribute("updated_at")) {
-            attributes.put("updated_at", new Timestamp(System.currentTimeMillis()));
+            attributes.put("updated_at", now);
         }
     }
 
@@ -2847,66 +3239,143 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         fireBeforeUpdate();
         doUpdatedAt();
 
+        List<Object> values = new ArrayList<>();
+        String query = updateQuery(values);
+        if (query == null)
+            return false;
+
+        int updated = new DB(metaModelLocal.getDbName()).exec(query, values.toArray());
+        CacheEventSquasher.purge(metaModelLocal);
+        completeUpdate(updated);
+        return updated > 0;
+    }
+
+    /**
+     * Generates parametrized UPDATE for dirty attributes of this model.
+     *
+     * @param values collects values of parameters
+     * @return parametrized query, or null if there is nothing to update
+     */
+    private String updateQuery(List<Object> values) {
         MetaModel metaModel = metaModelLocal;
-        StringBuilder query = new StringBuilder().append("UPDATE ").append(metaModel.getTableName()).append(" SET ");
+        List<String> attributeNames;
+        String query;
+        SqlTemplates templates = metaModel.getSqlTemplates();
+        if (attributes instanceof Attributes && templates.isFor(((Attributes) attributes).layout())) {
+            SqlTemplates.Template template = templates.update(metaModel.getTableName(),
+                    ((Attributes) attributes).dirtyBits(), manageTime, this::buildUpdateQuery);
+            attributeNames = template.columns;
+            query = template.query;
+        } else {
+            attributeNames = new ArrayList<>(metaModel.getAttributeNamesSkipGenerated(manageTime));
+            attributeNames.retainAll(dirtyAttributeNames);
+            query = buildUpdateQuery(attributeNames);
+        }
+        if (query == null) {
+            return null;
+        }
+
+        values.addAll(getAttributeValues(attributeNames));
+        if (manageTime && metaModel.hasAttribute("updated_at")) {
+            values.add(get("updated_at"));
+        }
+        if (metaModel.isVersioned()) {
+            values.add(getLong(metaModel.getVersionColumn()) + 1);
+        }
+        if (getCompositeKeys() != null) {
+            for (String compositeKey : getCompositeKeys()) {
+                values.add(get(compositeKey));
+            }
+        } else {
+            values.add(getId());
+            if (metaModel.hasPartitionIDs()) {
+                for (String partitionId : metaModel.getPartitionIDs()) {
+                    values.add(get(partitionId));
+                }
+            }
+        }
+        if (metaModel.isVersioned()) {
+            values.add(get(metaModel.getVersionColumn()));
+        }
+        return query;
+    }
 
-        List<String> attributeNames = new ArrayList<>(metaModel.getAttributeNamesSkipGenerated(manageTime));
-        attributeNames.retainAll(dirtyAttributeNames);
+    /**
+     * Generates parametrized UPDATE of attributes, in the order of parameters added by {@link #updateQuery(List)}.
+     *
+     * @param attributeNames names of updated attributes, not counting managed ones
+     * @return parametrized query, or null if there is nothing to update
+     */
+    private String buildUpdateQuery(List<String> attributeNames) {
+        MetaModel metaModel = metaModelLocal;
+        StringBuilder query = new StringBuilder().append("UPDATE ").append(metaModel.getTableName()).append(" SET ");
 
         metaModel.getDialect().appendQuestionsForUpdate(metaModel, query, attributeNames);
-
-        List<Object> values = getAttributeValues(attributeNames);
+        boolean empty = attributeNames.isEmpty();
 
         if (manageTime && metaModel.hasAttribute("updated_at")) {
-            if(values.size() > 0)
+            if (!empty)
                 query.append(", ");
             query.append("updated_at = ?");
-            values.add(get("updated_at"));
+            empty = false;
         }
 
         if(metaModel.isVersioned()){
-            if(values.size() > 0)
+            if (!empty)
                 query.append(", ");
-            query.append(metaModelLocal.getVersionColumn()).append(" = ?");
-            values.add(getLong(metaModelLocal.getVersionColumn()) + 1);
+            query.append(metaModel.getVersionColumn()).append(" = ?");
+            empty = false;
         }
-        if(values.isEmpty())
-            return false;
+        if (empty)
+            return null;
 
         if (getCompositeKeys() != null) {
             String[] compositeKeys = getCompositeKeys();
             for (int i = 0; i < compositeKeys.length; i++) {
                 query.append(i == 0 ? " WHERE " : " AND ").append(compositeKeys[i]).append(" = ?");
-                values.add(get(compositeKeys[i]));
             }
         } else {
             query.append(" WHERE ").append(metaModel.getIdName()).append(" = ?");
-            values.add(getId());
             if(metaModel.hasPartitionIDs()){
                 for (String partitionId : metaModel.getPartitionIDs()) {
                     query.append(" AND ").append(partitionId).append(" = ?");
-                    values.add(get(partitionId));
                 }
             }
         }
         if (metaModel.isVersioned()) {
-            query.append(" AND ").append(metaModelLocal.getVersionColumn()).append(" = ?");
-            values.add(get(metaModelLocal.getVersionColumn()));
+            query.append(" AND ").append(metaModel.getVersionColumn()).append(" = ?");
         }
-        int updated = new DB(metaModel.getDbName()).exec(query.toString(), values.toArray());
-        if(metaModel.isVersioned() && updated == 0){
+        return query.toString();
+    }
+
+    /**
+     * @param updated number of updated rows, or {@link java.sql.Statement#SUCCESS_NO_INFO} if unknown
+     */
+    void completeUpdate(int updated) {
+        if(metaModelLocal.isVersioned() && updated == 0){
             throw new StaleModelException("Failed to update record for model '" + getClass() +
                     "', with " + getIdName() + " = " + getId() + " and " + metaModelLocal.getVersionColumn()
                     + " = " + get(metaModelLocal.getVersionColumn()) +
                     ". Either this record does not exist anymore, or has been updated to have another "
                     + metaModelLocal.getVersionColumn() + '.');
-        }else if(metaModel.isVersioned()){
+        }else if(metaModelLocal.isVersioned()){
             set(metaModelLocal.getVersionColumn(), getLong(metaModelLocal.getVersionColumn()) + 1);
         }
-        CacheEventSquasher.purge(metaModel);
         dirtyAttributeNames.clear();
         fireAfterUpdate();
-        return updated > 0;
+    }
+
+    /**
+     * Prepares this model to be updated as a part of a batch: fires "before" callbacks and sets time stamps.
+     *
+     * @param now time stamp shared by all models of a batch
+     * @param values collects values of parameters
+     * @return parametrized query, or null if there is nothing to update
+     */
+    String prepareBatchUpdate(Timestamp now, List<Object> values) {
+        fireBeforeUpdate();
+        doUpdatedAt(now);
+        return updateQuery(values);
     }
 
     private List<Object> getAttributeValues( List<String> attributeNames) {
@@ -2962,7 +3431,14 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
         return metaModelLocal.getCompositeKeys();
     }
 
+    void setSiblings(LazyList<?> siblings) {
+        this.siblings = siblings;
+    }
+
     protected void setChildren(Class childClass, List<Model> children) {
+        if (cachedChildren == null) {
+            cachedChildren = new HashMap<>();
+        }
         cachedChildren.put(childClass, children);
     }
 
@@ -3096,14 +3572,16 @@ public abstract class Model extends CallbackSupport implements Externalizable, V
 
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
-        out.writeObject(attributes);
-        out.writeObject(dirtyAttributeNames);
+        out.writeObject(attributes instanceof Attributes ? new CaseInsensitiveMap<>(attributes) : attributes);
+        out.writeObject(dirtyAttributeNames instanceof CaseInsensitiveSet ? dirtyAttributeNames
+                : new CaseInsensitiveSet(dirtyAttributeNames));
     }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-        attributes = (Map<String, Object>) in.readObject();
-        dirtyAttributeNames = (Set<String>) in.readObject();
+        initAttributes();
+        attributes.putAll((Map<String, Object>) in.readObject());
+        dirtyAttributeNames.addAll((Set<String>) in.readObject());
     }
 
     /**
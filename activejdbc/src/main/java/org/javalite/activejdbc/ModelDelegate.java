@@ -32,9 +32,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.text.DateFormat;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.javalite.common.Util.blank;
 import static org.javalite.common.Util.empty;
@@ -223,7 +225,7 @@ public final class ModelDelegate {
 
     public static <T extends Model, M extends T> void findWith(final Class<M> clazz, final ModelListener<T> listener,
                                                                String query, Object... params) {
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         final MetaModel metaModel = metaModelOf(clazz);
         String sql = metaModel.getDialect().selectStar(metaModel.getTableName(), query);
         new DB(metaModel.getDbName()).find(sql, params).with(new RowListenerAdapter() {
@@ -232,7 +234,13 @@ public final class ModelDelegate {
                 listener.onModel(instance(row, metaModel, clazz));
             }
         });
-        LogFilter.logQuery(LOGGER, sql, null, start);
+        LogFilter.logQueryNanos(LOGGER, sql, null, start);
+    }
+
+    public static <T extends Model> Stream<T> stream(Class<T> clazz, String query, Object... params) {
+        MetaModel metaModel = metaModelOf(clazz);
+        String sql = metaModel.getDialect().selectStar(metaModel.getTableName(), query);
+        return new DB(metaModel.getDbName()).stream(sql, params).map(row -> instance(row, metaModel, clazz));
     }
 
     static <T extends Model> T instance(Map<String, Object> map, MetaModel metaModel) {
@@ -242,7 +250,7 @@ public final class ModelDelegate {
     static <T extends Model> T instance(Map<String, Object> map, MetaModel metaModel, Class<T> clazz) {
         try {
             T instance = clazz.getDeclaredConstructor().newInstance();
-            instance.hydrate(map, true);
+            instance.hydrate(map, true, null);
             return instance;
         } catch(DBException e) {
             throw e;
@@ -286,6 +294,27 @@ public final class ModelDelegate {
         return Registry.instance().getMetaModel(clazz);
     }
 
+    /**
+     * Used by cache codecs to serialize models.
+     *
+     * @param model model
+     * @return read only view of values of attributes of a model, without conversions
+     */
+    public static Map<String, Object> attributesOf(Model model) {
+        return model.getAttributes();
+    }
+
+    /**
+     * Used by cache codecs to deserialize models. Creates a model as if it was loaded from database.
+     *
+     * @param clazz model class
+     * @param attributes values of attributes of a model
+     * @return new instance of a model
+     */
+    public static <T extends Model> T instance(Class<T> clazz, Map<String, Object> attributes) {
+        return instance(attributes, metaModelOf(clazz), clazz);
+    }
+
     private static ModelRegistry modelRegistryOf(Class<? extends Model> clazz) {
         return Registry.instance().modelRegistryOf(clazz);
     }
@@ -447,6 +476,178 @@ public final class ModelDelegate {
         }
     }
 
+    public static int insertAll(List<? extends Model> models, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive");
+        }
+        try (CacheEventSquasher ces = new CacheEventSquasher()) {
+            Batches batches = new Batches(batchSize);
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (Model model : models) {
+                batches.addInsert(model, now);
+            }
+            int saved = batches.flush();
+            batches.throwIfStale();
+            return saved;
+        }
+    }
+
+    public static int saveAll(List<? extends Model> models, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive");
+        }
+        try (CacheEventSquasher ces = new CacheEventSquasher()) {
+            List<Model> valid = new ArrayList<>(models.size());
+            for (Model model : models) {
+                if (model.prepareBatchSave()) {
+                    valid.add(model);
+                }
+            }
+            Batches batches = new Batches(batchSize);
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (Model model : valid) {
+                if (model.isNew()) {
+                    batches.addInsert(model, now);
+                } else {
+                    batches.addUpdate(model, now);
+                }
+            }
+            int saved = batches.flush();
+            for (Model model : valid) {
+                if (!batches.stale.containsKey(model)) {
+                    model.completeBatchSave();
+                }
+            }
+            batches.throwIfStale();
+            return saved;
+        }
+    }
+
+    /**
+     * Groups models by DB and statement, executes a group every time it reaches batch size. Versioned models found
+     * stale do not stop other models from being completed, they are reported once all batches are executed.
+     */
+    private static final class Batches {
+        private final int batchSize;
+        private final Map<String, Batch> batches = new LinkedHashMap<>();
+        private final Map<Model, StaleModelException> stale = new IdentityHashMap<>();
+        private int saved;
+
+        private Batches(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        private void addInsert(Model model, Timestamp now) {
+            MetaModel metaModel = model.getMetaModelLocal();
+            List<Object> values = new ArrayList<>();
+            List<String> columns = model.prepareBatchInsert(now, values);
+            boolean containsId = model.getId() != null;
+            String query = metaModel.getDialect().insertParametrized(metaModel, columns, containsId);
+            String generatedKeyColumn = containsId || metaModel.getCompositeKeys() != null ? null : metaModel.getIdName();
+            if (generatedKeyColumn != null && !metaModel.getDialect().supportsBatchGeneratedKeys()) {
+                CacheEventSquasher.purge(metaModel);
+                model.completeBatchInsert(new DB(metaModel.getDbName()).execInsert(query, generatedKeyColumn, values.toArray()));
+                saved++;
+                return;
+            }
+            add(model, true, query, generatedKeyColumn, values);
+        }
+
+        private void addUpdate(Model model, Timestamp now) {
+            List<Object> values = new ArrayList<>();
+            String query = model.prepareBatchUpdate(now, values);
+            if (query != null) {
+                add(model, false, query, null, values);
+            }
+        }
+
+        private void add(Model model, boolean insert, String query, String generatedKeyColumn, List<Object> values) {
+            String dbName = model.getMetaModelLocal().getDbName();
+            Batch batch = batches.computeIfAbsent(dbName + ':' + query,
+                    k -> new Batch(dbName, insert, query, generatedKeyColumn, batchSize));
+            batch.models.add(model);
+            batch.params.add(values.toArray());
+            if (batch.models.size() >= batchSize) {
+                saved += batch.execute(stale);
+            }
+        }
+
+        private int flush() {
+            for (Batch batch : batches.values()) {
+                saved += batch.execute(stale);
+            }
+            return saved;
+        }
+
+        private void throwIfStale() {
+            StaleModelException first = null;
+            for (StaleModelException e : stale.values()) {
+                if (first == null) {
+                    first = e;
+                } else {
+                    first.addSuppressed(e);
+                }
+            }
+            if (first != null) {
+                throw first;
+            }
+        }
+    }
+
+    private static final class Batch {
+        private final String dbName;
+        private final boolean insert;
+        private final String query;
+        private final String generatedKeyColumn;
+        private final List<Model> models;
+        private final List<Object[]> params;
+
+        private Batch(String dbName, boolean insert, String query, String generatedKeyColumn, int batchSize) {
+            this.dbName = dbName;
+            this.insert = insert;
+            this.query = query;
+            this.generatedKeyColumn = generatedKeyColumn;
+            this.models = new ArrayList<>(batchSize);
+            this.params = new ArrayList<>(batchSize);
+        }
+
+        /**
+         * @param stale collects exceptions of versioned models which were not updated
+         * @return number of saved models
+         */
+        private int execute(Map<Model, StaleModelException> stale) {
+            if (models.isEmpty()) {
+                return 0;
+            }
+            Object[] generatedKeys = generatedKeyColumn != null ? new Object[models.size()] : null;
+            int[] counts = new DB(dbName).execBatch(query, generatedKeyColumn, params, generatedKeys);
+            Set<MetaModel> purged = new HashSet<>();
+            int saved = 0;
+            for (int i = 0; i < models.size(); i++) {
+                Model model = models.get(i);
+                if (purged.add(model.getMetaModelLocal())) {
+                    CacheEventSquasher.purge(model.getMetaModelLocal());
+                }
+                int count = i < counts.length ? counts[i] : Statement.SUCCESS_NO_INFO;
+                if (insert) {
+                    model.completeBatchInsert(generatedKeys != null ? generatedKeys[i] : null);
+                } else {
+                    try {
+                        model.completeUpdate(count);
+                    } catch (StaleModelException e) {
+                        stale.put(model, e);
+                    }
+                }
+                if (count != 0) {
+                    saved++;
+                }
+            }
+            models.clear();
+            params.clear();
+            return saved;
+        }
+    }
+
     // has to be public because it is called from models.
     public static void addScope(String className, String scope, String criteria) {
 
@@ -16,12 +16,15 @@ limitations under the License.
 
 package org.javalite.activejdbc;
 
+import org.javalite.common.CaseInsensitiveSet;
+import org.javalite.conversion.Converter;
 import org.javalite.validation.ValidationSupport;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Stores metadata for a Model: converters, etc.
@@ -30,6 +33,43 @@ import java.util.List;
  */
 public class ModelRegistry  extends ValidationSupport {
     private final List<CallbackListener> callbacks = new ArrayList<>();
+    private final Set<String> convertedAttributes = new CaseInsensitiveSet();
+    private volatile ConvertedSlots convertedSlots;
+
+    @Override
+    public void convertWith(Converter converter, String attribute) {
+        super.convertWith(converter, attribute);
+        convertedAttributes.add(attribute);
+        convertedSlots = null;
+    }
+
+    /**
+     * @return true if there is a converter registered for the attribute in this slot of a layout
+     */
+    boolean converts(AttributeLayout layout, int slot) {
+        ConvertedSlots converted = convertedSlots;
+        if (converted == null || converted.layout != layout) {
+            converted = new ConvertedSlots(layout, convertedAttributes);
+            convertedSlots = converted;
+        }
+        return (converted.bits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private static final class ConvertedSlots {
+        private final AttributeLayout layout;
+        private final long[] bits;
+
+        private ConvertedSlots(AttributeLayout layout, Set<String> attributes) {
+            this.layout = layout;
+            this.bits = new long[(layout.size() + 63) >>> 6];
+            for (String attribute : attributes) {
+                int slot = layout.slot(attribute);
+                if (slot >= 0) {
+                    bits[slot >>> 6] |= 1L << slot;
+                }
+            }
+        }
+    }
 
     void callbackWith(CallbackListener... listeners) {
         callbackWith(Arrays.asList(listeners));
@@ -25,6 +25,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,6 +39,9 @@ import static org.javalite.activejdbc.ModelDelegate.metaModelOf;
  * Model subclass is annotated with @{@link org.javalite.activejdbc.annotations.Cached}, then this class will
  * cache the total count of records returned by {@link #getCount()}, as LazyList will cache the result sets.
  * You can generate an instance each time you need one, or you can cache an instance in a session or even servlet context.
+ * <p>
+ * Pages are selected with <code>LIMIT/OFFSET</code>, which makes the database read and throw away all rows of
+ * previous pages. For deep pagination of large tables, use keyset mode, see {@link #keyset()}.
  *
  * @author Igor Polevoy
  */
@@ -55,6 +61,10 @@ public class Paginator<T extends Model> implements Serializable {
     private final String countQueryFull;
     private boolean suppressCounts;
     private Long count = 0L;
+    private boolean keyset;
+    private boolean approximateCount;
+    private long countCacheMillis;
+    private long countedAt;
 
 
     /**
@@ -149,6 +159,153 @@ public class Paginator<T extends Model> implements Serializable {
         return this;
     }
 
+    /**
+     * Switches this paginator to keyset (seek) mode. Instead of skipping rows of previous pages, a page is selected
+     * with a condition on ordering columns, such as <code>WHERE (created_at, id) &gt; (?, ?)</code>, starting after
+     * the last row of the previous page identified by a cursor. Cost of a page then does not depend on how deep it is,
+     * provided there is an index on the ordering columns.
+     * <pre>
+     * Paginator&lt;AuditLog&gt; paginator = Paginator.&lt;AuditLog&gt;instance().modelClass(AuditLog.class)
+     *         .query("tenant_id = ?").params(tenantId).orderBy("created_at desc").pageSize(50).keyset(true).create();
+     * LazyList&lt;AuditLog&gt; page = paginator.getPageAfter(cursor); // null cursor for first page
+     * String next = paginator.getNextCursor(page);                 // null if this is the last page
+     * </pre>
+     * Ordering is set with {@link #orderBy(String)}, and consists of column names with optional "asc" or "desc".
+     * The ID column is added as the last ordering column unless already present, so that the order is unique.
+     * Ordering columns must not contain nulls. Keyset mode is not supported for full queries.
+     *
+     * @return instance to self.
+     */
+    public Paginator<T> keyset() {
+        if (fullQuery) {
+            throw new IllegalArgumentException("keyset pagination is not supported for full queries");
+        }
+        this.keyset = true;
+        return this;
+    }
+
+    /**
+     * @return true if this paginator is in keyset mode, see {@link #keyset()}.
+     */
+    public boolean isKeyset() {
+        return keyset;
+    }
+
+    /**
+     * Returns a page following a row identified by a cursor, in keyset mode.
+     *
+     * @param cursor cursor returned by {@link #cursorOf(Model)} or {@link #getNextCursor(List)}, or null for the
+     *               first page.
+     * @return list of records that make up the page.
+     */
+    public LazyList<T> getPageAfter(String cursor) {
+        if (!keyset) {
+            throw new IllegalStateException("paginator is not in keyset mode, call keyset() first");
+        }
+        List<String> columns = new ArrayList<>();
+        List<Boolean> descending = new ArrayList<>();
+        String keysetOrderBy = keysetOrder(columns, descending);
+        LazyList<T> list;
+        if (cursor == null) {
+            list = find(query, params);
+        } else {
+            Object[] values = KeysetCursor.decode(cursor, columns.size());
+            List<Object> allParams = new ArrayList<>();
+            String condition = metaModel.getDialect().keysetCondition(columns, descending, values, allParams);
+            if (!query.equals("*")) {
+                condition = "(" + query + ") AND " + condition;
+                allParams.addAll(0, Arrays.asList(params));
+            }
+            list = new LazyList<>(condition, metaModel, allParams.toArray());
+        }
+        return list.orderBy(keysetOrderBy).limit(pageSize);
+    }
+
+    /**
+     * @param model a row of a page, usually the last one.
+     * @return cursor identifying position of the row, to be passed to {@link #getPageAfter(String)}.
+     */
+    public String cursorOf(T model) {
+        List<String> columns = new ArrayList<>();
+        keysetOrder(columns, new ArrayList<>());
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            String column = columns.get(i);
+            values[i] = model.get(column.substring(column.lastIndexOf('.') + 1));
+        }
+        return KeysetCursor.encode(values);
+    }
+
+    /**
+     * @param page page returned by {@link #getPageAfter(String)}.
+     * @return cursor of the next page, or null if the page is not full, meaning it is the last one.
+     */
+    public String getNextCursor(List<T> page) {
+        return page.size() < pageSize || page.isEmpty() ? null : cursorOf(page.get(page.size() - 1));
+    }
+
+    /**
+     * Parses order bys into columns and directions, adding the ID column if missing.
+     *
+     * @return order by clause including the ID column
+     */
+    private String keysetOrder(List<String> columns, List<Boolean> descending) {
+        String idName = metaModel.getIdName();
+        boolean hasId = false;
+        if (orderBys != null) {
+            for (String term : orderBys.split(",")) {
+                String[] words = term.trim().split("\\s+");
+                if (words[0].isEmpty()) {
+                    continue;
+                }
+                if (words.length > 2 || (words.length == 2 && !words[1].equalsIgnoreCase("asc")
+                        && !words[1].equalsIgnoreCase("desc"))) {
+                    throw new IllegalArgumentException("keyset pagination supports only 'column [asc|desc]' in order by, got: " + term);
+                }
+                columns.add(words[0]);
+                descending.add(words.length == 2 && words[1].equalsIgnoreCase("desc"));
+                hasId |= words[0].substring(words[0].lastIndexOf('.') + 1).equalsIgnoreCase(idName);
+            }
+        }
+        if (!hasId) {
+            //same direction as the last column, so that row value comparison can be used
+            columns.add(idName);
+            descending.add(!descending.isEmpty() && descending.get(descending.size() - 1));
+        }
+        StringBuilder orderBy = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                orderBy.append(", ");
+            }
+            orderBy.append(columns.get(i)).append(descending.get(i) ? " DESC" : "");
+        }
+        return orderBy.toString();
+    }
+
+    /**
+     * Use estimated number of rows maintained by database statistics instead of <code>COUNT(*)</code> when
+     * paginating an entire table (query <code>"*"</code>), if the dialect supports it. Counts of filtered queries
+     * are always exact.
+     *
+     * @param approximateCount true to estimate counts.
+     * @return instance to self.
+     */
+    public Paginator<T> approximateCount(boolean approximateCount) {
+        this.approximateCount = approximateCount;
+        return this;
+    }
+
+    /**
+     * Reuses count of records for a period of time instead of counting every time {@link #getCount()} is called.
+     *
+     * @param countCacheMillis time to reuse count for, 0 to count every time (unless counts are suppressed).
+     * @return instance to self.
+     */
+    public Paginator<T> countCacheMillis(long countCacheMillis) {
+        this.countCacheMillis = countCacheMillis;
+        return this;
+    }
+
     /**
      * This method will return a list of records for a specific page.
      *
@@ -242,6 +399,9 @@ public class Paginator<T extends Model> implements Serializable {
      * @return total count of records based on provided criteria
      */
     public Long getCount() {
+        if (countCacheMillis > 0 && countedAt != 0 && System.currentTimeMillis() - countedAt < countCacheMillis) {
+            return count;
+        }
         if (count == 0L || !suppressCounts) {
             if (metaModel.cached()) {
                 count = (Long) QueryCache.instance().getItem(metaModel.getTableName(), countQueryFull, params);
@@ -254,6 +414,7 @@ public class Paginator<T extends Model> implements Serializable {
             } else {
                 count = doCount();
             }
+            countedAt = System.currentTimeMillis();
             return count;
 
         } else {
@@ -262,7 +423,15 @@ public class Paginator<T extends Model> implements Serializable {
     }
 
     private Long doCount() {
-        Object count = new DB(metaModel.getDbName()).firstCell(countQueryFull, params);
+        DB db = new DB(metaModel.getDbName());
+        String approximateCountQuery = metaModel.getDialect().selectApproximateCount();
+        if (approximateCount && approximateCountQuery != null && query.equals("*")) {
+            Object estimate = db.firstCell(approximateCountQuery, metaModel.getTableName());
+            if (estimate != null && Convert.toLong(estimate) >= 0) { // PostgreSQL returns -1 for tables never analyzed
+                return Convert.toLong(estimate);
+            }
+        }
+        Object count = db.firstCell(countQueryFull, params);
         return count == null? 0: Convert.toLong(count);
     }
 
@@ -292,6 +461,9 @@ public class Paginator<T extends Model> implements Serializable {
         private int currentPageIndex = 1;
         private boolean skipCheck;
         private String orderBys;
+        private boolean keyset;
+        private boolean approximateCount;
+        private long countCacheMillis;
 
         /**
          * Model class mapped to a table.>
@@ -375,13 +547,43 @@ public class Paginator<T extends Model> implements Serializable {
             return this;
         }
 
+        /**
+         * @param keyset true for keyset (seek) pagination, see {@link Paginator#keyset()}. The current page index is
+         *               not checked in keyset mode.
+         */
+        public PaginatorBuilder<T> keyset(boolean keyset){
+            this.keyset = keyset;
+            return this;
+        }
+
+        /**
+         * @see Paginator#approximateCount(boolean)
+         */
+        public PaginatorBuilder<T> approximateCount(boolean approximateCount){
+            this.approximateCount = approximateCount;
+            return this;
+        }
+
+        /**
+         * @see Paginator#countCacheMillis(long)
+         */
+        public PaginatorBuilder<T> countCacheMillis(long countCacheMillis){
+            this.countCacheMillis = countCacheMillis;
+            return this;
+        }
+
         /**
          * Terminal method to create an instance of Paginator.
          * @return new Paginator properly configured.
          */
         public Paginator<T> create(){
             Paginator<T> paginator = new Paginator<T>(modelClass, pageSize, suppressCounts, query, countQuery, params);
-            paginator.setCurrentPageIndex(currentPageIndex, skipCheck);
+            paginator.approximateCount(approximateCount);
+            paginator.countCacheMillis(countCacheMillis);
+            if (keyset) {
+                paginator.keyset();
+            }
+            paginator.setCurrentPageIndex(currentPageIndex, skipCheck || keyset);
             paginator.orderBy(orderBys);
             return paginator;
         }
@@ -0,0 +1,131 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs queries of includes of a {@link LazyList} at the same time on virtual threads. Every query gets its own
+ * connection from the data source the connection of the calling thread was opened from. Number of queries running
+ * at the same time is limited by <code>includes.threads</code> in <code>activejdbc.properties</code>.
+ * Also runs queries of all shards of a {@link ShardRouter}.
+ *
+ * @author agent
+ */
+final class ParallelIncludes {
+
+    private static volatile ExecutorService executor;
+
+    private ParallelIncludes() {}
+
+    /**
+     * Includes can be loaded in parallel only if connections to all their databases were opened from data sources,
+     * and the calling thread is not in a transaction, because other connections would not see its changes.
+     *
+     * @param dbNames names of databases queried by includes.
+     * @return true if includes can be loaded in parallel.
+     */
+    static boolean supported(List<String> dbNames) {
+        for (String dbName : dbNames) {
+            Connection connection = ConnectionsAccess.getConnection(dbName);
+            if (connection == null || DB.dataSource(dbName) == null) {
+                return false;
+            }
+            try {
+                if (!connection.getAutoCommit()) {
+                    return false;
+                }
+            } catch (SQLException e) {
+                throw new DBException(e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes loads, each on a new connection to its database, and waits for all of them to complete.
+     * Shard table names set on the calling thread with {@link MetaModel#setShardTableName(String)} are set on
+     * threads of loads too.
+     *
+     * @param dbNames names of databases, one per load.
+     * @param loads loads to execute.
+     * @return results of loads, in the same order.
+     */
+    static <V> List<V> invokeAll(List<String> dbNames, List<Callable<V>> loads) {
+        List<Future<V>> futures = new ArrayList<>(loads.size());
+        final Map<Class, String> shardTableNames = new HashMap<>(MetaModel.getTableNamesMap());
+        for (int i = 0; i < loads.size(); i++) {
+            final String dbName = dbNames.get(i);
+            final DataSource dataSource = DB.dataSource(dbName);
+            final Callable<V> load = loads.get(i);
+            futures.add(executor().submit(() -> {
+                DB db = new DB(dbName);
+                db.open(dataSource);
+                MetaModel.getTableNamesMap().putAll(shardTableNames);
+                try {
+                    return load.call();
+                } finally {
+                    MetaModel.getTableNamesMap().clear();
+                    db.close();
+                }
+            }));
+        }
+        List<V> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (Future<V> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause() : new DBException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new DBException(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    private static ExecutorService executor() {
+        if (executor == null) {
+            synchronized (ParallelIncludes.class) {
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(Registry.instance().getConfiguration().getIncludesThreads(),
+                            Thread.ofVirtual().name("activejdbc-includes-", 0).factory());
+                }
+            }
+        }
+        return executor;
+    }
+}
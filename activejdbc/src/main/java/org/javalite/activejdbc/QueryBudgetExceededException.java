@@ -0,0 +1,28 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+/**
+ * Thrown when a strict {@link org.javalite.activejdbc.statistics.QueryBudget} is exceeded: more queries were executed
+ * in its scope than allowed, or the same statement was repeated as in an N+1 pattern.
+ *
+ * @author agent
+ */
+public class QueryBudgetExceededException extends DBException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
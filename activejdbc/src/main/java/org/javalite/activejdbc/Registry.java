@@ -21,6 +21,7 @@ import org.javalite.activejdbc.cache.CacheManager;
 import org.javalite.activejdbc.cache.QueryCache;
 import org.javalite.activejdbc.logging.LogFilter;
 import org.javalite.activejdbc.logging.LogLevel;
+import org.javalite.activejdbc.statistics.SlowQueryLog;
 import org.javalite.activejdbc.statistics.StatisticsQueue;
 import org.javalite.common.CaseInsensitiveMap;
 import org.javalite.common.Inflector;
@@ -36,6 +37,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -55,14 +57,19 @@ public enum Registry {
     private final MetaModels metaModels = new MetaModels();
     private final Configuration configuration = new Configuration();
     private final StatisticsQueue statisticsQueue;
-    private final Set<String> initedDbs = new HashSet<>();
-    private int staticMetadataStatus = 0;
+    private final SlowQueryLog slowQueryLog;
+    private final Set<String> initedDbs = ConcurrentHashMap.newKeySet();
+    private final Set<String> loadedDbs = ConcurrentHashMap.newKeySet();
+    private final Map<String, Object> initLocks = new ConcurrentHashMap<>();
+    private volatile int staticMetadataStatus = 0;
     private String modelFile = "activejdbc_models.properties";
 
     Registry() {
         statisticsQueue = configuration.collectStatistics()
                 ? new StatisticsQueue(configuration.collectStatisticsOnHold())
                 : null;
+        slowQueryLog = new SlowQueryLog(configuration.getSlowQueryThresholdMillis(),
+                configuration.getSlowQueryCapacity(), configuration.getSlowQueryExplainIntervalSeconds());
     }
 
 
@@ -77,6 +84,13 @@ public enum Registry {
         return statisticsQueue;
     }
 
+    /**
+     * @return most recent queries which took longer than <code>slowQuery.thresholdMillis</code>
+     */
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
     public Configuration getConfiguration(){
         return configuration;
     }
@@ -107,61 +121,85 @@ public enum Registry {
         return metaModels.getModelRegistry(modelClass);
     }
 
-    synchronized void init(String dbName) {
-
-        LOGGER.debug("Starting to get metadata from the database...");
-        if (staticMetadataStatus == STATIC_METADATA_LOADED || initedDbs.contains(dbName)) {
-            LOGGER.debug("Metadata  is already processed, exiting...");
+    /**
+     * Loads metadata of models of a database. Metadata of different databases is loaded at the same time, only
+     * models are registered one database at a time.
+     */
+    void init(String dbName) {
+        if (staticMetadataStatus == STATIC_METADATA_LOADED || loadedDbs.contains(dbName)) {
             return;
-        } else {
-            initedDbs.add(dbName);
         }
+        synchronized (initLocks.computeIfAbsent(dbName, name -> new Object())) {
+            LOGGER.debug("Starting to get metadata from the database...");
+            if (staticMetadataStatus == STATIC_METADATA_LOADED || initedDbs.contains(dbName)) {
+                LOGGER.debug("Metadata  is already processed, exiting...");
+                return;
+            } else {
+                initedDbs.add(dbName);
+            }
 
-        if (staticMetadataStatus != STATIC_METADATA_CHECKED && loadStaticMetadata()) return;
+            if (staticMetadataStatus != STATIC_METADATA_CHECKED && loadStaticMetadata()) return;
 
-        try {
-            Connection c = ConnectionsAccess.getConnection(dbName);
-            if(c == null){
-                throw new DBException("Failed to retrieve metadata from DB, connection: '" + dbName + "' is not available");
-            }
-            DatabaseMetaData databaseMetaData = c.getMetaData();
-            String dbType = c.getMetaData().getDatabaseProductName();
-            Set<Class<? extends Model>> modelClasses = ModelFinder.getModelsForDb(dbName);
-            registerModels(dbName, modelClasses, dbType);
-            String[] tables = metaModels.getTableNames(dbName);
-
-            for (String table : tables) {
-                Map<String, ColumnMetadata> metaParams = fetchMetaParams(databaseMetaData, dbType, table);
-                registerColumnMetadata(table, metaParams);
-            }
+            try {
+                Connection c = ConnectionsAccess.getConnection(dbName);
+                if(c == null){
+                    throw new DBException("Failed to retrieve metadata from DB, connection: '" + dbName + "' is not available");
+                }
+                DatabaseMetaData databaseMetaData = c.getMetaData();
+                String dbType = c.getMetaData().getDatabaseProductName();
+                Set<Class<? extends Model>> modelClasses = ModelFinder.getModelsForDb(dbName);
+                String[] tables;
+                synchronized (this) {
+                    registerModels(dbName, modelClasses, dbType);
+                    tables = metaModels.getTableNames(dbName);
+                }
 
-            for (String table : tables) {
-                discoverAssociationsFor(table, dbName);
-            }
-            processOverrides(modelClasses);
-        } catch (Exception e) {
-            initedDbs.remove(dbName);
-            if (e instanceof InitException) {
-                throw (InitException) e;
-            }
-            if (e instanceof DBException) {
-                throw (DBException) e;
-            } else {
-                throw new InitException(e);
+                Map<String, Map<String, ColumnMetadata>> metaParamsByTable = new HashMap<>();
+                Map<String, Map<String, ColumnMetadata>> allMetaParams = configuration.isMetadataBulk() && tables.length > 1
+                        ? fetchAllMetaParams(databaseMetaData, dbType) : null;
+                for (String table : tables) {
+                    metaParamsByTable.put(table, fetchMetaParams(databaseMetaData, dbType, allMetaParams, table));
+                }
+
+                synchronized (this) {
+                    for (String table : tables) {
+                        registerColumnMetadata(table, metaParamsByTable.get(table));
+                    }
+
+                    for (String table : tables) {
+                        discoverAssociationsFor(table, dbName);
+                    }
+                    processOverrides(modelClasses);
+                }
+                loadedDbs.add(dbName);
+            } catch (Exception e) {
+                initedDbs.remove(dbName);
+                if (e instanceof InitException) {
+                    throw (InitException) e;
+                }
+                if (e instanceof DBException) {
+                    throw (DBException) e;
+                } else {
+                    throw new InitException(e);
+                }
             }
         }
     }
 
-    private boolean loadStaticMetadata() {
+    private synchronized boolean loadStaticMetadata() {
+        if (staticMetadataStatus != 0) {
+            return staticMetadataStatus == STATIC_METADATA_LOADED;
+        }
         try {
             Enumeration<URL> urls = Registry.instance().getClass().getClassLoader().getResources("activejdbc_metadata.json");
-            staticMetadataStatus = urls.hasMoreElements() ? STATIC_METADATA_LOADED : STATIC_METADATA_CHECKED;
+            int status = urls.hasMoreElements() ? STATIC_METADATA_LOADED : STATIC_METADATA_CHECKED;
             while(urls.hasMoreElements()) {
                 URL url = urls.nextElement();
                 LogFilter.log(LOGGER, LogLevel.INFO, "Loading metadata from: {}", url.toExternalForm());
                 metaModels.fromJSON(Util.read(url.openStream()));
             }
-            return staticMetadataStatus == STATIC_METADATA_LOADED;
+            staticMetadataStatus = status;
+            return status == STATIC_METADATA_LOADED;
         } catch(IOException e) {
             throw new InitException(e);
         }
@@ -172,6 +210,11 @@ public enum Registry {
         return metaModels.toJSON();
     }
 
+    //instrumentation
+    protected Map<String, Map<String, String>> metadataColumnTypes() {
+        return metaModels.columnTypes();
+    }
+
 
     /**
      * Some databases will improve the search of metadata if you give them the schema name
@@ -222,10 +265,77 @@ public enum Registry {
         return tableName;
     }
 
+    /**
+     * Reads columns of all tables of the schema of a connection with a single call, instead of a call per table.
+     *
+     * @return hashes keyed off a column name, keyed off exact table name, or null if schema of the connection is
+     * not known.
+     */
+    Map<String, Map<String, ColumnMetadata>> fetchAllMetaParams(DatabaseMetaData databaseMetaData, String dbType) throws SQLException {
+        String schema = getConnectionSchema(databaseMetaData);
+        String catalog = getConnectionCatalog(databaseMetaData);
+        if (schema == null && catalog == null) {
+            return null;
+        }
+        Map<String, Map<String, ColumnMetadata>> columnsByTable = new HashMap<>();
+        try (ResultSet rs = databaseMetaData.getColumns(catalog, schema, null, null)) {
+            while (rs.next()) {
+                if (!"h2".equalsIgnoreCase(dbType) || !"INFORMATION_SCHEMA".equals(rs.getString("TABLE_SCHEM"))) {
+                    ColumnMetadata cm = new ColumnMetadata(rs.getString("COLUMN_NAME"), rs.getString("TYPE_NAME"), rs.getInt("COLUMN_SIZE"));
+                    columnsByTable.computeIfAbsent(rs.getString("TABLE_NAME"), t -> new CaseInsensitiveMap<>())
+                            .put(cm.getColumnName(), cm);
+                }
+            }
+        }
+        return columnsByTable;
+    }
+
+    /**
+     * Finds columns of a table among columns of all tables, or reads them for the table alone if not found.
+     *
+     * @param allMetaParams columns of all tables returned by {@link #fetchAllMetaParams(DatabaseMetaData, String)},
+     * can be null
+     * @return hash keyed off a column name
+     */
+    Map<String, ColumnMetadata> fetchMetaParams(DatabaseMetaData databaseMetaData, String dbType,
+                                                Map<String, Map<String, ColumnMetadata>> allMetaParams,
+                                                String table) throws SQLException {
+        Map<String, ColumnMetadata> metaParams = allMetaParams == null ? null : findMetaParams(allMetaParams, dbType, table);
+        return metaParams != null ? metaParams : fetchMetaParams(databaseMetaData, dbType, table);
+    }
+
+    /**
+     * Finds columns of a table among columns of all tables, trying the same variants of table name as
+     * {@link #fetchMetaParams(DatabaseMetaData, String, String)}.
+     *
+     * @return hash keyed off a column name, or null if not found, including tables of other schemas.
+     */
+    private Map<String, ColumnMetadata> findMetaParams(Map<String, Map<String, ColumnMetadata>> allMetaParams,
+                                                       String dbType, String table) {
+        if (table.contains(".")) {
+            return null;
+        }
+        String tableName = mangleTableName(table, dbType);
+        Map<String, ColumnMetadata> columns = allMetaParams.get(tableName);
+        if (columns == null) {
+            columns = allMetaParams.get(tableName.toUpperCase());
+        }
+        if (columns == null) {
+            columns = allMetaParams.get(tableName.toLowerCase());
+        }
+        if (columns == null && tableName.contains("`")) {
+            columns = allMetaParams.get(tableName.substring(1, tableName.length() - 1).toLowerCase());
+        }
+        if (columns != null) {
+            LogFilter.log(LOGGER, LogLevel.INFO, "Fetched metadata for table: {}", table);
+        }
+        return columns;
+    }
+
     /**
      * Returns a hash keyed off a column name.
      */
-    private Map<String, ColumnMetadata> fetchMetaParams(DatabaseMetaData databaseMetaData, String dbType, String table) throws SQLException {
+    Map<String, ColumnMetadata> fetchMetaParams(DatabaseMetaData databaseMetaData, String dbType, String table) throws SQLException {
 
         /*
          * Valid table name format: tablename or schemaname.tablename
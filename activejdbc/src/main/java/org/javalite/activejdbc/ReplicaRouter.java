@@ -0,0 +1,292 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.connection_config.ConnectionConfig;
+import org.javalite.activejdbc.connection_config.ConnectionDataSourceConfig;
+import org.javalite.activejdbc.connection_config.ConnectionJdbcConfig;
+import org.javalite.activejdbc.connection_config.ConnectionJndiConfig;
+import org.javalite.activejdbc.connection_config.ConnectionPool;
+import org.javalite.activejdbc.connection_config.ConnectionPoolConfig;
+import org.javalite.activejdbc.connection_config.ReplicaConfig;
+import org.javalite.activejdbc.logging.LogFilter;
+import org.javalite.activejdbc.logging.LogLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends reads of a database to its replicas. A read is routed to a replica only if the primary connection of
+ * the current thread is in auto-commit mode, so everything done inside of a transaction stays on the primary
+ * connection. After a write, reads of the same thread stay on the primary for
+ * {@link ReplicaConfig#getReadYourWritesMillis()}, so that they see the write even if replicas lag behind.
+ * If a replica cannot be reached, the read falls back to the primary connection.
+ * <p>
+ * A thread keeps the replica connection chosen for its first read until it closes the primary connection with
+ * {@link DB#close()}, so that a query and its includes read the same replica.
+ * <p>
+ * Reads are recognized by method, not by SQL: any query run with <code>firstCell()</code>,
+ * <code>firstColumn()</code>, <code>findAll()</code> and model finders can go to a replica, including
+ * <code>SELECT nextval('seq')</code> or <code>INSERT ... RETURNING</code>. Wrap such queries with
+ * {@link DB#onPrimary(java.util.function.Supplier)}.
+ * <p>
+ * Routers are registered after a connection is opened with a {@link ConnectionConfig} that has a
+ * {@link ReplicaConfig}, see {@link org.javalite.activejdbc.connection_config.DBConfiguration}.
+ *
+ * @author agent
+ */
+public class ReplicaRouter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRouter.class);
+    private static final Map<String, ReplicaRouter> routers = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, Long>> lastWrites = ThreadLocal.withInitial(HashMap::new);
+
+    /** weight of the latest read in average read time of a replica, out of 8 */
+    private static final int LATENCY_WEIGHT = 2;
+
+    private final String dbName;
+    private final ReplicaConfig config;
+    private final DataSource[] replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLongArray latencies;
+    private final AtomicLongArray reads;
+    private final AtomicLongArray failures;
+
+    ReplicaRouter(String dbName, ReplicaConfig config) {
+        this.dbName = dbName;
+        this.config = config;
+        List<ConnectionConfig> replicaConfigs = config.getReplicas();
+        replicas = new DataSource[replicaConfigs.size()];
+        for (int i = 0; i < replicas.length; i++) {
+            replicas[i] = dataSource(dbName, replicaConfigs.get(i));
+        }
+        latencies = new AtomicLongArray(replicas.length);
+        reads = new AtomicLongArray(replicas.length);
+        failures = new AtomicLongArray(replicas.length);
+    }
+
+    private static DataSource dataSource(String dbName, ConnectionConfig replica) {
+        if (replica instanceof ConnectionJdbcConfig) {
+            ConnectionJdbcConfig jdbc = (ConnectionJdbcConfig) replica;
+            if (jdbc.getPoolConfig() == null) {
+                jdbc.setPoolConfig(new ConnectionPoolConfig());
+            }
+            jdbc.setDbName(dbName);
+            return ConnectionPool.of(jdbc);
+        } else if (replica instanceof ConnectionJndiConfig) {
+            ConnectionJndiConfig jndi = (ConnectionJndiConfig) replica;
+            try {
+                InitialContext context = jndi.getContext() != null ? jndi.getContext() : new InitialContext();
+                return (DataSource) context.lookup(jndi.getDataSourceJndiName());
+            } catch (NamingException e) {
+                throw new InitException("Failed to look up replica JNDI name: " + jndi.getDataSourceJndiName(), e);
+            }
+        } else if (replica instanceof ConnectionDataSourceConfig) {
+            return ((ConnectionDataSourceConfig) replica).getDataSource();
+        } else {
+            throw new IllegalArgumentException("this spec not supported: " + replica.getClass());
+        }
+    }
+
+    /**
+     * Registers a router for a database, replacing a previous one.
+     *
+     * @param dbName name of database
+     * @param config replicas
+     * @return new router
+     */
+    public static ReplicaRouter configure(String dbName, ReplicaConfig config) {
+        ReplicaRouter router = new ReplicaRouter(dbName, config);
+        routers.put(dbName, router);
+        LogFilter.log(LOGGER, LogLevel.INFO, "Routing reads of {} to {} replica(s)", dbName, router.replicas.length);
+        return router;
+    }
+
+    /**
+     * Registers a router for a connection configuration, unless one with the same replicas is already registered.
+     */
+    static void configure(String dbName, ConnectionConfig config) {
+        ReplicaConfig replicaConfig = config.getReplicaConfig();
+        if (replicaConfig != null) {
+            ReplicaRouter router = routers.get(dbName);
+            if (router == null || router.config != replicaConfig) {
+                configure(dbName, replicaConfig);
+            }
+        }
+    }
+
+    /**
+     * @param dbName name of database
+     * @return router of a database, or null if reads of it are not routed to replicas
+     */
+    public static ReplicaRouter of(String dbName) {
+        return routers.isEmpty() ? null : routers.get(dbName);
+    }
+
+    /**
+     * Stops routing reads of a database to replicas.
+     *
+     * @param dbName name of database
+     */
+    public static void remove(String dbName) {
+        routers.remove(dbName);
+    }
+
+    /**
+     * Records that the current thread wrote to a database, so that its reads stay on the primary connection
+     * for {@link ReplicaConfig#getReadYourWritesMillis()}.
+     */
+    static void wrote(String dbName) {
+        ReplicaRouter router = of(dbName);
+        if (router != null && router.config.getReadYourWritesMillis() > 0) {
+            lastWrites.get().put(dbName, System.nanoTime());
+        }
+    }
+
+    /**
+     * @return true if the current thread wrote to the database recently
+     */
+    boolean recentlyWrote() {
+        long window = config.getReadYourWritesMillis();
+        if (window <= 0) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get().get(dbName);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < window * 1000000L) {
+            return true;
+        }
+        lastWrites.get().remove(dbName);
+        return false;
+    }
+
+    /**
+     * Chooses a replica.
+     *
+     * @return index of replica
+     */
+    int choose() {
+        if (replicas.length == 1) {
+            return 0;
+        }
+        if (config.getStrategy() == ReplicaConfig.Strategy.LEAST_LATENCY) {
+            int best = 0;
+            for (int i = 1; i < replicas.length; i++) {
+                if (latencies.get(i) < latencies.get(best)) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.length);
+    }
+
+    /**
+     * Borrows a connection to a replica.
+     *
+     * @param replica index of replica
+     * @return connection, or null if replica could not be reached
+     */
+    Connection borrow(int replica) {
+        try {
+            return replicas[replica].getConnection();
+        } catch (SQLException | RuntimeException e) {
+            failures.incrementAndGet(replica);
+            // penalize, so that least latency strategy tries other replicas first
+            latencies.set(replica, Long.MAX_VALUE / 2);
+            LogFilter.log(LOGGER, LogLevel.WARNING, "Failed to connect to replica {} of {}, reading from primary: {}",
+                    replica, dbName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Counts a read on a replica and updates average read time of the replica.
+     *
+     * @param replica index of replica
+     * @param nanos time the read took
+     */
+    void read(int replica, long nanos) {
+        reads.incrementAndGet(replica);
+        latencies.getAndUpdate(replica, average ->
+                average == 0 || average >= Long.MAX_VALUE / 4 ? nanos : average + (nanos - average) * LATENCY_WEIGHT / 8);
+    }
+
+    /**
+     * Closes a connection to a replica.
+     *
+     * @param replica index of replica
+     * @param connection connection returned by {@link #borrow(int)}
+     */
+    void release(int replica, Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LogFilter.log(LOGGER, LogLevel.WARNING, "Failed to close connection to replica {} of {}: {}",
+                    replica, dbName, e.getMessage());
+        }
+    }
+
+    public ReplicaConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return number of replicas
+     */
+    public int getReplicaCount() {
+        return replicas.length;
+    }
+
+    /**
+     * @param replica index of replica, in order of configuration
+     * @return number of reads sent to a replica
+     */
+    public long getReads(int replica) {
+        return reads.get(replica);
+    }
+
+    /**
+     * @param replica index of replica, in order of configuration
+     * @return number of times a connection to a replica failed and reads fell back to primary connection
+     */
+    public long getFailures(int replica) {
+        return failures.get(replica);
+    }
+
+    /**
+     * @param replica index of replica, in order of configuration
+     * @return recent average time of reads on a replica, in nanoseconds
+     */
+    public long getLatencyNanos(int replica) {
+        long latency = latencies.get(replica);
+        return latency >= Long.MAX_VALUE / 4 ? -1 : latency;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.common.CaseInsensitiveMap;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map view of a single result set row. Values are kept in an array indexed by slots of a {@link RowLayout} shared by
+ * all rows of a query, so that keys are not copied and hashed for every row. Keys are case insensitive.
+ * The map is mutable: values of existing keys are written to the array, while adding or removing keys converts
+ * the row into a regular {@link CaseInsensitiveMap}.
+ *
+ * @author agent
+ */
+final class Row extends AbstractMap<String, Object> implements Serializable {
+
+    private final RowLayout layout;
+    private final Object[] values;
+    private Map<String, Object> inflated;
+
+    Row(RowLayout layout, Object[] values) {
+        this.layout = layout;
+        this.values = values;
+    }
+
+    RowLayout layout() {
+        return layout;
+    }
+
+    /**
+     * @return true if values of this row are still backed by the array of the layout
+     */
+    boolean compact() {
+        return inflated == null;
+    }
+
+    Object valueAt(int slot) {
+        return values[slot];
+    }
+
+    private Map<String, Object> inflate() {
+        if (inflated == null) {
+            Map<String, Object> map = new CaseInsensitiveMap<>();
+            for (int i = 0; i < values.length; i++) {
+                map.put(layout.key(i), values[i]);
+            }
+            inflated = map;
+        }
+        return inflated;
+    }
+
+    @Override
+    public int size() {
+        return inflated != null ? inflated.size() : values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return inflated != null ? inflated.containsKey(key) : layout.slot(key) != -1;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (inflated != null) {
+            return inflated.get(key);
+        }
+        int slot = layout.slot(key);
+        return slot == -1 ? null : values[slot];
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (inflated == null) {
+            int slot = layout.slot(key);
+            if (slot != -1) {
+                Object old = values[slot];
+                values[slot] = value;
+                return old;
+            }
+        }
+        return inflate().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return inflate().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        inflate().clear();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (inflated != null) {
+            return inflated.entrySet();
+        }
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int slot;
+
+                    @Override public boolean hasNext() {
+                        return slot < values.length;
+                    }
+
+                    @Override public Entry<String, Object> next() {
+                        if (slot >= values.length) {
+                            throw new NoSuchElementException();
+                        }
+                        return new SlotEntry(slot++);
+                    }
+                };
+            }
+
+            @Override public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    private final class SlotEntry implements Entry<String, Object> {
+        private final int slot;
+
+        private SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override public String getKey() {
+            return layout.key(slot);
+        }
+
+        @Override public Object getValue() {
+            return values[slot];
+        }
+
+        @Override public Object setValue(Object value) {
+            Object old = values[slot];
+            values[slot] = value;
+            return old;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            Object value = values[slot];
+            return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override public int hashCode() {
+            Object value = values[slot];
+            return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override public String toString() {
+            return getKey() + "=" + values[slot];
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Column layout of a result set, resolved once per query. Maps column labels (case insensitive) to slot indexes
+ * of the value arrays backing {@link Row} instances. Labels are kept in case insensitive alphabetical order, so that
+ * rows iterate the same way {@link org.javalite.common.CaseInsensitiveMap} did. If a label occurs more than once,
+ * the first spelling is kept and the value of the last column wins.
+ *
+ * @author agent
+ */
+final class RowLayout implements Serializable {
+
+    private final String[] keys;
+    private final int[] slotOfColumn;
+    private transient volatile AttributeSlots attributeSlots;
+
+    private RowLayout(String[] keys, int[] slotOfColumn) {
+        this.keys = keys;
+        this.slotOfColumn = slotOfColumn;
+    }
+
+    /**
+     * @param labels column labels in the order of the result set columns
+     * @return layout for the labels
+     */
+    static RowLayout of(String[] labels) {
+        TreeMap<String, Boolean> unique = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String label : labels) {
+            unique.putIfAbsent(label, Boolean.TRUE);
+        }
+        String[] keys = unique.keySet().toArray(new String[unique.size()]);
+        int[] slotOfColumn = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            slotOfColumn[i] = Arrays.binarySearch(keys, labels[i], String.CASE_INSENSITIVE_ORDER);
+        }
+        return new RowLayout(keys, slotOfColumn);
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    String key(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * @param column zero based index of a result set column
+     * @return slot of a value array where the value of the column goes
+     */
+    int slotOfColumn(int column) {
+        return slotOfColumn[column];
+    }
+
+    int columnCount() {
+        return slotOfColumn.length;
+    }
+
+    /**
+     * @return slot index for a key, or -1 if this layout has no such key
+     */
+    int slot(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        int slot = Arrays.binarySearch(keys, (String) key, String.CASE_INSENSITIVE_ORDER);
+        return slot < 0 ? -1 : slot;
+    }
+
+    /**
+     * Plan of hydration of a model from rows of this layout: slots that match attributes of the model, with their
+     * conversions. Computed once per layout and model, so that hydration of every row does not need to look up
+     * attribute names nor column metadata.
+     *
+     * @param metaModel meta model of the model being hydrated
+     * @return slots that hold values of attributes of the model
+     */
+    AttributeSlots attributeSlots(MetaModel metaModel) {
+        AttributeSlots current = attributeSlots;
+        if (current == null || current.metaModel != metaModel) {
+            current = new AttributeSlots(metaModel, keys);
+            attributeSlots = current;
+        }
+        return current;
+    }
+
+    static final class AttributeSlots {
+        private final MetaModel metaModel;
+        /** slots of the row layout that hold attributes of the model */
+        final int[] slots;
+        /** converters of values in slots, null elements where values are set as read */
+        final UnaryOperator<Object>[] converters;
+        /** layout of compact attributes of the model, or null if the model keeps attributes in maps */
+        final AttributeLayout attributeLayout;
+        /** slots of attributes of the model where values of slots go, if the attribute layout is known */
+        final int[] targets;
+
+        @SuppressWarnings("unchecked")
+        private AttributeSlots(MetaModel metaModel, String[] keys) {
+            this.metaModel = metaModel;
+            Set<String> attributeNames = metaModel.getAttributeNames();
+            int[] slots = new int[keys.length];
+            int count = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (attributeNames.contains(keys[i])) {
+                    slots[count++] = i;
+                }
+            }
+            this.slots = Arrays.copyOf(slots, count);
+            this.converters = new UnaryOperator[count];
+            this.attributeLayout = metaModel.getAttributeLayout();
+            this.targets = attributeLayout == null ? null : new int[count];
+            for (int i = 0; i < count; i++) {
+                String key = keys[this.slots[i]];
+                converters[i] = metaModel.driverTypeConverter(key);
+                if (targets != null) {
+                    targets[i] = attributeLayout.slot(key);
+                }
+            }
+        }
+    }
+}
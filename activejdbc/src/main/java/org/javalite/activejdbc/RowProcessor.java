@@ -15,13 +15,18 @@ limitations under the License.
 */
 package org.javalite.activejdbc;
 
-import org.javalite.common.CaseInsensitiveMap;
-
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.javalite.common.Util.*;
 
@@ -62,10 +67,30 @@ public class RowProcessor {
 
     private final ResultSet rs;
     private final Statement s;
+    private final Connection connection;
+    private Runnable afterClose;
+    private boolean closed;
 
     protected RowProcessor(ResultSet rs, Statement s){
+        this(rs, s, null);
+    }
+
+    /**
+     * @param connection if not null, the statement was borrowed from {@link StatementCache} on this connection,
+     *                   and will be released back to it instead of being closed.
+     */
+    RowProcessor(ResultSet rs, Statement s, Connection connection){
         this.rs = rs;
         this.s = s;
+        this.connection = connection;
+    }
+
+    /**
+     * @param afterClose code to execute after result set and statement are closed
+     */
+    RowProcessor afterClose(Runnable afterClose) {
+        this.afterClose = afterClose;
+        return this;
     }
 
     public void with(RowListener listener){
@@ -74,13 +99,43 @@ public class RowProcessor {
         } catch(SQLException e) {
             throw new DBException(e);
         } finally {
-            closeQuietly(rs);
-            closeQuietly(s);
+            close();
         }
     }
 
-    protected void processRS(RowListener listener) throws SQLException {
+    /**
+     * Returns rows as a lazily populated stream: a row is read from the result set only when the stream needs it.
+     * The result set and statement are closed when all rows are consumed, or when the stream is closed.
+     * Streams that may not be read to the end need to be closed, for instance with try-with-resources:
+     * <pre>
+     * try (Stream&lt;Map&lt;String, Object&gt;&gt; rows = new DB("default").find("select * from people").stream()) {
+     *     rows.limit(10).forEach(System.out::println);
+     * }
+     * </pre>
+     *
+     * @return stream of rows
+     */
+    public Stream<Map<String, Object>> stream() {
+        return StreamSupport.stream(new RowSpliterator(), false).onClose(this::close);
+    }
+
+    private void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeQuietly(rs);
+        if (connection != null) {
+            StatementCache.instance().release(connection, (PreparedStatement) s);
+        } else {
+            closeQuietly(s);
+        }
+        if (afterClose != null) {
+            afterClose.run();
+        }
+    }
 
+    private RowLayout layout() throws SQLException {
         ResultSetMetaData metaData = rs.getMetaData();
 
         String[] labels = new String[metaData.getColumnCount()];
@@ -88,14 +143,51 @@ public class RowProcessor {
         while (i < labels.length) {
             labels[i++] = metaData.getColumnLabel(i);
         }
+        return RowLayout.of(labels);
+    }
 
+    private Row nextRow(RowLayout layout) throws SQLException {
+        Object[] values = new Object[layout.size()];
+        int i = 0;
+        while (i < layout.columnCount()) {
+            values[layout.slotOfColumn(i++)] = rs.getObject(i);
+        }
+        return new Row(layout, values);
+    }
+
+    protected void processRS(RowListener listener) throws SQLException {
+        RowLayout layout = layout();
         while (rs.next()) {
-            Map<String, Object> row = new CaseInsensitiveMap<>();
-            i = 0;
-            while (i < labels.length) {
-                row.put(labels[i++], rs.getObject(i));
+            if (!listener.next(nextRow(layout))) { break; }
+        }
+    }
+
+    private class RowSpliterator extends Spliterators.AbstractSpliterator<Map<String, Object>> {
+        private RowLayout layout;
+
+        RowSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map<String, Object>> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (layout == null) {
+                    layout = layout();
+                }
+                if (rs.next()) {
+                    action.accept(nextRow(layout));
+                    return true;
+                }
+            } catch (SQLException e) {
+                close();
+                throw new DBException(e);
             }
-            if (!listener.next(row)) { break; }
+            close();
+            return false;
         }
     }
 }
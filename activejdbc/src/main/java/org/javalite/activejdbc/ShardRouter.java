@@ -0,0 +1,485 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc;
+
+import org.javalite.common.Convert;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.javalite.activejdbc.ModelDelegate.metaModelOf;
+
+/**
+ * Routes queries of a model partitioned horizontally into shards. A shard is a table, optionally in a different
+ * database, with the same structure as the table of the model. Shards are chosen by a shard key function from a
+ * value of a key attribute of a model:
+ * <pre>
+ * ShardRouter&lt;Temperature&gt; temperatures = new ShardRouter&lt;&gt;(Temperature.class, "city_id",
+ *         cityId -&gt; shards.get(Convert.toInteger(cityId) % shards.size()), shards);
+ *
+ * temperatures.save(temperature);                               // saved into shard of its city
+ * Temperature t = temperatures.findById(cityId, id);           // queries one shard only
+ * List&lt;Temperature&gt; hottest = temperatures.where("temp &gt; ?", 30).orderBy("temp desc").limit(10).load();
+ * long total = temperatures.count();                            // sum of counts of all shards
+ * </pre>
+ * Point queries go to one shard. Queries of all shards run at the same time, each on its own connection, if
+ * connections to all shard databases were opened from data sources and are not in a transaction (see
+ * {@link DB#open(javax.sql.DataSource)}), otherwise one after another on connections of the current thread.
+ * <p>
+ * A shard in a different database than the one of the model needs an open connection to its database on the
+ * current thread. Queries of a shard use {@link MetaModel#setShardTableName(String)}, so associations and
+ * includes of sharded models see the shard table as well.
+ *
+ * @author agent
+ */
+public class ShardRouter<T extends Model> {
+
+    /**
+     * Table of a shard and name of its database.
+     */
+    public static final class Shard {
+        private final String dbName;
+        private final String tableName;
+
+        /**
+         * @param dbName name of database of shard, or null if it is the database of the model.
+         * @param tableName name of table of shard.
+         */
+        public Shard(String dbName, String tableName) {
+            if (tableName == null) {
+                throw new IllegalArgumentException("tableName cannot be null");
+            }
+            this.dbName = dbName;
+            this.tableName = tableName;
+        }
+
+        /**
+         * Shard in the database of the model.
+         *
+         * @param tableName name of table of shard.
+         */
+        public Shard(String tableName) {
+            this(null, tableName);
+        }
+
+        public String getDbName() {
+            return dbName;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Shard)) return false;
+            Shard shard = (Shard) o;
+            return Objects.equals(dbName, shard.dbName) && tableName.equals(shard.tableName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbName, tableName);
+        }
+
+        @Override
+        public String toString() {
+            return dbName == null ? tableName : dbName + '.' + tableName;
+        }
+    }
+
+    private final Class<T> modelClass;
+    private final MetaModel metaModel;
+    private final String keyAttribute;
+    private final Function<Object, Shard> shardKey;
+    private final List<Shard> shards;
+
+    /**
+     * @param modelClass sharded model
+     * @param keyAttribute name of attribute whose value selects a shard of a model
+     * @param shardKey function selecting a shard from a value of key attribute, should return one of <code>shards</code>
+     * @param shards all shards, queried by queries across shards
+     */
+    public ShardRouter(Class<T> modelClass, String keyAttribute, Function<Object, Shard> shardKey, List<Shard> shards) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("at least one shard is required");
+        }
+        this.modelClass = modelClass;
+        this.metaModel = metaModelOf(modelClass);
+        this.keyAttribute = keyAttribute;
+        this.shardKey = shardKey;
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+    }
+
+    /**
+     * @see #ShardRouter(Class, String, Function, List)
+     */
+    public ShardRouter(Class<T> modelClass, String keyAttribute, Function<Object, Shard> shardKey, Shard... shards) {
+        this(modelClass, keyAttribute, shardKey, Arrays.asList(shards));
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * @param key value of key attribute
+     * @return shard of models with this key
+     */
+    public Shard shardFor(Object key) {
+        Shard shard = shardKey.apply(key);
+        if (shard == null) {
+            throw new DBException("no shard found for " + metaModel.getModelClass().getSimpleName() + " with "
+                    + keyAttribute + " = " + key);
+        }
+        return shard;
+    }
+
+    /**
+     * @param model model
+     * @return shard of model, selected by value of its key attribute
+     */
+    public Shard shardOf(T model) {
+        return shardFor(model.get(keyAttribute));
+    }
+
+    /**
+     * Runs an action with the model mapped to a shard on the current thread. If the shard is in another database,
+     * the connection to that database temporarily replaces the connection to the database of the model.
+     *
+     * @param shard shard
+     * @param action action to run
+     * @return result of action
+     */
+    public <R> R on(Shard shard, Supplier<R> action) {
+        Map<Class, String> tableNames = MetaModel.getTableNamesMap();
+        String previousTable = tableNames.put(modelClass, shard.getTableName());
+        String dbName = metaModel.getDbName();
+        Map<String, Connection> connections = null;
+        Connection previousConnection = null;
+        if (shard.getDbName() != null && !shard.getDbName().equals(dbName)) {
+            connections = ConnectionsAccess.getConnectionMap();
+            Connection connection = connections.get(shard.getDbName());
+            if (connection == null) {
+                restore(tableNames, previousTable);
+                throw new DBException("Cannot query shard " + shard + ", there is no connection to database '"
+                        + shard.getDbName() + "' on current thread");
+            }
+            previousConnection = connections.put(dbName, connection);
+        }
+        try {
+            return action.get();
+        } finally {
+            if (connections != null) {
+                if (previousConnection == null) {
+                    connections.remove(dbName);
+                } else {
+                    connections.put(dbName, previousConnection);
+                }
+            }
+            restore(tableNames, previousTable);
+        }
+    }
+
+    private void restore(Map<Class, String> tableNames, String previousTable) {
+        if (previousTable == null) {
+            tableNames.remove(modelClass);
+        } else {
+            tableNames.put(modelClass, previousTable);
+        }
+    }
+
+    /**
+     * Saves a model into its shard, see {@link Model#save()}.
+     */
+    public boolean save(T model) {
+        return on(shardOf(model), model::save);
+    }
+
+    /**
+     * Saves a model into its shard, see {@link Model#saveIt()}.
+     */
+    public boolean saveIt(T model) {
+        return on(shardOf(model), model::saveIt);
+    }
+
+    /**
+     * Deletes a model from its shard, see {@link Model#delete()}.
+     */
+    public boolean delete(T model) {
+        return on(shardOf(model), model::delete);
+    }
+
+    /**
+     * Finds a model by ID in one shard.
+     *
+     * @param key value of key attribute selecting a shard
+     * @param id ID of model
+     * @return model or null if not found
+     */
+    public T findById(Object key, Object id) {
+        return on(shardFor(key), () -> ModelDelegate.findById(modelClass, id));
+    }
+
+    /**
+     * Finds a first model in one shard.
+     *
+     * @param key value of key attribute selecting a shard
+     * @param subquery where clause
+     * @param params parameters of where clause
+     * @return model or null if not found
+     */
+    public T findFirst(Object key, String subquery, Object... params) {
+        return on(shardFor(key), () -> ModelDelegate.findFirst(modelClass, subquery, params));
+    }
+
+    /**
+     * Finds models in one shard.
+     *
+     * @param key value of key attribute selecting a shard
+     * @param subquery where clause
+     * @param params parameters of where clause
+     * @return loaded models
+     */
+    public List<T> whereKey(Object key, String subquery, Object... params) {
+        return on(shardFor(key), () -> ModelDelegate.where(modelClass, subquery, params).load());
+    }
+
+    /**
+     * Query across all shards.
+     *
+     * @param subquery where clause
+     * @param params parameters of where clause
+     * @return query, executed by {@link Query#load()}
+     */
+    public Query where(String subquery, Object... params) {
+        return new Query(subquery, params);
+    }
+
+    /**
+     * Query of all models of all shards.
+     *
+     * @return query, executed by {@link Query#load()}
+     */
+    public Query findAll() {
+        return new Query("*");
+    }
+
+    /**
+     * @return sum of numbers of rows of all shards
+     */
+    public long count() {
+        return sum(scatter(() -> ModelDelegate.count(modelClass)));
+    }
+
+    /**
+     * @param subquery where clause
+     * @param params parameters of where clause
+     * @return sum of numbers of matching rows of all shards
+     */
+    public long count(String subquery, Object... params) {
+        return sum(scatter(() -> ModelDelegate.count(modelClass, subquery, params)));
+    }
+
+    private static long sum(List<Long> counts) {
+        long sum = 0;
+        for (Long count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * Runs a query on every shard.
+     *
+     * @return results of shards, in order of shards
+     */
+    private <R> List<R> scatter(Supplier<R> query) {
+        if (shards.size() == 1) {
+            return Collections.singletonList(on(shards.get(0), query));
+        }
+        List<String> dbNames = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            dbNames.add(shard.getDbName() == null ? metaModel.getDbName() : shard.getDbName());
+        }
+        if (ParallelIncludes.supported(dbNames)) {
+            List<Callable<R>> queries = new ArrayList<>(shards.size());
+            for (Shard shard : shards) {
+                queries.add(() -> on(shard, query));
+            }
+            return ParallelIncludes.invokeAll(dbNames, queries);
+        }
+        List<R> results = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            results.add(on(shard, query));
+        }
+        return results;
+    }
+
+    /**
+     * Query across all shards. Results of shards are merged in order of {@link #orderBy(String)} if provided,
+     * or in order of shards otherwise. With {@link #limit(long)}, every shard is asked for at most
+     * <code>offset + limit</code> rows.
+     * <p>
+     * Rows of different shards are ordered by comparing values of attributes in memory, which for strings may
+     * differ from the collation of the database. Attributes to order by must not have null values, since databases
+     * do not agree on whether nulls go first or last.
+     */
+    public final class Query {
+        private final String subquery;
+        private final Object[] params;
+        private final List<String> orderBys = new ArrayList<>();
+        private long limit = -1, offset = -1;
+
+        private Query(String subquery, Object... params) {
+            this.subquery = subquery;
+            this.params = params;
+        }
+
+        /**
+         * @param orderBy order by clause of attributes of the model, such as "temp desc, id".
+         * @return this query
+         */
+        public Query orderBy(String orderBy) {
+            orderBys.add(orderBy);
+            return this;
+        }
+
+        public Query limit(long limit) {
+            if (limit < 0) throw new IllegalArgumentException("limit cannot be negative");
+            this.limit = limit;
+            return this;
+        }
+
+        public Query offset(long offset) {
+            if (offset < 0) throw new IllegalArgumentException("offset cannot be negative");
+            this.offset = offset;
+            return this;
+        }
+
+        /**
+         * Queries all shards and merges their results.
+         *
+         * @return models
+         */
+        public List<T> load() {
+            long skip = Math.max(offset, 0);
+            List<List<T>> results = scatter(() -> {
+                LazyList<T> list = ModelDelegate.where(modelClass, subquery, params);
+                for (String orderBy : orderBys) {
+                    list.orderBy(orderBy);
+                }
+                if (limit >= 0) {
+                    list.limit(skip + limit);
+                }
+                return list.load();
+            });
+            List<T> merged = orderBys.isEmpty() ? concat(results) : merge(results, comparator(results));
+            int from = (int) Math.min(skip, merged.size());
+            int to = limit < 0 ? merged.size() : (int) Math.min(skip + limit, merged.size());
+            return new ArrayList<>(merged.subList(from, to));
+        }
+
+        private List<T> concat(List<List<T>> results) {
+            List<T> all = new ArrayList<>();
+            for (List<T> result : results) {
+                all.addAll(result);
+            }
+            return all;
+        }
+
+        /**
+         * K-way merge of lists sorted by the same comparator.
+         */
+        private List<T> merge(List<List<T>> results, Comparator<T> comparator) {
+            int total = 0;
+            for (List<T> result : results) {
+                total += result.size();
+            }
+            List<T> merged = new ArrayList<>(total);
+            // int[] {list, position}
+            PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(results.size(), 1),
+                    (a, b) -> comparator.compare(results.get(a[0]).get(a[1]), results.get(b[0]).get(b[1])));
+            for (int i = 0; i < results.size(); i++) {
+                if (!results.get(i).isEmpty()) {
+                    heads.add(new int[]{i, 0});
+                }
+            }
+            while (!heads.isEmpty()) {
+                int[] head = heads.poll();
+                List<T> result = results.get(head[0]);
+                merged.add(result.get(head[1]));
+                if (++head[1] < result.size()) {
+                    heads.add(head);
+                }
+            }
+            return merged;
+        }
+
+        /**
+         * @throws DBException if an attribute to order by has a null value in results
+         */
+        private Comparator<T> comparator(List<List<T>> results) {
+            Comparator<T> comparator = null;
+            for (String orderBy : orderBys) {
+                for (String term : orderBy.split(",")) {
+                    String[] words = term.trim().split("\\s+");
+                    String attribute = words[0];
+                    int dot = attribute.lastIndexOf('.');
+                    final String name = dot < 0 ? attribute : attribute.substring(dot + 1);
+                    for (List<T> result : results) {
+                        for (T model : result) {
+                            if (model.get(name) == null) {
+                                throw new DBException("Cannot merge results of shards ordered by '" + name
+                                        + "' which has null values, add a condition '" + name + " IS NOT NULL'");
+                            }
+                        }
+                    }
+                    Comparator<T> next = (a, b) -> compareValues(a.get(name), b.get(name));
+                    if (words.length > 1 && words[1].equalsIgnoreCase("desc")) {
+                        next = next.reversed();
+                    }
+                    comparator = comparator == null ? next : comparator.thenComparing(next);
+                }
+            }
+            return comparator;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object a, Object b) {
+        if (a == b) return 0;
+        if (a instanceof Number && b instanceof Number && a.getClass() != b.getClass()) {
+            return Convert.toBigDecimal(a).compareTo(Convert.toBigDecimal(b));
+        }
+        if (a instanceof Comparable && a.getClass().isInstance(b)) {
+            return ((Comparable<Object>) a).compareTo(b);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+}
@@ -0,0 +1,193 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of SQL generated for a model, one per {@link MetaModel}. An UPDATE is keyed by the set of changed
+ * columns and an INSERT by the set of non-null columns, both as bit sets of slots of {@link AttributeLayout}. A SELECT
+ * of a {@link LazyList} is keyed by the shape of the query: condition, order, limit and offset. Keys include the
+ * table name, so that sharded tables get their own statements. Entries of writes keep columns in the order of their
+ * parameters, so that saving a model neither builds strings nor copies sets of attribute names. Together with
+ * prepared statements cached by connections, the same SQL instance is reused for every save.
+ * <p>
+ * Reads do not lock. Once a model has as many entries as configured by <code>sqlTemplates.size</code> in
+ * <code>activejdbc.properties</code>, 256 by default, an arbitrary entry is evicted for every new one. 0 turns
+ * caching off.
+ *
+ * @author agent
+ */
+final class SqlTemplates {
+
+    private enum Kind { UPDATE, UPDATE_MANAGED, INSERT, INSERT_WITH_ID, SELECT }
+
+    private final AttributeLayout layout;
+    private final int capacity;
+    private final ConcurrentMap<List<Object>, Object> templates;
+    private final BitSet updatable;
+    private final BitSet updatableManaged;
+    private final BitSet insertable;
+
+    /**
+     * @param metaModel model of the table
+     * @param layout slots of attributes of the model, or null if models keep attributes in maps, then only
+     * selects are cached
+     * @param capacity maximum number of entries, 0 or less to not cache
+     */
+    SqlTemplates(MetaModel metaModel, AttributeLayout layout, int capacity) {
+        this.layout = layout;
+        this.capacity = capacity;
+        this.templates = new ConcurrentHashMap<>();
+        if (layout != null) {
+            updatable = slotsOf(metaModel.getAttributeNamesSkipGenerated(false));
+            updatableManaged = slotsOf(metaModel.getAttributeNamesSkipGenerated(true));
+            insertable = new BitSet(layout.size());
+            insertable.set(0, layout.size());
+            int versionSlot = layout.slot(metaModel.getVersionColumn());
+            if (versionSlot >= 0) {
+                insertable.clear(versionSlot);
+            }
+        } else {
+            updatable = updatableManaged = insertable = null;
+        }
+    }
+
+    private BitSet slotsOf(Set<String> names) {
+        BitSet slots = new BitSet(layout.size());
+        for (String name : names) {
+            int slot = layout.slot(name);
+            if (slot >= 0) {
+                slots.set(slot);
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * @return true if writes of models with attributes kept in this layout can be cached
+     */
+    boolean isFor(AttributeLayout layout) {
+        return this.layout != null && this.layout == layout;
+    }
+
+    /**
+     * @param tableName current name of table
+     * @param dirty slots of changed attributes, modified by this method
+     * @param managed true if <code>created_at</code> and <code>updated_at</code> are managed by the model
+     * @param queryBuilder builds query from names of updated columns, returns null if there is nothing to update
+     * @return UPDATE with names of columns of parameters in SET clause
+     */
+    Template update(String tableName, BitSet dirty, boolean managed, Function<List<String>, String> queryBuilder) {
+        dirty.and(managed ? updatableManaged : updatable);
+        return template(Arrays.asList(managed ? Kind.UPDATE_MANAGED : Kind.UPDATE, tableName, dirty), dirty, queryBuilder);
+    }
+
+    /**
+     * @param tableName current name of table
+     * @param nonNull slots of non-null attributes, modified by this method
+     * @param containsId true if the model has a value of ID
+     * @param queryBuilder builds query from names of inserted columns, not counting version column
+     * @return INSERT with names of columns of parameters, not counting version column
+     */
+    Template insert(String tableName, BitSet nonNull, boolean containsId, Function<List<String>, String> queryBuilder) {
+        nonNull.and(insertable);
+        return template(Arrays.asList(containsId ? Kind.INSERT_WITH_ID : Kind.INSERT, tableName, nonNull), nonNull,
+                queryBuilder);
+    }
+
+    /**
+     * @param shape values which define the query: table, condition, order, limit and offset. Must not change later.
+     * @param queryBuilder builds the query
+     * @return SELECT
+     */
+    String select(List<Object> shape, Supplier<String> queryBuilder) {
+        if (capacity <= 0) {
+            return queryBuilder.get();
+        }
+        List<Object> key = new ArrayList<>(shape.size() + 1);
+        key.add(Kind.SELECT);
+        key.addAll(shape);
+        String query = (String) get(key);
+        if (query == null) {
+            query = queryBuilder.get();
+            put(key, query);
+        }
+        return query;
+    }
+
+    private Template template(List<Object> key, BitSet slots, Function<List<String>, String> queryBuilder) {
+        Template template = capacity > 0 ? (Template) get(key) : null;
+        if (template == null) {
+            int[] slotArray = slots.stream().toArray();
+            List<String> columns = new ArrayList<>(slotArray.length);
+            for (int slot : slotArray) {
+                columns.add(layout.name(slot));
+            }
+            template = new Template(queryBuilder.apply(columns), Collections.unmodifiableList(columns), slotArray);
+            if (capacity > 0) {
+                put(key, template);
+            }
+        }
+        return template;
+    }
+
+    private Object get(List<Object> key) {
+        return templates.get(key);
+    }
+
+    /**
+     * Makes room by evicting an arbitrary entry when the cache is full, so that reads never lock.
+     */
+    private void put(List<Object> key, Object value) {
+        if (templates.size() >= capacity) {
+            Iterator<List<Object>> keys = templates.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        templates.putIfAbsent(key, value);
+    }
+
+    /**
+     * Generated SQL with columns of its parameters.
+     */
+    static final class Template {
+        /** SQL, or null if there is nothing to execute */
+        final String query;
+        /** names of columns of parameters, in order */
+        final List<String> columns;
+        /** slots of columns of parameters in {@link AttributeLayout}, in order */
+        final int[] slots;
+
+        private Template(String query, List<String> columns, int[] slots) {
+            this.query = query;
+            this.columns = columns;
+            this.slots = slots;
+        }
+    }
+}
@@ -19,42 +19,229 @@ package org.javalite.activejdbc;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.util.HashMap;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import static org.javalite.common.Util.*;
 
 /**
+ * Bounded per-connection cache of prepared statements. Statements are keyed by SQL, result set type and concurrency
+ * (and a generated key column for inserts), and evicted in LRU order once a connection holds more statements than
+ * configured by <code>statementCache.size</code> in <code>activejdbc.properties</code>. Evicted statements are closed.
+ * <p>
+ * Statements are borrowed and released: a statement is handed out to one user at a time, so that nested
+ * queries with the same SQL (for instance, from inside of a {@link RowListener}) get their own statement,
+ * which is closed on release.
+ *
  * @author Igor Polevoy
  */
 enum StatementCache {
     INSTANCE;
 
-    private final ConcurrentMap<Connection, Map<String, PreparedStatement>> statementCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Connection, Statements> statementCache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final int capacity;
+
+    private StatementCache() {
+        capacity = Registry.instance().getConfiguration().getStatementCacheSize();
+    }
 
-    private StatementCache() { }
-    
     static StatementCache instance() { return INSTANCE; }
 
-    PreparedStatement getPreparedStatement(Connection connection, String query) {
-        if (!statementCache.containsKey(connection)) {
-            statementCache.put(connection, new HashMap<String, PreparedStatement>());
+    /**
+     * Returns a cached statement, or prepares a new one.
+     *
+     * @param connection connection to prepare statement on
+     * @param query SQL
+     * @param type result set type
+     * @param concurrency result set concurrency
+     * @param generatedKeyColumn name of column whose value should be returned as a generated key, or null
+     * @return statement which needs to be returned with {@link #release(Connection, PreparedStatement)}
+     */
+    PreparedStatement borrow(Connection connection, String query, int type, int concurrency,
+                             String generatedKeyColumn) throws SQLException {
+        if (capacity <= 0) {
+            misses.increment();
+            return prepare(connection, query, type, concurrency, generatedKeyColumn);
+        }
+        Key key = new Key(query, type, concurrency, generatedKeyColumn);
+        Statements statements = statementCache.computeIfAbsent(connection, c -> new Statements());
+        synchronized (statements) {
+            Entry entry = statements.get(key);
+            if (entry != null && !entry.inUse) {
+                entry.inUse = true;
+                hits.increment();
+                return entry.statement;
+            }
         }
-        return statementCache.get(connection).get(query);
+        misses.increment();
+        PreparedStatement ps = prepare(connection, query, type, concurrency, generatedKeyColumn);
+        synchronized (statements) {
+            if (!statements.containsKey(key)) {
+                Entry entry = new Entry(ps);
+                statements.put(key, entry);
+                statements.byStatement.put(ps, entry);
+            }
+        }
+        return ps;
+    }
+
+    private static PreparedStatement prepare(Connection connection, String query, int type, int concurrency,
+                                             String generatedKeyColumn) throws SQLException {
+        return generatedKeyColumn != null
+                ? connection.prepareStatement(query, new String[]{generatedKeyColumn})
+                : connection.prepareStatement(query, type, concurrency);
     }
 
-    public void cache(Connection connection, String query, PreparedStatement ps) {
-        statementCache.get(connection).put(query, ps);
+    /**
+     * Returns a statement borrowed with {@link #borrow(Connection, String, int, int, String)}. Statements that are not
+     * (or no longer) in the cache are closed.
+     */
+    void release(Connection connection, PreparedStatement ps) {
+        if (ps == null) {
+            return;
+        }
+        Statements statements = statementCache.get(connection);
+        Entry entry = null;
+        if (statements != null) {
+            synchronized (statements) {
+                entry = statements.byStatement.get(ps);
+            }
+        }
+        if (entry == null) {
+            closeQuietly(ps);
+            return;
+        }
+        try {
+            ps.clearParameters();
+            if (ps.getFetchSize() != 0) {
+                ps.setFetchSize(0);
+            }
+        } catch (SQLException e) {
+            synchronized (statements) {
+                statements.values().remove(entry);
+                statements.byStatement.remove(ps);
+            }
+            closeQuietly(ps);
+            return;
+        }
+        synchronized (statements) {
+            if (statements.byStatement.containsKey(ps)) {
+                entry.inUse = false;
+            } else { // evicted or cleaned while in use
+                closeQuietly(ps);
+            }
+        }
     }
 
     void cleanStatementCache(Connection connection) {
-       Map<String, PreparedStatement> stmsMap = statementCache.remove(connection);
-	   if(stmsMap != null) { //Close prepared statements to release cursors on connection pools
-			for(PreparedStatement stmt : stmsMap.values()) {
-                closeQuietly(stmt);
-			}
-	   }
+        Statements statements = statementCache.remove(connection);
+        if (statements != null) { //Close prepared statements to release cursors on connection pools
+            synchronized (statements) {
+                for (Entry entry : statements.values()) {
+                    closeQuietly(entry.statement);
+                }
+                statements.clear();
+                statements.byStatement.clear();
+            }
+        }
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of statements currently cached for all connections
+     */
+    int size() {
+        int size = 0;
+        for (Statements statements : statementCache.values()) {
+            synchronized (statements) {
+                size += statements.size();
+            }
+        }
+        return size;
+    }
+
+    private final class Statements extends LinkedHashMap<Key, Entry> {
+        private final Map<PreparedStatement, Entry> byStatement = new IdentityHashMap<>();
+
+        private Statements() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() <= capacity) {
+                return false;
+            }
+            Entry entry = eldest.getValue();
+            byStatement.remove(entry.statement);
+            evictions.increment();
+            if (!entry.inUse) { // otherwise closed on release
+                closeQuietly(entry.statement);
+            }
+            return true;
+        }
+    }
+
+    private static final class Entry {
+        private final PreparedStatement statement;
+        private boolean inUse = true;
+
+        private Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    private static final class Key {
+        private final String query;
+        private final int type;
+        private final int concurrency;
+        private final String generatedKeyColumn;
+        private final int hash;
+
+        private Key(String query, int type, int concurrency, String generatedKeyColumn) {
+            this.query = query;
+            this.type = type;
+            this.concurrency = concurrency;
+            this.generatedKeyColumn = generatedKeyColumn;
+            this.hash = Objects.hash(query, type, concurrency, generatedKeyColumn);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return type == key.type && concurrency == key.concurrency && query.equals(key.query)
+                    && Objects.equals(generatedKeyColumn, key.generatedKeyColumn);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 }
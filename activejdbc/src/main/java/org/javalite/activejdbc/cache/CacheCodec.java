@@ -0,0 +1,42 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc.cache;
+
+/**
+ * Converts cached items to bytes and back, for cache managers storing caches outside of JVM, such as
+ * {@link RedisCacheManager} and {@link TieredCacheManager}. Cached items are usually lists of models.
+ * <p></p>
+ * An implementation is configured with <code>cache.codec</code> in <code>activejdbc.properties</code>, and needs
+ * to have a default constructor.
+ *
+ * @author agent
+ */
+public interface CacheCodec {
+
+    /**
+     * @param item item to cache
+     * @return item as bytes
+     * @throws CacheException if item cannot be encoded
+     */
+    byte[] encode(Object item);
+
+    /**
+     * @param bytes bytes returned by {@link #encode(Object)}
+     * @return item
+     * @throws CacheException if bytes cannot be decoded
+     */
+    Object decode(byte[] bytes);
+}
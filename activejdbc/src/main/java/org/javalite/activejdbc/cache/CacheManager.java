@@ -17,8 +17,10 @@ limitations under the License.
 
 package org.javalite.activejdbc.cache;
 
+import org.javalite.activejdbc.InitException;
 import org.javalite.activejdbc.logging.LogFilter;
 import org.javalite.activejdbc.MetaModel;
+import org.javalite.activejdbc.Registry;
 import org.javalite.activejdbc.logging.LogLevel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +28,9 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.javalite.activejdbc.ModelDelegate.metaModelFor;
 
@@ -39,6 +44,11 @@ public abstract class CacheManager {
 
     List<CacheEventListener> listeners = new ArrayList<>();
 
+    private volatile CacheCodec codec;
+
+    private final AtomicLong flushes = new AtomicLong();
+    private final Map<String, AtomicLong> groupFlushes = new ConcurrentHashMap<>();
+
     /**
      * Returns a cached item. Can return null if not found.
      * @param group group of caches - this is a name of a table for which query results are cached
@@ -68,6 +78,7 @@ public abstract class CacheManager {
      */
     public final void flush(CacheEvent event, boolean propagate){
         doFlush(event);
+        countFlush(event);
         if(propagate){
             propagate(event);
         }
@@ -97,6 +108,29 @@ public abstract class CacheManager {
         flush(event, true);
     }
 
+    /**
+     * Counts a flush of caches which was not done by {@link #flush(CacheEvent, boolean)}, such as a flush
+     * received from another node, so that items loaded before it are not cached. Does not propagate the event.
+     *
+     * @param event type of caches flushed.
+     */
+    protected final void countFlush(CacheEvent event) {
+        if (event.getType() == CacheEvent.CacheEventType.ALL) {
+            flushes.incrementAndGet();
+        } else if (event.getGroup() != null) {
+            groupFlushes.computeIfAbsent(event.getGroup(), g -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /**
+     * @param group group of caches
+     * @return number of times caches of a group were flushed, used to detect a flush during a load of an item.
+     */
+    long flushCount(String group) {
+        AtomicLong count = groupFlushes.get(group);
+        return flushes.get() + (count == null ? 0 : count.get());
+    }
+
     public final void addCacheEventListener(CacheEventListener listener){
         listeners.add(listener);
     }
@@ -144,6 +178,51 @@ public abstract class CacheManager {
     }
 
 
+    /**
+     * @return codec used by {@link #encode(Object)} and {@link #decode(byte[])}, configured with
+     * <code>cache.codec</code> in <code>activejdbc.properties</code> unless set explicitly.
+     */
+    public CacheCodec getCodec() {
+        if (codec == null) {
+            String codecClass = Registry.instance().getConfiguration().getCacheCodec();
+            try {
+                codec = (CacheCodec) Class.forName(codecClass).getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                throw new InitException("Failed to initialize a CacheCodec. Please, ensure that the property " +
+                        "'cache.codec' points to correct class which implements '" + CacheCodec.class.getName()
+                        + "' and provides a default constructor.", e);
+            }
+        }
+        return codec;
+    }
+
+    /**
+     * @param codec codec used by {@link #encode(Object)} and {@link #decode(byte[])}
+     */
+    public void setCodec(CacheCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Used by implementations storing caches outside of JVM to convert an item to bytes.
+     *
+     * @param item item to cache
+     * @return bytes to store
+     */
+    protected byte[] encode(Object item) {
+        return getCodec().encode(item);
+    }
+
+    /**
+     * Used by implementations storing caches outside of JVM to convert stored bytes to an item.
+     *
+     * @param bytes stored bytes
+     * @return cached item
+     */
+    protected Object decode(byte[] bytes) {
+        return getCodec().decode(bytes);
+    }
+
     /**
      * Returns underlying instance of implementation for specific configuration.
      *
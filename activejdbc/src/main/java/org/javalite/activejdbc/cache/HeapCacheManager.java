@@ -0,0 +1,262 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc.cache;
+
+import org.javalite.activejdbc.Registry;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache manager keeping caches in memory of the current JVM, without any dependencies or configuration files.
+ * To use it, add this to <code>activejdbc.properties</code>:
+ * <pre>
+ * cache.manager=org.javalite.activejdbc.cache.HeapCacheManager
+ * cache.capacity=10000
+ * cache.capacity.countries=500
+ * cache.ttl=600
+ * </pre>
+ *
+ * Every group (table) has its own capacity and time to live in seconds, see
+ * {@link org.javalite.activejdbc.Configuration#getCacheCapacity(String)} and
+ * {@link org.javalite.activejdbc.Configuration#getCacheTtl(String)}. Capacity is a total weight of cached items,
+ * where weight of a list of models is number of models in it, and weight of any other item is 1.
+ * <p></p>
+ * A group is a segmented LRU: new items are added to a probationary segment, and are promoted to a protected segment
+ * (up to 80% of capacity) when read again. Items are evicted from the probationary segment first, so that a scan of
+ * items read once does not push frequently read items out of cache. A group is flushed atomically by replacing it
+ * with an empty one.
+ *
+ * @author agent
+ */
+public class HeapCacheManager extends CacheManager {
+
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+    private final ToLongFunction<String> capacity;
+    private final ToLongFunction<String> ttl;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache manager with capacities and times to live configured in <code>activejdbc.properties</code>.
+     */
+    public HeapCacheManager() {
+        this(group -> Registry.instance().getConfiguration().getCacheCapacity(group),
+                group -> Registry.instance().getConfiguration().getCacheTtl(group));
+    }
+
+    /**
+     * Creates a cache manager with the same capacity and time to live for all groups.
+     *
+     * @param capacity maximum total weight of items of a group
+     * @param ttlSeconds time to live of items in seconds, 0 if they should not expire
+     */
+    public HeapCacheManager(long capacity, long ttlSeconds) {
+        this(group -> capacity, group -> ttlSeconds);
+    }
+
+    HeapCacheManager(ToLongFunction<String> capacity, ToLongFunction<String> ttl) {
+        this.capacity = capacity;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Object getCache(String group, String key) {
+        Group g = groups.get(group);
+        Object item = g == null ? null : g.get(key);
+        if (item == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return item;
+    }
+
+    @Override
+    public void addCache(String group, String key, Object cache) {
+        groups.computeIfAbsent(group, name -> new Group(capacity.applyAsLong(name), ttl.applyAsLong(name)))
+                .put(key, cache, weigh(cache));
+    }
+
+    @Override
+    public void doFlush(CacheEvent event) {
+        if (event.getType().equals(CacheEvent.CacheEventType.ALL)) {
+            groups.clear();
+        } else if (event.getType().equals(CacheEvent.CacheEventType.GROUP)) {
+            groups.remove(event.getGroup());
+        }
+    }
+
+    /**
+     * @return this instance, there is no underlying implementation
+     */
+    @Override
+    public Object getImplementation() {
+        return this;
+    }
+
+    /**
+     * @return number of times a cached item was found
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of times a cached item was not found or expired
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of items evicted to keep groups within their capacity
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of items in all groups, including expired items not evicted yet
+     */
+    public int size() {
+        int size = 0;
+        for (Group group : groups.values()) {
+            size += group.size();
+        }
+        return size;
+    }
+
+    private static long weigh(Object item) {
+        return item instanceof Collection ? Math.max(1, ((Collection) item).size()) : 1;
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long weight;
+        private final long expiresAt;
+
+        private Entry(Object value, long weight, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Segmented LRU of a single group, guarded by its own monitor.
+     */
+    private final class Group {
+        private final LinkedHashMap<String, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<String, Entry> protectedItems = new LinkedHashMap<>(16, 0.75f, true);
+        private final long capacity;
+        private final long protectedCapacity;
+        private final long ttlNanos;
+        private long probationWeight, protectedWeight;
+
+        private Group(long capacity, long ttlSeconds) {
+            this.capacity = capacity;
+            this.protectedCapacity = capacity * 4 / 5;
+            this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        }
+
+        synchronized Object get(String key) {
+            Entry entry = protectedItems.get(key);
+            if (entry == null) {
+                entry = probation.remove(key);
+                if (entry == null) {
+                    return null;
+                }
+                probationWeight -= entry.weight;
+                if (expired(entry)) {
+                    return null;
+                }
+                //read again, promote to protected segment, and demote its least recently used items
+                protectedItems.put(key, entry);
+                protectedWeight += entry.weight;
+                Iterator<Map.Entry<String, Entry>> it = protectedItems.entrySet().iterator();
+                while (protectedWeight > protectedCapacity && it.hasNext()) {
+                    Map.Entry<String, Entry> eldest = it.next();
+                    if (eldest.getValue() == entry) {
+                        break;
+                    }
+                    it.remove();
+                    protectedWeight -= eldest.getValue().weight;
+                    probation.put(eldest.getKey(), eldest.getValue());
+                    probationWeight += eldest.getValue().weight;
+                }
+                return entry.value;
+            }
+            if (expired(entry)) {
+                protectedItems.remove(key);
+                protectedWeight -= entry.weight;
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized void put(String key, Object value, long weight) {
+            remove(key);
+            if (weight > capacity) {
+                return;
+            }
+            probation.put(key, new Entry(value, weight, ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0));
+            probationWeight += weight;
+            evict(probation);
+            evict(protectedItems);
+        }
+
+        private void remove(String key) {
+            Entry entry = probation.remove(key);
+            if (entry != null) {
+                probationWeight -= entry.weight;
+            }
+            entry = protectedItems.remove(key);
+            if (entry != null) {
+                protectedWeight -= entry.weight;
+            }
+        }
+
+        private void evict(LinkedHashMap<String, Entry> segment) {
+            Iterator<Entry> it = segment.values().iterator();
+            while (probationWeight + protectedWeight > capacity && it.hasNext()) {
+                Entry eldest = it.next();
+                it.remove();
+                if (segment == probation) {
+                    probationWeight -= eldest.weight;
+                } else {
+                    protectedWeight -= eldest.weight;
+                }
+                evictions.increment();
+            }
+        }
+
+        private boolean expired(Entry entry) {
+            return entry.expiresAt != 0 && System.nanoTime() - entry.expiresAt > 0;
+        }
+
+        synchronized int size() {
+            return probation.size() + protectedItems.size();
+        }
+    }
+}
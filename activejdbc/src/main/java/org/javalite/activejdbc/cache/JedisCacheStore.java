@@ -0,0 +1,141 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc.cache;
+
+import org.javalite.activejdbc.logging.LogFilter;
+import org.javalite.activejdbc.logging.LogLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Redis implementation of {@link RemoteCacheStore}. Every group is stored as a hash under
+ * <code>activejdbc:cache:&lt;group&gt;</code>, names of groups are kept in a set, and messages are sent over the
+ * <code>activejdbc:cache:events</code> channel.
+ *
+ * @author agent
+ */
+public class JedisCacheStore implements RemoteCacheStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JedisCacheStore.class);
+    private static final String PREFIX = "activejdbc:cache:";
+    private static final String GROUPS = PREFIX + "groups";
+    private static final String CHANNEL = PREFIX + "events";
+
+    private final JedisPool jedisPool;
+    private volatile JedisPubSub subscription;
+    private volatile boolean closed;
+
+    public JedisCacheStore(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+    }
+
+    @Override
+    public byte[] get(String group, String key) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.hget(bytes(PREFIX + group), bytes(key));
+        }
+    }
+
+    @Override
+    public void put(String group, String key, byte[] value) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.sadd(GROUPS, group);
+            jedis.hset(bytes(PREFIX + group), bytes(key), value);
+        }
+    }
+
+    @Override
+    public void delete(String group) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.del(PREFIX + group);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            Set<String> groups = jedis.smembers(GROUPS);
+            for (String group : groups) {
+                jedis.del(PREFIX + group);
+            }
+            jedis.del(GROUPS);
+        }
+    }
+
+    @Override
+    public void publish(String message) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.publish(CHANNEL, message);
+        }
+    }
+
+    /**
+     * Listens to the channel on a daemon thread, which reconnects if connection to Redis is lost.
+     */
+    @Override
+    public void subscribe(final Consumer<String> listener, final Runnable onSubscribe) {
+        Thread thread = new Thread(() -> {
+            while (!closed) {
+                JedisPubSub pubSub = new JedisPubSub() {
+                    @Override
+                    public void onMessage(String channel, String message) {
+                        listener.accept(message);
+                    }
+
+                    @Override
+                    public void onSubscribe(String channel, int subscribedChannels) {
+                        onSubscribe.run();
+                    }
+                };
+                subscription = pubSub;
+                try (Jedis jedis = jedisPool.getResource()) {
+                    jedis.subscribe(pubSub, CHANNEL);
+                } catch (Exception e) {
+                    if (!closed) {
+                        LogFilter.log(LOGGER, LogLevel.WARNING, "Lost subscription to " + CHANNEL + ", reconnecting", e);
+                        try {
+                            Thread.sleep(1000);
+                        } catch (InterruptedException ie) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }, "activejdbc-cache-events");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        JedisPubSub pubSub = subscription;
+        if (pubSub != null && pubSub.isSubscribed()) {
+            pubSub.unsubscribe();
+        }
+        jedisPool.close();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
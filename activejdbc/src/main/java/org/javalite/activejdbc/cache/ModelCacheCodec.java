@@ -0,0 +1,302 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc.cache;
+
+import org.javalite.activejdbc.Model;
+import org.javalite.activejdbc.ModelDelegate;
+import org.javalite.activejdbc.Registry;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact codec for models and lists of models. Names of attributes are written once per list, followed by values
+ * of attributes of every model in the same order, each prefixed by a one byte type tag. Unlike Java serialization,
+ * no class descriptors or internals of models are written. Other items, and models with values of types not known
+ * to this codec, are written with Java serialization.
+ * <p></p>
+ * Encoded items can also be deflated, set <code>cache.compress=true</code> in <code>activejdbc.properties</code>.
+ * Models are decoded as if loaded from database: attributes are not dirty, and included parents and children are not
+ * preserved.
+ *
+ * @author agent
+ */
+public class ModelCacheCodec implements CacheCodec {
+
+    //kinds of items
+    private static final int SERIALIZED = 0, MODELS = 1, MODEL = 2, EMPTY_LIST = 3;
+    private static final int DEFLATED = 0x80;
+    //items smaller than this are not worth deflating
+    private static final int DEFLATE_THRESHOLD = 128;
+
+    //types of values
+    private static final int NULL = 0, STRING = 1, INTEGER = 2, LONG = 3, DOUBLE = 4, FLOAT = 5, SHORT = 6, BYTE = 7,
+            BOOLEAN = 8, BIG_DECIMAL = 9, BIG_INTEGER = 10, DATE = 11, TIMESTAMP = 12, TIME = 13, UTIL_DATE = 14,
+            BYTES = 15, OBJECT = 16;
+
+    private final JavaSerializationCodec serialization = new JavaSerializationCodec();
+    private final boolean deflate;
+
+    /**
+     * Deflates encoded items if <code>cache.compress</code> is true in <code>activejdbc.properties</code>.
+     */
+    public ModelCacheCodec() {
+        this(Registry.instance().getConfiguration().isCacheCompress());
+    }
+
+    /**
+     * @param deflate true to deflate encoded items
+     */
+    public ModelCacheCodec(boolean deflate) {
+        this.deflate = deflate;
+    }
+
+    @Override
+    public byte[] encode(Object item) {
+        try {
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bout);
+            int kind = kindOf(item);
+            if (kind == MODELS) {
+                writeModels(out, (List<Model>) item);
+            } else if (kind == MODEL) {
+                writeModels(out, Collections.singletonList((Model) item));
+            } else if (kind == SERIALIZED) {
+                out.write(serialization.encode(item));
+            }
+            out.flush();
+            byte[] body = bout.toByteArray();
+            if (deflate && body.length >= DEFLATE_THRESHOLD) {
+                bout = new ByteArrayOutputStream(body.length / 2);
+                bout.write(kind | DEFLATED);
+                try (DeflaterOutputStream deflater = new DeflaterOutputStream(bout)) {
+                    deflater.write(body);
+                }
+            } else {
+                bout = new ByteArrayOutputStream(body.length + 1);
+                bout.write(kind);
+                bout.write(body);
+            }
+            return bout.toByteArray();
+        } catch (IOException e) {
+            throw new CacheException("Failed to encode " + item.getClass(), e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        try {
+            int header = bytes[0] & 0xFF;
+            int kind = header & ~DEFLATED;
+            InputStream body = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+            if ((header & DEFLATED) != 0) {
+                body = new InflaterInputStream(body);
+            }
+            switch (kind) {
+                case EMPTY_LIST:
+                    return Collections.emptyList();
+                case MODEL:
+                    return readModels(new DataInputStream(body)).get(0);
+                case MODELS:
+                    return Collections.unmodifiableList(readModels(new DataInputStream(body)));
+                default:
+                    return serialization.decode(readAll(body));
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new CacheException("Failed to decode cached object", e);
+        }
+    }
+
+    /**
+     * Models can be encoded compactly if all of them are of the same class, have the same attributes, and values of
+     * attributes are of known types.
+     */
+    private int kindOf(Object item) {
+        if (item instanceof Model) {
+            return compact(Collections.singletonList((Model) item)) ? MODEL : SERIALIZED;
+        }
+        if (item instanceof List) {
+            List<?> list = (List<?>) item;
+            if (list.isEmpty()) {
+                return EMPTY_LIST;
+            }
+            for (Object element : list) {
+                if (!(element instanceof Model)) {
+                    return SERIALIZED;
+                }
+            }
+            return compact((List<Model>) list) ? MODELS : SERIALIZED;
+        }
+        return SERIALIZED;
+    }
+
+    private boolean compact(List<Model> models) {
+        Model first = models.get(0);
+        Set<String> names = ModelDelegate.attributesOf(first).keySet();
+        for (Model model : models) {
+            if (model.getClass() != first.getClass()) {
+                return false;
+            }
+            Map<String, Object> attributes = ModelDelegate.attributesOf(model);
+            if (attributes.size() != names.size()) {
+                return false;
+            }
+            for (String name : names) {
+                if (!attributes.containsKey(name) || typeOf(attributes.get(name)) == OBJECT) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void writeModels(DataOutputStream out, List<Model> models) throws IOException {
+        List<String> names = new ArrayList<>(ModelDelegate.attributesOf(models.get(0)).keySet());
+        out.writeUTF(models.get(0).getClass().getName());
+        out.writeInt(names.size());
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+        out.writeInt(models.size());
+        for (Model model : models) {
+            Map<String, Object> attributes = ModelDelegate.attributesOf(model);
+            for (String name : names) {
+                writeValue(out, attributes.get(name));
+            }
+        }
+    }
+
+    private List<Model> readModels(DataInputStream in) throws IOException, ClassNotFoundException {
+        Class<? extends Model> clazz = (Class<? extends Model>) Class.forName(in.readUTF());
+        String[] names = new String[in.readInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = in.readUTF();
+        }
+        int count = in.readInt();
+        List<Model> models = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> attributes = new HashMap<>(names.length * 2);
+            for (String name : names) {
+                attributes.put(name, readValue(in));
+            }
+            models.add(ModelDelegate.instance(clazz, attributes));
+        }
+        return models;
+    }
+
+    private static int typeOf(Object value) {
+        if (value == null) return NULL;
+        if (value instanceof String) return STRING;
+        if (value instanceof Integer) return INTEGER;
+        if (value instanceof Long) return LONG;
+        if (value instanceof Double) return DOUBLE;
+        if (value instanceof Float) return FLOAT;
+        if (value instanceof Short) return SHORT;
+        if (value instanceof Byte) return BYTE;
+        if (value instanceof Boolean) return BOOLEAN;
+        if (value instanceof BigDecimal) return BIG_DECIMAL;
+        if (value instanceof BigInteger) return BIG_INTEGER;
+        if (value.getClass() == java.sql.Date.class) return DATE;
+        if (value.getClass() == java.sql.Timestamp.class) return TIMESTAMP;
+        if (value.getClass() == java.sql.Time.class) return TIME;
+        if (value.getClass() == java.util.Date.class) return UTIL_DATE;
+        if (value instanceof byte[]) return BYTES;
+        return OBJECT;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        int type = typeOf(value);
+        out.writeByte(type);
+        switch (type) {
+            case NULL: break;
+            case STRING: writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8)); break;
+            case INTEGER: out.writeInt((Integer) value); break;
+            case LONG: out.writeLong((Long) value); break;
+            case DOUBLE: out.writeDouble((Double) value); break;
+            case FLOAT: out.writeFloat((Float) value); break;
+            case SHORT: out.writeShort((Short) value); break;
+            case BYTE: out.writeByte((Byte) value); break;
+            case BOOLEAN: out.writeBoolean((Boolean) value); break;
+            case BIG_DECIMAL:
+                BigDecimal decimal = (BigDecimal) value;
+                out.writeInt(decimal.scale());
+                writeBytes(out, decimal.unscaledValue().toByteArray());
+                break;
+            case BIG_INTEGER: writeBytes(out, ((BigInteger) value).toByteArray()); break;
+            case TIMESTAMP:
+                out.writeLong(((java.sql.Timestamp) value).getTime());
+                out.writeInt(((java.sql.Timestamp) value).getNanos());
+                break;
+            case DATE: case TIME: case UTIL_DATE: out.writeLong(((java.util.Date) value).getTime()); break;
+            case BYTES: writeBytes(out, (byte[]) value); break;
+            default: throw new IllegalArgumentException("cannot encode value of " + value.getClass());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        int type = in.readByte();
+        switch (type) {
+            case NULL: return null;
+            case STRING: return new String(readBytes(in), StandardCharsets.UTF_8);
+            case INTEGER: return in.readInt();
+            case LONG: return in.readLong();
+            case DOUBLE: return in.readDouble();
+            case FLOAT: return in.readFloat();
+            case SHORT: return in.readShort();
+            case BYTE: return in.readByte();
+            case BOOLEAN: return in.readBoolean();
+            case BIG_DECIMAL:
+                int scale = in.readInt();
+                return new BigDecimal(new BigInteger(readBytes(in)), scale);
+            case BIG_INTEGER: return new BigInteger(readBytes(in));
+            case TIMESTAMP:
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case DATE: return new java.sql.Date(in.readLong());
+            case TIME: return new java.sql.Time(in.readLong());
+            case UTIL_DATE: return new java.util.Date(in.readLong());
+            case BYTES: return readBytes(in);
+            default: throw new IOException("unknown type of value: " + type);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -18,11 +18,23 @@ limitations under the License.
 package org.javalite.activejdbc.cache;
 
 
+import org.javalite.activejdbc.DB;
+import org.javalite.activejdbc.DBException;
 import org.javalite.activejdbc.InitException;
 import org.javalite.activejdbc.MetaModel;
 import org.javalite.activejdbc.Registry;
 
+import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 
 /**
@@ -35,8 +47,43 @@ public enum QueryCache {
 
     private boolean enabled = false;
 
+    private static final int STALE_ITEMS = 1000;
+
     private final CacheManager cacheManager;
 
+    private final Map<String, Load> loads = new ConcurrentHashMap<>();
+
+    private final Map<String, StaleItem> staleItems = Collections.synchronizedMap(new LinkedHashMap<String, StaleItem>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StaleItem> eldest) {
+            return size() > STALE_ITEMS;
+        }
+    });
+
+    private boolean staleWhileRevalidate;
+
+    private long loadTimeout;
+
+    private static final class Load extends CompletableFuture<Object> {
+        private final long flushCount;
+
+        private Load(long flushCount) {
+            this.flushCount = flushCount;
+        }
+    }
+
+    private static final class StaleItem {
+        private final String tableName;
+        private final long flushCount;
+        private final Object item;
+
+        private StaleItem(String tableName, long flushCount, Object item) {
+            this.tableName = tableName;
+            this.flushCount = flushCount;
+            this.item = item;
+        }
+    }
+
     //singleton
     QueryCache() {
 
@@ -59,6 +106,8 @@ public enum QueryCache {
         }else{
             cacheManager = new NopeCacheManager();
         }
+        staleWhileRevalidate = Registry.instance().getConfiguration().isCacheStaleWhileRevalidate();
+        loadTimeout = Registry.instance().getConfiguration().getCacheLoadTimeout();
 
     }
 
@@ -107,6 +156,150 @@ public enum QueryCache {
         }
     }
 
+    /**
+     * Returns an item from cache, or loads it with a loader and adds it to cache if nothing found. Only one loader
+     * runs for the same table, query and parameters at a time: other threads missing the same item wait for its
+     * result instead of executing the same query. A loaded item is not added to cache if the table cache was purged
+     * while it was loading, since it could have been read before the change.
+     * <p>
+     * A thread runs its own loader instead of waiting if the table cache was purged since the running load started,
+     * if the running load takes longer than <code>cache.loadTimeout</code>, or if the connection of the thread is in
+     * a transaction, because a result read in a transaction must not be shared with other threads. Such a result is
+     * not added to cache either.
+     * <p>
+     * If <code>cache.staleWhileRevalidate</code> is set in <code>activejdbc.properties</code>, threads that find
+     * an item being reloaded get its previous value right away if there is one, instead of waiting. Previous values
+     * are dropped when the table cache is purged, so only expired items are served stale.
+     *
+     * @param tableName name of table.
+     * @param query     query text.
+     * @param params    list of query parameters, can be null if no parameters are provided.
+     * @param loader    loads an item from the database, called only if nothing found in cache.
+     * @return cached or loaded object.
+     */
+    public <T> T getItem(String tableName, String query, Object[] params, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = getKey(tableName, query, params);
+        Object item = cacheManager.getCache(tableName, key);
+        if (item != null) {
+            return (T) item;
+        }
+        if (inTransaction(tableName)) {
+            return loader.get();
+        }
+        Load load = new Load(cacheManager.flushCount(tableName));
+        Load running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            if (staleWhileRevalidate) {
+                Object stale = staleItem(tableName, key);
+                if (stale != null) {
+                    return (T) stale;
+                }
+            }
+            if (running.flushCount != load.flushCount) {
+                return (T) load(tableName, key, load.flushCount, loader);
+            }
+            item = await(running);
+            return (T) (item == null ? load(tableName, key, load.flushCount, loader) : item);
+        }
+        try {
+            item = cacheManager.getCache(tableName, key);
+            if (item == null) {
+                item = load(tableName, key, load.flushCount, loader);
+            }
+            load.complete(item);
+            return (T) item;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * Loads an item and adds it to cache, unless the table cache was purged since <code>flushCount</code> was read.
+     */
+    private Object load(String tableName, String key, long flushCount, Supplier<?> loader) {
+        Object loaded = loader.get();
+        if (loaded != null && cacheManager.flushCount(tableName) == flushCount) {
+            cacheManager.addCache(tableName, key, loaded);
+            if (staleWhileRevalidate) {
+                staleItems.put(key, new StaleItem(tableName, flushCount, loaded));
+            }
+        }
+        return loaded;
+    }
+
+    private boolean inTransaction(String tableName) {
+        MetaModel mm = Registry.instance().getMetaModel(tableName);
+        if (mm == null) {
+            return false;
+        }
+        DB db = new DB(mm.getDbName());
+        try {
+            return db.hasConnection() && !db.connection().getAutoCommit();
+        } catch (SQLException e) {
+            throw new DBException(e);
+        }
+    }
+
+    /**
+     * Waits for a load of another thread.
+     *
+     * @return loaded item, or null if the load did not complete in time.
+     */
+    private Object await(Load load) {
+        try {
+            return load.get(loadTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while waiting for a cache item to load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new CacheException("Failed to load a cache item", e.getCause());
+        }
+    }
+
+    /**
+     * @return previous value of an item, or null if there is none or the table cache was purged since it was loaded.
+     */
+    private Object staleItem(String tableName, String key) {
+        StaleItem stale = staleItems.get(key);
+        if (stale == null) {
+            return null;
+        }
+        if (stale.flushCount != cacheManager.flushCount(tableName)) {
+            staleItems.remove(key);
+            return null;
+        }
+        return stale.item;
+    }
+
+    private void purgeStaleItems(String tableName) {
+        synchronized (staleItems) {
+            staleItems.values().removeIf(stale -> stale.tableName.equals(tableName));
+        }
+    }
+
+    void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        staleItems.clear();
+    }
+
+    void setLoadTimeout(long loadTimeout) {
+        this.loadTimeout = loadTimeout;
+    }
+
     private String getKey(String tableName, String query, Object[] params) {
         return tableName + query + (params == null ? null : Arrays.asList(params).toString());
     }
@@ -120,6 +313,7 @@ public enum QueryCache {
     public void purgeTableCache(MetaModel metaModel) {
         if(enabled  && metaModel.cached()){
             cacheManager.flush(new CacheEvent(metaModel.getTableName(), getClass().getName()));
+            purgeStaleItems(metaModel.getTableName());
         }
     }
 
@@ -133,6 +327,7 @@ public enum QueryCache {
             MetaModel mm = Registry.instance().getMetaModel(tableName);
             if(mm != null && mm.cached()){
                 cacheManager.flush(new CacheEvent(mm.getTableName(), getClass().getName()));
+                purgeStaleItems(mm.getTableName());
             }
         }
     }
@@ -9,8 +9,6 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 
-import java.io.*;
-
 import static org.javalite.app_config.AppConfig.p;
 import static org.javalite.common.Convert.toInteger;
 import static org.javalite.common.Util.blank;
@@ -65,13 +63,7 @@ public class RedisCacheManager extends CacheManager {
     public Object getCache(String group, String key) {
         try (Jedis jedis = jedisPool.getResource()){
             byte[] bytes = jedis.hget(group.getBytes(), key.getBytes());
-
-            if (bytes == null) {
-                return null;
-            } else {
-                ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
-                return in.readObject();
-            }
+            return bytes == null ? null : decode(bytes);
 
         } catch (Exception e) {
             throw new CacheException("Failed to read object from Redis", e);
@@ -81,12 +73,7 @@ public class RedisCacheManager extends CacheManager {
     @Override
     public void addCache(String group, String key, Object cache) {
         try (Jedis jedis = jedisPool.getResource()){
-            ByteArrayOutputStream bout = new ByteArrayOutputStream();
-            ObjectOutput objectOutput = new ObjectOutputStream(bout);
-            objectOutput.writeObject(cache);
-            objectOutput.close();
-            byte[] bytes = bout.toByteArray();
-            jedis.hset(group.getBytes(), key.getBytes(), bytes);
+            jedis.hset(group.getBytes(), key.getBytes(), encode(cache));
 
         } catch (Exception e) {
             LogFilter.log(LOGGER, LogLevel.ERROR, "Failed to add object to cache with group: " + group + " and key: " + key, e);
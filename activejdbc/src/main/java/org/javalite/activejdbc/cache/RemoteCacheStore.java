@@ -0,0 +1,77 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Shared (second level) store of serialized caches used by {@link TieredCacheManager}, together with a channel to
+ * broadcast messages to all nodes using the same store. {@link JedisCacheStore} is an implementation based on Redis,
+ * other implementations can be used to test or to plug in a different server.
+ *
+ * @author agent
+ */
+public interface RemoteCacheStore extends AutoCloseable {
+
+    /**
+     * @param group group of caches, usually a name of table
+     * @param key key of item
+     * @return serialized item, or null if not found
+     */
+    byte[] get(String group, String key);
+
+    /**
+     * @param group group of caches, usually a name of table
+     * @param key key of item
+     * @param value serialized item
+     */
+    void put(String group, String key, byte[] value);
+
+    /**
+     * Deletes all items of a group.
+     *
+     * @param group group of caches, usually a name of table
+     */
+    void delete(String group);
+
+    /**
+     * Deletes all items of all groups.
+     */
+    void deleteAll();
+
+    /**
+     * Sends a message to all subscribers, including subscribers of this node.
+     *
+     * @param message message to send
+     */
+    void publish(String message);
+
+    /**
+     * Starts delivering published messages to a listener until this store is closed. Messages published while
+     * a subscription is lost are not delivered, so <code>onSubscribe</code> is called every time a subscription is
+     * established, including the first time.
+     *
+     * @param listener called for every published message, possibly on a different thread
+     * @param onSubscribe called when a subscription is established or restored, possibly on a different thread
+     */
+    void subscribe(Consumer<String> listener, Runnable onSubscribe);
+
+    /**
+     * Stops delivering messages and releases connections.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,188 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc.cache;
+
+import org.javalite.activejdbc.InitException;
+import org.javalite.activejdbc.Registry;
+import org.javalite.activejdbc.logging.LogFilter;
+import org.javalite.activejdbc.logging.LogLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.JedisPool;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.javalite.app_config.AppConfig.p;
+import static org.javalite.common.Convert.toInteger;
+import static org.javalite.common.Util.blank;
+
+/**
+ * Two level cache manager: a {@link HeapCacheManager} in memory of every node (L1) in front of caches shared by all
+ * nodes in Redis (L2). Items found in L1 are returned without a network round trip or deserialization. Items found
+ * only in L2 are deserialized once and kept in L1.
+ * <p></p>
+ * When a group is flushed, for instance by {@link CacheEventSquasher} after a table was changed, it is deleted from
+ * L2, and the event is published over a Redis channel, so that every node clears the group from its L1.
+ * <p></p>
+ * Connects to Redis configured the same way as {@link RedisCacheManager}, with properties
+ * <code>redis.cache.manager.host</code> and <code>redis.cache.manager.port</code>. Capacity of L1 is configured with
+ * <code>cache.capacity</code> and <code>cache.ttl</code> in <code>activejdbc.properties</code>, see
+ * {@link HeapCacheManager}. Items of L1 expire after 60 seconds unless <code>cache.ttl</code> is set, since a node
+ * can miss flushes of other nodes while its subscription to Redis is lost. L1 is cleared when the subscription is
+ * restored. Keep TTL of L1 short if other applications can change data without flushing caches.
+ *
+ * @author agent
+ */
+public class TieredCacheManager extends CacheManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TieredCacheManager.class);
+    private static final String ALL = "ALL";
+    private static final String GROUP = "GROUP";
+    private static final long DEFAULT_LOCAL_TTL = 60;
+
+    private final HeapCacheManager local;
+    private final RemoteCacheStore remote;
+    private final String nodeId = UUID.randomUUID().toString();
+    //number of flushes of L1, to not keep items read from L2 before a flush
+    private final AtomicLong localFlushes = new AtomicLong();
+
+    public TieredCacheManager() {
+        this(new HeapCacheManager(group -> Registry.instance().getConfiguration().getCacheCapacity(group),
+                group -> {
+                    long ttl = Registry.instance().getConfiguration().getCacheTtl(group);
+                    return ttl > 0 ? ttl : DEFAULT_LOCAL_TTL;
+                }), jedisStore());
+    }
+
+    /**
+     * @param local L1 cache of this node
+     * @param remote L2 cache shared by all nodes
+     */
+    public TieredCacheManager(HeapCacheManager local, RemoteCacheStore remote) {
+        this.local = local;
+        this.remote = remote;
+        remote.subscribe(this::onMessage, () -> flushRemote(CacheEvent.ALL));
+    }
+
+    private static RemoteCacheStore jedisStore() {
+        try {
+            String host = p("redis.cache.manager.host");
+            String port = p("redis.cache.manager.port");
+            return new JedisCacheStore(blank(host) || blank(port) ? new JedisPool() : new JedisPool(host, toInteger(port)));
+        } catch (Exception e) {
+            throw new InitException("Failed to configure connection to Redis server", e);
+        }
+    }
+
+    @Override
+    public Object getCache(String group, String key) {
+        Object item = local.getCache(group, key);
+        if (item != null) {
+            return item;
+        }
+        try {
+            long flushes = localFlushes.get();
+            byte[] bytes = remote.get(group, key);
+            if (bytes == null) {
+                return null;
+            }
+            item = decode(bytes);
+            if (localFlushes.get() == flushes) {
+                local.addCache(group, key, item);
+                if (localFlushes.get() != flushes) {
+                    local.doFlush(new CacheEvent(group, getClass().getName()));
+                }
+            }
+            return item;
+        } catch (Exception e) {
+            throw new CacheException("Failed to read object from Redis", e);
+        }
+    }
+
+    @Override
+    public void addCache(String group, String key, Object cache) {
+        local.addCache(group, key, cache);
+        try {
+            remote.put(group, key, encode(cache));
+        } catch (Exception e) {
+            LogFilter.log(LOGGER, LogLevel.ERROR, "Failed to add object to cache with group: " + group + " and key: " + key, e);
+        }
+    }
+
+    /**
+     * Flushes L1 of this node and L2, then tells other nodes to flush their L1.
+     */
+    @Override
+    public void doFlush(CacheEvent event) {
+        flushLocal(event);
+        if (event.getType().equals(CacheEvent.CacheEventType.ALL)) {
+            remote.deleteAll();
+            remote.publish(nodeId + ' ' + ALL);
+        } else if (event.getType().equals(CacheEvent.CacheEventType.GROUP)) {
+            remote.delete(event.getGroup());
+            remote.publish(nodeId + ' ' + GROUP + ' ' + event.getGroup());
+        }
+    }
+
+    /**
+     * Flushes L1 of this node when another node flushed caches.
+     */
+    private void onMessage(String message) {
+        String[] parts = message.split(" ", 3);
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        if (parts[1].equals(ALL)) {
+            flushRemote(new CacheEvent(parts[0]));
+        } else if (parts[1].equals(GROUP) && parts.length == 3) {
+            flushRemote(new CacheEvent(parts[2], parts[0]));
+        }
+        LogFilter.log(LOGGER, LogLevel.DEBUG, "Flushed local caches on event from node: {}", parts[0]);
+    }
+
+    /**
+     * Counts a flush before flushing L1, so that a thread which read an item from L2 before the flush does not
+     * keep it in L1.
+     */
+    private void flushLocal(CacheEvent event) {
+        localFlushes.incrementAndGet();
+        local.doFlush(event);
+    }
+
+    /**
+     * Flushes L1 on a flush done by another node, or missed while disconnected, and counts it like a flush of
+     * this node, so that queries which were loading during the flush are not cached.
+     */
+    private void flushRemote(CacheEvent event) {
+        flushLocal(event);
+        countFlush(event);
+    }
+
+    /**
+     * @return L1 cache of this node
+     */
+    public HeapCacheManager getLocalCache() {
+        return local;
+    }
+
+    /**
+     * @return L2 cache shared by all nodes
+     */
+    @Override
+    public Object getImplementation() {
+        return remote;
+    }
+}
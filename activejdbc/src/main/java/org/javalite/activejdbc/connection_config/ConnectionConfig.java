@@ -31,6 +31,7 @@ public abstract class ConnectionConfig {
     private String environment;
     private String dbName = "default";
     private boolean testing;
+    private ReplicaConfig replicaConfig;
 
 
     public String getDbName() {
@@ -57,6 +58,17 @@ public abstract class ConnectionConfig {
         this.testing = testing;
     }
 
+    /**
+     * @return read replicas of this connection, or null if all reads use this connection
+     */
+    public ReplicaConfig getReplicaConfig() {
+        return replicaConfig;
+    }
+
+    public void setReplicaConfig(ReplicaConfig replicaConfig) {
+        this.replicaConfig = replicaConfig;
+    }
+
     @Override
     public String toString() {
         return JSONHelper.toJSON(map("class", getClass(), "environment", environment, "db_name", dbName, "testing", testing));
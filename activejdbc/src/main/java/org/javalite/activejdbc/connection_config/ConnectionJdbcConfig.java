@@ -30,6 +30,7 @@ public final class ConnectionJdbcConfig extends ConnectionConfig {
     private final String user;
     private final String password;
     private final Properties properties;
+    private ConnectionPoolConfig poolConfig;
 
     public ConnectionJdbcConfig(String driver, String url, String user, String password) {
         this.driver = driver;
@@ -66,4 +67,18 @@ public final class ConnectionJdbcConfig extends ConnectionConfig {
     public Properties getProps() {
         return properties;
     }
+
+    /**
+     * @return settings of a pool of connections, or null if connections are not pooled
+     */
+    public ConnectionPoolConfig getPoolConfig() {
+        return poolConfig;
+    }
+
+    /**
+     * @param poolConfig settings of a pool of connections, or null to open a new connection every time
+     */
+    public void setPoolConfig(ConnectionPoolConfig poolConfig) {
+        this.poolConfig = poolConfig;
+    }
 }
@@ -0,0 +1,619 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc.connection_config;
+
+import org.javalite.activejdbc.InitException;
+import org.javalite.activejdbc.logging.LogFilter;
+import org.javalite.activejdbc.logging.LogLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of JDBC connections opened with {@link DriverManager}, used by {@link org.javalite.activejdbc.DB#open(ConnectionConfig)}
+ * for a {@link ConnectionJdbcConfig} with a {@link ConnectionPoolConfig}. Closing a connection returns it to the pool.
+ * <p>
+ * Idle connections are kept in a lock-free stack, so that the most recently used connection is borrowed first.
+ * A connection is validated before it is borrowed if it was not used for longer than a validation window, and is
+ * closed when it reaches maximum lifetime. Idle connections are evicted, and connections held for too long are
+ * reported as possible leaks, by a daemon thread.
+ *
+ * @author agent
+ */
+public class ConnectionPool implements DataSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private static final Map<String, ConnectionPool> pools = new ConcurrentHashMap<>();
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Properties properties;
+    private final ConnectionPoolConfig config;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder closed = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+
+    /**
+     * @param driver class name of driver
+     * @param url JDBC URL
+     * @param user user name, ignored if properties are provided
+     * @param password password, ignored if properties are provided
+     * @param properties driver specific connection properties, can be null
+     * @param config pool settings
+     */
+    public ConnectionPool(String driver, String url, String user, String password, Properties properties,
+                          ConnectionPoolConfig config) {
+        try {
+            Class.forName(driver);
+        } catch (ClassNotFoundException e) {
+            throw new InitException("Failed to load JDBC driver: " + driver, e);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.properties = properties;
+        this.config = config;
+        permits = new Semaphore(config.getMaxSize());
+        if (config.getHousekeepingMillis() > 0) {
+            housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ActiveJDBC connection pool housekeeper: " + url);
+                thread.setDaemon(true);
+                return thread;
+            });
+            housekeeper.scheduleWithFixedDelay(this::houseKeep, config.getHousekeepingMillis(),
+                    config.getHousekeepingMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            housekeeper = null;
+        }
+    }
+
+    /**
+     * Returns a pool shared by all connections opened with the same configuration, creating it if needed.
+     *
+     * @param config JDBC connection configuration with pool settings
+     * @return pool of connections
+     */
+    public static ConnectionPool of(ConnectionJdbcConfig config) {
+        if (config.getPoolConfig() == null) {
+            throw new IllegalArgumentException("connection is not configured to use a pool: " + config);
+        }
+        String key = config.getDbName() + '|' + config.getUrl() + '|' + config.getUser();
+        return pools.computeIfAbsent(key, k -> new ConnectionPool(config.getDriver(), config.getUrl(),
+                config.getUser(), config.getPassword(), config.getProps(), config.getPoolConfig()));
+    }
+
+    /**
+     * @return pools created with {@link #of(ConnectionJdbcConfig)}, to examine their metrics.
+     */
+    public static Collection<ConnectionPool> getPools() {
+        return Collections.unmodifiableCollection(pools.values());
+    }
+
+    /**
+     * Shuts down and forgets all pools created with {@link #of(ConnectionJdbcConfig)}.
+     */
+    public static void closePools() {
+        for (Iterator<ConnectionPool> iterator = pools.values().iterator(); iterator.hasNext();) {
+            iterator.next().close();
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool is closed: " + url);
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLException("Timed out after " + config.getBorrowTimeoutMillis()
+                        + " milliseconds waiting for a connection, pool: " + this);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        waitNanos.add(System.nanoTime() - start);
+        try {
+            PooledConnection connection = borrowIdle();
+            if (connection == null) {
+                connection = newPooledConnection();
+            }
+            connection.borrow();
+            borrowed.add(connection);
+            borrows.increment();
+            return connection.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection borrowIdle() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (connection.expired()) {
+                discard(connection);
+            } else if (System.nanoTime() - connection.lastUsed >= TimeUnit.MILLISECONDS.toNanos(config.getValidationWindowMillis())
+                    && !connection.isValid()) {
+                LogFilter.log(LOGGER, LogLevel.DEBUG, "Discarding broken connection: {}", connection.physical);
+                discard(connection);
+            } else {
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    private PooledConnection newPooledConnection() throws SQLException {
+        Connection physical = newConnection();
+        try {
+            return new PooledConnection(physical);
+        } catch (SQLException | RuntimeException e) {
+            size.decrementAndGet();
+            closed.increment();
+            physical.close();
+            throw e;
+        }
+    }
+
+    private Connection newConnection() throws SQLException {
+        Connection connection = properties == null ? DriverManager.getConnection(url, user, password)
+                : DriverManager.getConnection(url, properties);
+        size.incrementAndGet();
+        created.increment();
+        LogFilter.log(LOGGER, LogLevel.DEBUG, "Opened pooled connection: {}, URL: {}", connection, url);
+        return connection;
+    }
+
+    private void release(PooledConnection connection) {
+        borrowed.remove(connection);
+        try {
+            if (shutdown || connection.expired() || !connection.reset()) {
+                discard(connection);
+            } else {
+                idle.offerFirst(connection);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection connection) {
+        size.decrementAndGet();
+        closed.increment();
+        try {
+            connection.physical.close();
+        } catch (SQLException e) {
+            LOGGER.debug("Failed to close pooled connection", e);
+        }
+    }
+
+    private void houseKeep() {
+        try {
+            evictIdle();
+            detectLeaks();
+        } catch (Exception e) {
+            LOGGER.warn("Connection pool housekeeping failed", e);
+        }
+    }
+
+    /**
+     * Closes idle connections which were not used for longer than idle timeout or reached maximum lifetime.
+     */
+    void evictIdle() {
+        long idleTimeout = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMillis());
+        long now = System.nanoTime();
+        for (PooledConnection connection : idle) {
+            boolean evict = connection.expired()
+                    || (idleTimeout > 0 && now - connection.lastUsed > idleTimeout && idle.size() > config.getMinIdle());
+            if (evict && idle.removeFirstOccurrence(connection)) {
+                discard(connection);
+            }
+        }
+    }
+
+    /**
+     * Logs connections held for longer than leak detection threshold, with a stack of the code which borrowed them.
+     */
+    void detectLeaks() {
+        long threshold = TimeUnit.MILLISECONDS.toNanos(config.getLeakDetectionMillis());
+        if (threshold <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledConnection connection : borrowed) {
+            Throwable borrowStack = connection.borrowStack;
+            if (!connection.reported && borrowStack != null && now - connection.borrowedAt > threshold) {
+                connection.reported = true;
+                leaks.increment();
+                LOGGER.warn("Possible connection leak: connection was held for more than {} milliseconds, URL: {}",
+                        config.getLeakDetectionMillis(), url, borrowStack);
+            }
+        }
+    }
+
+    /**
+     * @return number of connections currently borrowed from this pool
+     */
+    public int getActive() {
+        return borrowed.size();
+    }
+
+    /**
+     * @return number of idle connections ready to be borrowed
+     */
+    public int getIdle() {
+        return idle.size();
+    }
+
+    /**
+     * @return number of open physical connections
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * @return number of threads waiting for a connection
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getBorrows() {
+        return borrows.sum();
+    }
+
+    /**
+     * @return number of physical connections opened by this pool
+     */
+    public long getCreated() {
+        return created.sum();
+    }
+
+    /**
+     * @return number of physical connections closed by this pool
+     */
+    public long getClosed() {
+        return closed.sum();
+    }
+
+    /**
+     * @return number of times a connection was not available within borrow timeout
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * @return number of connections reported as possible leaks
+     */
+    public long getLeaks() {
+        return leaks.sum();
+    }
+
+    /**
+     * @return total time in nanoseconds threads waited for connections
+     */
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public ConnectionPoolConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Closes idle connections and stops housekeeping. Borrowed connections are closed when they are returned.
+     */
+    public void close() {
+        shutdown = true;
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            discard(connection);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("pooled connections use credentials of the pool");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {}
+
+    @Override
+    public void setLoginTimeout(int seconds) {}
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("not a wrapper for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool{url='" + url + "', size=" + getSize() + ", active=" + getActive() + ", idle="
+                + getIdle() + ", waiting=" + getWaiting() + '}';
+    }
+
+    /**
+     * Physical connection with its pool state. Application code gets a proxy, which returns the connection to the
+     * pool when closed, and fails on use after that. Statements and metadata created through the proxy return the
+     * proxy as their connection.
+     * <p>
+     * Settings changed by application code are marked dirty and restored to their initial values on return.
+     */
+    private final class PooledConnection implements InvocationHandler {
+        private static final int DIRTY_READ_ONLY = 1;
+        private static final int DIRTY_ISOLATION = 2;
+        private static final int DIRTY_CATALOG = 4;
+        private static final int DIRTY_SCHEMA = 8;
+        private static final int DIRTY_NETWORK_TIMEOUT = 16;
+
+        private final Connection physical;
+        private final long createdAt = System.nanoTime();
+        private final boolean readOnly;
+        private final int isolation;
+        private final String catalog;
+        private final String schema;
+        private final int networkTimeout;
+        private volatile int dirty;
+        private volatile long lastUsed = createdAt;
+        private volatile long borrowedAt;
+        private volatile Throwable borrowStack;
+        private volatile boolean reported;
+        private volatile Connection proxy;
+        private volatile boolean returned;
+
+        private PooledConnection(Connection physical) throws SQLException {
+            this.physical = physical;
+            readOnly = physical.isReadOnly();
+            isolation = physical.getTransactionIsolation();
+            catalog = physical.getCatalog();
+            schema = schema(physical);
+            networkTimeout = networkTimeout(physical);
+        }
+
+        private String schema(Connection physical) {
+            try {
+                return physical.getSchema();
+            } catch (SQLException | AbstractMethodError e) {
+                return null; // driver older than JDBC 4.1
+            }
+        }
+
+        private int networkTimeout(Connection physical) {
+            try {
+                return physical.getNetworkTimeout();
+            } catch (SQLException | AbstractMethodError e) {
+                return -1; // driver older than JDBC 4.1
+            }
+        }
+
+        private void borrow() {
+            borrowedAt = System.nanoTime();
+            borrowStack = config.getLeakDetectionMillis() > 0
+                    ? new Throwable("Stack of code which borrowed connection, thread: " + Thread.currentThread().getName())
+                    : null;
+            reported = false;
+            returned = false;
+            // new proxy per borrow, so that a stale reference cannot use a connection borrowed by someone else
+            proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class[]{Connection.class}, this);
+        }
+
+        private boolean expired() {
+            long maxLifetime = TimeUnit.MILLISECONDS.toNanos(config.getMaxLifetimeMillis());
+            return maxLifetime > 0 && System.nanoTime() - createdAt > maxLifetime;
+        }
+
+        private boolean isValid() {
+            try {
+                return physical.isValid(config.getValidationTimeoutSeconds());
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Rolls back unfinished transaction, restores auto-commit and settings marked dirty.
+         *
+         * @return true if connection can be reused
+         */
+        private boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (dirty != 0) {
+                    if ((dirty & DIRTY_READ_ONLY) != 0) {
+                        physical.setReadOnly(readOnly);
+                    }
+                    if ((dirty & DIRTY_ISOLATION) != 0) {
+                        physical.setTransactionIsolation(isolation);
+                    }
+                    if ((dirty & DIRTY_CATALOG) != 0 && catalog != null) {
+                        physical.setCatalog(catalog);
+                    }
+                    if ((dirty & DIRTY_SCHEMA) != 0 && schema != null) {
+                        physical.setSchema(schema);
+                    }
+                    if ((dirty & DIRTY_NETWORK_TIMEOUT) != 0 && networkTimeout >= 0) {
+                        physical.setNetworkTimeout(Runnable::run, networkTimeout);
+                    }
+                    dirty = 0;
+                }
+                physical.clearWarnings();
+                lastUsed = System.nanoTime();
+                return true;
+            } catch (SQLException e) {
+                LOGGER.debug("Failed to reset pooled connection", e);
+                return false;
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (this) {
+                        if (!returned && proxy == this.proxy) {
+                            returned = true;
+                            borrowStack = null;
+                            release(this);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || proxy != this.proxy || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + physical;
+                default:
+                    if (returned || proxy != this.proxy) {
+                        throw new SQLException("Connection is closed");
+                    }
+                    dirty |= dirtyBit(method.getName());
+                    Object result;
+                    try {
+                        result = method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Statement || result instanceof DatabaseMetaData) {
+                        return wrap(method.getReturnType(), result, (Connection) proxy);
+                    }
+                    return result;
+            }
+        }
+
+        private int dirtyBit(String methodName) {
+            switch (methodName) {
+                case "setReadOnly":
+                    return DIRTY_READ_ONLY;
+                case "setTransactionIsolation":
+                    return DIRTY_ISOLATION;
+                case "setCatalog":
+                    return DIRTY_CATALOG;
+                case "setSchema":
+                    return DIRTY_SCHEMA;
+                case "setNetworkTimeout":
+                    return DIRTY_NETWORK_TIMEOUT;
+                default:
+                    return 0;
+            }
+        }
+    }
+
+    /**
+     * Wraps a statement or metadata, so that its <code>getConnection()</code> returns the pooled connection proxy
+     * instead of the physical connection, which would not return to the pool when closed.
+     */
+    private static Object wrap(Class<?> type, Object target, Connection proxy) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getConnection":
+                    return proxy;
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return target.toString();
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        });
+    }
+}
@@ -0,0 +1,191 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc.connection_config;
+
+import org.javalite.common.Convert;
+
+import java.util.Properties;
+
+/**
+ * Settings of {@link ConnectionPool}. A pool is used for a JDBC connection configured in
+ * <code>database.properties</code> if its maximum size is provided, for instance:
+ * <pre>
+ development.driver=org.h2.Driver
+ development.username=sa
+ development.password=
+ development.url=jdbc:h2:mem:dev
+ development.pool.maxSize=20
+ development.pool.leakDetectionMillis=60000
+ * </pre>
+ * All times are in milliseconds, 0 disables a feature.
+ *
+ * @author agent
+ */
+public class ConnectionPoolConfig {
+
+    private int maxSize = 10;
+    private int minIdle = 0;
+    private long borrowTimeoutMillis = 30000;
+    private long validationWindowMillis = 5000;
+    private int validationTimeoutSeconds = 5;
+    private long maxLifetimeMillis = 1800000;
+    private long idleTimeoutMillis = 600000;
+    private long leakDetectionMillis = 0;
+    private long housekeepingMillis = 30000;
+
+    /**
+     * Reads settings with a prefix, such as <code>development.pool.</code>.
+     *
+     * @param props properties
+     * @param prefix prefix of names of pool properties
+     * @return settings, or null if <code>maxSize</code> is not provided, meaning that a pool is not used.
+     */
+    public static ConnectionPoolConfig fromProperties(Properties props, String prefix) {
+        if (!props.containsKey(prefix + "maxSize")) {
+            return null;
+        }
+        ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setMaxSize(Convert.toInteger(props.getProperty(prefix + "maxSize")));
+        config.setMinIdle(Convert.toInteger(props.getProperty(prefix + "minIdle", String.valueOf(config.minIdle))));
+        config.setBorrowTimeoutMillis(Convert.toLong(props.getProperty(prefix + "borrowTimeoutMillis", String.valueOf(config.borrowTimeoutMillis))));
+        config.setValidationWindowMillis(Convert.toLong(props.getProperty(prefix + "validationWindowMillis", String.valueOf(config.validationWindowMillis))));
+        config.setValidationTimeoutSeconds(Convert.toInteger(props.getProperty(prefix + "validationTimeoutSeconds", String.valueOf(config.validationTimeoutSeconds))));
+        config.setMaxLifetimeMillis(Convert.toLong(props.getProperty(prefix + "maxLifetimeMillis", String.valueOf(config.maxLifetimeMillis))));
+        config.setIdleTimeoutMillis(Convert.toLong(props.getProperty(prefix + "idleTimeoutMillis", String.valueOf(config.idleTimeoutMillis))));
+        config.setLeakDetectionMillis(Convert.toLong(props.getProperty(prefix + "leakDetectionMillis", String.valueOf(config.leakDetectionMillis))));
+        config.setHousekeepingMillis(Convert.toLong(props.getProperty(prefix + "housekeepingMillis", String.valueOf(config.housekeepingMillis))));
+        return config;
+    }
+
+    /**
+     * @return maximum number of connections open at the same time. Defaults to 10.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return number of idle connections kept open by idle eviction. Defaults to 0.
+     */
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    /**
+     * @return time to wait for a connection when all are in use, before failing. Defaults to 30 seconds.
+     */
+    public long getBorrowTimeoutMillis() {
+        return borrowTimeoutMillis;
+    }
+
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    /**
+     * @return connections unused for longer than this are validated before they are borrowed. Defaults to
+     * 5 seconds, 0 to validate on every borrow.
+     */
+    public long getValidationWindowMillis() {
+        return validationWindowMillis;
+    }
+
+    public void setValidationWindowMillis(long validationWindowMillis) {
+        this.validationWindowMillis = validationWindowMillis;
+    }
+
+    /**
+     * @return timeout passed to {@link java.sql.Connection#isValid(int)}. Defaults to 5.
+     */
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * @return connections older than this are closed instead of being reused. Defaults to 30 minutes.
+     */
+    public long getMaxLifetimeMillis() {
+        return maxLifetimeMillis;
+    }
+
+    public void setMaxLifetimeMillis(long maxLifetimeMillis) {
+        this.maxLifetimeMillis = maxLifetimeMillis;
+    }
+
+    /**
+     * @return connections idle for longer than this are closed, keeping <code>minIdle</code> of them. Defaults to
+     * 10 minutes.
+     */
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * @return connections held longer than this are reported as possible leaks, together with a stack of the
+     * thread holding them. Defaults to 0, disabled.
+     */
+    public long getLeakDetectionMillis() {
+        return leakDetectionMillis;
+    }
+
+    public void setLeakDetectionMillis(long leakDetectionMillis) {
+        this.leakDetectionMillis = leakDetectionMillis;
+    }
+
+    /**
+     * @return interval of idle eviction and leak detection. Defaults to 30 seconds.
+     */
+    public long getHousekeepingMillis() {
+        return housekeepingMillis;
+    }
+
+    public void setHousekeepingMillis(long housekeepingMillis) {
+        this.housekeepingMillis = housekeepingMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolConfig{" +
+            "maxSize=" + maxSize +
+            ", minIdle=" + minIdle +
+            ", borrowTimeoutMillis=" + borrowTimeoutMillis +
+            ", validationWindowMillis=" + validationWindowMillis +
+            ", maxLifetimeMillis=" + maxLifetimeMillis +
+            ", idleTimeoutMillis=" + idleTimeoutMillis +
+            ", leakDetectionMillis=" + leakDetectionMillis +
+            '}';
+    }
+}
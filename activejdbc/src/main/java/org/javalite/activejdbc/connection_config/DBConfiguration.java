@@ -167,6 +167,15 @@ public class DBConfiguration {
      production.remote.password=xxx
      production.remote.url=jdbc:mysql://127.0.0.1:3307/poj1_production
 
+     # connections of this environment are pooled, see ConnectionPoolConfig
+     staging.driver=org.mariadb.jdbc.Driver
+     staging.username=john
+     staging.password=pwd
+     staging.url=jdbc:mysql://localhost/proj_staging
+     staging.pool.maxSize=20
+     # reads outside of transactions go to replicas, see ReplicaConfig
+     staging.replicas.1.url=jdbc:mysql://replica/proj_staging
+
      * </pre>
      *
      * Rules and limitations of using a file-based configuration:
@@ -202,7 +211,7 @@ public class DBConfiguration {
             for (String env : environments) {
                 String jndiName = env + "." + "jndi";
                 if (props.containsKey(jndiName)) {
-                    createJndiConfig(env, props.getProperty(jndiName));
+                    createJndiConfig(env, props.getProperty(jndiName), props);
                 } else {
                     if(props.containsKey(env + ".driver")){
                         String driver = props.getProperty(env + ".driver");
@@ -210,7 +219,7 @@ public class DBConfiguration {
                         String password = props.getProperty(env + ".password");
                         String url = props.getProperty(env + ".url");
                         checkProps(driver, userName, password, url, env);
-                        createJdbcConfig(env, driver, url, userName, password);
+                        createJdbcConfig(env, driver, url, userName, password, props);
                     }
                 }
             }
@@ -230,10 +239,13 @@ public class DBConfiguration {
         }
     }
 
-    private static void createJdbcConfig(String env, String driver, String url, String userName, String password) {
+    private static void createJdbcConfig(String env, String driver, String url, String userName, String password,
+                                         Properties props) {
 
         ConnectionJdbcConfig connectionJdbcConfig = new ConnectionJdbcConfig(driver, url, userName, password);
         connectionJdbcConfig.setEnvironment(env);
+        connectionJdbcConfig.setPoolConfig(ConnectionPoolConfig.fromProperties(props, env + ".pool."));
+        connectionJdbcConfig.setReplicaConfig(ReplicaConfig.fromProperties(props, env + ".replicas.", connectionJdbcConfig));
 
 
         if(env.equals("test")){
@@ -249,9 +261,10 @@ public class DBConfiguration {
         addConnectionConfig(connectionJdbcConfig);
     }
 
-    private static void createJndiConfig(String env, String jndiName) {
+    private static void createJndiConfig(String env, String jndiName, Properties props) {
         ConnectionJndiConfig connectionJndiConfig = new ConnectionJndiConfig(jndiName);
         connectionJndiConfig.setEnvironment(env);
+        connectionJndiConfig.setReplicaConfig(ReplicaConfig.fromProperties(props, env + ".replicas.", connectionJndiConfig));
         addConnectionConfig(connectionJndiConfig);
     }
 
@@ -0,0 +1,144 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc.connection_config;
+
+import org.javalite.activejdbc.InitException;
+import org.javalite.common.Convert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Read replicas of a database. Reads made outside of transactions are sent to replicas, see
+ * {@link org.javalite.activejdbc.ReplicaRouter}. Replicas can be configured in <code>database.properties</code>
+ * together with a primary connection, numbered from 1:
+ * <pre>
+ production.driver=org.postgresql.Driver
+ production.username=app
+ production.password=pwd
+ production.url=jdbc:postgresql://primary/app
+ production.pool.maxSize=20
+ production.replicas.1.url=jdbc:postgresql://replica1/app
+ production.replicas.2.url=jdbc:postgresql://replica2/app
+ production.replicas.strategy=least_latency
+ production.replicas.readYourWritesMillis=2000
+ * </pre>
+ * Driver, user name, password and pool settings of a replica default to those of the primary connection. A replica
+ * can also be a JNDI data source: <code>production.replicas.1.jndi=java:comp/env/jdbc/replica1</code>.
+ *
+ * @author agent
+ */
+public class ReplicaConfig {
+
+    /**
+     * How a replica is chosen for a read.
+     */
+    public enum Strategy {
+        /**
+         * Replicas take turns.
+         */
+        ROUND_ROBIN,
+        /**
+         * Replica with the lowest recent average read time is chosen.
+         */
+        LEAST_LATENCY
+    }
+
+    private final List<ConnectionConfig> replicas = new ArrayList<>();
+    private Strategy strategy = Strategy.ROUND_ROBIN;
+    private long readYourWritesMillis = 0;
+
+    /**
+     * Reads replicas with a prefix, such as <code>production.replicas.</code>.
+     *
+     * @param props properties
+     * @param prefix prefix of names of replica properties
+     * @param primary configuration of primary connection, used for defaults
+     * @return replicas, or null if none are configured
+     */
+    public static ReplicaConfig fromProperties(Properties props, String prefix, ConnectionConfig primary) {
+        ReplicaConfig config = new ReplicaConfig();
+        for (int i = 1; ; i++) {
+            String replicaPrefix = prefix + i + '.';
+            String jndi = props.getProperty(replicaPrefix + "jndi");
+            String url = props.getProperty(replicaPrefix + "url");
+            if (jndi != null) {
+                config.addReplica(new ConnectionJndiConfig(jndi));
+            } else if (url != null) {
+                if (!(primary instanceof ConnectionJdbcConfig)) {
+                    throw new InitException("JDBC replica '" + replicaPrefix + "url' requires JDBC primary connection");
+                }
+                ConnectionJdbcConfig jdbcPrimary = (ConnectionJdbcConfig) primary;
+                ConnectionJdbcConfig replica = new ConnectionJdbcConfig(
+                        props.getProperty(replicaPrefix + "driver", jdbcPrimary.getDriver()), url,
+                        props.getProperty(replicaPrefix + "username", jdbcPrimary.getUser()),
+                        props.getProperty(replicaPrefix + "password", jdbcPrimary.getPassword()));
+                replica.setPoolConfig(jdbcPrimary.getPoolConfig());
+                config.addReplica(replica);
+            } else {
+                break;
+            }
+        }
+        if (config.replicas.isEmpty()) {
+            return null;
+        }
+        String strategy = props.getProperty(prefix + "strategy");
+        if (strategy != null) {
+            config.setStrategy(Strategy.valueOf(strategy.trim().toUpperCase()));
+        }
+        config.setReadYourWritesMillis(Convert.toLong(props.getProperty(prefix + "readYourWritesMillis", "0")));
+        return config;
+    }
+
+    /**
+     * @param replica connection configuration of a replica. JDBC connections to replicas are always pooled, with
+     * default {@link ConnectionPoolConfig} unless provided.
+     * @return this instance
+     */
+    public ReplicaConfig addReplica(ConnectionConfig replica) {
+        replicas.add(replica);
+        return this;
+    }
+
+    public List<ConnectionConfig> getReplicas() {
+        return Collections.unmodifiableList(replicas);
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public ReplicaConfig setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+        return this;
+    }
+
+    /**
+     * @return time after a write during which reads of the same thread go to the primary connection, so that
+     * they see the write even if replicas lag behind. Defaults to 0.
+     */
+    public long getReadYourWritesMillis() {
+        return readYourWritesMillis;
+    }
+
+    public ReplicaConfig setReadYourWritesMillis(long readYourWritesMillis) {
+        this.readYourWritesMillis = readYourWritesMillis;
+        return this;
+    }
+}
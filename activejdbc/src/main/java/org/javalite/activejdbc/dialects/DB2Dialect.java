@@ -57,4 +57,12 @@ public class DB2Dialect extends DefaultDialect {
     protected void appendEmptyRow(MetaModel metaModel, StringBuilder query) {
         query.append('(').append(metaModel.getIdName()).append(") VALUES (DEFAULT)");
     }
+
+    /**
+     * <code>EXPLAIN PLAN</code> writes a plan into a plan table instead of returning it.
+     */
+    @Override
+    public String explain(String query) {
+        return null;
+    }
 }
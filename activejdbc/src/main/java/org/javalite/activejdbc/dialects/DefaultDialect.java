@@ -22,14 +22,17 @@ import static org.javalite.common.Util.joinAndRepeat;
 
 import java.sql.Array;
 import java.sql.Connection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 
 
+import org.javalite.activejdbc.ColumnMetadata;
 import org.javalite.activejdbc.DBException;
 import org.javalite.activejdbc.MetaModel;
 
@@ -139,6 +142,43 @@ public class DefaultDialect implements Dialect {
 	    return value;
     }
 
+    @Override
+    public UnaryOperator<Object> driverTypeConverter(MetaModel mm, String attributeName) {
+        return convertsDriverTypesAs(DefaultDialect.class) ? null : Dialect.super.driverTypeConverter(mm, attributeName);
+    }
+
+    /**
+     * @param converter converter of a column, see {@link #driverTypeConverter(MetaModel, String)}
+     * @return value converted by converter, or value itself if the converter is null
+     */
+    protected static Object convert(UnaryOperator<Object> converter, Object value) {
+        return converter == null ? value : converter.apply(value);
+    }
+
+    /**
+     * @return type name of a column, or null if the column has no metadata
+     */
+    protected String typeName(MetaModel mm, String attributeName) {
+        ColumnMetadata metadata = mm.getColumnMetadata().get(attributeName);
+        return metadata == null ? null : metadata.getTypeName();
+    }
+
+    /**
+     * Dialects which resolve {@link #driverTypeConverter(MetaModel, String)} per column use this to fall back to
+     * converting every value if a subclass overrides {@link #overrideDriverTypeConversion(MetaModel, String, Object)}.
+     *
+     * @param dialectClass class that resolves converters
+     * @return true if <code>overrideDriverTypeConversion</code> of this dialect is declared by the class
+     */
+    protected boolean convertsDriverTypesAs(Class<? extends Dialect> dialectClass) {
+        try {
+            return getClass().getMethod("overrideDriverTypeConversion", MetaModel.class, String.class, Object.class)
+                    .getDeclaringClass() == dialectClass;
+        } catch (NoSuchMethodException e) {
+            throw new DBException(e);
+        }
+    }
+
     @Override
     public String selectCount(String from) {
         return "SELECT COUNT(*) FROM " + from;
@@ -313,6 +353,199 @@ public class DefaultDialect implements Dialect {
     }
 
 
+    @Override
+    public String insertMany(String table, List<String> columns, int rows) {
+        checkRows(columns, rows);
+        StringBuilder query = new StringBuilder().append("INSERT INTO ").append(table).append(" (");
+        join(query, columns, ", ");
+        query.append(") VALUES ");
+        appendRows(query, columns.size(), rows);
+        return query.toString();
+    }
+
+    /**
+     * Generates standard SQL <code>MERGE</code>:
+     * <pre>
+     * MERGE INTO table t USING (VALUES (?, ?), (?, ?)) AS s (id, name) ON (t.id = s.id)
+     * WHEN MATCHED THEN UPDATE SET name = s.name
+     * WHEN NOT MATCHED THEN INSERT (id, name) VALUES (s.id, s.name)
+     * </pre>
+     */
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keyColumns, List<String> updateColumns, int rows) {
+        checkRows(columns, rows);
+        StringBuilder query = new StringBuilder().append("MERGE INTO ").append(table).append(" t USING (VALUES ");
+        appendRows(query, columns.size(), rows);
+        query.append(") AS s (");
+        join(query, columns, ", ");
+        query.append(')');
+        appendMergeClauses(query, columns, keyColumns, updateColumns);
+        return query.toString();
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 2000;
+    }
+
+    /**
+     * @return 1000, which is the maximum size of a list of values in Oracle, and is safe for other databases
+     */
+    @Override
+    public int getMaxInListSize() {
+        return 1000;
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return true;
+    }
+
+    @Override
+    public String inArray(String column) {
+        return null;
+    }
+
+    @Override
+    public String explain(String query) {
+        return "EXPLAIN " + query;
+    }
+
+    @Override
+    public String keysetCondition(List<String> columns, List<Boolean> descending, Object[] values, List<Object> params) {
+        if (columns.isEmpty() || columns.size() != descending.size() || columns.size() != values.length) {
+            throw new IllegalArgumentException("need one direction and one value per column");
+        }
+        for (Object value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("values of keyset columns cannot be null");
+            }
+        }
+        boolean sameDirection = !descending.contains(!descending.get(0));
+        StringBuilder condition = new StringBuilder();
+        if (columns.size() == 1) {
+            condition.append(columns.get(0)).append(descending.get(0) ? " < ?" : " > ?");
+            params.add(values[0]);
+        } else if (sameDirection && supportsRowValueComparison()) {
+            condition.append('(');
+            join(condition, columns, ", ");
+            condition.append(descending.get(0) ? ") < (" : ") > (");
+            appendQuestions(condition, columns.size());
+            condition.append(')');
+            Collections.addAll(params, values);
+        } else {
+            // leading range on the first column lets the database use an index
+            condition.append(columns.get(0)).append(descending.get(0) ? " <= ?" : " >= ?").append(" AND (");
+            params.add(values[0]);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    condition.append(" OR ");
+                }
+                condition.append('(');
+                for (int j = 0; j < i; j++) {
+                    condition.append(columns.get(j)).append(" = ? AND ");
+                    params.add(values[j]);
+                }
+                condition.append(columns.get(i)).append(descending.get(i) ? " < ?" : " > ?").append(')');
+                params.add(values[i]);
+            }
+            condition.append(')');
+        }
+        return condition.toString();
+    }
+
+    /**
+     * @return true if this database can compare row values, such as <code>(a, b) &gt; (?, ?)</code>
+     */
+    protected boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    @Override
+    public String selectApproximateCount() {
+        return null;
+    }
+
+    protected void checkRows(List<String> columns, int rows) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("columns must not be empty");
+        }
+        if (rows < 1) {
+            throw new IllegalArgumentException("number of rows must be positive");
+        }
+    }
+
+    /**
+     * Appends something like this: "(?, ?), (?, ?)" to the query parameter.
+     */
+    protected void appendRows(StringBuilder query, int columns, int rows) {
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                query.append(", ");
+            }
+            query.append('(');
+            appendQuestions(query, columns);
+            query.append(')');
+        }
+    }
+
+    /**
+     * Appends ON, WHEN MATCHED and WHEN NOT MATCHED clauses of a MERGE statement, where target is aliased as "t" and
+     * source as "s".
+     */
+    protected void appendMergeClauses(StringBuilder query, List<String> columns, List<String> keyColumns, List<String> updateColumns) {
+        query.append(" ON (");
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) {
+                query.append(" AND ");
+            }
+            query.append("t.").append(keyColumns.get(i)).append(" = s.").append(keyColumns.get(i));
+        }
+        query.append(')');
+        if (!updateColumns.isEmpty()) {
+            query.append(" WHEN MATCHED THEN UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    query.append(", ");
+                }
+                query.append(updateColumns.get(i)).append(" = s.").append(updateColumns.get(i));
+            }
+        }
+        query.append(" WHEN NOT MATCHED THEN INSERT (");
+        join(query, columns, ", ");
+        query.append(") VALUES (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                query.append(", ");
+            }
+            query.append("s.").append(columns.get(i));
+        }
+        query.append(')');
+    }
+
+    /**
+     * Generates <code>INSERT ... ON CONFLICT (keys) DO UPDATE SET column = EXCLUDED.column</code>, or
+     * <code>DO NOTHING</code> if there are no columns to update, for dialects supporting <code>ON CONFLICT</code>.
+     */
+    protected String insertOnConflict(String table, List<String> columns, List<String> keyColumns, List<String> updateColumns, int rows) {
+        StringBuilder query = new StringBuilder(insertMany(table, columns, rows));
+        query.append(" ON CONFLICT (");
+        join(query, keyColumns, ", ");
+        query.append(')');
+        if (updateColumns.isEmpty()) {
+            query.append(" DO NOTHING");
+        } else {
+            query.append(" DO UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    query.append(", ");
+                }
+                query.append(updateColumns.get(i)).append(" = EXCLUDED.").append(updateColumns.get(i));
+            }
+        }
+        return query.toString();
+    }
+
     /**
      * Converts the input
      *
@@ -21,6 +21,7 @@ import java.sql.Array;
 import java.sql.Connection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 import org.javalite.activejdbc.DBException;
 import org.javalite.activejdbc.MetaModel;
@@ -35,6 +36,18 @@ public interface Dialect extends Serializable{
 
     Object overrideDriverTypeConversion(MetaModel mm, String attributeName, Object value);
 
+    /**
+     * Resolves {@link #overrideDriverTypeConversion(MetaModel, String, Object)} for a column once, so that models
+     * can be hydrated without dispatching on the dialect and looking up column metadata for every value.
+     *
+     * @param mm meta model of the table
+     * @param attributeName name of the column
+     * @return function converting values of the column as read by the driver, or null if values are used as read
+     */
+    default UnaryOperator<Object> driverTypeConverter(MetaModel mm, String attributeName) {
+        return value -> overrideDriverTypeConversion(mm, attributeName, value);
+    }
+
     String selectStar(String table);
 
     String selectStar(String table, String where);
@@ -61,4 +74,83 @@ public interface Dialect extends Serializable{
     Array toArray(String typeName, Object value, Connection connection);
 
     void appendQuestionsForUpdate(MetaModel metaModel, StringBuilder query, List<String> attributeNames);
+
+    /**
+     * Generates a parametrized multi-row insert, such as: <code>INSERT INTO table (a, b) VALUES (?, ?), (?, ?)</code>.
+     *
+     * @param table name of table
+     * @param columns names of columns
+     * @param rows number of rows
+     * @return parametrized query with <code>columns.size() * rows</code> placeholders
+     */
+    String insertMany(String table, List<String> columns, int rows);
+
+    /**
+     * Generates a parametrized multi-row "insert or update" statement native to the database.
+     *
+     * @param table name of table
+     * @param columns names of columns to insert
+     * @param keyColumns columns identifying existing rows (a primary key or a unique constraint)
+     * @param updateColumns columns to update if a row already exists
+     * @param rows number of rows
+     * @return parametrized query with <code>columns.size() * rows</code> placeholders
+     */
+    String upsert(String table, List<String> columns, List<String> keyColumns, List<String> updateColumns, int rows);
+
+    /**
+     * @return maximum number of parameters this dialect will put into a single generated statement
+     */
+    int getMaxParameters();
+
+    /**
+     * @return maximum number of values this dialect will put into a single <code>IN (...)</code> list. Longer lists
+     * of values are split into several statements.
+     */
+    int getMaxInListSize();
+
+    /**
+     * @return true if the JDBC driver returns a generated key for every row of a batch insert. Models inserted
+     * into databases without this support are inserted one by one when generated IDs are needed.
+     */
+    boolean supportsBatchGeneratedKeys();
+
+    /**
+     * Generates a condition matching a column to any of values of a single array parameter, such as
+     * <code>id = ANY(?)</code>. The parameter can be created with {@link #toArray(String, Object, Connection)}.
+     *
+     * @param column name of column
+     * @return condition with a single placeholder, or null if this dialect does not support array parameters
+     */
+    String inArray(String column);
+
+    /**
+     * Generates a statement returning an execution plan of a query as a result set, such as
+     * <code>EXPLAIN SELECT ...</code>.
+     *
+     * @param query select query, can be parametrized
+     * @return statement with the same placeholders as the query, or null if this dialect cannot explain queries
+     * with a single statement
+     */
+    String explain(String query);
+
+    /**
+     * Generates a condition selecting rows that follow a row in order of columns, for keyset pagination, such as
+     * <code>(a, b) &gt; (?, ?)</code>, or an equivalent for databases without row value comparisons or for mixed
+     * ordering directions.
+     *
+     * @param columns names of ordering columns, the last one (or all together) must be unique
+     * @param descending true for every column ordered in descending order
+     * @param values values of ordering columns of the last row of previous page, must not be null
+     * @param params parameters of the condition, appended in order of placeholders
+     * @return condition
+     */
+    String keysetCondition(List<String> columns, List<Boolean> descending, Object[] values, List<Object> params);
+
+    /**
+     * Generates a query returning an estimate of the number of rows in a table, maintained by the database
+     * statistics, which is much cheaper than <code>COUNT(*)</code> on large tables.
+     *
+     * @return query with one placeholder for a table name, or null if this dialect cannot estimate counts
+     */
+    String selectApproximateCount();
 }
@@ -45,4 +45,8 @@ public class H2Dialect extends DefaultDialect {
         return fullQuery.toString();
     }
 
+    @Override
+    public String selectApproximateCount() {
+        return "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = UPPER(?)";
+    }
 }
@@ -2,6 +2,7 @@ package org.javalite.activejdbc.dialects;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.javalite.activejdbc.DBException;
@@ -96,20 +97,28 @@ public class MSSQLDialect extends DefaultDialect {
         return columns == null ? " *" : " " + join(columns, ", ");
     }
 
+    @Override
+    public Object overrideDriverTypeConversion(MetaModel mm, String attributeName, Object value) {
+        return convert(converterOf(mm, attributeName), value);
+    }
+
+    @Override
+    public UnaryOperator<Object> driverTypeConverter(MetaModel mm, String attributeName) {
+        return convertsDriverTypesAs(MSSQLDialect.class)
+                ? converterOf(mm, attributeName) : super.driverTypeConverter(mm, attributeName);
+    }
+
     /**
      * TDS converts a number of important data types to String. This isn't what we want, nor helpful. Here, we change them back.
      */
-    @Override
-    public Object overrideDriverTypeConversion(MetaModel mm, String attributeName, Object value) {
-        if (value instanceof String && !Util.blank(value)) {
-            String typeName = mm.getColumnMetadata().get(attributeName).getTypeName();
-            if ("date".equalsIgnoreCase(typeName)) {
-                return java.sql.Date.valueOf((String) value);
-            } else if ("datetime2".equalsIgnoreCase(typeName)) {
-                return java.sql.Timestamp.valueOf((String) value);
-            }
+    private UnaryOperator<Object> converterOf(MetaModel mm, String attributeName) {
+        String typeName = typeName(mm, attributeName);
+        if ("date".equalsIgnoreCase(typeName)) {
+            return value -> value instanceof String && !Util.blank(value) ? java.sql.Date.valueOf((String) value) : value;
+        } else if ("datetime2".equalsIgnoreCase(typeName)) {
+            return value -> value instanceof String && !Util.blank(value) ? java.sql.Timestamp.valueOf((String) value) : value;
         }
-        return value;
+        return null;
     }
 
     @Override
@@ -126,4 +135,47 @@ public class MSSQLDialect extends DefaultDialect {
     protected void appendTimestamp(StringBuilder query, java.sql.Timestamp value) {
         query.append("CONVERT(datetime2, '").append(value.toString()).append("')");
     }
+
+    /**
+     * Same MERGE as in {@link DefaultDialect#upsert(String, List, List, List, int)}, but terminated with a semicolon,
+     * as required by SQL Server.
+     */
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keyColumns, List<String> updateColumns, int rows) {
+        return super.upsert(table, columns, keyColumns, updateColumns, rows) + ';';
+    }
+
+    /**
+     * @return 2000, SQL Server allows up to 2100 parameters per statement
+     */
+    @Override
+    public int getMaxInListSize() {
+        return 2000;
+    }
+
+    /**
+     * @return false, the SQL Server driver returns a generated key of one row of a batch at most
+     */
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return false;
+    }
+
+    /**
+     * Plans are returned only after <code>SET SHOWPLAN_TEXT ON</code>, which is a separate batch.
+     */
+    @Override
+    public String explain(String query) {
+        return null;
+    }
+
+    @Override
+    protected boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    @Override
+    public String selectApproximateCount() {
+        return "SELECT SUM(rows) FROM sys.partitions WHERE object_id = OBJECT_ID(?) AND index_id IN (0, 1)";
+    }
 }
@@ -48,4 +48,44 @@ public class MySQLDialect extends DefaultDialect {
     protected void appendEmptyRow(MetaModel metaModel, StringBuilder query) {
         query.append("() VALUES ()");
     }
+
+    /**
+     * Generates <code>INSERT ... ON DUPLICATE KEY UPDATE column = VALUES(column)</code>. MySQL resolves conflicts
+     * by any unique key, so key columns are only used when there is nothing else to update.
+     */
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keyColumns, List<String> updateColumns, int rows) {
+        StringBuilder query = new StringBuilder(insertMany(table, columns, rows));
+        query.append(" ON DUPLICATE KEY UPDATE ");
+        if (updateColumns.isEmpty()) {
+            String column = keyColumns.isEmpty() ? columns.get(0) : keyColumns.get(0);
+            query.append(column).append(" = ").append(column);
+        } else {
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    query.append(", ");
+                }
+                query.append(updateColumns.get(i)).append(" = VALUES(").append(updateColumns.get(i)).append(')');
+            }
+        }
+        return query.toString();
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 65535;
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return 10000;
+    }
+
+    /**
+     * @return number of rows of a table estimated by the storage engine, can be off by 40% or more for InnoDB
+     */
+    @Override
+    public String selectApproximateCount() {
+        return "SELECT TABLE_ROWS FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+    }
 }
@@ -20,6 +20,9 @@ import org.javalite.common.Convert;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.javalite.common.Util.join;
 
 /**
  * @author Igor Polevoy
@@ -82,14 +85,21 @@ public class OracleDialect extends DefaultDialect {
 
     @Override
     public Object overrideDriverTypeConversion(MetaModel mm, String attributeName, Object value) {
+        return convert(converterOf(mm, attributeName), value);
+    }
+
+    @Override
+    public UnaryOperator<Object> driverTypeConverter(MetaModel mm, String attributeName) {
+        return convertsDriverTypesAs(OracleDialect.class)
+                ? converterOf(mm, attributeName) : super.driverTypeConverter(mm, attributeName);
+    }
+
+    private UnaryOperator<Object> converterOf(MetaModel mm, String attributeName) {
         // Oracle returns java.sql.Timestamp for DATE values
-        if (value instanceof Timestamp) {
-            String typeName = mm.getColumnMetadata().get(attributeName).getTypeName();
-            if ("DATE".equalsIgnoreCase(typeName)) {
-                return Convert.toSqlDate(value);
-            }
+        if ("DATE".equalsIgnoreCase(typeName(mm, attributeName))) {
+            return value -> value instanceof Timestamp ? Convert.toSqlDate(value) : value;
         }
-        return value;
+        return null;
     }
 
     @Override
@@ -104,4 +114,90 @@ public class OracleDialect extends DefaultDialect {
         // Oracle has no TIME type
         appendTimestamp(query, new java.sql.Timestamp(value.getTime()));
     }
+
+    /**
+     * Oracle does not support multi-row VALUES, generates:
+     * <pre>INSERT ALL INTO table (a, b) VALUES (?, ?) INTO table (a, b) VALUES (?, ?) SELECT * FROM dual</pre>
+     */
+    @Override
+    public String insertMany(String table, List<String> columns, int rows) {
+        checkRows(columns, rows);
+        StringBuilder query = new StringBuilder().append("INSERT ALL");
+        for (int i = 0; i < rows; i++) {
+            query.append(" INTO ").append(table).append(" (");
+            join(query, columns, ", ");
+            query.append(") VALUES (");
+            appendQuestions(query, columns.size());
+            query.append(')');
+        }
+        query.append(" SELECT * FROM dual");
+        return query.toString();
+    }
+
+    /**
+     * Generates MERGE with rows selected from dual:
+     * <pre>
+     * MERGE INTO table t USING (SELECT ? AS id, ? AS name FROM dual UNION ALL SELECT ?, ? FROM dual) s ON (t.id = s.id)
+     * WHEN MATCHED THEN UPDATE SET name = s.name
+     * WHEN NOT MATCHED THEN INSERT (id, name) VALUES (s.id, s.name)
+     * </pre>
+     */
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keyColumns, List<String> updateColumns, int rows) {
+        checkRows(columns, rows);
+        StringBuilder query = new StringBuilder().append("MERGE INTO ").append(table).append(" t USING (");
+        for (int i = 0; i < rows; i++) {
+            query.append(i == 0 ? "SELECT " : " UNION ALL SELECT ");
+            for (int j = 0; j < columns.size(); j++) {
+                if (j > 0) {
+                    query.append(", ");
+                }
+                query.append('?');
+                if (i == 0) {
+                    query.append(" AS ").append(columns.get(j));
+                }
+            }
+            query.append(" FROM dual");
+        }
+        query.append(") s");
+        appendMergeClauses(query, columns, keyColumns, updateColumns);
+        return query.toString();
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 65535;
+    }
+
+    /**
+     * @return false, the Oracle driver does not return generated keys of batches
+     */
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return false;
+    }
+
+    /**
+     * <code>EXPLAIN PLAN</code> writes a plan into a plan table instead of returning it.
+     */
+    @Override
+    public String explain(String query) {
+        return null;
+    }
+
+    /**
+     * Oracle compares row values only for equality.
+     */
+    @Override
+    protected boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * @return number of rows of a table as of the last statistics gathering
+     */
+    @Override
+    public String selectApproximateCount() {
+        return "SELECT NUM_ROWS FROM USER_TABLES WHERE TABLE_NAME = UPPER(?)";
+    }
 }
@@ -130,7 +130,7 @@ public class PostgreSQLDialect extends DefaultDialect {
                 return (Array) value;
             } else {
                 if (connection != null) {
-                    return connection.createArrayOf(typeName.substring(1), (Object[]) value);
+                    return connection.createArrayOf(elementType(typeName.substring(1)), (Object[]) value);
                 } else {
                     throw new ConversionException("Failed to convert " + value + " to Array, no connection provided.");
                 }
@@ -141,4 +141,50 @@ public class PostgreSQLDialect extends DefaultDialect {
             throw new ConversionException(e);
         }
     }
+
+    /**
+     * Serial columns are reported by their pseudo type, which cannot be an array element type.
+     */
+    private String elementType(String typeName) {
+        switch (typeName.toLowerCase()) {
+            case "smallserial": return "int2";
+            case "serial": return "int4";
+            case "bigserial": return "int8";
+            default: return typeName;
+        }
+    }
+
+    /**
+     * Generates <code>INSERT ... ON CONFLICT (keys) DO UPDATE SET column = EXCLUDED.column</code>.
+     */
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keyColumns, List<String> updateColumns, int rows) {
+        return insertOnConflict(table, columns, keyColumns, updateColumns, rows);
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 32767;
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return 10000;
+    }
+
+    /**
+     * Generates <code>column = ANY(?)</code>, so that a single statement is sent regardless of number of values.
+     */
+    @Override
+    public String inArray(String column) {
+        return column + " = ANY(?)";
+    }
+
+    /**
+     * @return number of rows of a table from the last <code>ANALYZE</code>, -1 if the table was never analyzed
+     */
+    @Override
+    public String selectApproximateCount() {
+        return "SELECT reltuples::BIGINT FROM pg_class WHERE oid = to_regclass(?)";
+    }
 }
@@ -16,10 +16,13 @@ limitations under the License.
 package org.javalite.activejdbc.dialects;
 
 import java.util.List;
+import java.util.function.UnaryOperator;
 import org.javalite.activejdbc.MetaModel;
 import org.javalite.common.Convert;
 import org.javalite.common.Util;
 
+import static org.javalite.common.Util.join;
+
 /**
  * @author Igor Polevoy
  * @author Eric Nielsen
@@ -50,18 +53,30 @@ public class SQLiteDialect extends DefaultDialect {
 
     @Override
     public Object overrideDriverTypeConversion(MetaModel mm, String attributeName, Object value) {
+        return convert(converterOf(mm, attributeName), value);
+    }
+
+    @Override
+    public UnaryOperator<Object> driverTypeConverter(MetaModel mm, String attributeName) {
+        return convertsDriverTypesAs(SQLiteDialect.class)
+                ? converterOf(mm, attributeName) : super.driverTypeConverter(mm, attributeName);
+    }
+
+    private UnaryOperator<Object> converterOf(MetaModel mm, String attributeName) {
         // SQLite returns DATE and DATETIME as String or Number values
-        if (value instanceof String && !Util.blank(value) || value instanceof Number) {
-            String typeName = mm.getColumnMetadata().get(attributeName).getTypeName();
-            if ("DATE".equalsIgnoreCase(typeName)) {
-                return Convert.toSqlDate(value);
-            } else if ("DATETIME".equalsIgnoreCase(typeName)) {
-                return Convert.toTimestamp(value);
-            } else if ("TIME".equalsIgnoreCase(typeName)) {
-                return Convert.toTime(value);
-            }
+        String typeName = typeName(mm, attributeName);
+        if ("DATE".equalsIgnoreCase(typeName)) {
+            return value -> isDateValue(value) ? Convert.toSqlDate(value) : value;
+        } else if ("DATETIME".equalsIgnoreCase(typeName)) {
+            return value -> isDateValue(value) ? Convert.toTimestamp(value) : value;
+        } else if ("TIME".equalsIgnoreCase(typeName)) {
+            return value -> isDateValue(value) ? Convert.toTime(value) : value;
         }
-        return value;
+        return null;
+    }
+
+    private static boolean isDateValue(Object value) {
+        return value instanceof String && !Util.blank(value) || value instanceof Number;
     }
 
     @Override
@@ -81,4 +96,27 @@ public class SQLiteDialect extends DefaultDialect {
         // See https://www.sqlite.org/lang_datefunc.html
         query.append("datetime('").append(value.toString()).append("')");
     }
+
+    /**
+     * Generates <code>INSERT ... ON CONFLICT (keys) DO UPDATE SET column = EXCLUDED.column</code>.
+     */
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keyColumns, List<String> updateColumns, int rows) {
+        return insertOnConflict(table, columns, keyColumns, updateColumns, rows);
+    }
+
+    @Override
+    public int getMaxParameters() {
+        return 999;
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return 999;
+    }
+
+    @Override
+    public String explain(String query) {
+        return "EXPLAIN QUERY PLAN " + query;
+    }
 }
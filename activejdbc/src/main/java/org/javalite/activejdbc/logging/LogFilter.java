@@ -19,7 +19,7 @@ package org.javalite.activejdbc.logging;
 
 import org.javalite.activejdbc.Configuration;
 import org.javalite.activejdbc.Registry;
-import org.javalite.activejdbc.statistics.QueryExecutionEvent;
+import org.javalite.activejdbc.statistics.QueryBudget;
 import org.javalite.json.JSONHelper;
 import org.slf4j.Logger;
 
@@ -65,10 +65,41 @@ public class LogFilter {
      */
     public static void logQuery(Logger logger, String query, Object[] params, long queryStartTime){
         long time = System.currentTimeMillis() - queryStartTime;
-        collectStatistics(query, time, false);
+        collectStatistics(query, time * 1000000, false);
         log(logger, LogLevel.INFO, () -> getJson(query, params, time));
     }
 
+    /**
+     * Logs a query information to the log system, same as {@link #logQuery(Logger, String, Object[], long)}, but
+     * collects statistics with nanosecond precision.
+     *
+     * @param logger logger to use
+     * @param query query text
+     * @param params parameters use in a query
+     * @param queryStartNanos value of {@link System#nanoTime()} at query start.
+     */
+    public static void logQueryNanos(Logger logger, String query, Object[] params, long queryStartNanos){
+        long nanos = System.nanoTime() - queryStartNanos;
+        collectStatistics(query, nanos, false);
+        log(logger, LogLevel.INFO, () -> getJson(query, params, nanos / 1000000));
+    }
+
+    /**
+     * Logs a query information to the log system, same as {@link #logQuery(Logger, String, Object[], long, boolean)},
+     * but collects statistics with nanosecond precision.
+     *
+     * @param logger logger to use
+     * @param query query text
+     * @param params params used  in a query
+     * @param queryStartNanos value of {@link System#nanoTime()} at query start.
+     * @param cacheHit true if cache was hit, false if not
+     */
+    public static void logQueryNanos(Logger logger, String query, Object[] params, long queryStartNanos, boolean cacheHit){
+        long nanos = System.nanoTime() - queryStartNanos;
+        collectStatistics(query, nanos, cacheHit);
+        log(logger, LogLevel.INFO, () -> getJson(query, params, nanos / 1000000, cacheHit));
+    }
+
     /**
      * Logs a query information to the log system without time
      *
@@ -80,13 +111,14 @@ public class LogFilter {
      */
     public static void logQuery(Logger logger, String query, Object[] params, long queryStartTime, boolean cacheHit){
         long time = System.currentTimeMillis() - queryStartTime;
-        collectStatistics(query, time, cacheHit);
+        collectStatistics(query, time * 1000000, cacheHit);
         log(logger, LogLevel.INFO, () -> getJson(query, params, time, cacheHit));
     }
 
-    private static void collectStatistics(String query, long time, boolean cacheHit) {
+    private static void collectStatistics(String query, long nanos, boolean cacheHit) {
+        QueryBudget.record(query, nanos, cacheHit);
         if (Registry.instance().getConfiguration().collectStatistics() && !cacheHit) {
-            Registry.instance().getStatisticsQueue().enqueue(new QueryExecutionEvent(query, time));
+            Registry.instance().getStatisticsQueue().record(query, nanos);
         }
     }
 
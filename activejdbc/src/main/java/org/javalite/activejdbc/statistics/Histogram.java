@@ -0,0 +1,134 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc.statistics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear histogram of durations in nanoseconds. Each power of two is split into 8 linear sub-buckets, so that
+ * a percentile is reported within 12.5% of the real value for durations of any magnitude. Buckets are updated
+ * atomically, so concurrent recording does not lock. A histogram takes about 4 KB.
+ *
+ * @author agent
+ */
+final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(index(nanos));
+        count.increment();
+        total.add(nanos);
+        min.accumulate(nanos);
+        max.accumulate(nanos);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long total() {
+        return total.sum();
+    }
+
+    long min() {
+        long value = min.get();
+        return value == Long.MAX_VALUE ? 0 : value;
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile value between 0 and 100
+     * @return duration in nanoseconds which the given percent of recorded durations did not exceed, 0 if empty.
+     */
+    long percentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            recorded += counts[i];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(recorded * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long value = lowerBound(i) + (width(i) - 1) / 2;
+                return Math.max(min(), Math.min(max(), value));
+            }
+        }
+        return max();
+    }
+
+    /**
+     * @param reset true to clear this histogram while copying it
+     * @return copy of this histogram, which is not changed by further recording.
+     */
+    Histogram copy(boolean reset) {
+        Histogram copy = new Histogram();
+        for (int i = 0; i < BUCKETS; i++) {
+            long value = reset ? buckets.getAndSet(i, 0) : buckets.get(i);
+            if (value != 0) {
+                copy.buckets.set(i, value);
+            }
+        }
+        copy.count.add(reset ? count.sumThenReset() : count.sum());
+        copy.total.add(reset ? total.sumThenReset() : total.sum());
+        copy.min.accumulate(reset ? min.getThenReset() : min.get());
+        copy.max.accumulate(reset ? max.getThenReset() : max.get());
+        return copy;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+    }
+
+    private static long width(int index) {
+        return index < SUB_BUCKETS ? 1 : 1L << ((index >>> SUB_BUCKET_BITS) - 1);
+    }
+}
@@ -0,0 +1,343 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc.statistics;
+
+import org.javalite.activejdbc.Configuration;
+import org.javalite.activejdbc.Model;
+import org.javalite.activejdbc.QueryBudgetExceededException;
+import org.javalite.activejdbc.Registry;
+import org.javalite.activejdbc.logging.LogFilter;
+import org.javalite.activejdbc.logging.LogLevel;
+import org.javalite.json.JSONHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts queries executed by the current thread between {@link #open(String)} and {@link #close()}, and detects
+ * statements repeated many times in the same scope, which usually means that associations are loaded one model at a
+ * time (N+1 pattern). Each such statement is reported with the location in application code which executed it.
+ * Use it in tests or around a unit of work, such as an HTTP request:
+ * <pre>
+ * try (QueryBudget budget = QueryBudget.open("list users").maxQueries(10).strict()) {
+ *     ...
+ * }
+ * </pre>
+ * A strict budget throws {@link QueryBudgetExceededException} from the query which exceeded it, otherwise a warning
+ * is logged when the budget is closed. Scopes can be nested, a query is counted by all open scopes of the thread.
+ * Defaults are configured in <code>activejdbc.properties</code>:
+ * <ul>
+ *     <li><code>queryBudget.maxQueries</code> - number of queries allowed in a scope, 50 by default, 0 for no
+ *     limit</li>
+ *     <li><code>queryBudget.maxRepeats</code> - number of executions of the same normalized statement after which it
+ *     is reported as repeated, 10 by default, 0 to not detect repeats</li>
+ * </ul>
+ * Queries answered from cache are counted separately and are not round trips to the database. Queries executed on
+ * other threads, such as includes loaded in parallel, are not counted. Recording a query costs a thread local lookup
+ * when no scope is open.
+ *
+ * @author agent
+ */
+public class QueryBudget implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryBudget.class);
+    private static final ThreadLocal<QueryBudget> CURRENT = new ThreadLocal<>();
+    private static final int MAX_STATEMENTS = 1000;
+    private static final CodeSource LIBRARY = QueryBudget.class.getProtectionDomain().getCodeSource();
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final String name;
+    private final QueryBudget parent;
+    private final Map<String, RepeatedQuery> statements = new HashMap<>();
+    private final List<RepeatedQuery> repeatedQueries = new ArrayList<>();
+    private int maxQueries;
+    private int maxRepeats;
+    private boolean strict;
+    private int queries;
+    private int cacheHits;
+    private long nanos;
+    private boolean closed;
+
+    private QueryBudget(String name, QueryBudget parent, int maxQueries, int maxRepeats) {
+        this.name = name;
+        this.parent = parent;
+        this.maxQueries = maxQueries;
+        this.maxRepeats = maxRepeats;
+    }
+
+    /**
+     * Opens a new scope on the current thread with limits configured in <code>activejdbc.properties</code>.
+     * Must be closed on the same thread, preferably with try-with-resources.
+     *
+     * @param name name of scope, used in messages
+     * @return new scope, current until closed
+     */
+    public static QueryBudget open(String name) {
+        Configuration configuration = Registry.instance().getConfiguration();
+        QueryBudget budget = new QueryBudget(name, CURRENT.get(), configuration.getQueryBudgetMaxQueries(),
+                configuration.getQueryBudgetMaxRepeats());
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    /**
+     * @return innermost open scope of the current thread, or null if none is open
+     */
+    public static QueryBudget current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records an executed query in all open scopes of the current thread. Called by
+     * {@link LogFilter} for every query.
+     *
+     * @param query text of query
+     * @param nanos time it took to execute the query
+     * @param cacheHit true if the result was found in cache and the database was not queried
+     */
+    public static void record(String query, long nanos, boolean cacheHit) {
+        QueryBudget budget = CURRENT.get();
+        if (budget == null) {
+            return;
+        }
+        String fingerprint = cacheHit ? null : QueryExecutionEvent.normalize(query);
+        String location = null;
+        QueryBudgetExceededException failure = null;
+        for (; budget != null; budget = budget.parent) {
+            if (cacheHit) {
+                budget.cacheHits++;
+                continue;
+            }
+            budget.queries++;
+            budget.nanos += nanos;
+            if (budget.strict && budget.maxQueries > 0 && budget.queries > budget.maxQueries && failure == null) {
+                failure = new QueryBudgetExceededException(budget.name + ": executed " + budget.queries
+                        + " queries, budget is " + budget.maxQueries + ", last query: " + query);
+            }
+            RepeatedQuery statement = budget.statements.get(fingerprint);
+            if (statement == null) {
+                if (budget.statements.size() < MAX_STATEMENTS) {
+                    budget.statements.put(fingerprint, new RepeatedQuery(fingerprint, nanos));
+                }
+                continue;
+            }
+            statement.count++;
+            statement.nanos += nanos;
+            if (budget.maxRepeats > 0 && statement.count == budget.maxRepeats) {
+                if (location == null) {
+                    location = callerLocation();
+                }
+                statement.location = location;
+                budget.repeatedQueries.add(statement);
+                if (budget.strict && failure == null) {
+                    failure = new QueryBudgetExceededException(budget.name + ": query executed " + statement.count
+                            + " times, possible N+1 at " + location + ": " + fingerprint);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Finds the first frame of the stack which is not in ActiveJDBC or JDK, nor a method generated in a model by
+     * instrumentation.
+     */
+    private static String callerLocation() {
+        return WALKER.walk(frames -> frames.filter(frame -> {
+            Class<?> type = frame.getDeclaringClass();
+            String className = type.getName();
+            if (className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.")
+                    || className.startsWith("org.javalite.common.") || className.startsWith("org.javalite.json.")) {
+                return false;
+            }
+            if (Model.class.isAssignableFrom(type) && frame.getLineNumber() < 0) {
+                return false;
+            }
+            CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+            return codeSource == null || LIBRARY == null || !LIBRARY.getLocation().equals(codeSource.getLocation());
+        }).findFirst().map(frame -> frame.getClassName() + "." + frame.getMethodName() + "(" + frame.getFileName()
+                + ":" + frame.getLineNumber() + ")").orElse("unknown"));
+    }
+
+    /**
+     * @param maxQueries number of queries allowed in this scope, 0 for no limit
+     * @return this budget, for chaining
+     */
+    public QueryBudget maxQueries(int maxQueries) {
+        this.maxQueries = maxQueries;
+        return this;
+    }
+
+    /**
+     * @param maxRepeats number of executions of the same statement after which it is reported as repeated, 0 to not
+     * detect repeats
+     * @return this budget, for chaining
+     */
+    public QueryBudget maxRepeats(int maxRepeats) {
+        this.maxRepeats = maxRepeats;
+        return this;
+    }
+
+    /**
+     * Makes this budget throw {@link QueryBudgetExceededException} as soon as it is exceeded, useful in tests.
+     *
+     * @return this budget, for chaining
+     */
+    public QueryBudget strict() {
+        this.strict = true;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of queries sent to the database in this scope
+     */
+    public int getQueries() {
+        return queries;
+    }
+
+    /**
+     * @return number of queries answered from cache in this scope
+     */
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * @return total time of queries sent to the database in this scope
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return statements executed at least <code>maxRepeats</code> times in this scope, in order of detection
+     */
+    public List<RepeatedQuery> getRepeatedQueries() {
+        return repeatedQueries;
+    }
+
+    /**
+     * @return true if more queries were executed than allowed, or some statements were repeated
+     */
+    public boolean isExceeded() {
+        return (maxQueries > 0 && queries > maxQueries) || !repeatedQueries.isEmpty();
+    }
+
+    /**
+     * Ends this scope, making its enclosing scope current. Logs a warning if this budget was exceeded and is not
+     * strict.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (CURRENT.get() == this) {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+        if (!strict && isExceeded()) {
+            LogFilter.log(LOGGER, LogLevel.WARNING, "Query budget exceeded: " + toJSON());
+        }
+    }
+
+    public String toJSON() {
+        StringBuilder sb = new StringBuilder("{\"name\":\"").append(JSONHelper.sanitize(name))
+                .append("\",\"queries\":").append(queries)
+                .append(",\"max_queries\":").append(maxQueries)
+                .append(",\"cache_hits\":").append(cacheHits)
+                .append(",\"duration_millis\":").append(TimeUnit.NANOSECONDS.toMillis(nanos))
+                .append(",\"repeated_queries\":[");
+        for (int i = 0; i < repeatedQueries.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(repeatedQueries.get(i).toJSON());
+        }
+        return sb.append("]}").toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJSON();
+    }
+
+    /**
+     * Normalized statement executed many times in the same scope.
+     */
+    public static class RepeatedQuery {
+        private final String query;
+        private int count = 1;
+        private long nanos;
+        private String location;
+
+        RepeatedQuery(String query, long nanos) {
+            this.query = query;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return normalized text of query, with literal values replaced by placeholders
+         */
+        public String getQuery() {
+            return query;
+        }
+
+        /**
+         * @return number of executions in scope so far
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return total time of executions in scope so far
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return class, method and line of application code which executed the statement when it was detected
+         * as repeated
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        String toJSON() {
+            return "{\"sql\":\"" + JSONHelper.sanitize(query) + "\",\"count\":" + count
+                    + ",\"location\":\"" + JSONHelper.sanitize(location) + "\"}";
+        }
+    }
+}
@@ -30,23 +30,39 @@ public class QueryExecutionEvent {
 
 
 
-    private String query;
+    private static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL_PATTERN = Pattern.compile("(?<![\\w.])(?<!limit\\s{1,10})\\d+(?:\\.\\d+)?\\b", Pattern.CASE_INSENSITIVE);
+
+    private final String query;
     private final long time;
 
     public QueryExecutionEvent(String query, long time) {
-        this.query = IN_PATTERN.matcher(query).replaceAll("IN (...)");
-        this.query = OFFSET_PATTERN.matcher(this.query).replaceAll("offset ...");
+        this.query = normalize(query);
+        this.time = time;
+    }
+
+    /**
+     * Reduces a query to its fingerprint, so that executions of the same query with different literals, lists of
+     * values or offsets are counted together.
+     *
+     * @param query text of query
+     * @return normalized text of query
+     */
+    public static String normalize(String query) {
+        String normalized = IN_PATTERN.matcher(query).replaceAll("IN (...)");
+        normalized = OFFSET_PATTERN.matcher(normalized).replaceAll("offset ...");
 
         if(query.contains("TabSeparated")){
-            this.query = query.substring(0, query.indexOf("TabSeparated")) + "...";
+            normalized = query.substring(0, query.indexOf("TabSeparated")) + "...";
         }
 
         if(INSERT_INTO_PATTERN.matcher(query).matches()){
             String lowerCase = query.toLowerCase();
-            this.query = query.substring(0, lowerCase.indexOf("values")) + " VALUES (...)";
+            normalized = query.substring(0, lowerCase.indexOf("values")) + " VALUES (...)";
         }
 
-        this.time = time;
+        normalized = STRING_LITERAL_PATTERN.matcher(normalized).replaceAll("?");
+        return NUMBER_LITERAL_PATTERN.matcher(normalized).replaceAll("?");
     }
 
     public String getQuery() {
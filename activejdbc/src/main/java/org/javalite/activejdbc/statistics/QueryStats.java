@@ -18,17 +18,34 @@ limitations under the License.
 package org.javalite.activejdbc.statistics;
 
 /**
- * This class represents statistical information for one query.
+ * Execution statistics of a query. Durations are recorded with nanosecond precision into a {@link Histogram}, and
+ * can be recorded from many threads at the same time without locking.
  *
  * @author Igor Polevoy
  */
 public class QueryStats {
 
+    private static final long NANOS_IN_MILLI = 1000000;
+
     private final String query;//this is needed for report.
-    private long total, avg, min, max, count;
+    private final Histogram histogram;
+    // number of evictions done by StatisticsQueue before this query was first recorded
+    final long generation;
 
     public QueryStats(String query) {
+        this(query, 0);
+    }
+
+    QueryStats(String query, long generation) {
+        this.query = query;
+        this.histogram = new Histogram();
+        this.generation = generation;
+    }
+
+    private QueryStats(String query, Histogram histogram) {
         this.query = query;
+        this.histogram = histogram;
+        this.generation = 0;
     }
 
     /**
@@ -37,48 +54,120 @@ public class QueryStats {
      * @param time time in milliseconds it took to execute the query
      */
     public void addQueryTime(long time){
-        if (time < min || min == 0) min = time;
-
-        if (time > max || max == 0) max = time;
-
-        avg = Math.round((avg + (time - avg) / (double) (++count)));
+        histogram.record(time * NANOS_IN_MILLI);
+    }
 
-        total += time;
+    /**
+     * Whenever this query was executed, add execution time with this method.
+     *
+     * @param nanos time in nanoseconds it took to execute the query
+     */
+    public void addQueryNanos(long nanos){
+        histogram.record(nanos);
     }
 
+    /**
+     * @return average time in milliseconds
+     */
     public long getAvg() {
-        return avg;
+        long count = getCount();
+        return count == 0 ? 0 : Math.round(histogram.total() / (double) count / NANOS_IN_MILLI);
     }
 
+    /**
+     * @return minimum time in milliseconds
+     */
     public long getMin() {
-        return min;
+        return histogram.min() / NANOS_IN_MILLI;
     }
 
+    /**
+     * @return maximum time in milliseconds
+     */
     public long getMax() {
-        return max;
+        return histogram.max() / NANOS_IN_MILLI;
     }
 
     public long getCount() {
-        return count;
+        return histogram.count();
     }
 
+    /**
+     * @return total time in milliseconds
+     */
     public long getTotal() {
-        return total;
+        return histogram.total() / NANOS_IN_MILLI;
+    }
+
+    public long getAvgNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : histogram.total() / count;
+    }
+
+    public long getMinNanos() {
+        return histogram.min();
+    }
+
+    public long getMaxNanos() {
+        return histogram.max();
+    }
+
+    public long getTotalNanos() {
+        return histogram.total();
+    }
+
+    /**
+     * @param percentile value between 0 and 100, such as 99.9
+     * @return time in nanoseconds within which the given percent of executions completed, accurate to 12.5%.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        return histogram.percentile(percentile);
+    }
+
+    public long getP50Nanos() {
+        return histogram.percentile(50);
+    }
+
+    public long getP95Nanos() {
+        return histogram.percentile(95);
+    }
+
+    public long getP99Nanos() {
+        return histogram.percentile(99);
+    }
+
+    public long getP999Nanos() {
+        return histogram.percentile(99.9);
     }
 
     public String getQuery() {
         return query;
     }
 
+    /**
+     * @param reset true to start collecting statistics of this query from scratch
+     * @return copy of these statistics, not changed by queries executed after this call
+     */
+    QueryStats snapshot(boolean reset) {
+        return new QueryStats(query, histogram.copy(reset));
+    }
+
     @Override
     public String toString() {
         return "QueryStats{" +
             "query='" + query + '\'' +
-            ", min=" + min +
-            ", max=" + max +
-            ", count=" + count +
-            ", total=" + total +
-            ", avg=" + avg +
+            ", min=" + getMin() +
+            ", max=" + getMax() +
+            ", count=" + getCount() +
+            ", total=" + getTotal() +
+            ", avg=" + getAvg() +
+            ", p50Nanos=" + getP50Nanos() +
+            ", p95Nanos=" + getP95Nanos() +
+            ", p99Nanos=" + getP99Nanos() +
+            ", p999Nanos=" + getP999Nanos() +
             '}';
     }
 }
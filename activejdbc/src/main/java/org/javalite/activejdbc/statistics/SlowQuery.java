@@ -0,0 +1,98 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc.statistics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Record of a query which took longer than a threshold configured with <code>slowQuery.thresholdMillis</code>.
+ *
+ * @author agent
+ */
+public class SlowQuery {
+
+    private final String dbName;
+    private final String query;
+    private final List<Object> params;
+    private final long rows;
+    private final long nanos;
+    private final long timestamp;
+    private final String plan;
+
+    public SlowQuery(String dbName, String query, Object[] params, long rows, long nanos, String plan) {
+        this.dbName = dbName;
+        this.query = query;
+        this.params = params == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(params.clone()));
+        this.rows = rows;
+        this.nanos = nanos;
+        this.plan = plan;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public String getDbName() {
+        return dbName;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<Object> getParams() {
+        return params;
+    }
+
+    /**
+     * @return number of rows selected or affected, or -1 if not known, as for streams
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return time in milliseconds since epoch when this query completed
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return execution plan produced by the database, or null if the query was not explained, see
+     * {@link SlowQueryLog}.
+     */
+    public String getPlan() {
+        return plan;
+    }
+
+    @Override
+    public String toString() {
+        return "SlowQuery{" +
+            "dbName='" + dbName + '\'' +
+            ", query='" + query + '\'' +
+            ", params=" + params +
+            ", rows=" + rows +
+            ", nanos=" + nanos +
+            ", timestamp=" + timestamp +
+            ", plan='" + plan + '\'' +
+            '}';
+    }
+}
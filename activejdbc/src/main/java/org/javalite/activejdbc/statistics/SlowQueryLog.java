@@ -0,0 +1,129 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent queries which took longer than a threshold in a ring buffer of a fixed size, so that they
+ * can be examined at runtime with {@link #getSlowQueries()}. Configured in <code>activejdbc.properties</code>:
+ * <ul>
+ *     <li><code>slowQuery.thresholdMillis</code> - queries taking at least this long are recorded, 0 (default)
+ *     disables detection</li>
+ *     <li><code>slowQuery.capacity</code> - number of slow queries kept, 100 by default</li>
+ *     <li><code>slowQuery.explainIntervalSeconds</code> - a select is explained by the database at most once in
+ *     this interval per normalized query, 60 by default, 0 to never explain</li>
+ * </ul>
+ * Checking a query which is not slow costs a single comparison.
+ *
+ * @author agent
+ */
+public class SlowQueryLog {
+
+    private static final int MAX_EXPLAINED = 10000;
+
+    private final AtomicReferenceArray<SlowQuery> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, Long> explainedAt = new ConcurrentHashMap<>();
+    private final long explainIntervalNanos;
+    private volatile long thresholdNanos;
+
+    public SlowQueryLog(long thresholdMillis, int capacity, long explainIntervalSeconds) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        buffer = new AtomicReferenceArray<>(capacity);
+        explainIntervalNanos = TimeUnit.SECONDS.toNanos(explainIntervalSeconds);
+        setThresholdMillis(thresholdMillis);
+    }
+
+    /**
+     * @param thresholdMillis queries taking at least this long are recorded, 0 to disable detection
+     */
+    public void setThresholdMillis(long thresholdMillis) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    /**
+     * @param nanos time it took to execute a query
+     * @return true if a query is slow and should be recorded
+     */
+    public boolean isSlow(long nanos) {
+        long threshold = thresholdNanos;
+        return threshold > 0 && nanos >= threshold;
+    }
+
+    /**
+     * Decides if a slow query should be explained, so that each query is explained at most once per interval.
+     *
+     * @param query text of query
+     * @return true if an execution plan of query should be collected
+     */
+    public boolean sampleExplain(String query) {
+        if (explainIntervalNanos <= 0) {
+            return false;
+        }
+        String fingerprint = QueryExecutionEvent.normalize(query);
+        long now = System.nanoTime();
+        Long last = explainedAt.get(fingerprint);
+        if (last != null && now - last < explainIntervalNanos) {
+            return false;
+        }
+        if (explainedAt.size() >= MAX_EXPLAINED) {
+            explainedAt.clear();
+        }
+        return last == null ? explainedAt.putIfAbsent(fingerprint, now) == null : explainedAt.replace(fingerprint, last, now);
+    }
+
+    public void add(SlowQuery slowQuery) {
+        long index = sequence.getAndIncrement();
+        buffer.set((int) (index % buffer.length()), slowQuery);
+    }
+
+    /**
+     * @return recorded slow queries, oldest first
+     */
+    public List<SlowQuery> getSlowQueries() {
+        long end = sequence.get();
+        long start = Math.max(0, end - buffer.length());
+        List<SlowQuery> slowQueries = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            SlowQuery slowQuery = buffer.get((int) (i % buffer.length()));
+            if (slowQuery != null) {
+                slowQueries.add(slowQuery);
+            }
+        }
+        return slowQueries;
+    }
+
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+        explainedAt.clear();
+    }
+}
@@ -10,7 +10,11 @@ enum SortBy {
     avg((o1, o2) -> compareLongs(o2.getAvg(), o1.getAvg())),
     min((o1, o2) -> compareLongs(o2.getMin(), o1.getMin())),
     max ((o1, o2) -> compareLongs(o2.getMax(), o1.getMax())),
-    count((o1, o2) -> compareLongs(o2.getCount(), o1.getCount()));
+    count((o1, o2) -> compareLongs(o2.getCount(), o1.getCount())),
+    p50((o1, o2) -> compareLongs(o2.getP50Nanos(), o1.getP50Nanos())),
+    p95((o1, o2) -> compareLongs(o2.getP95Nanos(), o1.getP95Nanos())),
+    p99((o1, o2) -> compareLongs(o2.getP99Nanos(), o1.getP99Nanos())),
+    p999((o1, o2) -> compareLongs(o2.getP999Nanos(), o1.getP999Nanos()));
 
     private static int compareLongs(long v2, long v1) {
         return v2 > v1 ? 1 : (v2 == v1 ? 0 : -1);
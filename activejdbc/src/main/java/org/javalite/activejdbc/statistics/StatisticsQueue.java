@@ -17,51 +17,46 @@ limitations under the License.
 
 package org.javalite.activejdbc.statistics;
 
-import org.javalite.activejdbc.logging.LogFilter;
-import org.javalite.activejdbc.logging.LogLevel;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * This class will collect statistics on executed queries and then can produce reports sorted by
- * various parameters. Configuration is simple, add this line:
- * <pre>
- *     collectStatistics=true
- * </pre>
- * to the file<code>activejdbc.properties</code> on the command line.
- * <p></p>
- * After that, simply collect reports like this:
- * <pre>
- *     List<QueryStats>  totals = Registry.getStatisticsQueue().getReportSortedBy("total") {
- * </pre>
- *
+ * Collects execution statistics of queries, grouped by normalized text of query. Executions are recorded right away
+ * on the calling thread into {@link QueryStats}, without locking, so that recording keeps up with any number of
+ * threads executing queries. Recording an execution of a known query does not allocate; the first execution of
+ * a query allocates its statistics.
+ * <p>
+ * Statistics of at most 1000 queries are kept. When a new query comes in and the limit is reached, statistics of
+ * the 10% of queries executed the least number of times are dropped at once. Queries first recorded after the
+ * previous eviction are dropped only if there are not enough older ones, so that new queries get a chance to
+ * collect executions before competing with queries that have been recorded for longer.
  *
  * @author Igor Polevoy
  */
 public class StatisticsQueue {
 
-    private final ExecutorService worker;
+    private static final int MAX_FINGERPRINTS = 10000;
+    private static final int MAX_QUERIES = 1000;
+    private static final int EVICTION_BATCH = MAX_QUERIES / 10;
+    private static final Future<?> RECORDED = CompletableFuture.completedFuture(null);
+
     private final ConcurrentMap<String, QueryStats> statsByQuery = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> fingerprints = new ConcurrentHashMap<>();
 
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private volatile long evictions;
     private volatile boolean paused;
-
-    private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsQueue.class);
+    private volatile boolean stopped;
 
     public StatisticsQueue(boolean paused) {
         this.paused = paused;
-        worker = Executors.newFixedThreadPool(1, new ThreadFactory() {
-            @Override public Thread newThread(Runnable runnable) {
-                Thread res = new Thread(runnable);
-                res.setDaemon(true);
-                res.setName("Statistics queue thread");
-                return res;
-            }
-        });
     }
 
     public boolean isPaused() {
@@ -72,10 +67,7 @@ public class StatisticsQueue {
      * Shutdowns StatisticsQueue completely, new StatisticsQueue should be created to start gathering statistics again
      */
     public void stop() {
-        int notProcessed = worker.shutdownNow().size();
-        if (notProcessed != 0) {
-            LogFilter.log(LOGGER, LogLevel.INFO, "Worker exiting, {} execution events remaining, time: {}", notProcessed, System.currentTimeMillis());
-        }
+        stopped = true;
     }
 
     public void pause(boolean val) {
@@ -83,27 +75,93 @@ public class StatisticsQueue {
     }
 
     /**
-     * Enqueues a query execution event for processing.
+     * Records a query execution event.
      *
      * @param event instance of event.
-     * @return instance of Future associated with processing of event. You can examine that object
-     * to see if this event was processed.  In case the queue is paused, an event is not processed,
-     * and return value is <code>null</code>.
+     * @return completed Future, kept for compatibility, since events are recorded right away. In case the queue is
+     * paused, an event is not recorded, and return value is <code>null</code>.
      */
     public Future enqueue(final QueryExecutionEvent event) {
-        if (!paused) {
-            return worker.submit(new Runnable() {
-                @Override public void run() {
-                    QueryStats queryStats = statsByQuery.get(event.getQuery());
-                    if (queryStats == null) {
-                        statsByQuery.put(event.getQuery(), queryStats = new QueryStats(event.getQuery()));
-                    }
-                    queryStats.addQueryTime(event.getTime());
-                }
-            });
-        }else{
+        if (paused || stopped) {
             return null;
         }
+        stats(event.getQuery()).addQueryTime(event.getTime());
+        return RECORDED;
+    }
+
+    /**
+     * Records an execution of a query, unless this queue is paused.
+     *
+     * @param query text of query, is normalized before recording, see {@link QueryExecutionEvent#normalize(String)}
+     * @param nanos time in nanoseconds it took to execute the query
+     */
+    public void record(String query, long nanos) {
+        if (paused || stopped) {
+            return;
+        }
+        String fingerprint = fingerprints.get(query);
+        if (fingerprint == null) {
+            if (fingerprints.size() >= MAX_FINGERPRINTS) {
+                fingerprints.clear();
+            }
+            fingerprint = QueryExecutionEvent.normalize(query);
+            fingerprints.put(query, fingerprint);
+        }
+        stats(fingerprint).addQueryNanos(nanos);
+    }
+
+    private QueryStats stats(String query) {
+        QueryStats queryStats = statsByQuery.get(query);
+        if (queryStats != null) {
+            return queryStats;
+        }
+        if (statsByQuery.size() >= MAX_QUERIES) {
+            evictLeastExecuted();
+        }
+        long generation = evictions;
+        return statsByQuery.computeIfAbsent(query, q -> new QueryStats(q, generation));
+    }
+
+    /**
+     * Makes room for new queries by dropping statistics of queries executed the least number of times, preferring
+     * queries recorded before the previous eviction. Only one thread evicts at a time, others do not wait for it.
+     */
+    private void evictLeastExecuted() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (statsByQuery.size() < MAX_QUERIES) {
+                return;
+            }
+            long current = evictions;
+            // counts change while sorting, so they are read once
+            List<Candidate> candidates = new ArrayList<>(statsByQuery.size());
+            for (QueryStats stats : statsByQuery.values()) {
+                candidates.add(new Candidate(stats.getQuery(), stats.generation == current, stats.getCount()));
+            }
+            candidates.sort(Comparator.comparing((Candidate candidate) -> candidate.recent)
+                    .thenComparingLong(candidate -> candidate.count));
+            int evict = Math.min(candidates.size(), statsByQuery.size() - MAX_QUERIES + EVICTION_BATCH);
+            for (int i = 0; i < evict; i++) {
+                statsByQuery.remove(candidates.get(i).query);
+            }
+            evictions = current + 1;
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Candidate {
+        private final String query;
+        private final boolean recent;
+        private final long count;
+
+        private Candidate(String query, boolean recent, long count) {
+            this.query = query;
+            this.recent = recent;
+            this.count = count;
+        }
     }
 
     public void reset() {
@@ -113,10 +171,25 @@ public class StatisticsQueue {
     /**
      * Produces a report sorted by one of the accepted value.
      *
-     * @param sortByVal - allowed values: "total", "avg", "min", "max", "count"
+     * @param sortByVal - allowed values: "total", "avg", "min", "max", "count", "p50", "p95", "p99", "p999"
      * @return  sorted list of query stats
      */
     public List<QueryStats> getReportSortedBy(String sortByVal) {
+        return report(sortByVal, false);
+    }
+
+    /**
+     * Produces a report of queries executed since the previous interval report, or since the start, and starts
+     * a new interval. Useful to export statistics periodically.
+     *
+     * @param sortByVal - allowed values: "total", "avg", "min", "max", "count", "p50", "p95", "p99", "p999"
+     * @return sorted list of query stats of queries executed in this interval
+     */
+    public List<QueryStats> getIntervalReportSortedBy(String sortByVal) {
+        return report(sortByVal, true);
+    }
+
+    private List<QueryStats> report(String sortByVal, boolean reset) {
         SortBy sortBy;
         try {
             sortBy = SortBy.valueOf(sortByVal);
@@ -124,8 +197,14 @@ public class StatisticsQueue {
             throw new IllegalArgumentException("allowed values are: " + Arrays.toString(SortBy.values()));
         }
 
-        List<QueryStats> res = new ArrayList<>(statsByQuery.values());
-        Collections.sort(res, sortBy.getComparator());
+        List<QueryStats> res = new ArrayList<>(statsByQuery.size());
+        for (QueryStats queryStats : statsByQuery.values()) {
+            QueryStats snapshot = queryStats.snapshot(reset);
+            if (snapshot.getCount() > 0) {
+                res.add(snapshot);
+            }
+        }
+        res.sort(sortBy.getComparator());
         return res;
     }
 }
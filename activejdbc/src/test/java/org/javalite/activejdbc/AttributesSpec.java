@@ -0,0 +1,137 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Person;
+import org.javalite.common.CaseInsensitiveMap;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author agent
+ */
+public class AttributesSpec extends ActiveJDBCTest {
+
+    private static AttributeLayout layout(String... names) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        for (String name : names) {
+            columns.put(name, Boolean.TRUE);
+        }
+        return new AttributeLayout(columns);
+    }
+
+    @Test
+    public void shouldBehaveAsCaseInsensitiveMap() {
+        Attributes attributes = new Attributes(layout("NAME", "ID", "LAST_NAME"));
+        Map<String, Object> expected = new CaseInsensitiveMap<>();
+        for (Map<String, Object> map : Arrays.<Map<String, Object>>asList(attributes, expected)) {
+            map.put("name", "John");
+            map.put("Last_Name", "Doe");
+            map.put("ID", 1);
+            map.put("NAME", "Jim");
+            map.put("\"quoted\"", "x");
+        }
+        the(attributes).shouldBeEqual(expected);
+        the(attributes.toString()).shouldBeEqual(expected.toString());
+        the(new ArrayList<>(attributes.keySet())).shouldBeEqual(new ArrayList<>(expected.keySet()));
+        the(attributes.get("nAmE")).shouldBeEqual("Jim");
+        the(attributes.size()).shouldBeEqual(4);
+
+        attributes.put("last_name", null);
+        the(attributes.containsKey("last_name")).shouldBeTrue();
+        attributes.remove("LAST_NAME");
+        the(attributes.containsKey("last_name")).shouldBeFalse();
+        the(attributes.size()).shouldBeEqual(3);
+
+        Iterator<String> names = attributes.keySet().iterator();
+        the(names.next()).shouldBeEqual("\"quoted\""); // not a column
+        names.remove();
+        the(names.next()).shouldBeEqual("ID");
+        names.remove();
+        the(attributes.keySet().iterator().next()).shouldBeEqual("name");
+
+        attributes.clear();
+        the(attributes.isEmpty()).shouldBeTrue();
+    }
+
+    @Test
+    public void shouldTrackDirtyNamesInBitSet() {
+        String[] names = new String[100];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "COLUMN_" + i;
+        }
+        Attributes attributes = new Attributes(layout(names));
+        Set<String> dirty = attributes.dirtyNames();
+        the(dirty.isEmpty()).shouldBeTrue();
+        the(dirty.add("column_1")).shouldBeTrue();
+        the(dirty.add("COLUMN_1")).shouldBeFalse();
+        dirty.add("column_99");
+        dirty.add("other");
+        the(dirty.size()).shouldBeEqual(3);
+        the(dirty.contains("Column_99")).shouldBeTrue();
+        the(dirty.contains("column_98")).shouldBeFalse();
+        dirty.remove("column_1");
+        the(new ArrayList<>(dirty)).shouldBeEqual(Arrays.asList("COLUMN_99", "other"));
+        dirty.clear();
+        the(dirty.isEmpty()).shouldBeTrue();
+    }
+
+    @Test
+    public void shouldKeepValuesOfModelInSlots() throws IOException, ClassNotFoundException {
+        Person person = new Person();
+        person.set("name", "John", "last_name", "Doe");
+        the(person.getAttributes().get("NAME")).shouldBeEqual("John");
+        the(person.dirtyAttributeNames().size()).shouldBeEqual(2);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(person);
+        }
+        Person copy = (Person) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        the(copy.getString("last_name")).shouldBeEqual("Doe");
+        the(copy.isModified()).shouldBeTrue();
+    }
+
+    @Test
+    public void shouldReadSlotsForGeneratedAccessors() {
+        Person person = new Person();
+        person.set("name", "John", "dob", "2000-01-01");
+        AttributeLayout layout = Person.getMetaModel().getAttributeLayout();
+        String name = layout.name(layout.slot("name"));
+        String dob = layout.name(layout.slot("dob"));
+
+        // accessors pass string constants, equal to interned names of metadata
+        the(person.valueInSlot(layout.slot("name"), name.intern())).shouldBeEqual("John");
+        the(person.valueInSlot(layout.slot("name"), new String(name))).shouldBeNull();
+        the(person.valueInSlot(layout.slot("last_name"), name.intern())).shouldBeNull();
+        the(person.valueInSlot(layout.size(), name.intern())).shouldBeNull();
+        // dob has a converter
+        the(person.valueInSlot(layout.slot("dob"), dob.intern())).shouldBeNull();
+    }
+}
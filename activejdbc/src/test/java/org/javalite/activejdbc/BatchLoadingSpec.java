@@ -0,0 +1,91 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.cache.CacheEvent;
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Address;
+import org.javalite.activejdbc.test_models.Book;
+import org.javalite.activejdbc.test_models.Course;
+import org.javalite.activejdbc.test_models.Reader;
+import org.javalite.activejdbc.test_models.Student;
+import org.javalite.activejdbc.test_models.User;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * @author agent
+ */
+public class BatchLoadingSpec extends ActiveJDBCTest {
+
+    @Test
+    public void shouldLoadParentsOfAllModelsAtOnce() {
+        deleteAndPopulateTables("users", "addresses");
+        List<Address> addresses = Address.findAll().orderBy("id").batchLoading();
+        the(addresses.get(0).parent(User.class)).shouldNotBeNull();
+
+        //parents of other addresses were loaded by the first call, not cached by queries
+        Base.exec("DELETE FROM users");
+        Registry.cacheManager().flush(CacheEvent.ALL);
+        for (Address address : addresses) {
+            the(address.parent(User.class)).shouldNotBeNull();
+        }
+    }
+
+    @Test
+    public void shouldLoadChildrenOfAllModelsAtOnce() {
+        deleteAndPopulateTables("books", "readers");
+        List<Book> books = Book.findAll().orderBy("id").batchLoading();
+        the(books.get(0).getAll(Reader.class).size()).shouldBeEqual(2);
+
+        Base.exec("DELETE FROM readers");
+        the(books.get(1).getAll(Reader.class).size()).shouldBeEqual(1);
+    }
+
+    @Test
+    public void shouldLoadManyToManyOfAllModelsAtOnce() {
+        deleteAndPopulateTables("students", "courses", "registrations");
+        List<Student> students = Student.findAll().orderBy("id").batchLoading();
+        the(students.get(0).getAll(Course.class).size()).shouldBeEqual(2);
+
+        Base.exec("DELETE FROM registrations");
+        the(students.get(1).getAll(Course.class).size()).shouldBeEqual(1);
+    }
+
+    @Test
+    public void shouldNotLoadInBatchesModelsSharedByCache() {
+        deleteAndPopulateTables("users", "addresses");
+        Registry.cacheManager().flush(CacheEvent.ALL);
+        List<User> users = User.findAll().orderBy("id").batchLoading();
+        the(users.get(0).getAll(Address.class).size()).shouldBeEqual(3);
+
+        Base.exec("DELETE FROM addresses");
+        Registry.cacheManager().flush(CacheEvent.ALL);
+        the(users.get(1).getAll(Address.class).size()).shouldBeEqual(0);
+    }
+
+    @Test
+    public void shouldNotLoadInBatchesUnlessAsked() {
+        deleteAndPopulateTables("users", "addresses");
+        List<Address> addresses = Address.findAll().orderBy("id");
+        the(addresses.get(0).parent(User.class)).shouldNotBeNull();
+
+        Base.exec("DELETE FROM users");
+        Registry.cacheManager().flush(CacheEvent.ALL);
+        the(addresses.get(1).parent(User.class)).shouldBeNull();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Account;
+import org.javalite.activejdbc.test_models.Item;
+import org.javalite.activejdbc.test_models.Person;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author agent
+ */
+public class BatchSaveSpec extends ActiveJDBCTest {
+
+    @Test
+    public void shouldInsertAllInBatchesAndSetIds() {
+        deleteFromTable("people");
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Person p = new Person();
+            p.set("name", "Name" + i, "last_name", "Last" + i);
+            if (i % 2 == 0) {
+                p.set("dob", getDate(1970, 1, 1 + i));
+            }
+            people.add(p);
+        }
+        the(Person.insertAll(people, 10)).shouldBeEqual(25);
+        the(Person.count()).shouldBeEqual(25);
+
+        for (Person p : people) {
+            the(p.getId()).shouldNotBeNull();
+            the(p.isModified()).shouldBeFalse();
+            the(p.get("created_at")).shouldNotBeNull();
+            Person fromDb = Person.findById(p.getId());
+            the(fromDb.get("name")).shouldBeEqual(p.get("name"));
+        }
+    }
+
+    @Test
+    public void shouldSaveNewAndExistingModelsAndSkipInvalid() {
+        deleteAndPopulateTables("people", "accounts");
+        List<Model> models = new ArrayList<>();
+        List<Person> people = Person.findAll().orderBy("id");
+        for (Person p : people) {
+            p.set("last_name", p.get("last_name") + "!");
+            models.add(p);
+        }
+        Person invalid = new Person();
+        invalid.set("name", "NoLastName");
+        models.add(invalid);
+        Person valid = new Person();
+        valid.set("name", "New", "last_name", "Person");
+        models.add(valid);
+        models.add(new Account().set("account", "456", "amount", 1.5));
+
+        the(Model.saveAll(models, 2)).shouldBeEqual(6);
+        the(invalid.errors().size()).shouldBeEqual(1);
+        the(invalid.getId()).shouldBeNull();
+        the(valid.getId()).shouldNotBeNull();
+        the(Person.count("last_name like ?", "%!")).shouldBeEqual(4);
+        the(Account.count()).shouldBeEqual(2);
+    }
+
+    @Test
+    public void shouldIncrementVersionsInBatchUpdate() {
+        deleteFromTable("items");
+        Item item1 = Item.createIt("item_number", 1, "item_description", "one");
+        Item item2 = Item.createIt("item_number", 2, "item_description", "two");
+        item1.set("item_description", "ONE");
+        item2.set("item_description", "TWO");
+        List<Item> items = new ArrayList<>();
+        items.add(item1);
+        items.add(item2);
+        the(Item.saveAll(items)).shouldBeEqual(2);
+        the(item1.getLong("lock_version")).shouldBeEqual(2);
+        the(Item.findById(item2.getId()).get("item_description")).shouldBeEqual("TWO");
+    }
+
+    @Test
+    public void shouldCompleteOtherModelsOfBatchWhenOneIsStale() {
+        deleteFromTable("items");
+        List<Item> items = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            items.add(Item.createIt("item_number", i, "item_description", "item" + i));
+        }
+        Base.exec("UPDATE items SET lock_version = 5 WHERE item_number = 1");
+        for (Item item : items) {
+            item.set("item_description", "changed");
+        }
+        Person person = new Person();
+        person.set("name", "After", "last_name", "Stale");
+        List<Model> models = new ArrayList<>(items);
+        models.add(person);
+
+        StaleModelException e = null;
+        try {
+            Model.saveAll(models, 2);
+        } catch (StaleModelException ex) {
+            e = ex;
+        }
+        the(e).shouldNotBeNull();
+        the(items.get(0).isModified()).shouldBeTrue();
+        the(items.get(1).isModified()).shouldBeFalse();
+        the(items.get(2).getLong("lock_version")).shouldBeEqual(2);
+        the(person.getId()).shouldNotBeNull();
+        the(Item.count("item_description = ?", "changed")).shouldBeEqual(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveBatchSize() {
+        Person.insertAll(new ArrayList<Person>(), 0);
+    }
+}
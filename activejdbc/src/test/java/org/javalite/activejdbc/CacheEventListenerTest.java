@@ -7,9 +7,11 @@ import org.javalite.activejdbc.test_models.Doctor;
 import org.javalite.activejdbc.test_models.Patient;
 import org.javalite.activejdbc.test_models.Person;
 import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,9 +24,17 @@ import static org.javalite.common.Convert.toSqlDate;
  */
 public class CacheEventListenerTest extends ActiveJDBCTest {
 
+    @Before
+    public void setup() throws SQLException {
+        // results read in a transaction are not cached
+        Base.connection().setAutoCommit(true);
+    }
+
     @After
-    public void tearDown(){
+    public void tearDown() throws SQLException {
         Registry.cacheManager().removeAllCacheEventListeners();
+        deleteFromTables("people", "doctors", "patients", "doctors_patients", "prescriptions", "patient_cards");
+        Base.connection().setAutoCommit(false);
     }
 
     @Test
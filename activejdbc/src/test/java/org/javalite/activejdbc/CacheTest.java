@@ -25,6 +25,7 @@ import org.javalite.activejdbc.test_models.*;
 import org.javalite.json.JSONHelper;
 import org.javalite.common.Util;
 import org.javalite.test.SystemStreamUtil;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -43,6 +44,8 @@ public class CacheTest extends ActiveJDBCTest {
 
     @Before
     public void setup() throws Exception {
+        // results read in a transaction are not cached
+        Base.connection().setAutoCommit(true);
         deleteAndPopulateTable("people");
         for (int i = 0; i < 100; i++) {
             Person p = new Person();
@@ -54,6 +57,19 @@ public class CacheTest extends ActiveJDBCTest {
     }
 
 
+    @After
+    public void tearDown() throws Exception {
+        deleteFromTables("people", "doctors", "patients", "doctors_patients", "libraries", "books", "accounts");
+        Base.connection().setAutoCommit(false);
+    }
+
+    @Test
+    public void shouldNotCacheInTransaction() throws Exception {
+        Base.connection().setAutoCommit(false);
+        Person p = Person.findFirst("name = ?", "name: 1");
+        a(p).shouldNotBeTheSameAs(Person.findFirst("name = ?", "name: 1"));
+    }
+
     /**
      * To see the cache in action, see console output for hits and misses.
      */
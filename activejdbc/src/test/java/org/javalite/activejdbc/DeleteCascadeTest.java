@@ -9,6 +9,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import javax.print.Doc;
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -220,4 +221,80 @@ public class DeleteCascadeTest extends ActiveJDBCTest{
         //sub-classification did not get deleted
         a(SubClassification.count()).shouldBeEqual(2);
     }
+
+    @Test
+    public void shouldDeleteOneToManyInBulk(){
+        deleteAndPopulateTables("users", "addresses", "rooms");
+        final List<Object> deletedAddresses = new ArrayList<>();
+        Address.callbackWith(new CallbackAdapter() {
+            @Override
+            public void afterDelete(Model m) {
+                deletedAddresses.add(m.getId());
+            }
+        });
+        try {
+            User u = User.findById(1);
+            u.deleteCascadeBulk();
+            a(u).shouldBe("frozen");
+        } finally {
+            Address.callbackWith();
+        }
+        a(User.count()).shouldBeEqual(2);
+        a(Address.count()).shouldBeEqual(4);
+        a(Address.where("user_id = ?", 1).size()).shouldBeEqual(0);
+        a(Room.count()).shouldBeEqual(2);
+        a(Room.count("address_id= ?", 1)).shouldBeEqual(0);
+        //only addresses have callbacks, so only they were loaded
+        a(deletedAddresses.size()).shouldBeEqual(3);
+    }
+
+    @Test
+    public void shouldDeletePolymorphicChildrenInBulk(){
+        deleteAndPopulateTables("vehicles", "mammals", "classifications");
+        Vehicle car = Vehicle.createIt("name", "car");
+        car.add(Classification.create("name", "four wheeled"));
+        Classification sedan = Classification.create("name", "sedan");
+        car.add(sedan);
+        sedan.add(SubClassification.create("name", "passenger"));
+        Vehicle bike = Vehicle.createIt("name", "bike");
+        bike.add(Classification.create("name", "two wheeled"));
+
+        car.deleteCascadeBulk();
+
+        a(Vehicle.count()).shouldBeEqual(1);
+        a(Classification.count()).shouldBeEqual(1);
+        a(SubClassification.count()).shouldBeEqual(0);
+    }
+
+    @Test
+    public void shouldDeleteMany2ManyInBulkWithoutComingBack() {
+        deleteAndPopulateTables("doctors", "patients", "doctors_patients", "prescriptions", "comments");
+        Registry.cacheManager().flush(CacheEvent.ALL);
+        Prescription.findById(1).add(Comment.create("author", "doctor", "content", "live live to the fullest"));
+        Prescription.findById(5).add(Comment.create("author", "doctor", "content", "make cancer go away!"));
+
+        Doctor.findById(1).deleteCascadeBulk();
+
+        //patients 1 and 2 are gone with their prescriptions, links and comments, doctor 2 stays
+        a(Doctor.count()).shouldBeEqual(3);
+        a(Patient.count()).shouldBeEqual(1);
+        a(DoctorsPatients.count()).shouldBeEqual(1);
+        a(Prescription.count()).shouldBeEqual(1);
+        a(Comment.count()).shouldBeEqual(1);
+    }
+
+    @Test
+    public void shouldDeleteMany2ManyInBulkSkippingAssociation() {
+        deleteAndPopulateTables("doctors", "patients", "doctors_patients", "prescriptions");
+        Registry.cacheManager().flush(CacheEvent.ALL);
+
+        Patient.findById(3).deleteCascadeBulk(
+                Doctor.getMetaModel().getAssociationForTarget(Prescription.class),
+                Patient.getMetaModel().getAssociationForTarget(Prescription.class)
+        );
+
+        a(Doctor.count()).shouldBeEqual(3);
+        a(Patient.count()).shouldBeEqual(2);
+        a(Prescription.count()).shouldBeEqual(5);
+    }
 }
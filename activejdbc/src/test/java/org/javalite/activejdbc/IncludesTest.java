@@ -20,6 +20,7 @@ import org.javalite.activejdbc.test.ActiveJDBCTest;
 import org.javalite.activejdbc.test_models.*;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -268,6 +269,62 @@ public class IncludesTest extends ActiveJDBCTest {
         // see log
     }
 
+    @Test
+    public void shouldIncludeNestedChildren() {
+        deleteAndPopulateTables("libraries", "books", "readers");
+        List<Library> libraries = Library.findAll().orderBy("id").includeNested(Book.class, Reader.class);
+
+        List<Book> books = libraries.get(0).getAll(Book.class);
+        the(books.size()).shouldBeEqual(2);
+        List<Reader> readers = books.get(0).getAll(Reader.class);
+        the(readers.size()).shouldBeEqual(2);
+        the(readers.get(0).get("last_name")).shouldBeEqual("Smith");
+        the(books.get(1).getAll(Reader.class).get(0).get("last_name")).shouldBeEqual("Polevoy");
+        the(libraries.get(1).getAll(Book.class).size()).shouldBeEqual(0);
+    }
+
+    @Test
+    public void shouldIncludeNestedParents() {
+        deleteAndPopulateTables("libraries", "books", "readers");
+        List<Reader> readers = Reader.findAll().orderBy("id").include(Book.class).includeNested(Book.class, Library.class);
+
+        the(readers.size()).shouldBeEqual(3);
+        Book book = readers.get(2).parent(Book.class);
+        the(book.get("title")).shouldBeEqual("12 Chairs");
+        the(book.parent(Library.class).get("address")).shouldBeEqual("124 Pine Street");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNestedClassWithNoAssociation() {
+        Library.findAll().includeNested(Book.class, Doctor.class);
+    }
+
+    @Test
+    public void shouldIncludeMoreParentsAndChildrenThanFitIntoSingleInList() {
+        deleteFromTable("addresses");
+        deleteFromTable("users");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(new Object[]{"First" + i, "Last" + i, "user" + i + "@example.com"});
+        }
+        Base.insertMany("users", new String[]{"first_name", "last_name", "email"}, rows);
+        rows.clear();
+        for (Object id : Base.firstColumn("SELECT id FROM users ORDER BY id")) {
+            rows.add(new Object[]{"1 Main St.", "Springfield", "IL", "62701", id});
+        }
+        Base.insertMany("addresses", new String[]{"address1", "city", "state", "zip", "user_id"}, rows);
+
+        List<User> users = User.where("email LIKE ?", "user%").orderBy("id").include(Address.class);
+        the(users.size()).shouldBeEqual(2500);
+        for (User user : users) {
+            the(user.getAll(Address.class).size()).shouldBeEqual(1);
+        }
+
+        List<Address> addresses = Address.findAll().orderBy("id").include(User.class);
+        the(addresses.size()).shouldBeEqual(2500);
+        the(addresses.get(2499).parent(User.class).get("email")).shouldBeEqual("user2499@example.com");
+    }
+
     @Test
     public void shouldIncludeParentAndChildren() {
         deleteAndPopulateTable("nodes");
@@ -0,0 +1,68 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.junit.Test;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author agent
+ */
+public class MetadataBulkSpec extends ActiveJDBCTest {
+
+    private static final String[] TABLES = {"people", "accounts", "items", "doctors", "libraries"};
+
+    @Test
+    public void shouldReadSameColumnsInBulkAndPerTable() throws SQLException {
+        DatabaseMetaData metaData = Base.connection().getMetaData();
+        String dbType = metaData.getDatabaseProductName();
+        Registry registry = Registry.instance();
+        Map<String, Map<String, ColumnMetadata>> all = registry.fetchAllMetaParams(metaData, dbType);
+        a(all).shouldNotBeNull();
+        for (String table : TABLES) {
+            shouldBeSame(registry.fetchMetaParams(metaData, dbType, all, table),
+                    registry.fetchMetaParams(metaData, dbType, table));
+        }
+    }
+
+    @Test
+    public void shouldReadTableMissingInBulkResultAlone() throws SQLException {
+        DatabaseMetaData metaData = Base.connection().getMetaData();
+        String dbType = metaData.getDatabaseProductName();
+        Registry registry = Registry.instance();
+        Map<String, Map<String, ColumnMetadata>> all = new HashMap<>(registry.fetchAllMetaParams(metaData, dbType));
+        all.keySet().removeIf(table -> table.equalsIgnoreCase("people"));
+
+        Map<String, ColumnMetadata> columns = registry.fetchMetaParams(metaData, dbType, all, "people");
+        the(columns.isEmpty()).shouldBeFalse();
+        shouldBeSame(columns, registry.fetchMetaParams(metaData, dbType, "people"));
+    }
+
+    private void shouldBeSame(Map<String, ColumnMetadata> columns, Map<String, ColumnMetadata> expected) {
+        the(columns.size()).shouldBeEqual(expected.size());
+        for (ColumnMetadata column : expected.values()) {
+            ColumnMetadata actual = columns.get(column.getColumnName());
+            a(actual).shouldNotBeNull();
+            the(actual.getTypeName()).shouldBeEqual(column.getTypeName());
+            the(actual.getColumnSize()).shouldBeEqual(column.getColumnSize());
+        }
+    }
+}
@@ -231,4 +231,60 @@ public class PaginatorSpec extends ActiveJDBCTest {
         the(paginator.getFrom()).shouldBeEqual(51);
         the(paginator.getTo()).shouldBeEqual(75);
     }
+
+    @Test
+    public void shouldWalkPagesWithKeyset() {
+        Paginator<Item> p = Paginator.<Item>instance().modelClass(Item.class).query("item_description like ?")
+                .params("%2%").orderBy("item_number desc").pageSize(10).keyset(true).create();
+        the(p.isKeyset()).shouldBeTrue();
+
+        List<Item> page = p.getPageAfter(null);
+        a(page.get(0).get("item_number")).shouldBeEqual(992);
+        int pages = 1, items = page.size();
+        String cursor = p.getNextCursor(page);
+        while (cursor != null) {
+            page = p.getPageAfter(cursor);
+            pages++;
+            items += page.size();
+            cursor = p.getNextCursor(page);
+        }
+        a(pages).shouldBeEqual(28);
+        a(items).shouldBeEqual(p.getCount().intValue());
+        a(page.get(page.size() - 1).get("item_number")).shouldBeEqual(2);
+    }
+
+    @Test
+    public void shouldSeekWithMixedOrderingLikeOffsetPagination() {
+        Paginator<Item> offset = new Paginator<Item>(Item.class, 25, "*").orderBy("item_description desc, item_number");
+        Paginator<Item> keyset = new Paginator<Item>(Item.class, 25, "*").orderBy("item_description desc, item_number").keyset();
+
+        LazyList<Item> page = keyset.getPageAfter(null);
+        for (int i = 1; i <= 5; i++) {
+            a(page.collect("id")).shouldBeEqual(offset.getPage(i).collect("id"));
+            page = keyset.getPageAfter(keyset.getNextCursor(page));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidCursor() {
+        new Paginator<Item>(Item.class, 10, "*").orderBy("item_number").keyset().getPageAfter("bm90IGEgY3Vyc29y");
+    }
+
+    @Test
+    public void shouldReuseCachedCount() {
+        Paginator<Item> p = new Paginator<Item>(Item.class, 10, "*").countCacheMillis(60000);
+        a(p.getCount()).shouldBeEqual(1000);
+        Item.createIt("item_number", 1001, "item_description", "this is item # 1001");
+        a(p.getCount()).shouldBeEqual(1000);
+        a(new Paginator<Item>(Item.class, 10, "*").getCount()).shouldBeEqual(1001);
+    }
+
+    @Test
+    public void shouldEstimateCountOfTable() {
+        Long estimate = new Paginator<Item>(Item.class, 10, "*").approximateCount(true).getCount();
+        the(estimate >= 0).shouldBeTrue();
+        // filtered counts are exact
+        a(new Paginator<Item>(Item.class, 10, "item_description like '%2%'").approximateCount(true).getCount())
+                .shouldBeEqual(271);
+    }
 }
@@ -0,0 +1,128 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.mock.MockDataSource;
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Book;
+import org.javalite.activejdbc.test_models.Library;
+import org.javalite.activejdbc.test_models.Reader;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.javalite.activejdbc.test.JdbcProperties.*;
+
+/**
+ * @author agent
+ */
+public class ParallelIncludesSpec extends ActiveJDBCTest {
+
+    private static class CountingDataSource extends MockDataSource {
+        private final AtomicInteger connections = new AtomicInteger();
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            return super.getConnection();
+        }
+    }
+
+    @Test
+    public void shouldLoadIncludesOnConnectionsFromDataSource() throws SQLException {
+        //parallel includes need committed data, so this test replaces transactional test connection for a while
+        Base.connection().rollback();
+        Base.close();
+        CountingDataSource dataSource = new CountingDataSource();
+        Base.open(dataSource);
+        try {
+            deleteAndPopulateTables("libraries", "books", "readers");
+            List<Book> books = Book.findAll().orderBy("id").include(Reader.class, Library.class).parallelIncludes();
+
+            the(books.size()).shouldBeEqual(2);
+            the(dataSource.connections.get()).shouldBeEqual(3); // this thread and one per include
+            the(books.get(0).parent(Library.class).get("address")).shouldBeEqual("124 Pine Street");
+            the(books.get(1).parent(Library.class).get("address")).shouldBeEqual("124 Pine Street");
+            the(books.get(0).getAll(Reader.class).size()).shouldBeEqual(2);
+            List<Reader> readers = books.get(1).getAll(Reader.class);
+            the(readers.size()).shouldBeEqual(1);
+            the(readers.get(0).get("last_name")).shouldBeEqual("Polevoy");
+            the(dataSource.connections.get()).shouldBeEqual(3);
+        } finally {
+            Base.exec("DELETE FROM readers");
+            Base.exec("DELETE FROM books");
+            Base.exec("DELETE FROM libraries");
+            Base.close();
+            Base.open(driver(), url(), user(), password());
+            Base.connection().setAutoCommit(false);
+        }
+    }
+
+    @Test
+    public void shouldKeepDataSourceWhenOtherThreadOpensConnectionByUrl() throws Exception {
+        Base.connection().rollback();
+        Base.close();
+        CountingDataSource dataSource = new CountingDataSource();
+        Base.open(dataSource);
+        try {
+            deleteAndPopulateTables("libraries", "books", "readers");
+            Thread other = new Thread(() -> {
+                Base.open(driver(), url(), user(), password());
+                Base.close();
+            });
+            other.start();
+            other.join();
+            List<Book> books = Book.findAll().orderBy("id").include(Reader.class, Library.class).parallelIncludes();
+
+            the(books.get(0).getAll(Reader.class).size()).shouldBeEqual(2);
+            the(dataSource.connections.get()).shouldBeEqual(3);
+        } finally {
+            Base.exec("DELETE FROM readers");
+            Base.exec("DELETE FROM books");
+            Base.exec("DELETE FROM libraries");
+            Base.close();
+            Base.open(driver(), url(), user(), password());
+            Base.connection().setAutoCommit(false);
+        }
+    }
+
+    @Test
+    public void shouldLoadIncludesSequentiallyInTransaction() throws SQLException {
+        Base.connection().rollback();
+        Base.close();
+        CountingDataSource dataSource = new CountingDataSource();
+        Base.open(dataSource);
+        Base.openTransaction();
+        try {
+            deleteAndPopulateTables("libraries", "books", "readers");
+            List<Book> books = Book.findAll().orderBy("id").include(Reader.class, Library.class).parallelIncludes();
+
+            //uncommitted models are visible, because includes are loaded on connection of transaction
+            the(books.size()).shouldBeEqual(2);
+            the(books.get(0).getAll(Reader.class).size()).shouldBeEqual(2);
+            the(books.get(0).parent(Library.class).get("address")).shouldBeEqual("124 Pine Street");
+            the(dataSource.connections.get()).shouldBeEqual(1);
+        } finally {
+            Base.rollbackTransaction();
+            Base.close();
+            Base.open(driver(), url(), user(), password());
+            Base.connection().setAutoCommit(false);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.cache.CacheEvent;
+import org.javalite.activejdbc.statistics.QueryBudget;
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.User;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * @author agent
+ */
+public class QueryBudgetSpec extends ActiveJDBCTest {
+
+    @Test
+    public void shouldNotRecordQueriesOutsideOfScope() {
+        a(QueryBudget.current()).shouldBeNull();
+        Base.findAll("SELECT * FROM people");
+        a(QueryBudget.current()).shouldBeNull();
+    }
+
+    @Test
+    public void shouldCountQueriesOfNestedScopes() {
+        try (QueryBudget outer = QueryBudget.open("outer")) {
+            Base.findAll("SELECT * FROM people");
+            try (QueryBudget inner = QueryBudget.open("inner")) {
+                the(QueryBudget.current()).shouldBeEqual(inner);
+                Base.count("people");
+                Base.count("people");
+                the(inner.getQueries()).shouldBeEqual(2);
+            }
+            the(QueryBudget.current()).shouldBeEqual(outer);
+            the(outer.getQueries()).shouldBeEqual(3);
+            the(outer.isExceeded()).shouldBeFalse();
+        }
+        a(QueryBudget.current()).shouldBeNull();
+    }
+
+    @Test
+    public void shouldCountCacheHitsSeparately() throws SQLException {
+        Registry.cacheManager().flush(CacheEvent.ALL);
+        // results read in a transaction are not cached
+        Base.connection().setAutoCommit(true);
+        try (QueryBudget budget = QueryBudget.open("cache")) {
+            User.findAll().size();
+            User.findAll().size();
+            the(budget.getQueries()).shouldBeEqual(1);
+            the(budget.getCacheHits()).shouldBeEqual(1);
+        } finally {
+            Base.connection().setAutoCommit(false);
+        }
+    }
+
+    @Test
+    public void shouldDetectRepeatedQueriesWithLocation() {
+        try (QueryBudget budget = QueryBudget.open("n+1").maxRepeats(3)) {
+            for (int i = 1; i <= 4; i++) {
+                Base.findAll("SELECT * FROM people WHERE id = ?", i);
+            }
+            Base.findAll("SELECT * FROM people WHERE id = 5");
+            List<QueryBudget.RepeatedQuery> repeated = budget.getRepeatedQueries();
+            the(repeated.size()).shouldBeEqual(1);
+            the(repeated.get(0).getCount()).shouldBeEqual(5);
+            the(repeated.get(0).getLocation()).shouldContain("QueryBudgetSpec.shouldDetectRepeatedQueriesWithLocation");
+            the(budget.isExceeded()).shouldBeTrue();
+            the(budget.toJSON()).shouldContain("\"repeated_queries\":[{\"sql\":");
+        }
+    }
+
+    @Test
+    public void shouldFailStrictBudget() {
+        try (QueryBudget budget = QueryBudget.open("strict").maxQueries(2).strict()) {
+            Base.count("people");
+            Base.count("people");
+            try {
+                Base.count("users");
+                throw new AssertionError("budget must be exceeded");
+            } catch (QueryBudgetExceededException e) {
+                the(e.getMessage()).shouldContain("strict: executed 3 queries, budget is 2");
+            }
+            the(budget.getQueries()).shouldBeEqual(3);
+        }
+    }
+}
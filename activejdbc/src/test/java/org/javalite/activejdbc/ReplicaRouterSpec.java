@@ -0,0 +1,140 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.connection_config.ConnectionJdbcConfig;
+import org.javalite.activejdbc.connection_config.ConnectionPool;
+import org.javalite.activejdbc.connection_config.ReplicaConfig;
+import org.javalite.test.jspec.JSpecSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class ReplicaRouterSpec implements JSpecSupport {
+
+    private static final String DB_NAME = "replica_spec";
+    private static final String PRIMARY_URL = "jdbc:h2:mem:replica_spec_primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica_spec_replica;DB_CLOSE_DELAY=-1";
+
+    private DB db;
+    private ReplicaConfig replicaConfig;
+
+    @Before
+    public void before() {
+        replicaConfig = new ReplicaConfig()
+                .addReplica(new ConnectionJdbcConfig("org.h2.Driver", REPLICA_URL, "sa", ""));
+        ConnectionJdbcConfig config = new ConnectionJdbcConfig("org.h2.Driver", PRIMARY_URL, "sa", "");
+        config.setReplicaConfig(replicaConfig);
+
+        DB replica = new DB("replica_spec_setup").open("org.h2.Driver", REPLICA_URL, "sa", "");
+        replica.exec("CREATE TABLE IF NOT EXISTS origin (name VARCHAR(20))");
+        replica.exec("DELETE FROM origin");
+        replica.exec("INSERT INTO origin VALUES ('replica')");
+        replica.close();
+
+        db = new DB(DB_NAME).open(config);
+        db.exec("CREATE TABLE IF NOT EXISTS origin (name VARCHAR(20))");
+        db.exec("DELETE FROM origin");
+        db.exec("INSERT INTO origin VALUES ('primary')");
+    }
+
+    @After
+    public void after() {
+        db.close();
+        ReplicaRouter.remove(DB_NAME);
+        ConnectionPool.closePools();
+    }
+
+    @Test
+    public void shouldReadFromReplicaOutsideOfTransaction() {
+        the(db.firstCell("SELECT name FROM origin")).shouldBeEqual("replica");
+        the(db.findAll("SELECT name FROM origin").get(0).get("NAME")).shouldBeEqual("replica");
+        the(db.firstColumn("SELECT name FROM origin").get(0)).shouldBeEqual("replica");
+        the(ReplicaRouter.of(DB_NAME).getReads(0)).shouldBeEqual(3L);
+        the(ReplicaRouter.of(DB_NAME).getLatencyNanos(0) > 0).shouldBeTrue();
+    }
+
+    @Test
+    public void shouldKeepReplicaOfThreadUntilClose() {
+        replicaConfig.addReplica(new ConnectionJdbcConfig("org.h2.Driver", REPLICA_URL, "sa", ""));
+        ReplicaRouter.configure(DB_NAME, replicaConfig);
+        ReplicaRouter router = ReplicaRouter.of(DB_NAME);
+        db.firstCell("SELECT name FROM origin");
+        db.findAll("SELECT name FROM origin");
+        db.firstColumn("SELECT name FROM origin");
+        the(router.getReads(0) + router.getReads(1)).shouldBeEqual(3L);
+        the(router.getReads(0) == 0 || router.getReads(1) == 0).shouldBeTrue();
+    }
+
+    @Test
+    public void shouldReadFromPrimaryWhenAsked() {
+        the(db.onPrimary(() -> db.firstCell("SELECT name FROM origin"))).shouldBeEqual("primary");
+        the(ReplicaRouter.of(DB_NAME).getReads(0)).shouldBeEqual(0L);
+        the(db.firstCell("SELECT name FROM origin")).shouldBeEqual("replica");
+    }
+
+    @Test
+    public void shouldNotRegisterRouterIfConnectionFailed() {
+        ConnectionJdbcConfig config = new ConnectionJdbcConfig("org.h2.Driver", "jdbc:h2:tcp://localhost:1/none", "sa", "");
+        config.setReplicaConfig(replicaConfig);
+        try {
+            new DB("replica_spec_failed").open(config);
+            throw new AssertionError("expected a failure");
+        } catch (InitException e) {
+            a(ReplicaRouter.of("replica_spec_failed")).shouldBeNull();
+        }
+    }
+
+    @Test
+    public void shouldRestorePrimaryConnectionAfterRead() {
+        java.sql.Connection primary = db.connection();
+        db.firstCell("SELECT name FROM origin");
+        the(db.connection()).shouldBeTheSameAs(primary);
+    }
+
+    @Test
+    public void shouldReadFromPrimaryInTransaction() {
+        db.openTransaction();
+        try {
+            the(db.firstCell("SELECT name FROM origin")).shouldBeEqual("primary");
+        } finally {
+            db.rollbackTransaction();
+        }
+        the(ReplicaRouter.of(DB_NAME).getReads(0)).shouldBeEqual(0L);
+    }
+
+    @Test
+    public void shouldReadYourWritesFromPrimary() {
+        replicaConfig.setReadYourWritesMillis(60000);
+        db.exec("UPDATE origin SET name = ?", "primary");
+        the(db.firstCell("SELECT name FROM origin")).shouldBeEqual("primary");
+
+        replicaConfig.setReadYourWritesMillis(0);
+        the(db.firstCell("SELECT name FROM origin")).shouldBeEqual("replica");
+    }
+
+    @Test
+    public void shouldFallBackToPrimaryIfReplicaFails() {
+        ReplicaRouter.configure(DB_NAME, new ReplicaConfig()
+                .addReplica(new ConnectionJdbcConfig("org.h2.Driver", "jdbc:h2:nowhere:bad", "sa", "")));
+        the(db.firstCell("SELECT name FROM origin")).shouldBeEqual("primary");
+        the(ReplicaRouter.of(DB_NAME).getFailures(0)).shouldBeEqual(1L);
+    }
+}
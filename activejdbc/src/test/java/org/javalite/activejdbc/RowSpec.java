@@ -0,0 +1,95 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Person;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author agent
+ */
+public class RowSpec extends ActiveJDBCTest {
+
+    private static Row row(String[] labels, Object... columnValues) {
+        RowLayout layout = RowLayout.of(labels);
+        Object[] values = new Object[layout.size()];
+        for (int i = 0; i < columnValues.length; i++) {
+            values[layout.slotOfColumn(i)] = columnValues[i];
+        }
+        return new Row(layout, values);
+    }
+
+    @Test
+    public void shouldLookUpValuesCaseInsensitively() {
+        Row row = row(new String[]{"ID", "Name", "last_name"}, 1, "John", "Smith");
+
+        the(row.get("id")).shouldBeEqual(1);
+        the(row.get("NAME")).shouldBeEqual("John");
+        the(row.get("Last_Name")).shouldBeEqual("Smith");
+        a(row.get("dob")).shouldBeNull();
+        the(row.containsKey("name")).shouldBeTrue();
+        the(row.containsKey("dob")).shouldBeFalse();
+    }
+
+    @Test
+    public void shouldIterateInCaseInsensitiveOrder() {
+        RowLayout layout = RowLayout.of(new String[]{"name", "ID", "last_name"});
+        Row row = new Row(layout, new Object[layout.size()]);
+        the(new ArrayList<>(row.keySet()).toString()).shouldBeEqual("[ID, last_name, name]");
+    }
+
+    @Test
+    public void shouldKeepLastValueOfDuplicateLabels() {
+        RowLayout layout = RowLayout.of(new String[]{"id", "name", "ID"});
+        the(layout.size()).shouldBeEqual(2);
+        the(layout.slotOfColumn(0)).shouldBeEqual(layout.slotOfColumn(2));
+        the(layout.key(layout.slot("Id"))).shouldBeEqual("id");
+    }
+
+    @Test
+    public void shouldInflateWhenKeysAreAdded() {
+        Row row = row(new String[]{"id", "name"}, 1, "John");
+        row.put("NAME", "Jack");
+        the(row.compact()).shouldBeTrue();
+        the(row.get("name")).shouldBeEqual("Jack");
+
+        row.put("last_name", "Smith");
+        the(row.compact()).shouldBeFalse();
+        the(row.size()).shouldBeEqual(3);
+        the(row.get("NAME")).shouldBeEqual("Jack");
+        row.remove("id");
+        the(row.size()).shouldBeEqual(2);
+    }
+
+    @Test
+    public void shouldReturnRowsFromFindAllAndHydrateModels() {
+        deleteAndPopulateTable("people");
+        List<Map<String, Object>> rows = Base.findAll("select * from people order by id");
+        the(rows.size()).shouldBeEqual(4);
+        the(rows.get(0) instanceof Row).shouldBeTrue();
+        the(rows.get(0).get("NAME")).shouldBeEqual("John");
+
+        Person p = Person.findFirst("name = ?", "John");
+        the(p.get("last_name")).shouldBeEqual("Smith");
+        the(p.isModified()).shouldBeFalse();
+        the(p.toMap().get("name")).shouldBeEqual(rows.get(0).get("name"));
+    }
+}
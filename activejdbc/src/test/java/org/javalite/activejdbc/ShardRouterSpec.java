@@ -0,0 +1,152 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.ShardRouter.Shard;
+import org.javalite.activejdbc.mock.MockDataSource;
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Temperature;
+import org.javalite.common.Convert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.javalite.activejdbc.test.JdbcProperties.*;
+
+/**
+ * @author agent
+ */
+public class ShardRouterSpec extends ActiveJDBCTest {
+
+    private static final Shard BASE = new Shard("temperatures");
+    private static final Shard SHARD1 = new Shard("shard1_temperatures");
+    private static final Shard SHARD2 = new Shard("shard2_temperatures");
+
+    private ShardRouter<Temperature> router;
+
+    @Before
+    public void setup() {
+        router = new ShardRouter<>(Temperature.class, "temp", ShardRouterSpec::shardOf, BASE, SHARD1, SHARD2);
+    }
+
+    @After
+    public void cleanup() {
+        Temperature.metaModel().clearShardTableName();
+    }
+
+    private static Shard shardOf(Object temp) {
+        int t = Convert.toInteger(temp);
+        return t < 30 ? BASE : t < 60 ? SHARD1 : SHARD2;
+    }
+
+    private void populate() {
+        for (int temp = 10; temp <= 90; temp += 10) {
+            router.saveIt(Temperature.create("temp", temp));
+        }
+    }
+
+    @Test
+    public void shouldSaveIntoShardOfKey() {
+        populate();
+        the(Base.count("temperatures")).shouldBeEqual(2);
+        the(Base.count("shard1_temperatures")).shouldBeEqual(3);
+        the(Base.count("shard2_temperatures")).shouldBeEqual(4);
+        the(Temperature.metaModel().getTableName()).shouldBeEqual("temperatures");
+    }
+
+    @Test
+    public void shouldFindInShardOfKey() {
+        populate();
+        Object id = Base.firstCell("SELECT id FROM shard1_temperatures WHERE temp = 40");
+        Temperature temperature = router.findById(40, id);
+        the(temperature.get("temp")).shouldBeEqual(40);
+        the(router.findFirst(70, "temp = ?", 70).get("temp")).shouldBeEqual(70);
+        the(router.whereKey(70, "temp > ?", 0).size()).shouldBeEqual(4);
+
+        router.delete(temperature);
+        the(Base.count("shard1_temperatures")).shouldBeEqual(2);
+    }
+
+    @Test
+    public void shouldMergeOrderedResultsOfAllShards() {
+        populate();
+        List<Temperature> temperatures = router.where("temp > ?", 15).orderBy("temp desc").load();
+        the(temperatures.size()).shouldBeEqual(8);
+        for (int i = 0; i < temperatures.size(); i++) {
+            the(temperatures.get(i).get("temp")).shouldBeEqual(90 - i * 10);
+        }
+
+        temperatures = router.findAll().orderBy("temp").offset(2).limit(3).load();
+        the(temperatures.size()).shouldBeEqual(3);
+        the(temperatures.get(0).get("temp")).shouldBeEqual(30);
+        the(temperatures.get(2).get("temp")).shouldBeEqual(50);
+
+        the(router.findAll().load().size()).shouldBeEqual(9);
+    }
+
+    @Test(expected = DBException.class)
+    public void shouldRejectNullsInOrderOfMergedResults() {
+        populate();
+        Base.exec("INSERT INTO shard1_temperatures (temp) VALUES (NULL)");
+        router.findAll().orderBy("temp").load();
+    }
+
+    @Test
+    public void shouldSumCountsOfAllShards() {
+        populate();
+        the(router.count()).shouldBeEqual(9L);
+        the(router.count("temp >= ?", 50)).shouldBeEqual(5L);
+    }
+
+    @Test
+    public void shouldQueryShardInOtherDatabase() {
+        DB other = new DB("shard_db").open(driver(), url(), user(), password());
+        other.openTransaction();
+        try {
+            other.exec("INSERT INTO shard2_temperatures (temp) VALUES (100)");
+            ShardRouter<Temperature> router = new ShardRouter<>(Temperature.class, "temp", temp -> null,
+                    new Shard("shard_db", "shard2_temperatures"));
+            the(router.count()).shouldBeEqual(1L);
+            the(Base.count("shard2_temperatures")).shouldBeEqual(0L); // not committed by the other connection
+        } finally {
+            other.rollbackTransaction();
+            other.close();
+        }
+    }
+
+    @Test
+    public void shouldQueryShardsOnConnectionsFromDataSource() throws SQLException {
+        Base.connection().rollback();
+        Base.close();
+        Base.open(new MockDataSource());
+        try {
+            populate();
+            the(router.count()).shouldBeEqual(9L);
+            the(router.findAll().orderBy("temp").limit(2).load().get(1).get("temp")).shouldBeEqual(20);
+        } finally {
+            Base.exec("DELETE FROM temperatures");
+            Base.exec("DELETE FROM shard1_temperatures");
+            Base.exec("DELETE FROM shard2_temperatures");
+            Base.close();
+            Base.open(driver(), url(), user(), password());
+            Base.connection().setAutoCommit(false);
+        }
+    }
+}
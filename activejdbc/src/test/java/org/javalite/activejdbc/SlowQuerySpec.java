@@ -0,0 +1,80 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.statistics.SlowQuery;
+import org.javalite.activejdbc.statistics.SlowQueryLog;
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.javalite.activejdbc.test.JdbcProperties.db;
+
+/**
+ * @author agent
+ */
+public class SlowQuerySpec extends ActiveJDBCTest {
+
+    private static final String SLOW_QUERY = "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 3000000) WHERE X > ?";
+
+    @After
+    public void resetSlowQueries() {
+        Registry.instance().getSlowQueryLog().setThresholdMillis(0);
+        Registry.instance().getSlowQueryLog().clear();
+    }
+
+    @Test
+    public void shouldNotRecordQueriesWhenDisabled() {
+        Base.findAll("SELECT * FROM people");
+        the(Registry.instance().getSlowQueryLog().getSlowQueries().size()).shouldBeEqual(0);
+    }
+
+    @Test
+    public void shouldRecordSlowQueryWithPlan() {
+        if (!db().equals("h2")) {
+            return;
+        }
+        Registry.instance().getSlowQueryLog().setThresholdMillis(1);
+        Base.firstCell(SLOW_QUERY, 10);
+        Base.firstCell(SLOW_QUERY, 20);
+
+        List<SlowQuery> slowQueries = Registry.instance().getSlowQueryLog().getSlowQueries();
+        the(slowQueries.size()).shouldBeEqual(2);
+        the(slowQueries.get(0).getQuery()).shouldBeEqual(SLOW_QUERY);
+        the(slowQueries.get(0).getParams().get(0)).shouldBeEqual(10);
+        the(slowQueries.get(0).getRows()).shouldBeEqual(1L);
+        the(slowQueries.get(0).getNanos() >= 1000000).shouldBeTrue();
+        the(slowQueries.get(0).getPlan()).shouldContain("SYSTEM_RANGE");
+        a(slowQueries.get(1).getPlan()).shouldBeNull(); // explained once per interval
+    }
+
+    @Test
+    public void shouldKeepMostRecentSlowQueries() {
+        SlowQueryLog log = new SlowQueryLog(10, 3, 60);
+        for (int i = 0; i < 5; i++) {
+            log.add(new SlowQuery("default", "select " + i, null, -1, 20000000, null));
+        }
+        List<SlowQuery> slowQueries = log.getSlowQueries();
+        the(slowQueries.size()).shouldBeEqual(3);
+        the(slowQueries.get(0).getQuery()).shouldBeEqual("select 2");
+        the(slowQueries.get(2).getQuery()).shouldBeEqual("select 4");
+        the(log.isSlow(9000000)).shouldBeFalse();
+        the(log.isSlow(10000000)).shouldBeTrue();
+    }
+}
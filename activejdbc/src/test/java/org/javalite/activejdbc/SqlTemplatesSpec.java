@@ -0,0 +1,99 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Item;
+import org.javalite.activejdbc.test_models.Person;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.javalite.activejdbc.ModelDelegate.metaModelOf;
+
+/**
+ * @author agent
+ */
+public class SqlTemplatesSpec extends ActiveJDBCTest {
+
+    @Test
+    public void shouldReuseUpdateForSameChangedColumns() {
+        SqlTemplates templates = metaModelOf(Person.class).getSqlTemplates();
+        AttributeLayout layout = metaModelOf(Person.class).getAttributeLayout();
+        BitSet changed = new BitSet();
+        changed.set(layout.slot("name"));
+        changed.set(layout.slot("id")); // not updatable
+        SqlTemplates.Template first = templates.update("people_spec", changed, true, columns -> "UPDATE " + columns);
+        the(first.columns.size()).shouldBeEqual(1);
+        the(first.columns.get(0).equalsIgnoreCase("name")).shouldBeTrue();
+        the(first.slots[0]).shouldBeEqual(layout.slot("name"));
+        the(first.query).shouldBeEqual("UPDATE " + first.columns);
+
+        BitSet same = new BitSet();
+        same.set(layout.slot("name"));
+        SqlTemplates.Template second = templates.update("people_spec", same, true, columns -> "UPDATE again");
+        the(second == first).shouldBeTrue();
+        the(templates.update("people_spec_2", same, true, columns -> "UPDATE sharded").query).shouldBeEqual("UPDATE sharded");
+    }
+
+    @Test
+    public void shouldSaveWithCachedStatements() {
+        for (int i = 0; i < 3; i++) {
+            Person person = new Person();
+            person.set("name", "John" + i, "last_name", "Doe").saveIt();
+            person.set("last_name", "Smith" + i).saveIt();
+            person.set("name", "Jack" + i, "dob", "1970-01-0" + (i + 1)).saveIt();
+
+            Person read = Person.findById(person.getId());
+            the(read.get("name")).shouldBeEqual("Jack" + i);
+            the(read.get("last_name")).shouldBeEqual("Smith" + i);
+            the(read.getDate("dob").toString()).shouldBeEqual("1970-01-0" + (i + 1));
+        }
+    }
+
+    @Test
+    public void shouldSaveVersionedModelWithCachedStatements() {
+        for (int i = 0; i < 2; i++) {
+            Item item = Item.createIt("item_number", i, "item_description", "item " + i);
+            the(item.getLong("lock_version")).shouldBeEqual(1L);
+            item.set("item_description", "changed " + i).saveIt();
+            the(item.getLong("lock_version")).shouldBeEqual(2L);
+            the(Item.findById(item.getId()).get("item_description")).shouldBeEqual("changed " + i);
+        }
+    }
+
+    @Test
+    public void shouldReuseSelectOfLazyList() {
+        String sql = Person.where("name = ?", "John").orderBy("id").limit(10).toSql(false);
+        the(Person.where("name = ?", "Jack").orderBy("id").limit(10).toSql(false) == sql).shouldBeTrue();
+        the(Person.where("name = ?", "John").orderBy("name").limit(10).toSql(false)).shouldNotBeEqual(sql);
+    }
+
+    @Test
+    public void shouldEvictWhenFull() {
+        SqlTemplates templates = new SqlTemplates(metaModelOf(Person.class), null, 2);
+        for (int i = 0; i < 5; i++) {
+            String query = "SELECT " + i;
+            the(templates.select(Arrays.asList("people", i), () -> query)).shouldBeEqual(query);
+        }
+        int[] built = {0};
+        for (int i = 0; i < 5; i++) {
+            templates.select(Arrays.asList("people", i), () -> "SELECT " + built[0]++);
+        }
+        the(built[0] >= 3).shouldBeTrue(); // at most 2 of 5 shapes were kept
+    }
+}
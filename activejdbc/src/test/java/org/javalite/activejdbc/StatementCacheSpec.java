@@ -0,0 +1,76 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author agent
+ */
+public class StatementCacheSpec extends ActiveJDBCTest {
+
+    @Test
+    public void shouldReuseStatementsForSameQuery() {
+        deleteAndPopulateTable("people");
+        long hits = DB.getStatementCacheStatistics().get("hits");
+        for (int i = 0; i < 3; i++) {
+            the(Base.firstCell("select count(*) from people where name = ?", "John")).shouldNotBeNull();
+        }
+        the(DB.getStatementCacheStatistics().get("hits") - hits >= 2).shouldBeTrue();
+    }
+
+    @Test
+    public void shouldNotShareStatementInUse() {
+        deleteAndPopulateTable("people");
+        String query = "select name from people where id > ? order by id";
+        int[] count = {0};
+        Base.find(query, 0).with(new RowListenerAdapter() {
+            @Override public void onNext(Map<String, Object> row) {
+                List<Map<String, Object>> nested = Base.findAll(query, 0);
+                the(nested.size()).shouldBeEqual(4);
+                count[0]++;
+            }
+        });
+        the(count[0]).shouldBeEqual(4);
+    }
+
+    @Test
+    public void shouldCacheOnlyDmlStatementsOfExec() {
+        long misses = DB.getStatementCacheStatistics().get("misses");
+        Base.exec("SET @statement_cache_spec = ?", 1);
+        the(DB.getStatementCacheStatistics().get("misses")).shouldBeEqual(misses);
+        Base.exec("UPDATE people SET name = ? WHERE id = -1", "John");
+        the(DB.getStatementCacheStatistics().get("misses")).shouldBeEqual(misses + 1);
+    }
+
+    @Test
+    public void shouldCloseStatementsOnClean() throws Exception {
+        Connection connection = Base.connection();
+        PreparedStatement ps = StatementCache.instance().borrow(connection, "select 1 from people",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, null);
+        StatementCache.instance().release(connection, ps);
+        the(ps.isClosed()).shouldBeFalse();
+        StatementCache.instance().cleanStatementCache(connection);
+        the(ps.isClosed()).shouldBeTrue();
+    }
+}
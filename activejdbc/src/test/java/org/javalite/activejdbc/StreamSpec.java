@@ -0,0 +1,80 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Address;
+import org.javalite.activejdbc.test_models.Person;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author agent
+ */
+public class StreamSpec extends ActiveJDBCTest {
+
+    @Test
+    public void shouldStreamRows() {
+        deleteAndPopulateTable("people");
+        try (Stream<Map<String, Object>> rows = Base.stream(2, "select * from people where id > ? order by id", 0)) {
+            List<Object> names = rows.map(row -> row.get("NAME")).collect(Collectors.toList());
+            the(names.size()).shouldBeEqual(4);
+            the(names.get(0)).shouldBeEqual("John");
+        }
+    }
+
+    @Test
+    public void shouldStreamModels() {
+        deleteAndPopulateTable("people");
+        try (Stream<Person> people = Person.stream("last_name like ?", "%i%")) {
+            the(people.map(p -> p.getString("name")).sorted().collect(Collectors.joining(","))).shouldBeEqual("Joe,John,Muhammad");
+        }
+    }
+
+    @Test
+    public void shouldStreamLazyList() {
+        deleteAndPopulateTable("addresses");
+        LazyList<Address> addresses = Address.findAll().orderBy("id");
+        try (Stream<Address> stream = addresses.streamCursor(1)) {
+            Address first = stream.findFirst().get();
+            the(first.getId()).shouldNotBeNull();
+        }
+        // connection is still usable after the partially consumed stream was closed
+        List<Address> list = Address.findAll();
+        the(list.stream().count()).shouldBeEqual(Address.count());
+    }
+
+    @Test
+    public void shouldKeepStreamOfLoadedList() {
+        deleteAndPopulateTable("addresses");
+        LazyList<Address> addresses = Address.findAll().orderBy("id");
+        the(addresses.stream().findFirst().get().getId()).shouldNotBeNull();
+        // stream() loads the list, does not open a cursor
+        the(addresses.size()).shouldBeEqual(Address.count().intValue());
+    }
+
+    @Test
+    public void shouldReleaseStatementWhenStreamIsConsumed() {
+        deleteAndPopulateTable("people");
+        String query = "select name from people order by id";
+        the(Base.stream(query).count()).shouldBeEqual(4);
+        the(Base.stream(query).count()).shouldBeEqual(4);
+    }
+}
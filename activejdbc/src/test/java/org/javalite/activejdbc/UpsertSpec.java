@@ -0,0 +1,99 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc;
+
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Account;
+import org.javalite.activejdbc.test_models.Person;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author agent
+ */
+public class UpsertSpec extends ActiveJDBCTest {
+
+    @Test
+    public void shouldInsertManyRowsInOneStatement() {
+        deleteFromTable("people");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            rows.add(new Object[]{"Name" + i, "Last" + i});
+        }
+        the(Base.insertMany("people", new String[]{"name", "last_name"}, rows)).shouldBeEqual(1500);
+        the(Base.count("people")).shouldBeEqual(1500);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectRowsOfWrongLength() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"John"});
+        Base.insertMany("people", new String[]{"name", "last_name"}, rows);
+    }
+
+    @Test
+    public void shouldInsertOrUpdateRows() {
+        deleteAndPopulateTable("accounts");
+        Object id = Account.findFirst("account = ?", "123").getId();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{id, "123", "savings"});
+        rows.add(new Object[]{1000, "456", "new"});
+        Base.upsert("accounts", new String[]{"id", "account", "description"}, new String[]{"id"}, rows);
+
+        the(Account.count()).shouldBeEqual(2);
+        the(Account.findById(id).get("description")).shouldBeEqual("savings");
+        the(Account.findById(1000).get("account")).shouldBeEqual("456");
+    }
+
+    @Test
+    public void shouldUpsertModel() {
+        deleteAndPopulateTable("people");
+        Person john = Person.findFirst("name = ?", "John");
+        Object createdAt = john.get("created_at");
+
+        Person p = new Person();
+        p.set("id", john.getId(), "name", "John", "last_name", "Doe");
+        the(p.upsert()).shouldBeTrue();
+        Person fromDb = Person.findById(john.getId());
+        the(fromDb.get("last_name")).shouldBeEqual("Doe");
+        the(fromDb.get("created_at")).shouldBeEqual(createdAt);
+        the(Person.count()).shouldBeEqual(4);
+
+        Person jane = new Person();
+        jane.set("id", 5000, "name", "Jane", "last_name", "Doe");
+        the(jane.upsert()).shouldBeTrue();
+        the(Person.count()).shouldBeEqual(5);
+        the(Person.findById(5000).get("created_at")).shouldNotBeNull();
+
+        Person invalid = new Person();
+        invalid.set("id", 6000, "name", "Jack");
+        the(invalid.upsert()).shouldBeFalse();
+    }
+
+    @Test
+    public void shouldUpsertExistingModelWithNothingToUpdate() {
+        deleteAndPopulateTable("accounts");
+        Account existing = Account.findFirst("account = ?", "123");
+        Object id = existing.getId();
+        Account account = new Account();
+        account.set("id", id, "amount", existing.get("amount"));
+        the(account.upsert("id", "amount")).shouldBeTrue();
+        the(Account.count()).shouldBeEqual(1);
+        the(Account.findById(id).get("account")).shouldBeEqual("123");
+    }
+}
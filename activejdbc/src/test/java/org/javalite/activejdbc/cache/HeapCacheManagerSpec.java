@@ -0,0 +1,94 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc.cache;
+
+import org.javalite.test.jspec.JSpecSupport;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * @author agent
+ */
+public class HeapCacheManagerSpec implements JSpecSupport {
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        HeapCacheManager manager = new HeapCacheManager(10, 0);
+        a(manager.getCache("people", "a")).shouldBeNull();
+        manager.addCache("people", "a", "A");
+        the(manager.getCache("people", "a")).shouldBeEqual("A");
+        a(manager.getCache("addresses", "a")).shouldBeNull();
+
+        the(manager.hits()).shouldBeEqual(1L);
+        the(manager.misses()).shouldBeEqual(2L);
+    }
+
+    @Test
+    public void shouldEvictByWeight() {
+        HeapCacheManager manager = new HeapCacheManager(5, 0);
+        manager.addCache("people", "a", Arrays.asList(1, 2, 3));
+        manager.addCache("people", "b", Arrays.asList(1, 2));
+        the(manager.size()).shouldBeEqual(2);
+
+        manager.addCache("people", "c", "C");
+        the(manager.size()).shouldBeEqual(2);
+        the(manager.evictions()).shouldBeEqual(1L);
+        a(manager.getCache("people", "a")).shouldBeNull();
+        a(manager.getCache("people", "b")).shouldNotBeNull();
+
+        manager.addCache("people", "d", Arrays.asList(1, 2, 3, 4, 5, 6));
+        a(manager.getCache("people", "d")).shouldBeNull(); // heavier than capacity
+    }
+
+    @Test
+    public void shouldKeepItemsReadAgainWhenScanned() {
+        HeapCacheManager manager = new HeapCacheManager(10, 0);
+        manager.addCache("countries", "hot", "HOT");
+        the(manager.getCache("countries", "hot")).shouldBeEqual("HOT"); // promoted
+
+        for (int i = 0; i < 100; i++) {
+            manager.addCache("countries", "cold" + i, i);
+        }
+        the(manager.getCache("countries", "hot")).shouldBeEqual("HOT");
+        the(manager.size()).shouldBeEqual(10);
+        the(manager.evictions()).shouldBeEqual(91L);
+    }
+
+    @Test
+    public void shouldFlushGroups() {
+        HeapCacheManager manager = new HeapCacheManager(10, 0);
+        manager.addCache("people", "a", "A");
+        manager.addCache("addresses", "a", "A");
+
+        manager.flush(new CacheEvent("people", "test"));
+        a(manager.getCache("people", "a")).shouldBeNull();
+        a(manager.getCache("addresses", "a")).shouldNotBeNull();
+
+        manager.flush(CacheEvent.ALL);
+        the(manager.size()).shouldBeEqual(0);
+    }
+
+    @Test
+    public void shouldExpireItems() throws InterruptedException {
+        HeapCacheManager manager = new HeapCacheManager(10, 1);
+        manager.addCache("people", "a", "A");
+        a(manager.getCache("people", "a")).shouldNotBeNull();
+        Thread.sleep(1100);
+        a(manager.getCache("people", "a")).shouldBeNull();
+        the(manager.size()).shouldBeEqual(0);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc.cache;
+
+import org.javalite.activejdbc.Model;
+import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Person;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * @author agent
+ */
+public class ModelCacheCodecSpec extends ActiveJDBCTest {
+
+    @Test
+    public void shouldEncodeListOfModelsSmallerThanJavaSerialization() {
+        deleteAndPopulateTable("people");
+        List<Person> people = Collections.unmodifiableList(new ArrayList<>(Person.findAll().orderBy("id").load()));
+
+        byte[] compact = new ModelCacheCodec(false).encode(people);
+        byte[] serialized = new JavaSerializationCodec().encode(people);
+        the(compact.length * 3 < serialized.length).shouldBeTrue();
+
+        List<Person> decoded = (List<Person>) new ModelCacheCodec(false).decode(compact);
+        the(decoded.size()).shouldBeEqual(4);
+        for (int i = 0; i < people.size(); i++) {
+            the(decoded.get(i).toMap()).shouldBeEqual(people.get(i).toMap());
+            the(decoded.get(i).isModified()).shouldBeFalse();
+        }
+        the(decoded.get(0).getDate("dob")).shouldBeEqual(people.get(0).getDate("dob"));
+        the(decoded.get(0).getTimestamp("created_at")).shouldBeEqual(people.get(0).getTimestamp("created_at"));
+    }
+
+    @Test
+    public void shouldDeflate() {
+        deleteAndPopulateTable("people");
+        List<Person> people = Person.findAll().orderBy("id").load();
+
+        byte[] plain = new ModelCacheCodec(false).encode(people);
+        byte[] deflated = new ModelCacheCodec(true).encode(people);
+        the(deflated.length < plain.length).shouldBeTrue();
+
+        List<Person> decoded = (List<Person>) new ModelCacheCodec(true).decode(deflated);
+        the(decoded.get(3).get("name")).shouldBeEqual(people.get(3).get("name"));
+    }
+
+    @Test
+    public void shouldEncodeSingleModelAndOtherItems() {
+        deleteAndPopulateTable("people");
+        ModelCacheCodec codec = new ModelCacheCodec(true);
+        Person person = Person.findFirst("name = ?", "John");
+
+        Model decoded = (Model) codec.decode(codec.encode(person));
+        the(decoded.getId()).shouldBeEqual(person.getId());
+
+        a(codec.decode(codec.encode(new ArrayList<>()))).shouldBeEqual(Collections.emptyList());
+        Map<String, Object> map = new HashMap<>();
+        map.put("count", 3L);
+        a(codec.decode(codec.encode(map))).shouldBeEqual(map);
+    }
+
+    @Test
+    public void shouldBeUsedByCacheManager() {
+        deleteAndPopulateTable("people");
+        List<Person> people = Person.findAll().orderBy("id").load();
+        TieredCacheManager manager = new TieredCacheManager(new HeapCacheManager(0, 0), new TieredCacheManagerSpec.InMemoryCacheStore());
+        manager.setCodec(new ModelCacheCodec(false));
+
+        manager.addCache("people", "all", people);
+        List<Person> cached = (List<Person>) manager.getCache("people", "all");
+        the(cached.size()).shouldBeEqual(4);
+        the(cached.get(1).get("last_name")).shouldBeEqual(people.get(1).get("last_name"));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc.cache;
+
+import org.javalite.test.jspec.JSpecSupport;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author agent
+ */
+public class QueryCacheSpec implements JSpecSupport {
+
+    private static final String TABLE = "people";
+
+    @After
+    public void after() {
+        QueryCache.instance().setStaleWhileRevalidate(false);
+        QueryCache.instance().setLoadTimeout(10000);
+        QueryCache.instance().getCacheManager().flush(new CacheEvent(TABLE, getClass().getName()));
+    }
+
+    @Test
+    public void shouldLoadItemOnceForConcurrentMisses() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> QueryCache.instance().getItem(TABLE, "select coalesced", new Object[]{1}, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "loaded";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Object> result : results) {
+                the(result.get(5, TimeUnit.SECONDS)).shouldBeEqual("loaded");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        the(loads.get()).shouldBeEqual(1);
+        the(QueryCache.instance().getItem(TABLE, "select coalesced", new Object[]{1})).shouldBeEqual("loaded");
+    }
+
+    @Test
+    public void shouldNotCacheItemLoadedDuringPurge() {
+        Object item = QueryCache.instance().getItem(TABLE, "select purged", null, () -> {
+            QueryCache.instance().getCacheManager().flush(new CacheEvent(TABLE, getClass().getName()));
+            return "before change";
+        });
+        the(item).shouldBeEqual("before change");
+        a(QueryCache.instance().getItem(TABLE, "select purged", null)).shouldBeNull();
+    }
+
+    @Test
+    public void shouldPassLoaderFailureToWaitingThreads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> loader = executor.submit(() -> QueryCache.instance().getItem(TABLE, "select failed", null, () -> {
+                await(release);
+                throw new IllegalStateException("boom");
+            }));
+            Thread.sleep(100);
+            Future<Object> waiter = executor.submit(() -> QueryCache.instance().getItem(TABLE, "select failed", null, () -> "second"));
+            Thread.sleep(100);
+            release.countDown();
+            expect(loader);
+            expect(waiter);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldServeStaleItemWhileReloading() throws Exception {
+        QueryCache.instance().setStaleWhileRevalidate(true);
+        QueryCache.instance().getItem(TABLE, "select stale", null, () -> "old");
+        //expires the item without counting a flush
+        QueryCache.instance().getCacheManager().doFlush(new CacheEvent(TABLE, getClass().getName()));
+
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> reload = executor.submit(() -> QueryCache.instance().getItem(TABLE, "select stale", null, () -> {
+                await(release);
+                return "new";
+            }));
+            Thread.sleep(100);
+            the(QueryCache.instance().getItem(TABLE, "select stale", null, () -> "unexpected")).shouldBeEqual("old");
+            release.countDown();
+            the(reload.get(5, TimeUnit.SECONDS)).shouldBeEqual("new");
+        } finally {
+            executor.shutdownNow();
+        }
+        the(QueryCache.instance().getItem(TABLE, "select stale", null)).shouldBeEqual("new");
+    }
+
+    @Test
+    public void shouldNotServeStaleItemAfterPurge() throws Exception {
+        QueryCache.instance().setStaleWhileRevalidate(true);
+        QueryCache.instance().getItem(TABLE, "select purged stale", null, () -> "old");
+        QueryCache.instance().getCacheManager().flush(new CacheEvent(TABLE, getClass().getName()));
+
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> reload = executor.submit(() -> QueryCache.instance().getItem(TABLE, "select purged stale", null, () -> {
+                await(release);
+                return "new";
+            }));
+            Thread.sleep(100);
+            release.countDown();
+            the(QueryCache.instance().getItem(TABLE, "select purged stale", null, () -> "new")).shouldBeEqual("new");
+            the(reload.get(5, TimeUnit.SECONDS)).shouldBeEqual("new");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotWaitForLoadStartedBeforePurge() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> loader = executor.submit(() -> QueryCache.instance().getItem(TABLE, "select changed", null, () -> {
+                await(release);
+                return "before change";
+            }));
+            Thread.sleep(100);
+            QueryCache.instance().getCacheManager().flush(new CacheEvent(TABLE, getClass().getName()));
+            the(QueryCache.instance().getItem(TABLE, "select changed", null, () -> "after change")).shouldBeEqual("after change");
+            release.countDown();
+            the(loader.get(5, TimeUnit.SECONDS)).shouldBeEqual("before change");
+        } finally {
+            executor.shutdownNow();
+        }
+        the(QueryCache.instance().getItem(TABLE, "select changed", null)).shouldBeEqual("after change");
+    }
+
+    @Test
+    public void shouldLoadItemIfWaitTimesOut() throws Exception {
+        QueryCache.instance().setLoadTimeout(50);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> loader = executor.submit(() -> QueryCache.instance().getItem(TABLE, "select slow", null, () -> {
+                await(release);
+                return "slow";
+            }));
+            Thread.sleep(100);
+            the(QueryCache.instance().getItem(TABLE, "select slow", null, () -> "fast")).shouldBeEqual("fast");
+            release.countDown();
+            the(loader.get(5, TimeUnit.SECONDS)).shouldBeEqual("slow");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void expect(Future<Object> result) throws InterruptedException {
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            throw new AssertionError("expected a failure");
+        } catch (ExecutionException e) {
+            the(e.getCause().getMessage()).shouldBeEqual("boom");
+        } catch (TimeoutException e) {
+            throw new AssertionError("timed out", e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package org.javalite.activejdbc.cache;
+
+import org.javalite.test.jspec.JSpecSupport;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * @author agent
+ */
+public class TieredCacheManagerSpec implements JSpecSupport {
+
+    /**
+     * Stands in for Redis shared by nodes, delivers messages synchronously.
+     */
+    static class InMemoryCacheStore implements RemoteCacheStore {
+        private final Map<String, Map<String, byte[]>> groups = new ConcurrentHashMap<>();
+        private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+        private final List<Runnable> subscribers = new CopyOnWriteArrayList<>();
+        private int gets;
+        private Runnable onGet = () -> {};
+
+        @Override
+        public byte[] get(String group, String key) {
+            gets++;
+            Map<String, byte[]> items = groups.get(group);
+            byte[] value = items == null ? null : items.get(key);
+            onGet.run();
+            return value;
+        }
+
+        @Override
+        public void put(String group, String key, byte[] value) {
+            groups.computeIfAbsent(group, g -> new ConcurrentHashMap<>()).put(key, value);
+        }
+
+        @Override
+        public void delete(String group) {
+            groups.remove(group);
+        }
+
+        @Override
+        public void deleteAll() {
+            groups.clear();
+        }
+
+        @Override
+        public void publish(String message) {
+            for (Consumer<String> listener : listeners) {
+                listener.accept(message);
+            }
+        }
+
+        @Override
+        public void subscribe(Consumer<String> listener, Runnable onSubscribe) {
+            listeners.add(listener);
+            subscribers.add(onSubscribe);
+            onSubscribe.run();
+        }
+
+        void resubscribe() {
+            for (Runnable subscriber : subscribers) {
+                subscriber.run();
+            }
+        }
+
+        @Override
+        public void close() {
+            listeners.clear();
+        }
+    }
+
+    private final InMemoryCacheStore redis = new InMemoryCacheStore();
+    private final TieredCacheManager node1 = new TieredCacheManager(new HeapCacheManager(100, 0), redis);
+    private final TieredCacheManager node2 = new TieredCacheManager(new HeapCacheManager(100, 0), redis);
+
+    @Test
+    public void shouldReadFromLocalCacheAfterRemoteCache() {
+        node1.addCache("people", "all", new ArrayList<>(Arrays.asList("John", "Jane")));
+
+        the(node2.getCache("people", "all")).shouldBeEqual(Arrays.asList("John", "Jane"));
+        the(redis.gets).shouldBeEqual(1);
+        Object first = node2.getCache("people", "all");
+        Object second = node2.getCache("people", "all");
+        a(first).shouldBeTheSameAs(second);
+        the(redis.gets).shouldBeEqual(1);
+        the(node2.getLocalCache().hits()).shouldBeEqual(2L);
+
+        a(node1.getCache("people", "all")).shouldNotBeNull();
+        the(redis.gets).shouldBeEqual(1);
+    }
+
+    @Test
+    public void shouldFlushGroupOnAllNodes() {
+        node1.addCache("people", "all", "people");
+        node1.addCache("addresses", "all", "addresses");
+        a(node2.getCache("people", "all")).shouldNotBeNull();
+        a(node2.getCache("addresses", "all")).shouldNotBeNull();
+
+        node1.flush(new CacheEvent("people", "test"));
+
+        a(node1.getCache("people", "all")).shouldBeNull();
+        a(node2.getCache("people", "all")).shouldBeNull();
+        the(node2.getLocalCache().size()).shouldBeEqual(1);
+        the(node2.getCache("addresses", "all")).shouldBeEqual("addresses");
+    }
+
+    @Test
+    public void shouldFlushAllOnAllNodes() {
+        node1.addCache("people", "all", "people");
+        a(node2.getCache("people", "all")).shouldNotBeNull();
+
+        node2.flush(CacheEvent.ALL);
+
+        the(node1.getLocalCache().size()).shouldBeEqual(0);
+        the(node2.getLocalCache().size()).shouldBeEqual(0);
+        a(node1.getCache("people", "all")).shouldBeNull();
+    }
+
+    @Test
+    public void shouldFlushLocalCacheOnResubscribe() {
+        node1.addCache("people", "all", "people");
+        a(node2.getCache("people", "all")).shouldNotBeNull();
+
+        redis.resubscribe();
+
+        the(node1.getLocalCache().size()).shouldBeEqual(0);
+        the(node2.getLocalCache().size()).shouldBeEqual(0);
+    }
+
+    @Test
+    public void shouldCountFlushesOfOtherNodes() {
+        long people = node2.flushCount("people");
+        node1.flush(new CacheEvent("people", "test"));
+        the(node2.flushCount("people")).shouldBeEqual(people + 1);
+        long addresses = node2.flushCount("addresses");
+        redis.resubscribe();
+        the(node2.flushCount("addresses")).shouldBeEqual(addresses + 1);
+    }
+
+    @Test
+    public void shouldNotKeepItemReadBeforeFlush() {
+        node1.addCache("people", "all", "people");
+        redis.onGet = () -> {
+            redis.onGet = () -> {};
+            node1.flush(new CacheEvent("people", "test"));
+        };
+
+        the(node2.getCache("people", "all")).shouldBeEqual("people");
+        the(node2.getLocalCache().size()).shouldBeEqual(0);
+        a(node2.getCache("people", "all")).shouldBeNull();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+Copyright 2026 agent
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package org.javalite.activejdbc.connection_config;
+
+import org.javalite.activejdbc.DB;
+import org.javalite.test.jspec.JSpecSupport;
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * @author agent
+ */
+public class ConnectionPoolSpec implements JSpecSupport {
+
+    private static final String URL = "jdbc:h2:mem:pool_spec;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool pool;
+
+    @After
+    public void after() {
+        if (pool != null) {
+            pool.close();
+        }
+        ConnectionPool.closePools();
+    }
+
+    private ConnectionPool pool(ConnectionPoolConfig config) {
+        config.setHousekeepingMillis(0);
+        return pool = new ConnectionPool("org.h2.Driver", URL, "sa", "", null, config);
+    }
+
+    @Test
+    public void shouldReuseReturnedConnection() throws SQLException {
+        ConnectionPool pool = pool(new ConnectionPoolConfig());
+        Connection first = pool.getConnection();
+        Connection physical = first.unwrap(Connection.class);
+        the(pool.getActive()).shouldBeEqual(1);
+        first.close();
+        the(first.isClosed()).shouldBeTrue();
+        the(pool.getIdle()).shouldBeEqual(1);
+
+        Connection second = pool.getConnection();
+        the(second.unwrap(Connection.class)).shouldBeTheSameAs(physical);
+        the(pool.getCreated()).shouldBeEqual(1L);
+        the(pool.getBorrows()).shouldBeEqual(2L);
+        second.close();
+    }
+
+    @Test
+    public void shouldNotAllowUseAfterClose() throws SQLException {
+        ConnectionPool pool = pool(new ConnectionPoolConfig());
+        Connection connection = pool.getConnection();
+        connection.close();
+        connection.close(); // second close is ignored
+        the(pool.getIdle()).shouldBeEqual(1);
+        try {
+            connection.createStatement();
+            throw new AssertionError("expected SQLException");
+        } catch (SQLException e) {
+            the(e.getMessage()).shouldBeEqual("Connection is closed");
+        }
+    }
+
+    @Test
+    public void shouldTimeOutWhenExhausted() throws SQLException {
+        ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setMaxSize(1);
+        config.setBorrowTimeoutMillis(50);
+        ConnectionPool pool = pool(config);
+        Connection connection = pool.getConnection();
+        try {
+            pool.getConnection();
+            throw new AssertionError("expected SQLException");
+        } catch (SQLException e) {
+            the(e.getMessage()).shouldContain("Timed out");
+        }
+        the(pool.getTimeouts()).shouldBeEqual(1L);
+        connection.close();
+        pool.getConnection().close();
+    }
+
+    @Test
+    public void shouldValidateAndReplaceBrokenConnection() throws SQLException {
+        ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setValidationWindowMillis(0);
+        ConnectionPool pool = pool(config);
+        Connection connection = pool.getConnection();
+        Connection physical = connection.unwrap(Connection.class);
+        connection.close();
+        physical.close();
+
+        Connection replacement = pool.getConnection();
+        the(replacement.unwrap(Connection.class)).shouldNotBeTheSameAs(physical);
+        the(pool.getCreated()).shouldBeEqual(2L);
+        the(pool.getSize()).shouldBeEqual(1);
+        replacement.close();
+    }
+
+    @Test
+    public void shouldRollBackUnfinishedTransactionOnReturn() throws SQLException {
+        ConnectionPool pool = pool(new ConnectionPoolConfig());
+        Connection connection = pool.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+        connection = pool.getConnection();
+        the(connection.getAutoCommit()).shouldBeTrue();
+        connection.close();
+    }
+
+    @Test
+    public void shouldRestoreChangedSettingsOnReturn() throws SQLException {
+        ConnectionPool pool = pool(new ConnectionPoolConfig());
+        Connection connection = pool.getConnection();
+        int isolation = connection.getTransactionIsolation();
+        connection.setReadOnly(true);
+        connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        connection.close();
+        connection = pool.getConnection();
+        the(connection.isReadOnly()).shouldBeFalse();
+        the(connection.getTransactionIsolation()).shouldBeEqual(isolation);
+        connection.close();
+    }
+
+    @Test
+    public void shouldReturnPooledConnectionFromStatements() throws SQLException {
+        ConnectionPool pool = pool(new ConnectionPoolConfig());
+        Connection connection = pool.getConnection();
+        try (Statement statement = connection.createStatement();
+             PreparedStatement ps = connection.prepareStatement("select 1")) {
+            the(statement.getConnection()).shouldBeTheSameAs(connection);
+            the(ps.getConnection()).shouldBeTheSameAs(connection);
+            the(connection.getMetaData().getConnection()).shouldBeTheSameAs(connection);
+        }
+        connection.close();
+        the(pool.getIdle()).shouldBeEqual(1);
+    }
+
+    @Test
+    public void shouldEvictIdleAndExpiredConnections() throws Exception {
+        ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setIdleTimeoutMillis(1);
+        ConnectionPool pool = pool(config);
+        pool.getConnection().close();
+        Thread.sleep(5);
+        pool.evictIdle();
+        the(pool.getIdle()).shouldBeEqual(0);
+        the(pool.getSize()).shouldBeEqual(0);
+
+        config.setIdleTimeoutMillis(0);
+        config.setMaxLifetimeMillis(1);
+        Connection connection = pool.getConnection();
+        Thread.sleep(5);
+        connection.close();
+        the(pool.getIdle()).shouldBeEqual(0);
+        the(pool.getClosed()).shouldBeEqual(2L);
+    }
+
+    @Test
+    public void shouldDetectLeaks() throws Exception {
+        ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setLeakDetectionMillis(1);
+        ConnectionPool pool = pool(config);
+        Connection connection = pool.getConnection();
+        Thread.sleep(5);
+        pool.detectLeaks();
+        pool.detectLeaks(); // reported once
+        the(pool.getLeaks()).shouldBeEqual(1L);
+        connection.close();
+    }
+
+    @Test
+    public void shouldOpenPooledConnectionsFromConfiguration() {
+        Properties props = new Properties();
+        props.setProperty("development.pool.maxSize", "2");
+        ConnectionJdbcConfig config = new ConnectionJdbcConfig("org.h2.Driver", URL, "sa", "");
+        config.setDbName("pool_spec");
+        config.setPoolConfig(ConnectionPoolConfig.fromProperties(props, "development.pool."));
+        the(config.getPoolConfig().getMaxSize()).shouldBeEqual(2);
+
+        DB db = new DB("pool_spec");
+        for (int i = 0; i < 3; i++) {
+            db.open(config);
+            the(db.firstCell("select 1")).shouldBeEqual(1);
+            db.close();
+        }
+        ConnectionPool pool = ConnectionPool.of(config);
+        the(pool.getCreated()).shouldBeEqual(1L);
+        the(pool.getBorrows()).shouldBeEqual(3L);
+        a(ConnectionPoolConfig.fromProperties(new Properties(), "development.pool.")).shouldBeNull();
+    }
+}
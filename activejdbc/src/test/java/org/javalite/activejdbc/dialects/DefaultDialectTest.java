@@ -27,6 +27,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 public class DefaultDialectTest extends ActiveJDBCTest {
@@ -199,4 +200,29 @@ public class DefaultDialectTest extends ActiveJDBCTest {
                 .shouldBeEqual("UPDATE people SET testField = 'testValue' WHERE id = 1");
 
     }
+
+    @Test
+    public void shouldGenerateKeysetConditionWithRowValues() {
+        List<Object> params = new ArrayList<>();
+        a(dialect.keysetCondition(Arrays.asList("created_at", "id"), Arrays.asList(true, true), new Object[]{"2019-01-01", 5}, params))
+                .shouldBeEqual("(created_at, id) < (?, ?)");
+        a(params).shouldBeEqual(Arrays.asList("2019-01-01", 5));
+
+        params.clear();
+        a(dialect.keysetCondition(Arrays.asList("id"), Arrays.asList(false), new Object[]{5}, params)).shouldBeEqual("id > ?");
+        a(params).shouldBeEqual(Arrays.asList(5));
+    }
+
+    @Test
+    public void shouldGenerateKeysetConditionForMixedDirections() {
+        List<Object> params = new ArrayList<>();
+        a(dialect.keysetCondition(Arrays.asList("a", "b", "c"), Arrays.asList(false, true, false), new Object[]{1, 2, 3}, params))
+                .shouldBeEqual("a >= ? AND ((a > ?) OR (a = ? AND b < ?) OR (a = ? AND b = ? AND c > ?))");
+        a(params).shouldBeEqual(Arrays.asList(1, 1, 1, 2, 1, 2, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNullKeysetValues() {
+        dialect.keysetCondition(Arrays.asList("a", "id"), Arrays.asList(false, false), new Object[]{null, 3}, new ArrayList<>());
+    }
 }
@@ -4,7 +4,9 @@ import static org.javalite.common.Collections.arr;
 import static org.javalite.common.Collections.list;
 import static org.javalite.test.jspec.JSpec.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 
@@ -74,4 +76,20 @@ public class MSSQLDialectTest {
                 "OVER (ORDER BY item_name) AS rownumber, item_name, item_description FROM items WHERE item_name like ?) " +
                 "AS sq WHERE rownumber BETWEEN 31 AND 40");
     }
+
+    @Test
+    public void shouldGenerateMergeTerminatedWithSemicolon() {
+        a(dialect.upsert("people", list("id", "name"), list("id"), list("name"), 2)).shouldBeEqual(
+                "MERGE INTO people t USING (VALUES (?, ?), (?, ?)) AS s (id, name) ON (t.id = s.id)"
+                        + " WHEN MATCHED THEN UPDATE SET name = s.name"
+                        + " WHEN NOT MATCHED THEN INSERT (id, name) VALUES (s.id, s.name);");
+    }
+
+    @Test
+    public void shouldExpandKeysetConditionWithoutRowValues() {
+        List<Object> params = new ArrayList<>();
+        a(dialect.keysetCondition(list("created_at", "id"), list(false, false), new Object[]{"2019-01-01", 5}, params))
+                .shouldBeEqual("created_at >= ? AND ((created_at > ?) OR (created_at = ? AND id > ?))");
+        a(params.size()).shouldBeEqual(4);
+    }
 }
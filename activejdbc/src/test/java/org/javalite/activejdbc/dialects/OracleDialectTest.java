@@ -15,13 +15,19 @@ limitations under the License.
 */
 package org.javalite.activejdbc.dialects;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.function.UnaryOperator;
+import org.javalite.activejdbc.MetaModel;
 import org.javalite.activejdbc.test.ActiveJDBCTest;
+import org.javalite.activejdbc.test_models.Person;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.javalite.activejdbc.ModelDelegate.metaModelOf;
+
 public class OracleDialectTest extends ActiveJDBCTest {
 
     private static OracleDialect dialect;
@@ -94,4 +100,32 @@ public class OracleDialectTest extends ActiveJDBCTest {
                 "SELECT * FROM (SELECT t2.* FROM (SELECT * FROM member_goal_action ORDER BY created_at DESC) t2) WHERE ROWNUM <= 1");
     }
 
+
+    @Test
+    public void shouldGenerateInsertAllAndMergeFromDual() {
+        a(dialect.insertMany("people", Arrays.asList("name", "last_name"), 2))
+                .shouldBeEqual("INSERT ALL INTO people (name, last_name) VALUES (?, ?) INTO people (name, last_name) VALUES (?, ?) SELECT * FROM dual");
+        a(dialect.upsert("people", Arrays.asList("id", "name"), Arrays.asList("id"), Arrays.asList("name"), 2))
+                .shouldBeEqual("MERGE INTO people t USING (SELECT ? AS id, ? AS name FROM dual UNION ALL SELECT ?, ? FROM dual) s"
+                        + " ON (t.id = s.id) WHEN MATCHED THEN UPDATE SET name = s.name"
+                        + " WHEN NOT MATCHED THEN INSERT (id, name) VALUES (s.id, s.name)");
+    }
+
+    @Test
+    public void shouldResolveDriverTypeConvertersPerColumn() {
+        MetaModel people = metaModelOf(Person.class);
+        a(dialect.driverTypeConverter(people, "name")).shouldBeNull();
+        UnaryOperator<Object> dob = dialect.driverTypeConverter(people, "dob");
+        a(dob.apply(Timestamp.valueOf("1934-12-01 00:00:00"))).shouldBeA(java.sql.Date.class);
+        a(dob.apply(null)).shouldBeNull();
+
+        OracleDialect custom = new OracleDialect() {
+            @Override
+            public Object overrideDriverTypeConversion(MetaModel mm, String attributeName, Object value) {
+                return "converted";
+            }
+        };
+        a(custom.driverTypeConverter(people, "name").apply("John")).shouldBeEqual("converted");
+        a(new DefaultDialect().driverTypeConverter(people, "dob")).shouldBeNull();
+    }
 }
@@ -57,4 +57,25 @@ public class PostgreSQLDialectTest extends ActiveJDBCTest {
         a(dialect.formSelect("people", null, "last_name = ?", new ArrayList<String>(), 1, 10)).shouldBeEqual("SELECT * FROM people WHERE last_name = ? LIMIT 1 OFFSET 10");
         a(dialect.formSelect("people", null, "name = ?", Arrays.asList("name"), 10, 10)).shouldBeEqual("SELECT * FROM people WHERE name = ? ORDER BY name LIMIT 10 OFFSET 10");
     }
+
+    @Test
+    public void shouldGenerateInsertMany() {
+        a(dialect.insertMany("people", Arrays.asList("name", "last_name"), 2))
+                .shouldBeEqual("INSERT INTO people (name, last_name) VALUES (?, ?), (?, ?)");
+    }
+
+    @Test
+    public void shouldGenerateUpsertOnConflict() {
+        a(dialect.upsert("people", Arrays.asList("id", "name"), Arrays.asList("id"), Arrays.asList("name"), 2))
+                .shouldBeEqual("INSERT INTO people (id, name) VALUES (?, ?), (?, ?) ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name");
+        a(dialect.upsert("tags", Arrays.asList("id"), Arrays.asList("id"), new ArrayList<String>(), 1))
+                .shouldBeEqual("INSERT INTO tags (id) VALUES (?) ON CONFLICT (id) DO NOTHING");
+    }
+
+    @Test
+    public void shouldMatchAnyOfArray() {
+        a(dialect.inArray("user_id")).shouldBeEqual("user_id = ANY(?)");
+        a(new DefaultDialect().inArray("user_id")).shouldBeNull();
+        a(new OracleDialect().getMaxInListSize()).shouldBeEqual(1000);
+    }
 }
@@ -25,7 +25,10 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.javalite.test.jspec.JSpec.a;
 import static org.javalite.test.jspec.JSpec.the;
@@ -132,4 +135,99 @@ public class StatisticsQueueTest {
         QueryExecutionEvent event = new QueryExecutionEvent(sql, 1);
         the(event.getQuery().toLowerCase()).shouldBeEqual("insert into analytics_events (person_id,other_person_id,location_id,location_name,date,action,type,info,created_at,updated_at)  values (...)");
     }
+
+    @Test
+    public void shouldNormalizeLiterals(){
+        the(QueryExecutionEvent.normalize("select * from people where name = 'O''Brien' and age > 21 and weight < 80.5 limit 10"))
+                .shouldBeEqual("select * from people where name = ? and age > ? and weight < ? limit 10");
+        the(QueryExecutionEvent.normalize("select * from table1 where t1.id = 5")).shouldBeEqual("select * from table1 where t1.id = ?");
+    }
+
+    @Test
+    public void shouldGroupQueriesByFingerprint(){
+        StatisticsQueue statistics = new StatisticsQueue(false);
+        statistics.record("select * from people where id = 1", 1000);
+        statistics.record("select * from people where id = 2", 3000);
+        List<QueryStats> report = statistics.getReportSortedBy("count");
+        the(report.size()).shouldBeEqual(1);
+        the(report.get(0).getQuery()).shouldBeEqual("select * from people where id = ?");
+        the(report.get(0).getCount()).shouldBeEqual(2L);
+        the(report.get(0).getTotalNanos()).shouldBeEqual(4000L);
+        the(report.get(0).getMinNanos()).shouldBeEqual(1000L);
+        the(report.get(0).getMaxNanos()).shouldBeEqual(3000L);
+    }
+
+    @Test
+    public void shouldReportPercentiles(){
+        StatisticsQueue statistics = new StatisticsQueue(false);
+        for (int i = 1; i <= 1000; i++) {
+            statistics.record("select 1", i * 1000000L);
+        }
+        QueryStats stats = statistics.getReportSortedBy("p99").get(0);
+        expectWithin(stats.getP50Nanos(), 500000000L);
+        expectWithin(stats.getP95Nanos(), 950000000L);
+        expectWithin(stats.getP99Nanos(), 990000000L);
+        expectWithin(stats.getP999Nanos(), 999000000L);
+        the(stats.getMax()).shouldBeEqual(1000L);
+    }
+
+    private void expectWithin(long actual, long expected) {
+        the(Math.abs(actual - expected) <= expected / 8).shouldBeTrue();
+    }
+
+    @Test
+    public void shouldStartNewIntervalAfterIntervalReport(){
+        StatisticsQueue statistics = new StatisticsQueue(false);
+        statistics.record("select 1", 1000);
+        the(statistics.getIntervalReportSortedBy("total").get(0).getCount()).shouldBeEqual(1L);
+        the(statistics.getIntervalReportSortedBy("total").size()).shouldBeEqual(0);
+        statistics.record("select 1", 2000);
+        the(statistics.getIntervalReportSortedBy("total").get(0).getTotalNanos()).shouldBeEqual(2000L);
+    }
+
+    @Test
+    public void shouldEvictLeastExecutedQueriesWhenFull(){
+        StatisticsQueue statistics = new StatisticsQueue(false);
+        statistics.record("select * from frequent", 1000);
+        statistics.record("select * from frequent", 1000);
+        for (int i = 0; i < 2000; i++) {
+            statistics.record("select * from table_" + i, 1000);
+        }
+        List<QueryStats> report = statistics.getReportSortedBy("count");
+        the(report.size() > 900 && report.size() <= 1000).shouldBeTrue();
+        the(report.get(0).getQuery()).shouldBeEqual("select * from frequent");
+        the(report.get(0).getCount()).shouldBeEqual(2L);
+    }
+
+    @Test
+    public void shouldKeepQueriesRecordedAfterPreviousEviction(){
+        StatisticsQueue statistics = new StatisticsQueue(false);
+        for (int i = 0; i < 1000; i++) {
+            statistics.record("select * from old_" + i, 1000);
+            statistics.record("select * from old_" + i, 1000);
+        }
+        statistics.record("select * from recent", 1000); // evicts 100 old queries
+        for (int i = 0; i < 100; i++) {
+            statistics.record("select * from new_" + i, 1000); // evicts old queries only
+        }
+        List<QueryStats> report = statistics.getReportSortedBy("count");
+        the(report.stream().anyMatch(stats -> stats.getQuery().equals("select * from recent"))).shouldBeTrue();
+        the(report.size() <= 1000).shouldBeTrue();
+    }
+
+    @Test
+    public void shouldRecordFromManyThreads() throws InterruptedException {
+        StatisticsQueue statistics = new StatisticsQueue(false);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    statistics.record("select * from people where id = " + (i % 100), 1000 + i);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        the(statistics.getReportSortedBy("count").get(0).getCount()).shouldBeEqual(80000L);
+    }
 }
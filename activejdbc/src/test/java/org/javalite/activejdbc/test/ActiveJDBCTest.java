@@ -119,6 +119,11 @@ public abstract class ActiveJDBCTest implements JSpecSupport {
         QueryCache.instance().purgeTableCache(table); // purge any cached query results
     }
 
+    protected void deleteFromTables(String... tables) {
+        for (String table : tables)
+            deleteFromTable(table);
+    }
+
     protected void deleteFromTable(String table){
         executeStatements(Collections.list(getStatementProvider().getDeleteStatement(table)));
     }
@@ -148,6 +148,18 @@ public class Configuration {
         return logRequest != null && logRequest.equals("true");
     }
 
+    /**
+     * Queries executed by each request are counted by a {@link org.javalite.activejdbc.statistics.QueryBudget} and
+     * added to the request log, together with statements repeated as in an N+1 pattern. Limits are configured in
+     * <code>activejdbc.properties</code>.
+     *
+     * @return true if system property <code>activeweb.query.budget</code> is "true".
+     */
+    public static boolean queryBudget() {
+        String queryBudget = System.getProperty("activeweb.query.budget");
+        return queryBudget != null && queryBudget.equals("true");
+    }
+
 
     /**
      * This method is used internally by ActiveWeb tests. Do not use in  your projects.
@@ -17,6 +17,7 @@ package org.javalite.activeweb;
 
 import freemarker.template.TemplateNotFoundException;
 import org.javalite.activejdbc.DB;
+import org.javalite.activejdbc.statistics.QueryBudget;
 
 import org.javalite.activeweb.proxy.ProxyWriterException;
 import org.javalite.activeweb.proxy.ProxyIOException;
@@ -152,6 +153,7 @@ public class RequestDispatcher implements Filter {
     }
 
     public void doFilter(ServletRequest req, ServletResponse resp, FilterChain chain) throws IOException, ServletException {
+        QueryBudget budget = null;
         try {
 
             time.set(System.currentTimeMillis());
@@ -210,6 +212,9 @@ public class RequestDispatcher implements Filter {
                             "action", route.getActionName(),
                             "method", route.getHttpMethod()));
                 }
+                if (Configuration.queryBudget()) {
+                    budget = QueryBudget.open(request.getMethod() + " " + path);
+                }
                 runner.run(route);
                 logDone(null);
             } else {
@@ -231,6 +236,9 @@ public class RequestDispatcher implements Filter {
                 renderSystemError(500, e);
             }
         }finally {
+            if (budget != null) {
+                budget.close();
+            }
             RequestContext.clear();
             Context.clear();
             List<String> connectionsRemaining = DB.getCurrrentConnectionNames();
@@ -393,6 +401,7 @@ public class RequestDispatcher implements Filter {
          log.put("message", "Looks like the client abandoned this request...");
         }
 
+        addQueryBudget(log);
         addRequestHeaders(log);
 
         if(throwable != null && status >= 500){
@@ -406,6 +415,23 @@ public class RequestDispatcher implements Filter {
         }
     }
 
+    private void addQueryBudget(Map<String, Object> log) {
+        QueryBudget budget = Configuration.queryBudget() ? QueryBudget.current() : null;
+        if (budget == null) {
+            return;
+        }
+        log.put("queries", budget.getQueries());
+        log.put("cache_hits", budget.getCacheHits());
+        if (!budget.getRepeatedQueries().isEmpty()) {
+            List<Map<String, Object>> repeated = new ArrayList<>();
+            for (QueryBudget.RepeatedQuery query : budget.getRepeatedQueries()) {
+                repeated.add(map("sql", query.getQuery(), "count", query.getCount(),
+                        "location", query.getLocation()));
+            }
+            log.put("repeated_queries", repeated);
+        }
+    }
+
     private void addRequestHeaders(Map<String, Object> log) {
         List<String> logHeaders = Configuration.getLogHeaders();
         Enumeration<String> requestHeaders = RequestContext.getHttpRequest().getHeaderNames();
@@ -1,7 +1,6 @@
 package org.javalite.activeweb.controller_filters;
 
 import org.javalite.activejdbc.Registry;
-import org.javalite.activejdbc.statistics.QueryExecutionEvent;
 
 /**
  * This filter will collect statistics about controller/action execution into
@@ -16,13 +15,12 @@ public class StatisticsFilter extends HttpSupportFilter{
 
     @Override
     public void before() {
-        start.set(System.currentTimeMillis());
+        start.set(System.nanoTime());
     }
 
     @Override
     public void after() {
-        Registry.instance().getStatisticsQueue().enqueue(
-                new QueryExecutionEvent(getRoute().getController().getClass().getName() +
-                        "#" + getRoute().getActionName() + ":" + method(), System.currentTimeMillis() - start.get()));
+        Registry.instance().getStatisticsQueue().record(getRoute().getController().getClass().getName() +
+                "#" + getRoute().getActionName() + ":" + method(), System.nanoTime() - start.get());
     }
 }